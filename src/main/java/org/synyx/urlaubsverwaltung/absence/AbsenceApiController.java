@@ -20,8 +20,8 @@ import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonService;
 import org.synyx.urlaubsverwaltung.publicholiday.PublicHoliday;
 import org.synyx.urlaubsverwaltung.publicholiday.PublicHolidaysService;
-import org.synyx.urlaubsverwaltung.workingtime.WorkingTime;
 import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeService;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeTimeline;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
@@ -127,7 +127,7 @@ public class AbsenceApiController {
 
         final List<DayAbsenceDto> absencesWithNoWorkdays = new ArrayList<>();
 
-        final List<WorkingTime> workingTimeList = workingTimeService.getByPerson(person);
+        final WorkingTimeTimeline timeline = workingTimeService.getTimeline(person);
 
         for (LocalDate date : new DateRange(start, end)) {
             final DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern(RestApiDateFormat.DATE_PATTERN);
@@ -135,7 +135,7 @@ public class AbsenceApiController {
             final List<DayAbsenceDto> maybeAbsenceDto = dayAbsenceDtoForDate(formattedDate, absences);
             if (!maybeAbsenceDto.isEmpty()) {
                 absencesWithNoWorkdays.addAll(maybeAbsenceDto);
-            } else if (!isWorkday(date, workingTimeList)) {
+            } else if (!timeline.isWorkday(date)) {
                 absencesWithNoWorkdays.add(new DayAbsenceDto(date, FULL.getDuration(), FULL.name(), DayAbsenceDto.Type.NO_WORKDAY.name(), "", null));
             }
         }
@@ -143,14 +143,6 @@ public class AbsenceApiController {
         return absencesWithNoWorkdays;
     }
 
-    private boolean isWorkday(LocalDate date, List<WorkingTime> workingTimeList) {
-        return workingTimeList
-            .stream()
-            .filter(w -> w.getValidFrom().isBefore(date) || w.getValidFrom().isEqual(date))
-            .findFirst()
-            .map(w -> w.isWorkingDay(date.getDayOfWeek()))
-            .orElse(false);
-    }
     private List<DayAbsenceDto> dayAbsenceDtoForDate(String formattedDate, List<DayAbsenceDto> absences) {
         return absences.stream().filter(dayAbsenceDto -> dayAbsenceDto.getDate().equals(formattedDate)).collect(toList());
     }
@@ -1,12 +1,16 @@
 package org.synyx.urlaubsverwaltung.absence;
 
+import org.synyx.urlaubsverwaltung.period.DayLength;
 import org.synyx.urlaubsverwaltung.person.Person;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Predicate;
 
 /**
  * Defines absence periods of a {@link Person}.
@@ -37,35 +41,155 @@ public class AbsencePeriod {
     }
 
     private final List<AbsencePeriod.Record> absenceRecords;
+    private final RunLength runLength;
 
     public AbsencePeriod(List<Record> absenceRecords) {
         this.absenceRecords = absenceRecords;
+        this.runLength = null;
+    }
+
+    private AbsencePeriod(RunLength runLength) {
+        this.absenceRecords = null;
+        this.runLength = runLength;
+    }
+
+    /**
+     * Creates an absence period that is stored as one contiguous segment instead of one record per day.
+     * The records are created every time {@link #getAbsenceRecords()} is called.
+     *
+     * @param person                  the absent person
+     * @param dateRange               of the segment
+     * @param dayLength               of the absence on a regular day
+     * @param morning                 used on every day with an absence in the morning
+     * @param noon                    used on every day with an absence at noon
+     * @param publicHolidayDayLengths day length of the public holidays within the segment, days without public holiday are missing
+     * @param isAbsenceDay            {@code false} for days without absence, e.g. non-working days
+     * @return the absence period
+     */
+    static AbsencePeriod runLength(Person person, DateRange dateRange, DayLength dayLength, RecordMorning morning, RecordNoon noon,
+                                   Map<LocalDate, DayLength> publicHolidayDayLengths, Predicate<LocalDate> isAbsenceDay) {
+        return new AbsencePeriod(new RunLength(person, dateRange, dayLength, morning, noon, publicHolidayDayLengths, isAbsenceDay));
     }
 
     public List<AbsencePeriod.Record> getAbsenceRecords() {
+        if (runLength != null) {
+            return runLength.toRecords();
+        }
         return Collections.unmodifiableList(absenceRecords);
     }
 
+    /**
+     * Absence periods are equal if they consist of equal records, no matter whether they are stored as records or as
+     * a segment. Run lengths of the same segment are compared by their fields, every other comparison expands the
+     * segments, since a segment may equal records that are stored one by one and the days without absence of a
+     * segment are only known by testing each day. Absence periods are compared in tests only, so the expansion is
+     * acceptable.
+     */
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         AbsencePeriod that = (AbsencePeriod) o;
-        return Objects.equals(absenceRecords, that.absenceRecords);
+        if (runLength != null && runLength.isSameSegmentAs(that.runLength)) return true;
+        return Objects.equals(getAbsenceRecords(), that.getAbsenceRecords());
     }
 
+    /**
+     * Expands a segment to be consistent with {@link #equals(Object)}, see there.
+     */
     @Override
     public int hashCode() {
-        return Objects.hash(absenceRecords);
+        return Objects.hash(getAbsenceRecords());
     }
 
     @Override
     public String toString() {
+        if (runLength != null) {
+            return "AbsencePeriod{" +
+                "runLength=" + runLength +
+                '}';
+        }
         return "AbsencePeriod{" +
             "absenceRecords=" + absenceRecords +
             '}';
     }
 
+    /**
+     * Absence of a person on the days of a date range in run length encoding. Every day of the date range is absent
+     * with the same morning and noon, except for days without absence and for public holidays that reduce the absence
+     * of the day.
+     */
+    private static final class RunLength {
+
+        private final Person person;
+        private final DateRange dateRange;
+        private final DayLength dayLength;
+        private final RecordMorning morning;
+        private final RecordNoon noon;
+        private final Map<LocalDate, DayLength> publicHolidayDayLengths;
+        private final Predicate<LocalDate> isAbsenceDay;
+
+        private RunLength(Person person, DateRange dateRange, DayLength dayLength, RecordMorning morning, RecordNoon noon,
+                          Map<LocalDate, DayLength> publicHolidayDayLengths, Predicate<LocalDate> isAbsenceDay) {
+            this.person = person;
+            this.dateRange = dateRange;
+            this.dayLength = dayLength;
+            this.morning = morning;
+            this.noon = noon;
+            this.publicHolidayDayLengths = publicHolidayDayLengths;
+            this.isAbsenceDay = isAbsenceDay;
+        }
+
+        private List<Record> toRecords() {
+            final List<Record> records = new ArrayList<>();
+            for (LocalDate date : dateRange) {
+                final DayLength publicHolidayDayLength = publicHolidayDayLengths.getOrDefault(date, DayLength.ZERO);
+                // a full public holiday is no "absence", a half day public holiday leaves the other half day absent
+                if (publicHolidayDayLength != DayLength.FULL && isAbsenceDay.test(date)) {
+                    records.add(toRecord(date, publicHolidayDayLength));
+                }
+            }
+            return Collections.unmodifiableList(records);
+        }
+
+        /**
+         * @return {@code true} if the given run length has been created for the same segment, which implies the same
+         * records. Run lengths with another test of the absence days are not the same segment, even if they expand to
+         * the same records.
+         */
+        private boolean isSameSegmentAs(RunLength other) {
+            return other != null
+                && isAbsenceDay == other.isAbsenceDay
+                && Objects.equals(person, other.person)
+                && Objects.equals(dateRange, other.dateRange)
+                && dayLength == other.dayLength
+                && Objects.equals(publicHolidayDayLengths, other.publicHolidayDayLengths);
+        }
+
+        private Record toRecord(LocalDate date, DayLength publicHolidayDayLength) {
+            if (publicHolidayDayLength == DayLength.MORNING) {
+                return new Record(date, person, null, noon);
+            } else if (publicHolidayDayLength == DayLength.NOON) {
+                return new Record(date, person, morning, null);
+            } else if (DayLength.MORNING.equals(dayLength)) {
+                return new Record(date, person, morning, null);
+            } else if (DayLength.NOON.equals(dayLength)) {
+                return new Record(date, person, null, noon);
+            }
+            return new Record(date, person, morning, noon);
+        }
+
+        @Override
+        public String toString() {
+            return "RunLength{" +
+                "person=" + person +
+                ", dateRange=" + dateRange +
+                ", dayLength=" + dayLength +
+                ", publicHolidayDayLengths=" + publicHolidayDayLengths +
+                '}';
+        }
+    }
+
     /**
      * Specifies an absence for one date. The absence consists of `morning` and `evening`.
      * You may have to handle information yourself for "full absence vacation". In This case morning and evening are
@@ -4,6 +4,8 @@ import org.synyx.urlaubsverwaltung.person.Person;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 public interface AbsenceService {
 
@@ -45,4 +47,30 @@ public interface AbsenceService {
      * @return list of all open absences
      */
     List<Absence> getOpenAbsencesSince(LocalDate since);
+
+    /**
+     * Get all open absences since the given date keyed by the application or sick note they are generated from.
+     *
+     * @param since date the absences must end on or after
+     * @return all open absences keyed by their source
+     */
+    Map<AbsenceSource, Absence> getOpenAbsencesBySourceSince(LocalDate since);
+
+    /**
+     * Get the open absences of the given persons since the given date keyed by the application or sick note they
+     * are generated from.
+     *
+     * @param persons to get absences for
+     * @param since   date the absences must end on or after
+     * @return open absences of the given persons keyed by their source
+     */
+    Map<AbsenceSource, Absence> getOpenAbsencesBySourceSince(List<Person> persons, LocalDate since);
+
+    /**
+     * Get the absence of the given application or sick note.
+     *
+     * @param source of the absence
+     * @return the absence if the application or sick note exists and is open, empty otherwise
+     */
+    Optional<Absence> getOpenAbsence(AbsenceSource source);
 }
@@ -17,14 +17,16 @@ import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteStatus;
 import org.synyx.urlaubsverwaltung.workingtime.FederalState;
 import org.synyx.urlaubsverwaltung.workingtime.WorkingTime;
 import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeService;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeTimeline;
 
 import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.function.Predicate;
 import java.util.stream.Stream;
 
-import static java.util.Comparator.comparing;
 import static java.util.stream.Collectors.toList;
 import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.ALLOWED;
 import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.ALLOWED_CANCELLATION_REQUESTED;
@@ -64,14 +66,15 @@ public class AbsenceServiceImpl implements AbsenceService {
     @Override
     public List<AbsencePeriod> getOpenAbsences(List<Person> persons, LocalDate start, LocalDate end) {
         final DateRange askedDateRange = new DateRange(start, end);
-        final List<WorkingTime> workingTimeList = workingTimeService.getByPersons(persons);
-        final FederalState systemDefaultFederalState = workingTimeService.getSystemDefaultFederalState();
+        final Map<Person, WorkingTimeTimeline> timelines = workingTimeService.getTimelines(persons);
+        final PublicHolidayDayLengths publicHolidayDayLengths =
+            new PublicHolidayDayLengths(askedDateRange, timelines, workingTimeService.getSystemDefaultFederalState());
 
         final List<Application> openApplications = applicationService.getForStatesAndPerson(APPLICATION_STATUSES, persons, start, end);
-        final List<AbsencePeriod> applicationAbsences = generateAbsencePeriodFromApplication(openApplications, askedDateRange, workingTimeList, systemDefaultFederalState);
+        final List<AbsencePeriod> applicationAbsences = generateAbsencePeriodFromApplication(openApplications, askedDateRange, timelines, publicHolidayDayLengths);
 
         final List<SickNote> openSickNotes = sickNoteService.getForStatesAndPerson(SICK_NOTE_STATUSES, persons, start, end);
-        final List<AbsencePeriod> sickNoteAbsences = generateAbsencePeriodFromSickNotes(openSickNotes, askedDateRange, workingTimeList, systemDefaultFederalState);
+        final List<AbsencePeriod> sickNoteAbsences = generateAbsencePeriodFromSickNotes(openSickNotes, askedDateRange, publicHolidayDayLengths);
 
         return Stream.concat(applicationAbsences.stream(), sickNoteAbsences.stream()).collect(toList());
     }
@@ -98,6 +101,48 @@ public class AbsenceServiceImpl implements AbsenceService {
         return ListUtils.union(applicationAbsences, sickNoteAbsences);
     }
 
+    @Override
+    public Map<AbsenceSource, Absence> getOpenAbsencesBySourceSince(LocalDate since) {
+        final List<Application> openApplications = applicationService.getForStatesSince(APPLICATION_STATUSES, since);
+        final List<SickNote> openSickNotes = sickNoteService.getForStatesSince(SICK_NOTE_STATUSES, since);
+
+        return absencesBySource(openApplications, openSickNotes);
+    }
+
+    @Override
+    public Map<AbsenceSource, Absence> getOpenAbsencesBySourceSince(List<Person> persons, LocalDate since) {
+        final List<Application> openApplications = applicationService.getForStatesAndPersonSince(APPLICATION_STATUSES, persons, since);
+        final List<SickNote> openSickNotes = sickNoteService.getForStatesAndPersonSince(SICK_NOTE_STATUSES, persons, since);
+
+        return absencesBySource(openApplications, openSickNotes);
+    }
+
+    @Override
+    public Optional<Absence> getOpenAbsence(AbsenceSource source) {
+
+        if (source.getType() == AbsenceSource.Type.APPLICATION) {
+            return applicationService.getApplicationById(source.getId())
+                .filter(application -> APPLICATION_STATUSES.contains(application.getStatus()))
+                .map(application -> new Absence(application.getPerson(), application.getPeriod(), getAbsenceTimeConfiguration()));
+        }
+
+        return sickNoteService.getById(source.getId())
+            .filter(sickNote -> SICK_NOTE_STATUSES.contains(sickNote.getStatus()))
+            .map(sickNote -> new Absence(sickNote.getPerson(), sickNote.getPeriod(), getAbsenceTimeConfiguration()));
+    }
+
+    private Map<AbsenceSource, Absence> absencesBySource(List<Application> applications, List<SickNote> sickNotes) {
+        final AbsenceTimeConfiguration config = getAbsenceTimeConfiguration();
+
+        final Map<AbsenceSource, Absence> absencesBySource = new LinkedHashMap<>();
+        applications.forEach(application -> absencesBySource.put(AbsenceSource.application(application.getId()),
+            new Absence(application.getPerson(), application.getPeriod(), config)));
+        sickNotes.forEach(sickNote -> absencesBySource.put(AbsenceSource.sickNote(sickNote.getId()),
+            new Absence(sickNote.getPerson(), sickNote.getPeriod(), config)));
+
+        return absencesBySource;
+    }
+
     private List<Absence> generateAbsencesFromApplication(List<Application> applications) {
         final AbsenceTimeConfiguration config = getAbsenceTimeConfiguration();
         return applications.stream()
@@ -107,10 +152,11 @@ public class AbsenceServiceImpl implements AbsenceService {
 
     private List<AbsencePeriod> generateAbsencePeriodFromApplication(List<Application> applications,
                                                                      DateRange askedDateRange,
-                                                                     List<WorkingTime> workingTimeList,
-                                                                     FederalState systemDefaultFederalState) {
+                                                                     Map<Person, WorkingTimeTimeline> timelines,
+                                                                     PublicHolidayDayLengths publicHolidayDayLengths) {
         return applications.stream()
-            .map(application -> toAbsencePeriod(application, askedDateRange, workingTimeList, systemDefaultFederalState))
+            .map(application -> toAbsencePeriod(application, askedDateRange, timelineOf(application.getPerson(), timelines),
+                publicHolidayDayLengths.of(application.getPerson())))
             .collect(toList());
     }
 
@@ -123,16 +169,34 @@ public class AbsenceServiceImpl implements AbsenceService {
 
     private List<AbsencePeriod> generateAbsencePeriodFromSickNotes(List<SickNote> sickNotes,
                                                                    DateRange askedDateRange,
-                                                                   List<WorkingTime> workingTimeList,
-                                                                   FederalState systemDefaultFederalState) {
+                                                                   PublicHolidayDayLengths publicHolidayDayLengths) {
         return sickNotes.stream()
-            .map(sickNote ->  toAbsencePeriod(sickNote, askedDateRange, workingTimeList, systemDefaultFederalState))
+            .map(sickNote -> toAbsencePeriod(sickNote, askedDateRange, publicHolidayDayLengths.of(sickNote.getPerson())))
             .collect(toList());
     }
 
-    private AbsencePeriod toAbsencePeriod(Application application, DateRange askedDateRange, List<WorkingTime> workingTimeList,
-                                          FederalState systemDefaultFederalState) {
-        return new AbsencePeriod(days(application, askedDateRange, workingTimeList, systemDefaultFederalState));
+    private AbsencePeriod toAbsencePeriod(Application application, DateRange askedDateRange, WorkingTimeTimeline timeline,
+                                          Map<LocalDate, DayLength> publicHolidayDayLengths) {
+
+        final DateRange dateRange = new DateRange(
+            maxDate(application.getStartDate(), askedDateRange.getStartDate()),
+            minDate(application.getEndDate(), askedDateRange.getEndDate())
+        );
+
+        final Integer applicationId = application.getId();
+        final Person person = application.getPerson();
+        final AbsencePeriod.AbsenceStatus status = toAbsenceStatus(application.getStatus());
+        final Integer vacationTypeId = application.getVacationType().getId();
+        final boolean visibleToEveryone = application.getVacationType().isVisibleToEveryone();
+
+        // an application for leave is only an absence on workdays.
+        // it could still be on a half day public holiday.
+        return AbsencePeriod.runLength(person, dateRange, application.getDayLength(),
+            new AbsencePeriod.RecordMorningVacation(person, applicationId, status, vacationTypeId, visibleToEveryone),
+            new AbsencePeriod.RecordNoonVacation(person, applicationId, status, vacationTypeId, visibleToEveryone),
+            publicHolidayDayLengths,
+            timeline::isWorkday
+        );
     }
 
     private AbsencePeriod.AbsenceStatus toAbsenceStatus(ApplicationStatus applicationStatus) {
@@ -150,161 +214,27 @@ public class AbsenceServiceImpl implements AbsenceService {
         }
     }
 
-    private List<AbsencePeriod.Record> days(Application application, DateRange askedDateRange, List<WorkingTime> workingTimeList,
-                                            FederalState systemDefaultFederalState) {
-
-        final LocalDate start = maxDate(application.getStartDate(), askedDateRange.getStartDate());
-        final LocalDate end = minDate(application.getEndDate(), askedDateRange.getEndDate());
-
-        final Person person = application.getPerson();
-        final List<WorkingTime> personWorkingTimeList = workingTimeList
-            .stream()
-            .filter(workingTime -> workingTime.getPerson().equals(person))
-            .sorted(comparing(WorkingTime::getValidFrom).reversed())
-            .collect(toList());
-
-        return new DateRange(start, end).stream()
-            .map(date -> new DateDayLengthTuple(date, publicHolidayAbsence(date, workingTimeList, systemDefaultFederalState)))
-            // ignore full public holiday since it is no "absence".
-            // it could still be an official workday with an application for leave.
-            .filter(tuple -> !tuple.publicHolidayDayLength.equals(DayLength.FULL))
-            .filter(tuple -> isWorkday(tuple.date, personWorkingTimeList))
-            .map(tuple -> toVacationAbsencePeriodRecord(tuple, application))
-            .collect(toList());
-    }
-
-    private boolean isWorkday(LocalDate date, List<WorkingTime> workingTimeList) {
-        return workingTimeList
-            .stream()
-            .filter(w -> w.getValidFrom().isBefore(date) || w.getValidFrom().isEqual(date))
-            .findFirst()
-            .map(w -> w.isWorkingDay(date.getDayOfWeek()))
-            .orElse(false);
-    }
-
-    private AbsencePeriod.Record toVacationAbsencePeriodRecord(DateDayLengthTuple tuple, Application application) {
-
-        final Integer applicationId = application.getId();
-        final Person person = application.getPerson();
-        final AbsencePeriod.AbsenceStatus status = toAbsenceStatus(application.getStatus());
-        final Integer vacationTypeId = application.getVacationType().getId();
-        final boolean visibleToEveryone = application.getVacationType().isVisibleToEveryone();
-
-        if (tuple.publicHolidayDayLength.isHalfDay()) {
-            final AbsencePeriod.RecordMorning morning;
-            final AbsencePeriod.RecordNoon noon;
-            if (tuple.publicHolidayDayLength.equals(DayLength.MORNING)) {
-                morning = null;
-                noon = new AbsencePeriod.RecordNoonVacation(person, applicationId, status, vacationTypeId, visibleToEveryone);
-            } else if (tuple.publicHolidayDayLength.equals(DayLength.NOON)) {
-                morning = new AbsencePeriod.RecordMorningVacation(person, applicationId, status, vacationTypeId, visibleToEveryone);
-                noon = null;
-            } else {
-                morning = new AbsencePeriod.RecordMorningVacation(person, applicationId, status, vacationTypeId, visibleToEveryone);
-                noon = new AbsencePeriod.RecordNoonVacation(person, applicationId, status, vacationTypeId, visibleToEveryone);
-            }
-            return new AbsencePeriod.Record(tuple.date, person, morning, noon);
-        }
-
-        final AbsencePeriod.RecordMorningVacation morning;
-        final AbsencePeriod.RecordNoonVacation noon;
-
-        if (DayLength.MORNING.equals(application.getDayLength())) {
-            morning = new AbsencePeriod.RecordMorningVacation(person, applicationId, status, vacationTypeId, visibleToEveryone);
-            noon = null;
-        }
-        else if (DayLength.NOON.equals(application.getDayLength())) {
-            morning = null;
-            noon = new AbsencePeriod.RecordNoonVacation(person, applicationId, status, vacationTypeId, visibleToEveryone);
-        }
-        else {
-            morning = new AbsencePeriod.RecordMorningVacation(person, applicationId, status, vacationTypeId, visibleToEveryone);
-            noon = new AbsencePeriod.RecordNoonVacation(person, applicationId, status, vacationTypeId, visibleToEveryone);
-        }
-
-        return new AbsencePeriod.Record(tuple.date, person, morning, noon);
-    }
-
-    private AbsencePeriod toAbsencePeriod(SickNote sickNote, DateRange askedDateRange, List<WorkingTime> workingTimeList,
-                                          FederalState systemDefaultFederalState) {
-        return new AbsencePeriod(days(sickNote, askedDateRange, workingTimeList, systemDefaultFederalState));
-    }
-
-    private List<AbsencePeriod.Record> days(SickNote sickNote, DateRange askedDateRange, List<WorkingTime> workingTimeList,
-                                            FederalState systemDefaultFederalState) {
+    private AbsencePeriod toAbsencePeriod(SickNote sickNote, DateRange askedDateRange, Map<LocalDate, DayLength> publicHolidayDayLengths) {
 
-        final LocalDate start = maxDate(sickNote.getStartDate(), askedDateRange.getStartDate());
-        final LocalDate end = minDate(sickNote.getEndDate(), askedDateRange.getEndDate());
-
-        return new DateRange(start, end).stream()
-            .map(date -> new DateDayLengthTuple(date, publicHolidayAbsence(date, workingTimeList, systemDefaultFederalState)))
-            // ignore full public holiday since it is no "absence".
-            // it could still be an official workday with a sick note.
-            .filter(tuple -> !tuple.publicHolidayDayLength.equals(DayLength.FULL))
-            .map(tuple -> toSickAbsencePeriodRecord(tuple, sickNote))
-            .collect(toList());
-    }
-
-    private AbsencePeriod.Record toSickAbsencePeriodRecord(DateDayLengthTuple tuple, SickNote sickNote) {
+        final DateRange dateRange = new DateRange(
+            maxDate(sickNote.getStartDate(), askedDateRange.getStartDate()),
+            minDate(sickNote.getEndDate(), askedDateRange.getEndDate())
+        );
 
         final Integer sickNoteId = sickNote.getId();
         final Person person = sickNote.getPerson();
 
-        if (tuple.publicHolidayDayLength.isHalfDay()) {
-            final AbsencePeriod.RecordMorning morning;
-            final AbsencePeriod.RecordNoon noon;
-            if (tuple.publicHolidayDayLength.equals(DayLength.MORNING)) {
-                morning = null;
-                noon = new AbsencePeriod.RecordNoonSick(person, sickNoteId);
-            } else if (tuple.publicHolidayDayLength.equals(DayLength.NOON)) {
-                morning = new AbsencePeriod.RecordMorningSick(person, sickNoteId);
-                noon = null;
-            } else {
-                morning = new AbsencePeriod.RecordMorningSick(person, sickNoteId);
-                noon = new AbsencePeriod.RecordNoonSick(person, sickNoteId);
-            }
-            return new AbsencePeriod.Record(tuple.date, person, morning, noon);
-        }
-
-        final AbsencePeriod.RecordMorningSick morning;
-        final AbsencePeriod.RecordNoonSick noon;
-
-        if (DayLength.MORNING.equals(sickNote.getDayLength())) {
-            morning = new AbsencePeriod.RecordMorningSick(person, sickNoteId);
-            noon = null;
-        }
-        else if (DayLength.NOON.equals(sickNote.getDayLength())) {
-            morning = null;
-            noon = new AbsencePeriod.RecordNoonSick(person, sickNoteId);
-        }
-        else {
-            morning = new AbsencePeriod.RecordMorningSick(person, sickNoteId);
-            noon = new AbsencePeriod.RecordNoonSick(person, sickNoteId);
-        }
-
-        return new AbsencePeriod.Record(tuple.date, person, morning, noon);
+        // a sick note is an absence on every day, even on non-workdays
+        return AbsencePeriod.runLength(person, dateRange, sickNote.getDayLength(),
+            new AbsencePeriod.RecordMorningSick(person, sickNoteId),
+            new AbsencePeriod.RecordNoonSick(person, sickNoteId),
+            publicHolidayDayLengths,
+            date -> true
+        );
     }
 
-    private DayLength publicHolidayAbsence(LocalDate date, List<WorkingTime> workingTimeList, FederalState federalStateDefault) {
-
-        final FederalState federalState = workingTime(date, workingTimeList)
-            .or(() -> workingTimeList.isEmpty()
-                ? Optional.empty()
-                : Optional.of(workingTimeList.get(0))
-            )
-            .map(WorkingTime::getFederalState)
-            .orElse(federalStateDefault);
-
-        final Optional<PublicHoliday> maybePublicHoliday = publicHolidaysService.getPublicHoliday(date, federalState);
-        return maybePublicHoliday.isPresent() ? maybePublicHoliday.get().getDayLength() : DayLength.ZERO;
-    }
-
-    private static Optional<WorkingTime> workingTime(LocalDate validFrom, List<WorkingTime> workingTimeList) {
-        final Predicate<LocalDate> isEqual = validFrom::isEqual;
-        final Predicate<LocalDate> isAfter = validFrom::isAfter;
-        return workingTimeList.stream()
-            .filter(workingTime -> isEqual.or(isAfter).test(workingTime.getValidFrom()))
-            .findFirst();
+    private static WorkingTimeTimeline timelineOf(Person person, Map<Person, WorkingTimeTimeline> timelines) {
+        return timelines.getOrDefault(person, WorkingTimeTimeline.of(List.of()));
     }
 
     private AbsenceTimeConfiguration getAbsenceTimeConfiguration() {
@@ -320,13 +250,65 @@ public class AbsenceServiceImpl implements AbsenceService {
         return date.isBefore(date2) ? date : date2;
     }
 
-    private static class DateDayLengthTuple {
-        final LocalDate date;
-        final DayLength publicHolidayDayLength;
+    /**
+     * Day lengths of the public holidays of the asked date range. They are resolved once per person for the federal
+     * states of the working times of the person and the public holidays are looked up once per federal state.
+     */
+    private final class PublicHolidayDayLengths {
+
+        private final DateRange askedDateRange;
+        private final Map<Person, WorkingTimeTimeline> timelines;
+        private final FederalState systemDefaultFederalState;
+        private final Map<FederalState, List<PublicHoliday>> publicHolidaysByFederalState = new HashMap<>();
+        private final Map<Person, Map<LocalDate, DayLength>> dayLengthsByPerson = new HashMap<>();
+
+        private PublicHolidayDayLengths(DateRange askedDateRange, Map<Person, WorkingTimeTimeline> timelines,
+                                        FederalState systemDefaultFederalState) {
+            this.askedDateRange = askedDateRange;
+            this.timelines = timelines;
+            this.systemDefaultFederalState = systemDefaultFederalState;
+        }
+
+        /**
+         * @return day length of every public holiday of the person within the asked date range,
+         * days without public holiday are missing
+         */
+        private Map<LocalDate, DayLength> of(Person person) {
+            return dayLengthsByPerson.computeIfAbsent(person, this::resolve);
+        }
+
+        private Map<LocalDate, DayLength> resolve(Person person) {
 
-        private DateDayLengthTuple(LocalDate date, DayLength publicHolidayDayLength) {
-            this.date = date;
-            this.publicHolidayDayLength = publicHolidayDayLength;
+            final WorkingTimeTimeline timeline = timelineOf(person, timelines);
+            final Map<LocalDate, DayLength> dayLengths = new HashMap<>();
+
+            timeline.getWorkingTimesByDateRange(askedDateRange)
+                .forEach((dateRange, workingTime) -> addPublicHolidays(dayLengths, dateRange, workingTime.getFederalState()));
+
+            // days before the first working time use the federal state of the first working time
+            final LocalDate startDate = askedDateRange.getStartDate();
+            final LocalDate firstValidFrom = timeline.getFirstWorkingTime().map(WorkingTime::getValidFrom).orElse(null);
+            if (firstValidFrom == null || firstValidFrom.isAfter(startDate)) {
+                final LocalDate endDate = firstValidFrom == null ? askedDateRange.getEndDate() : minDate(firstValidFrom.minusDays(1), askedDateRange.getEndDate());
+                final FederalState federalState = timeline.getFirstWorkingTime()
+                    .map(WorkingTime::getFederalState)
+                    .orElse(systemDefaultFederalState);
+                addPublicHolidays(dayLengths, new DateRange(startDate, endDate), federalState);
+            }
+
+            return dayLengths;
+        }
+
+        private void addPublicHolidays(Map<LocalDate, DayLength> dayLengths, DateRange dateRange, FederalState federalState) {
+            final List<PublicHoliday> publicHolidays = publicHolidaysByFederalState.computeIfAbsent(federalState,
+                state -> publicHolidaysService.getPublicHolidays(askedDateRange.getStartDate(), askedDateRange.getEndDate(), state));
+
+            for (PublicHoliday publicHoliday : publicHolidays) {
+                final LocalDate date = publicHoliday.getDate();
+                if (!date.isBefore(dateRange.getStartDate()) && !date.isAfter(dateRange.getEndDate()) && publicHoliday.getDayLength() != DayLength.ZERO) {
+                    dayLengths.put(date, publicHoliday.getDayLength());
+                }
+            }
         }
     }
 }
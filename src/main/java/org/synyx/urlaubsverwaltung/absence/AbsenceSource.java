@@ -0,0 +1,63 @@
+package org.synyx.urlaubsverwaltung.absence;
+
+import java.util.Objects;
+
+/**
+ * Identifies the application or the sick note an {@link Absence} is generated from.
+ */
+public final class AbsenceSource {
+
+    public enum Type {
+        APPLICATION,
+        SICK_NOTE
+    }
+
+    private final Type type;
+    private final Integer id;
+
+    private AbsenceSource(Type type, Integer id) {
+        this.type = type;
+        this.id = id;
+    }
+
+    public static AbsenceSource application(Integer applicationId) {
+        return new AbsenceSource(Type.APPLICATION, applicationId);
+    }
+
+    public static AbsenceSource sickNote(Integer sickNoteId) {
+        return new AbsenceSource(Type.SICK_NOTE, sickNoteId);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final AbsenceSource that = (AbsenceSource) o;
+        return type == that.type && Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, id);
+    }
+
+    @Override
+    public String toString() {
+        return "AbsenceSource{" +
+            "type=" + type +
+            ", id=" + id +
+            '}';
+    }
+}
@@ -0,0 +1,214 @@
+package org.synyx.urlaubsverwaltung.absence.web;
+
+import org.synyx.urlaubsverwaltung.absence.AbsencePeriod;
+import org.synyx.urlaubsverwaltung.absence.DateRange;
+import org.synyx.urlaubsverwaltung.period.DayLength;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.publicholiday.PublicHoliday;
+import org.synyx.urlaubsverwaltung.publicholiday.PublicHolidaysService;
+import org.synyx.urlaubsverwaltung.workingtime.FederalState;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeService;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeTimeline;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.time.temporal.ChronoUnit.DAYS;
+import static java.util.stream.Collectors.groupingBy;
+import static org.synyx.urlaubsverwaltung.period.DayLength.ZERO;
+
+/**
+ * Precomputed person × day matrix of the absence overview.
+ * <p>
+ * Everything the overview needs per cell (working day flag, public holiday day length and absence records)
+ * is resolved once for the whole date range. Rows are addressed by the index of the person in the given
+ * person list, columns by the day offset relative to the start date of the date range.
+ * Reading a cell is therefore an array access, regardless of the number of persons and days.
+ */
+final class AbsenceOverviewDayMatrix {
+
+    private static final AbsencePeriod.Record[] NO_RECORDS = new AbsencePeriod.Record[0];
+
+    private final LocalDate startDate;
+    private final int numberOfDays;
+    private final DayLength[] defaultPublicHolidayDayLengths;
+    private final Row[] rows;
+
+    private AbsenceOverviewDayMatrix(LocalDate startDate, int numberOfDays, DayLength[] defaultPublicHolidayDayLengths, Row[] rows) {
+        this.startDate = startDate;
+        this.numberOfDays = numberOfDays;
+        this.defaultPublicHolidayDayLengths = defaultPublicHolidayDayLengths;
+        this.rows = rows;
+    }
+
+    /**
+     * Builds the matrix for the given persons and date range. Working times and absences are loaded once
+     * for all persons, public holidays once per date range and federal state.
+     *
+     * @param dateRange           of the overview
+     * @param persons             of the overview, the index of a person is the row of the matrix
+     * @param defaultFederalState used for the public holidays of the table head
+     * @return the precomputed matrix
+     */
+    static AbsenceOverviewDayMatrix build(DateRange dateRange, List<Person> persons, FederalState defaultFederalState,
+                                          WorkingTimeService workingTimeService, PublicHolidaysService publicHolidaysService,
+                                          List<AbsencePeriod> openAbsences) {
+
+        final LocalDate startDate = dateRange.getStartDate();
+        final int numberOfDays = (int) DAYS.between(startDate, dateRange.getEndDate()) + 1;
+        final PublicHolidayLookup publicHolidayLookup = new PublicHolidayLookup(publicHolidaysService);
+
+        final Map<Person, WorkingTimeTimeline> timelines = workingTimeService.getTimelines(persons);
+
+        final Map<Person, List<AbsencePeriod.Record>> absenceRecordsByPerson = openAbsences.stream()
+            .map(AbsencePeriod::getAbsenceRecords)
+            .flatMap(List::stream)
+            .collect(groupingBy(AbsencePeriod.Record::getPerson));
+
+        final Row[] rows = new Row[persons.size()];
+        for (int index = 0; index < persons.size(); index++) {
+            final Person person = persons.get(index);
+
+            final DayLength[] publicHolidayDayLengths = new DayLength[numberOfDays];
+            Arrays.fill(publicHolidayDayLengths, ZERO);
+            workingTimeService.getFederalStatesByPersonAndDateRange(person, dateRange)
+                .forEach((range, federalState) -> publicHolidayLookup.fill(publicHolidayDayLengths, startDate, range, federalState));
+
+            rows[index] = new Row(
+                workdays(startDate, numberOfDays, timelines.getOrDefault(person, WorkingTimeTimeline.of(List.of()))),
+                publicHolidayDayLengths,
+                absenceRecordsByPerson.getOrDefault(person, List.of()),
+                startDate, numberOfDays
+            );
+        }
+
+        final DayLength[] defaultPublicHolidayDayLengths = new DayLength[numberOfDays];
+        Arrays.fill(defaultPublicHolidayDayLengths, ZERO);
+        publicHolidayLookup.fill(defaultPublicHolidayDayLengths, startDate, dateRange, defaultFederalState);
+
+        return new AbsenceOverviewDayMatrix(startDate, numberOfDays, defaultPublicHolidayDayLengths, rows);
+    }
+
+    int getNumberOfDays() {
+        return numberOfDays;
+    }
+
+    int dayOffset(LocalDate date) {
+        return (int) DAYS.between(startDate, date);
+    }
+
+    /**
+     * @return day length of the public holiday of the system default federal state, {@link DayLength#ZERO} if none
+     */
+    DayLength getDefaultPublicHolidayDayLength(int dayOffset) {
+        return defaultPublicHolidayDayLengths[dayOffset];
+    }
+
+    boolean isWorkday(int personIndex, int dayOffset) {
+        return rows[personIndex].workdays[dayOffset];
+    }
+
+    /**
+     * @return day length of the public holiday of the person, {@link DayLength#ZERO} if none
+     */
+    DayLength getPublicHolidayDayLength(int personIndex, int dayOffset) {
+        return rows[personIndex].publicHolidayDayLengths[dayOffset];
+    }
+
+    /**
+     * @return absence records of the person at the given day in the order given by the absence service
+     */
+    List<AbsencePeriod.Record> getAbsenceRecords(int personIndex, int dayOffset) {
+        final Row row = rows[personIndex];
+        return Arrays.asList(row.records).subList(row.recordOffsets[dayOffset], row.recordOffsets[dayOffset + 1]);
+    }
+
+    private static boolean[] workdays(LocalDate startDate, int numberOfDays, WorkingTimeTimeline timeline) {
+
+        final boolean[] workdays = new boolean[numberOfDays];
+
+        LocalDate date = startDate;
+        for (int dayOffset = 0; dayOffset < numberOfDays; dayOffset++, date = date.plusDays(1)) {
+            workdays[dayOffset] = timeline.isWorkday(date);
+        }
+
+        return workdays;
+    }
+
+    /**
+     * One person of the matrix. Absence records are stored in compressed form: {@code records} is ordered by day,
+     * the records of a day are located between {@code recordOffsets[day]} (inclusive) and {@code recordOffsets[day + 1]}.
+     */
+    private static final class Row {
+
+        private final boolean[] workdays;
+        private final DayLength[] publicHolidayDayLengths;
+        private final int[] recordOffsets;
+        private final AbsencePeriod.Record[] records;
+
+        private Row(boolean[] workdays, DayLength[] publicHolidayDayLengths, List<AbsencePeriod.Record> absenceRecords,
+                    LocalDate startDate, int numberOfDays) {
+            this.workdays = workdays;
+            this.publicHolidayDayLengths = publicHolidayDayLengths;
+            this.recordOffsets = new int[numberOfDays + 1];
+
+            if (absenceRecords.isEmpty()) {
+                this.records = NO_RECORDS;
+                return;
+            }
+
+            final int[] dayOffsets = new int[absenceRecords.size()];
+            for (int i = 0; i < absenceRecords.size(); i++) {
+                final int dayOffset = (int) DAYS.between(startDate, absenceRecords.get(i).getDate());
+                dayOffsets[i] = dayOffset;
+                if (dayOffset >= 0 && dayOffset < numberOfDays) {
+                    recordOffsets[dayOffset + 1]++;
+                }
+            }
+
+            for (int day = 0; day < numberOfDays; day++) {
+                recordOffsets[day + 1] += recordOffsets[day];
+            }
+
+            // stable counting sort to keep the order of the records of one day
+            this.records = new AbsencePeriod.Record[recordOffsets[numberOfDays]];
+            final int[] nextPosition = Arrays.copyOf(recordOffsets, numberOfDays);
+            for (int i = 0; i < absenceRecords.size(); i++) {
+                final int dayOffset = dayOffsets[i];
+                if (dayOffset >= 0 && dayOffset < numberOfDays) {
+                    records[nextPosition[dayOffset]++] = absenceRecords.get(i);
+                }
+            }
+        }
+    }
+
+    /**
+     * Fetches the public holidays only once per date range and federal state,
+     * since most persons share the same federal state.
+     */
+    private static final class PublicHolidayLookup {
+
+        private final PublicHolidaysService publicHolidaysService;
+        private final Map<DateRange, Map<FederalState, List<PublicHoliday>>> publicHolidaysByDateRange = new HashMap<>();
+
+        private PublicHolidayLookup(PublicHolidaysService publicHolidaysService) {
+            this.publicHolidaysService = publicHolidaysService;
+        }
+
+        private void fill(DayLength[] dayLengths, LocalDate startDate, DateRange dateRange, FederalState federalState) {
+            final List<PublicHoliday> publicHolidays = publicHolidaysByDateRange
+                .computeIfAbsent(dateRange, range -> new HashMap<>())
+                .computeIfAbsent(federalState, state -> publicHolidaysService.getPublicHolidays(dateRange.getStartDate(), dateRange.getEndDate(), state));
+
+            for (PublicHoliday publicHoliday : publicHolidays) {
+                final int dayOffset = (int) DAYS.between(startDate, publicHoliday.getDate());
+                if (dayOffset >= 0 && dayOffset < dayLengths.length) {
+                    dayLengths[dayOffset] = publicHoliday.getDayLength();
+                }
+            }
+        }
+    }
+}
@@ -22,11 +22,9 @@ import org.synyx.urlaubsverwaltung.department.DepartmentService;
 import org.synyx.urlaubsverwaltung.period.DayLength;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonService;
-import org.synyx.urlaubsverwaltung.publicholiday.PublicHoliday;
 import org.synyx.urlaubsverwaltung.publicholiday.PublicHolidaysService;
 import org.synyx.urlaubsverwaltung.settings.SettingsService;
 import org.synyx.urlaubsverwaltung.workingtime.FederalState;
-import org.synyx.urlaubsverwaltung.workingtime.WorkingTime;
 import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeService;
 
 import java.time.Clock;
@@ -50,7 +48,6 @@ import static java.lang.Integer.parseInt;
 import static java.time.DayOfWeek.SATURDAY;
 import static java.time.DayOfWeek.SUNDAY;
 import static java.util.Comparator.comparing;
-import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toCollection;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
@@ -197,87 +194,41 @@ public class AbsenceOverviewViewController {
     private List<AbsenceOverviewMonthDto> getAbsenceOverViewMonthModels(DateRange dateRange, List<Person> personList, Locale locale, Function<AbsencePeriod.RecordInfo, Boolean> shouldAnonymizeAbsenceType, Function<AbsencePeriod.RecordInfo, VacationTypeColor> recordInfoToColor) {
 
         final LocalDate today = LocalDate.now(clock);
-        final List<WorkingTime> workingTimeList = workingTimeService.getByPersons(personList);
         final List<AbsencePeriod> openAbsences = absenceService.getOpenAbsences(personList, dateRange.getStartDate(), dateRange.getEndDate());
-
-        final HashMap<Integer, AbsenceOverviewMonthDto> monthsByNr = new HashMap<>();
         final FederalState defaultFederalState = settingsService.getSettings().getWorkingTimeSettings().getFederalState();
 
-        final Map<Person, List<AbsencePeriod.Record>> absencePeriodRecordsByPerson = openAbsences.stream()
-            .map(AbsencePeriod::getAbsenceRecords)
-            .flatMap(List::stream)
-            .collect(groupingBy(AbsencePeriod.Record::getPerson));
+        final AbsenceOverviewDayMatrix dayMatrix = AbsenceOverviewDayMatrix.build(dateRange, personList, defaultFederalState,
+            workingTimeService, publicHolidaysService, openAbsences);
 
-        final Map<Person, Map<LocalDate, PublicHoliday>> publicHolidaysOfAllPersons = new HashMap<>();
-        for (Person person : personList) {
-            publicHolidaysOfAllPersons.put(person, getPublicHolidaysOfPerson(dateRange, person));
-        }
+        final HashMap<Integer, AbsenceOverviewMonthDto> monthsByNr = new HashMap<>();
 
         for (LocalDate date : dateRange) {
             final AbsenceOverviewMonthDto monthView = monthsByNr.computeIfAbsent(date.getMonthValue(),
                 monthValue -> this.initializeAbsenceOverviewMonthDto(date, personList, locale));
 
-            final AbsenceOverviewMonthDayDto tableHeadDay = tableHeadDay(date, defaultFederalState, today, locale);
-            monthView.getDays().add(tableHeadDay);
+            final int dayOffset = dayMatrix.dayOffset(date);
 
-            final Map<AbsenceOverviewMonthPersonDto, Person> personByView = personList.stream()
-                .collect(
-                    toMap(person -> monthView.getPersons().stream()
-                        .filter(view -> view.getEmail().equals(person.getEmail()) &&
-                            view.getFirstName().equals(person.getFirstName()) &&
-                            view.getLastName().equals(person.getLastName())
-                        )
-                        .findFirst()
-                        .orElse(null), Function.identity()
-                    )
-                );
+            final AbsenceOverviewMonthDayDto tableHeadDay = tableHeadDay(date, dayMatrix.getDefaultPublicHolidayDayLength(dayOffset), today, locale);
+            monthView.getDays().add(tableHeadDay);
 
             // create an absence day dto for every person of the department
-            for (AbsenceOverviewMonthPersonDto personView : monthView.getPersons()) {
+            // the person views of a month are in the same order as the person list and therefore as the matrix rows
+            final List<AbsenceOverviewMonthPersonDto> personViews = monthView.getPersons();
+            for (int personIndex = 0; personIndex < personViews.size(); personIndex++) {
 
-                final Person person = personByView.get(personView);
-
-                final List<WorkingTime> personWorkingTimeList = workingTimeList
-                    .stream()
-                    .filter(workingTime -> workingTime.getPerson().equals(person))
-                    .sorted(comparing(WorkingTime::getValidFrom).reversed())
-                    .collect(toList());
+                final List<AbsencePeriod.Record> personAbsenceRecordsForDate = dayMatrix.getAbsenceRecords(personIndex, dayOffset);
+                final DayLength publicHolidayDayLength = dayMatrix.getPublicHolidayDayLength(personIndex, dayOffset);
 
-                final List<AbsencePeriod.Record> personAbsenceRecordsForDate = Optional.ofNullable(absencePeriodRecordsByPerson.get(person))
-                    .stream()
-                    .flatMap(List::stream)
-                    .filter(absenceRecord -> absenceRecord.getDate().isEqual(date))
-                    .collect(toUnmodifiableList());
-
-                final AbsenceOverviewDayType personViewDayType = Optional.ofNullable(publicHolidaysOfAllPersons.get(person).get(date))
-                    .map(publicHoliday -> getAbsenceOverviewDayType(personAbsenceRecordsForDate, shouldAnonymizeAbsenceType, publicHoliday, recordInfoToColor))
-                    .orElseGet(() -> getAbsenceOverviewDayType(personAbsenceRecordsForDate, shouldAnonymizeAbsenceType, recordInfoToColor))
+                final AbsenceOverviewDayType personViewDayType = getAbsenceOverviewDayType(personAbsenceRecordsForDate, shouldAnonymizeAbsenceType, publicHolidayDayLength, recordInfoToColor)
                     .build();
 
-                personView.getDays().add(new AbsenceOverviewPersonDayDto(personViewDayType, isWorkday(date, personWorkingTimeList)));
+                personViews.get(personIndex).getDays().add(new AbsenceOverviewPersonDayDto(personViewDayType, dayMatrix.isWorkday(personIndex, dayOffset)));
             }
         }
 
         return new ArrayList<>(monthsByNr.values());
     }
 
-    private boolean isWorkday(LocalDate date, List<WorkingTime> workingTimeList) {
-        return workingTimeList
-            .stream()
-            .filter(w -> w.getValidFrom().isBefore(date) || w.getValidFrom().isEqual(date))
-            .findFirst()
-            .map(w -> w.isWorkingDay(date.getDayOfWeek()))
-            .orElse(false);
-    }
-
-    private Map<LocalDate, PublicHoliday> getPublicHolidaysOfPerson(DateRange dateRange, Person person) {
-        return workingTimeService.getFederalStatesByPersonAndDateRange(person, dateRange)
-            .entrySet().stream()
-            .map(entry -> publicHolidaysService.getPublicHolidays(entry.getKey().getStartDate(), entry.getKey().getEndDate(), entry.getValue()))
-            .flatMap(List::stream)
-            .collect(toMap(PublicHoliday::getDate, Function.identity()));
-    }
-
     private AbsenceOverviewMonthDto initializeAbsenceOverviewMonthDto(LocalDate date, List<Person> personList, Locale locale) {
 
         final List<AbsenceOverviewMonthPersonDto> monthViewPersons = personList.stream()
@@ -297,15 +248,15 @@ public class AbsenceOverviewViewController {
         return new AbsenceOverviewMonthPersonDto(firstName, lastName, email, gravatarUrl, new ArrayList<>());
     }
 
-    private AbsenceOverviewDayType.Builder getAbsenceOverviewDayType(List<AbsencePeriod.Record> absenceRecords, Function<AbsencePeriod.RecordInfo, Boolean> shouldAnonymizeAbsenceType, PublicHoliday publicHoliday, Function<AbsencePeriod.RecordInfo, VacationTypeColor> recordInfoToColor) {
+    private AbsenceOverviewDayType.Builder getAbsenceOverviewDayType(List<AbsencePeriod.Record> absenceRecords, Function<AbsencePeriod.RecordInfo, Boolean> shouldAnonymizeAbsenceType, DayLength publicHolidayDayLength, Function<AbsencePeriod.RecordInfo, VacationTypeColor> recordInfoToColor) {
         AbsenceOverviewDayType.Builder builder = getAbsenceOverviewDayType(absenceRecords, shouldAnonymizeAbsenceType, recordInfoToColor);
-        if (publicHoliday.getDayLength().equals(DayLength.MORNING)) {
+        if (publicHolidayDayLength.equals(DayLength.MORNING)) {
             builder = builder.publicHolidayMorning();
         }
-        if (publicHoliday.getDayLength().equals(DayLength.NOON)) {
+        if (publicHolidayDayLength.equals(DayLength.NOON)) {
             builder = builder.publicHolidayNoon();
         }
-        if (publicHoliday.getDayLength().equals(DayLength.FULL)) {
+        if (publicHolidayDayLength.equals(DayLength.FULL)) {
             builder = builder.publicHolidayFull();
         }
         return builder;
@@ -461,10 +412,7 @@ public class AbsenceOverviewViewController {
         return selectedMonth;
     }
 
-    private AbsenceOverviewMonthDayDto tableHeadDay(LocalDate date, FederalState defaultFederalState, LocalDate today, Locale locale) {
-        final Optional<PublicHoliday> maybePublicHoliday = publicHolidaysService.getPublicHoliday(date, defaultFederalState);
-        final DayLength publicHolidayDayLength = maybePublicHoliday.isPresent() ? maybePublicHoliday.get().getDayLength() : DayLength.ZERO;
-
+    private AbsenceOverviewMonthDayDto tableHeadDay(LocalDate date, DayLength publicHolidayDayLength, LocalDate today, Locale locale) {
         AbsenceOverviewDayType publicHolidayType = null;
         if (DayLength.ZERO.compareTo(publicHolidayDayLength) != 0) {
             publicHolidayType = getPublicHolidayType(publicHolidayDayLength).build();
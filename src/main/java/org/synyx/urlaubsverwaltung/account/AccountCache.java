@@ -0,0 +1,145 @@
+package org.synyx.urlaubsverwaltung.account;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.synyx.urlaubsverwaltung.person.Person;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.springframework.web.context.request.RequestAttributes.SCOPE_REQUEST;
+
+/**
+ * Remembers the holidays accounts that have been looked up during the current web request or, outside of a web
+ * request, during the current transaction, e.g. of a scheduled job. Outside of both nothing is remembered.
+ */
+class AccountCache {
+
+    private static final String CACHE_KEY = AccountCache.class.getName();
+
+    /**
+     * @return the remembered account of the given year and person or the account provided by the given loader,
+     * that is remembered for later lookups
+     */
+    Optional<Account> get(int year, Person person, Supplier<Optional<Account>> loader) {
+
+        final Map<Key, Optional<Account>> accounts = currentAccounts();
+        if (accounts == null || person.getId() == null) {
+            return loader.get();
+        }
+
+        return accounts.computeIfAbsent(new Key(year, person.getId()), key -> loader.get());
+    }
+
+    /**
+     * @return the remembered accounts of the given year and persons together with the accounts that the given loader
+     * provides for all persons whose accounts are not remembered yet. Persons without an account are remembered, too.
+     */
+    List<Account> getAll(int year, List<Person> persons, Function<List<Person>, List<Account>> loader) {
+
+        final Map<Key, Optional<Account>> accounts = currentAccounts();
+        if (accounts == null) {
+            return loader.apply(persons);
+        }
+
+        final List<Account> holidaysAccounts = new ArrayList<>();
+        final List<Person> personsToLoad = new ArrayList<>();
+        for (Person person : persons) {
+            final Optional<Account> account = person.getId() == null ? null : accounts.get(new Key(year, person.getId()));
+            if (account == null) {
+                personsToLoad.add(person);
+            } else {
+                account.ifPresent(holidaysAccounts::add);
+            }
+        }
+
+        if (!personsToLoad.isEmpty()) {
+            final List<Account> loadedAccounts = loader.apply(personsToLoad);
+            personsToLoad.stream()
+                .filter(person -> person.getId() != null)
+                .forEach(person -> accounts.put(new Key(year, person.getId()), Optional.empty()));
+            loadedAccounts.forEach(account -> accounts.put(new Key(year, account.getPerson().getId()), Optional.of(account)));
+            holidaysAccounts.addAll(loadedAccounts);
+        }
+
+        return holidaysAccounts;
+    }
+
+    /**
+     * Remembers the given account that has been saved.
+     */
+    void put(Account account) {
+
+        final Map<Key, Optional<Account>> accounts = currentAccounts();
+        if (accounts != null && account.getPerson().getId() != null) {
+            accounts.put(new Key(account.getYear(), account.getPerson().getId()), Optional.of(account));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Key, Optional<Account>> currentAccounts() {
+
+        final RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null) {
+            Map<Key, Optional<Account>> accounts = (Map<Key, Optional<Account>>) requestAttributes.getAttribute(CACHE_KEY, SCOPE_REQUEST);
+            if (accounts == null) {
+                accounts = new HashMap<>();
+                requestAttributes.setAttribute(CACHE_KEY, accounts, SCOPE_REQUEST);
+            }
+            return accounts;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            Map<Key, Optional<Account>> accounts = (Map<Key, Optional<Account>>) TransactionSynchronizationManager.getResource(CACHE_KEY);
+            if (accounts == null) {
+                accounts = new HashMap<>();
+                TransactionSynchronizationManager.bindResource(CACHE_KEY, accounts);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        TransactionSynchronizationManager.unbindResourceIfPossible(CACHE_KEY);
+                    }
+                });
+            }
+            return accounts;
+        }
+
+        return null;
+    }
+
+    private static final class Key {
+
+        private final int year;
+        private final Integer personId;
+
+        private Key(int year, Integer personId) {
+            this.year = year;
+            this.personId = personId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final Key that = (Key) o;
+            return year == that.year && Objects.equals(personId, that.personId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(year, personId);
+        }
+    }
+}
@@ -66,6 +66,17 @@ public interface AccountInteractionService {
      */
     Account autoCreateOrUpdateNextYearsHolidaysAccount(Account referenceAccount);
 
+    /**
+     * Auto-creates a new {@link Account} or updates the existing {@link Account} for the next year like
+     * {@link #autoCreateOrUpdateNextYearsHolidaysAccount(Account)}, with the left vacation days of the reference account
+     * that have already been calculated by the caller.
+     *
+     * @param referenceAccount to get the information about annual vacation days etc.
+     * @param leftVacationDays of the reference account, see {@link VacationDaysService#calculateTotalLeftVacationDays(Account)}
+     * @return the created/updated holidays account
+     */
+    Account autoCreateOrUpdateNextYearsHolidaysAccount(Account referenceAccount, BigDecimal leftVacationDays);
+
     /**
      * Updates the remaining vacation days of all {@link Account}s that follow the {@link Account} of the given year. Updating is stopped when there is no next year's
      * {@link Account}.
@@ -158,13 +158,19 @@ class AccountInteractionServiceImpl implements AccountInteractionService {
 
     @Override
     public Account autoCreateOrUpdateNextYearsHolidaysAccount(Account referenceAccount) {
+        final BigDecimal leftVacationDays = vacationDaysService.calculateTotalLeftVacationDays(referenceAccount);
+        return autoCreateOrUpdateNextYearsHolidaysAccount(referenceAccount, leftVacationDays);
+    }
+
+    @Override
+    public Account autoCreateOrUpdateNextYearsHolidaysAccount(Account referenceAccount, BigDecimal leftVacationDays) {
 
         final int nextYear = referenceAccount.getYear() + 1;
 
         final Optional<Account> nextYearAccountOptional = accountService.getHolidaysAccount(nextYear, referenceAccount.getPerson());
         if (nextYearAccountOptional.isPresent()) {
             final Account nextYearAccount = nextYearAccountOptional.get();
-            updateRemainingVacationDays(nextYearAccount, referenceAccount);
+            updateRemainingVacationDays(nextYearAccount, leftVacationDays);
 
             LOG.info("Updated existing holidays account for {}: {}", nextYear, nextYearAccount);
 
@@ -174,7 +180,6 @@ class AccountInteractionServiceImpl implements AccountInteractionService {
         final LocalDate validFrom = Year.of(nextYear).atDay(1);
         final LocalDate validTo = getLastDayOfYear(nextYear);
         final LocalDate expiryDate = referenceAccount.getExpiryDate().withYear(nextYear);
-        final BigDecimal leftVacationDays = vacationDaysService.calculateTotalLeftVacationDays(referenceAccount);
 
         return updateOrCreateHolidaysAccount(
             referenceAccount.getPerson(),
@@ -205,8 +210,11 @@ class AccountInteractionServiceImpl implements AccountInteractionService {
      * @param lastAccount as reference to be used for calculation of remaining vacation days
      */
     private void updateRemainingVacationDays(Account newAccount, Account lastAccount) {
+        updateRemainingVacationDays(newAccount, vacationDaysService.calculateTotalLeftVacationDays(lastAccount));
+    }
+
+    private void updateRemainingVacationDays(Account newAccount, BigDecimal leftVacationDays) {
 
-        final BigDecimal leftVacationDays = vacationDaysService.calculateTotalLeftVacationDays(lastAccount);
         newAccount.setRemainingVacationDays(leftVacationDays);
 
         // number of not expiring remaining vacation days is greater than remaining vacation days
@@ -9,6 +9,7 @@ import javax.validation.Valid;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
+import java.time.Duration;
 
 @Component
 @ConfigurationProperties("uv.account")
@@ -61,6 +62,25 @@ public class AccountProperties {
         @CronExpression
         private String cron = "0 0 5 1 1 *";
 
+        /**
+         * Number of persons whose accounts are updated in one transaction.
+         */
+        @Min(1)
+        private int chunkSize = 100;
+
+        /**
+         * Number of chunks that are updated at the same time.
+         */
+        @Min(1)
+        private int workers = 4;
+
+        /**
+         * Delay between two checks for an update of the current year that has not been finished,
+         * e.g. because the application has been stopped during the update.
+         */
+        @NotNull
+        private Duration resumeInterval = Duration.ofMinutes(15);
+
         public String getCron() {
             return cron;
         }
@@ -68,6 +88,30 @@ public class AccountProperties {
         public void setCron(String cron) {
             this.cron = cron;
         }
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public int getWorkers() {
+            return workers;
+        }
+
+        public void setWorkers(int workers) {
+            this.workers = workers;
+        }
+
+        public Duration getResumeInterval() {
+            return resumeInterval;
+        }
+
+        public void setResumeInterval(Duration resumeInterval) {
+            this.resumeInterval = resumeInterval;
+        }
     }
 
     public static class VacationDaysReminder {
@@ -4,12 +4,21 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.synyx.urlaubsverwaltung.person.Person;
 
+import java.time.LocalDate;
+import java.util.List;
+
 
 /**
  * Repository for {@link Account} entities.
+ *
+ * <p>The year of an account is looked up with the range of its first day, so the index of person and validFrom can be
+ * used.</p>
  */
 public interface AccountRepository extends CrudRepository<Account, Integer> {
 
-    @Query("select x from Account x where YEAR(x.validFrom) = ?1 and x.person = ?2")
-    Account getHolidaysAccountByYearAndPerson(int year, Person person);
+    @Query("select x from Account x where x.validFrom between ?1 and ?2 and x.person = ?3")
+    Account getHolidaysAccountByValidFromAndPerson(LocalDate firstDayOfYear, LocalDate lastDayOfYear, Person person);
+
+    @Query("select x from Account x where x.validFrom between ?1 and ?2 and x.person in ?3")
+    List<Account> getHolidaysAccountsByValidFromAndPersons(LocalDate firstDayOfYear, LocalDate lastDayOfYear, List<Person> persons);
 }
@@ -0,0 +1,72 @@
+package org.synyx.urlaubsverwaltung.account;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.Instant;
+
+/**
+ * The update of the holidays accounts for a new year, see {@link TurnOfTheYearAccountUpdaterService}.
+ * An update that is not finished is resumed after the last completed {@link AccountRolloverChunk}.
+ */
+@Entity
+@Table(name = "account_rollover")
+class AccountRollover {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "rollover_year")
+    private int year;
+
+    private Instant startedAt;
+
+    private Instant finishedAt;
+
+    protected AccountRollover() {
+        // ok
+    }
+
+    AccountRollover(int year, Instant startedAt) {
+        this.year = year;
+        this.startedAt = startedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    boolean isFinished() {
+        return finishedAt != null;
+    }
+
+    void finished(Instant now) {
+        this.finishedAt = now;
+    }
+
+    @Override
+    public String toString() {
+        return "AccountRollover{" +
+            "id=" + id +
+            ", year=" + year +
+            ", startedAt=" + startedAt +
+            ", finishedAt=" + finishedAt +
+            '}';
+    }
+}
@@ -0,0 +1,97 @@
+package org.synyx.urlaubsverwaltung.account;
+
+import javax.persistence.CollectionTable;
+import javax.persistence.Column;
+import javax.persistence.ElementCollection;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.Table;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static javax.persistence.FetchType.EAGER;
+
+/**
+ * Checkpoint of an {@link AccountRollover}: the accounts of the persons of the chunk have been updated. Persons with
+ * an id between the first and the last person id that are not part of the chunk, e.g. because they have been
+ * activated after the update has been started, are still pending.
+ */
+@Entity
+@Table(name = "account_rollover_chunk")
+class AccountRolloverChunk {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "rollover_year")
+    private int year;
+
+    private Integer firstPersonId;
+
+    private Integer lastPersonId;
+
+    @ElementCollection(fetch = EAGER)
+    @CollectionTable(name = "account_rollover_chunk_person", joinColumns = @JoinColumn(name = "account_rollover_chunk_id"))
+    @Column(name = "person_id")
+    private Set<Integer> personIds = new HashSet<>();
+
+    private Instant completedAt;
+
+    protected AccountRolloverChunk() {
+        // ok
+    }
+
+    /**
+     * @param personIds ids of the persons of the chunk in ascending order
+     */
+    AccountRolloverChunk(int year, List<Integer> personIds, Instant completedAt) {
+        this.year = year;
+        this.firstPersonId = personIds.get(0);
+        this.lastPersonId = personIds.get(personIds.size() - 1);
+        this.personIds = new HashSet<>(personIds);
+        this.completedAt = completedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public Integer getFirstPersonId() {
+        return firstPersonId;
+    }
+
+    public Integer getLastPersonId() {
+        return lastPersonId;
+    }
+
+    public Set<Integer> getPersonIds() {
+        return personIds;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    boolean contains(Integer personId) {
+        return personIds.contains(personId);
+    }
+
+    @Override
+    public String toString() {
+        return "AccountRolloverChunk{" +
+            "year=" + year +
+            ", firstPersonId=" + firstPersonId +
+            ", lastPersonId=" + lastPersonId +
+            '}';
+    }
+}
@@ -0,0 +1,10 @@
+package org.synyx.urlaubsverwaltung.account;
+
+import org.springframework.data.repository.CrudRepository;
+
+import java.util.List;
+
+interface AccountRolloverChunkRepository extends CrudRepository<AccountRolloverChunk, Long> {
+
+    List<AccountRolloverChunk> findByYear(int year);
+}
@@ -0,0 +1,10 @@
+package org.synyx.urlaubsverwaltung.account;
+
+import org.springframework.data.repository.CrudRepository;
+
+import java.util.Optional;
+
+interface AccountRolloverRepository extends CrudRepository<AccountRollover, Long> {
+
+    Optional<AccountRollover> findByYear(int year);
+}
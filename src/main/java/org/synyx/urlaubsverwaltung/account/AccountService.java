@@ -2,6 +2,7 @@ package org.synyx.urlaubsverwaltung.account;
 
 import org.synyx.urlaubsverwaltung.person.Person;
 
+import java.util.List;
 import java.util.Optional;
 
 
@@ -20,6 +21,15 @@ public interface AccountService {
      */
     Optional<Account> getHolidaysAccount(int year, Person person);
 
+    /**
+     * Gets the {@link Account}s of the given persons for the given year.
+     *
+     * @param year    to get the holidays accounts for
+     * @param persons to get the holidays accounts for
+     * @return list of {@link Account}s, persons without an account for the given year are missing
+     */
+    List<Account> getHolidaysAccounts(int year, List<Person> persons);
+
     /**
      * Saves the given {@link Account}.
      *
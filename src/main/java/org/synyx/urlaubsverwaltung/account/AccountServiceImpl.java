@@ -1,11 +1,17 @@
 package org.synyx.urlaubsverwaltung.account;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.synyx.urlaubsverwaltung.person.Person;
 
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.List;
 import java.util.Optional;
 
+import static java.time.temporal.TemporalAdjusters.lastDayOfYear;
+
 /**
  * Implementation of {@link AccountService}.
  */
@@ -13,19 +19,39 @@ import java.util.Optional;
 public class AccountServiceImpl implements AccountService {
 
     private final AccountRepository accountRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final AccountCache accountCache = new AccountCache();
 
     @Autowired
-    public AccountServiceImpl(AccountRepository accountRepository) {
+    public AccountServiceImpl(AccountRepository accountRepository, ApplicationEventPublisher applicationEventPublisher) {
         this.accountRepository = accountRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
     }
 
     @Override
     public Optional<Account> getHolidaysAccount(int year, Person person) {
-        return Optional.ofNullable(accountRepository.getHolidaysAccountByYearAndPerson(year, person));
+        return accountCache.get(year, person, () -> {
+            final LocalDate firstDayOfYear = Year.of(year).atDay(1);
+            return Optional.ofNullable(accountRepository.getHolidaysAccountByValidFromAndPerson(firstDayOfYear, firstDayOfYear.with(lastDayOfYear()), person));
+        });
+    }
+
+    @Override
+    public List<Account> getHolidaysAccounts(int year, List<Person> persons) {
+        if (persons.isEmpty()) {
+            return List.of();
+        }
+        return accountCache.getAll(year, persons, personsToLoad -> {
+            final LocalDate firstDayOfYear = Year.of(year).atDay(1);
+            return accountRepository.getHolidaysAccountsByValidFromAndPersons(firstDayOfYear, firstDayOfYear.with(lastDayOfYear()), personsToLoad);
+        });
     }
 
     @Override
     public Account save(Account account) {
-        return accountRepository.save(account);
+        final Account savedAccount = accountRepository.save(account);
+        accountCache.put(savedAccount);
+        applicationEventPublisher.publishEvent(new AccountUpdatedEvent(this, savedAccount.getPerson().getId(), savedAccount.getYear()));
+        return savedAccount;
     }
 }
@@ -0,0 +1,26 @@
+package org.synyx.urlaubsverwaltung.account;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published whenever a holidays {@link Account} has been saved, e.g. it has been created or edited.
+ */
+public class AccountUpdatedEvent extends ApplicationEvent {
+
+    private final Integer personId;
+    private final int year;
+
+    public AccountUpdatedEvent(Object source, Integer personId, int year) {
+        super(source);
+        this.personId = personId;
+        this.year = year;
+    }
+
+    public Integer getPersonId() {
+        return personId;
+    }
+
+    public int getYear() {
+        return year;
+    }
+}
@@ -0,0 +1,90 @@
+package org.synyx.urlaubsverwaltung.account;
+
+import org.synyx.urlaubsverwaltung.person.Person;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Entitlement and vacation days left of a person in a year, e.g. to show them in the list of all persons.
+ * The values are empty if the person has no holidays account in that year.
+ */
+public final class PersonVacationSummary {
+
+    private final Person person;
+    private final int year;
+    private final BigDecimal annualVacationDays;
+    private final BigDecimal actualVacationDays;
+    private final BigDecimal remainingVacationDays;
+    private final BigDecimal vacationDaysLeft;
+    private final BigDecimal remainingVacationDaysLeft;
+    private final BigDecimal remainingVacationDaysNotExpiringLeft;
+    private final LocalDate expiryDate;
+
+    PersonVacationSummary(PersonVacationSummaryEntity entity) {
+        this.person = entity.getPerson();
+        this.year = entity.getYear();
+        this.annualVacationDays = entity.getAnnualVacationDays();
+        this.actualVacationDays = entity.getActualVacationDays();
+        this.remainingVacationDays = entity.getRemainingVacationDays();
+        this.vacationDaysLeft = entity.getVacationDaysLeft();
+        this.remainingVacationDaysLeft = entity.getRemainingVacationDaysLeft();
+        this.remainingVacationDaysNotExpiringLeft = entity.getRemainingVacationDaysNotExpiringLeft();
+        this.expiryDate = entity.getExpiryDate();
+    }
+
+    public Person getPerson() {
+        return person;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public boolean hasAccount() {
+        return annualVacationDays != null;
+    }
+
+    public Optional<BigDecimal> getAnnualVacationDays() {
+        return Optional.ofNullable(annualVacationDays);
+    }
+
+    public Optional<BigDecimal> getActualVacationDays() {
+        return Optional.ofNullable(actualVacationDays);
+    }
+
+    public Optional<BigDecimal> getRemainingVacationDays() {
+        return Optional.ofNullable(remainingVacationDays);
+    }
+
+    public Optional<BigDecimal> getVacationDaysLeft() {
+        return Optional.ofNullable(vacationDaysLeft);
+    }
+
+    /**
+     * @param today the day to get the remaining vacation days left for
+     * @return the remaining vacation days left before the expiry date, afterwards only the not expiring ones
+     */
+    public Optional<BigDecimal> getRemainingVacationDaysLeft(LocalDate today) {
+        if (!hasAccount()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(today.isBefore(expiryDate) ? remainingVacationDaysLeft : remainingVacationDaysNotExpiringLeft);
+    }
+
+    @Override
+    public String toString() {
+        return "PersonVacationSummary{" +
+            "person=" + person +
+            ", year=" + year +
+            ", annualVacationDays=" + annualVacationDays +
+            ", actualVacationDays=" + actualVacationDays +
+            ", remainingVacationDays=" + remainingVacationDays +
+            ", vacationDaysLeft=" + vacationDaysLeft +
+            ", remainingVacationDaysLeft=" + remainingVacationDaysLeft +
+            ", remainingVacationDaysNotExpiringLeft=" + remainingVacationDaysNotExpiringLeft +
+            ", expiryDate=" + expiryDate +
+            '}';
+    }
+}
@@ -0,0 +1,125 @@
+package org.synyx.urlaubsverwaltung.account;
+
+import org.synyx.urlaubsverwaltung.person.Person;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Precomputed entitlement and vacation days left of a person in a year. The vacation days are empty if the person
+ * has no holidays account in that year.
+ */
+@Entity
+@Table(name = "person_vacation_summary")
+class PersonVacationSummaryEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne
+    private Person person;
+
+    @Column(name = "summary_year")
+    private int year;
+
+    private LocalDate calculatedOn;
+
+    private BigDecimal annualVacationDays;
+    private BigDecimal actualVacationDays;
+    private BigDecimal remainingVacationDays;
+    private BigDecimal vacationDaysLeft;
+    private BigDecimal remainingVacationDaysLeft;
+    private BigDecimal remainingVacationDaysNotExpiringLeft;
+    private LocalDate expiryDate;
+
+    protected PersonVacationSummaryEntity() {
+        // ok
+    }
+
+    PersonVacationSummaryEntity(Person person, int year) {
+        this.person = person;
+        this.year = year;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Person getPerson() {
+        return person;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public LocalDate getCalculatedOn() {
+        return calculatedOn;
+    }
+
+    public BigDecimal getAnnualVacationDays() {
+        return annualVacationDays;
+    }
+
+    public BigDecimal getActualVacationDays() {
+        return actualVacationDays;
+    }
+
+    public BigDecimal getRemainingVacationDays() {
+        return remainingVacationDays;
+    }
+
+    public BigDecimal getVacationDaysLeft() {
+        return vacationDaysLeft;
+    }
+
+    public BigDecimal getRemainingVacationDaysLeft() {
+        return remainingVacationDaysLeft;
+    }
+
+    public BigDecimal getRemainingVacationDaysNotExpiringLeft() {
+        return remainingVacationDaysNotExpiringLeft;
+    }
+
+    public LocalDate getExpiryDate() {
+        return expiryDate;
+    }
+
+    /**
+     * Replaces the vacation days with the ones of the given account or removes them if there is no account.
+     */
+    void update(LocalDate calculatedOn, Account account, VacationDaysLeft left) {
+        this.calculatedOn = calculatedOn;
+        this.annualVacationDays = account == null ? null : account.getAnnualVacationDays();
+        this.actualVacationDays = account == null ? null : account.getActualVacationDays();
+        this.remainingVacationDays = account == null ? null : account.getRemainingVacationDays();
+        this.expiryDate = account == null ? null : account.getExpiryDate();
+        this.vacationDaysLeft = left == null ? null : left.getVacationDays();
+        this.remainingVacationDaysLeft = left == null ? null : left.getRemainingVacationDays();
+        this.remainingVacationDaysNotExpiringLeft = left == null ? null : left.getRemainingVacationDaysNotExpiring();
+    }
+
+    @Override
+    public String toString() {
+        return "PersonVacationSummaryEntity{" +
+            "person=" + person +
+            ", year=" + year +
+            ", calculatedOn=" + calculatedOn +
+            ", annualVacationDays=" + annualVacationDays +
+            ", actualVacationDays=" + actualVacationDays +
+            ", remainingVacationDays=" + remainingVacationDays +
+            ", vacationDaysLeft=" + vacationDaysLeft +
+            ", remainingVacationDaysLeft=" + remainingVacationDaysLeft +
+            ", remainingVacationDaysNotExpiringLeft=" + remainingVacationDaysNotExpiringLeft +
+            ", expiryDate=" + expiryDate +
+            '}';
+    }
+}
@@ -0,0 +1,41 @@
+package org.synyx.urlaubsverwaltung.account;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.synyx.urlaubsverwaltung.person.Person;
+
+import java.util.Collection;
+import java.util.List;
+
+interface PersonVacationSummaryRepository extends CrudRepository<PersonVacationSummaryEntity, Long> {
+
+    List<PersonVacationSummaryEntity> findByYearAndPersonIn(int year, List<Person> persons);
+
+    /**
+     * Inserts the given summary or replaces the stored summary of the same person and year, so concurrent
+     * calculations of the same summary do not fail on the unique constraint of person and year.
+     */
+    @Modifying
+    @Query(
+        value = "INSERT INTO person_vacation_summary (person_id, summary_year, calculated_on, annual_vacation_days, "
+            + "actual_vacation_days, remaining_vacation_days, vacation_days_left, remaining_vacation_days_left, "
+            + "remaining_vacation_days_not_expiring_left, expiry_date) "
+            + "VALUES (:#{#summary.person.id}, :#{#summary.year}, :#{#summary.calculatedOn}, :#{#summary.annualVacationDays}, "
+            + ":#{#summary.actualVacationDays}, :#{#summary.remainingVacationDays}, :#{#summary.vacationDaysLeft}, "
+            + ":#{#summary.remainingVacationDaysLeft}, :#{#summary.remainingVacationDaysNotExpiringLeft}, :#{#summary.expiryDate}) "
+            + "ON DUPLICATE KEY UPDATE calculated_on = VALUES(calculated_on), annual_vacation_days = VALUES(annual_vacation_days), "
+            + "actual_vacation_days = VALUES(actual_vacation_days), remaining_vacation_days = VALUES(remaining_vacation_days), "
+            + "vacation_days_left = VALUES(vacation_days_left), remaining_vacation_days_left = VALUES(remaining_vacation_days_left), "
+            + "remaining_vacation_days_not_expiring_left = VALUES(remaining_vacation_days_not_expiring_left), expiry_date = VALUES(expiry_date)",
+        nativeQuery = true
+    )
+    void upsert(@Param("summary") PersonVacationSummaryEntity summary);
+
+    @Modifying
+    void deleteByPersonIdAndYearIn(Integer personId, Collection<Integer> years);
+
+    @Modifying
+    void deleteByPersonId(Integer personId);
+}
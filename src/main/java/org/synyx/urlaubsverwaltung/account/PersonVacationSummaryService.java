@@ -0,0 +1,166 @@
+package org.synyx.urlaubsverwaltung.account;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationService;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationUpdatedEvent;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeUpdatedEvent;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+import static org.springframework.transaction.TransactionDefinition.PROPAGATION_REQUIRES_NEW;
+
+/**
+ * Provides the {@link PersonVacationSummary} of many persons with one query.
+ * <p>
+ * The summaries are stored in a read model which is calculated on demand and updated incrementally: the summaries
+ * of a person are removed whenever an application for leave, a holidays account or a working time of the person
+ * changes, and calculated again the next time they are requested. Summaries calculated on an earlier day are
+ * calculated again as well, since changes of public holidays or settings are not tracked.
+ * <p>
+ * The summaries are removed within the transaction of the change and once more after its commit, so that a summary
+ * calculated concurrently from the data before the commit is not kept.
+ */
+@Service
+@Transactional
+public class PersonVacationSummaryService {
+
+    private final PersonVacationSummaryRepository personVacationSummaryRepository;
+    private final AccountService accountService;
+    private final VacationDaysService vacationDaysService;
+    private final ApplicationService applicationService;
+    private final TransactionTemplate requiresNewTransactionTemplate;
+    private final Clock clock;
+
+    @Autowired
+    PersonVacationSummaryService(PersonVacationSummaryRepository personVacationSummaryRepository, AccountService accountService,
+                                 VacationDaysService vacationDaysService, ApplicationService applicationService,
+                                 PlatformTransactionManager transactionManager, Clock clock) {
+        this.personVacationSummaryRepository = personVacationSummaryRepository;
+        this.accountService = accountService;
+        this.vacationDaysService = vacationDaysService;
+        this.applicationService = applicationService;
+        this.requiresNewTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.requiresNewTransactionTemplate.setPropagationBehavior(PROPAGATION_REQUIRES_NEW);
+        this.clock = clock;
+    }
+
+    /**
+     * @param year    to get the summaries of
+     * @param persons to get the summaries of
+     * @return the summary of every given person in the order of the given persons
+     */
+    public Map<Person, PersonVacationSummary> getSummaries(int year, List<Person> persons) {
+
+        if (persons.isEmpty()) {
+            return Map.of();
+        }
+
+        final LocalDate today = LocalDate.now(clock);
+
+        final Map<Person, PersonVacationSummaryEntity> summaryByPerson = new HashMap<>();
+        personVacationSummaryRepository.findByYearAndPersonIn(year, persons)
+            .forEach(summary -> summaryByPerson.put(summary.getPerson(), summary));
+
+        final List<Person> personsToCalculate = persons.stream()
+            .distinct()
+            .filter(person -> !summaryByPerson.containsKey(person) || !today.equals(summaryByPerson.get(person).getCalculatedOn()))
+            .collect(toList());
+
+        for (PersonVacationSummaryEntity summary : calculateSummaries(year, personsToCalculate, today)) {
+            personVacationSummaryRepository.upsert(summary);
+            summaryByPerson.put(summary.getPerson(), summary);
+        }
+
+        return persons.stream()
+            .distinct()
+            .collect(toMap(identity(), person -> new PersonVacationSummary(summaryByPerson.get(person)), (summary, sameSummary) -> summary, LinkedHashMap::new));
+    }
+
+    /**
+     * An application affects the vacation days left of the year before as well, and an edited application may have
+     * been moved from other years, so all summaries of the person are removed.
+     */
+    @EventListener
+    public void handleApplicationUpdated(ApplicationUpdatedEvent event) {
+        applicationService.getApplicationById(event.getApplicationId())
+            .map(application -> application.getPerson().getId())
+            .ifPresent(personId -> evict(() -> personVacationSummaryRepository.deleteByPersonId(personId)));
+    }
+
+    /**
+     * The account of a year affects the vacation days left of the year before as well, since remaining vacation
+     * days used in that year reduce the vacation days left of the year before.
+     */
+    @EventListener
+    public void handleAccountUpdated(AccountUpdatedEvent event) {
+        final Integer personId = event.getPersonId();
+        final Set<Integer> years = Set.of(event.getYear() - 1, event.getYear());
+        evict(() -> personVacationSummaryRepository.deleteByPersonIdAndYearIn(personId, years));
+    }
+
+    @EventListener
+    public void handleWorkingTimeUpdated(WorkingTimeUpdatedEvent event) {
+        final Integer personId = event.getPersonId();
+        evict(() -> personVacationSummaryRepository.deleteByPersonId(personId));
+    }
+
+    /**
+     * Removes summaries now and once more in a new transaction after the current transaction has been committed.
+     */
+    private void evict(Runnable deletion) {
+
+        deletion.run();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    requiresNewTransactionTemplate.executeWithoutResult(status -> deletion.run());
+                }
+            });
+        }
+    }
+
+    private List<PersonVacationSummaryEntity> calculateSummaries(int year, List<Person> persons, LocalDate today) {
+
+        if (persons.isEmpty()) {
+            return List.of();
+        }
+
+        final List<Account> accounts = accountService.getHolidaysAccounts(year, persons);
+        final List<Account> accountsOfNextYear = accountService.getHolidaysAccounts(year + 1, persons);
+        final Map<Account, VacationDaysLeft> vacationDaysLeftByAccount = vacationDaysService.getVacationDaysLeft(accounts, accountsOfNextYear);
+        final Map<Person, Account> accountByPerson = accounts.stream()
+            .collect(toMap(Account::getPerson, identity(), (account, sameAccount) -> account));
+
+        final List<PersonVacationSummaryEntity> summaries = new ArrayList<>(persons.size());
+        for (Person person : persons) {
+            final Account account = accountByPerson.get(person);
+            final VacationDaysLeft vacationDaysLeft = account == null ? null : vacationDaysLeftByAccount.get(account);
+
+            final PersonVacationSummaryEntity summary = new PersonVacationSummaryEntity(person, year);
+            summary.update(today, account, vacationDaysLeft);
+            summaries.add(summary);
+        }
+
+        return summaries;
+    }
+}
@@ -30,5 +30,10 @@ public class TurnOfTheYearAccountUpdaterConfiguration implements SchedulingConfi
             scheduleLocking.withLock("UpdateAccountsForNextPeriod", turnOfTheYearAccountUpdaterService::updateAccountsForNextPeriod),
             accountProperties.getUpdate().getCron()
         );
+        // same lock as the update, so an update that is running is not resumed at the same time
+        taskRegistrar.addFixedDelayTask(
+            scheduleLocking.withLock("UpdateAccountsForNextPeriod", turnOfTheYearAccountUpdaterService::resumeUnfinishedUpdate),
+            accountProperties.getUpdate().getResumeInterval().toMillis()
+        );
     }
 }
@@ -2,28 +2,46 @@ package org.synyx.urlaubsverwaltung.account;
 
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.synyx.urlaubsverwaltung.mail.Mail;
 import org.synyx.urlaubsverwaltung.mail.MailService;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonService;
 
+import javax.annotation.PreDestroy;
+import java.math.BigDecimal;
 import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.Year;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static java.lang.invoke.MethodHandles.lookup;
+import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.toList;
 import static org.slf4j.LoggerFactory.getLogger;
 import static org.synyx.urlaubsverwaltung.person.MailNotification.NOTIFICATION_OFFICE;
 
 
 /**
  * Is to be scheduled every turn of the year: calculates the remaining vacation days for the new year.
+ *
+ * <p>The active persons are updated in chunks of {@link AccountProperties.Update#getChunkSize()} persons by a bounded
+ * number of workers. Every chunk is updated in its own transaction that also records the chunk as completed, so an
+ * update that has been interrupted is resumed with the persons that are not part of a completed chunk. The persons of
+ * a chunk are reminded of their remaining vacation days after the chunk has been committed, so a chunk that is
+ * updated again does not remind its persons twice.</p>
  */
 @Service
 public class TurnOfTheYearAccountUpdaterService {
@@ -33,53 +51,200 @@ public class TurnOfTheYearAccountUpdaterService {
     private final PersonService personService;
     private final AccountService accountService;
     private final AccountInteractionService accountInteractionService;
+    private final VacationDaysService vacationDaysService;
     private final VacationDaysReminderService vacationDaysReminderService;
     private final MailService mailService;
+    private final AccountRolloverRepository accountRolloverRepository;
+    private final AccountRolloverChunkRepository accountRolloverChunkRepository;
+    private final AccountProperties accountProperties;
+    private final TransactionTemplate transactionTemplate;
     private final Clock clock;
+    private final ExecutorService workers;
 
     @Autowired
     public TurnOfTheYearAccountUpdaterService(PersonService personService, AccountService accountService,
-                                              AccountInteractionService accountInteractionService, VacationDaysReminderService vacationDaysReminderService, MailService mailService, Clock clock) {
+                                              AccountInteractionService accountInteractionService, VacationDaysService vacationDaysService,
+                                              VacationDaysReminderService vacationDaysReminderService, MailService mailService,
+                                              AccountRolloverRepository accountRolloverRepository,
+                                              AccountRolloverChunkRepository accountRolloverChunkRepository,
+                                              AccountProperties accountProperties, PlatformTransactionManager transactionManager,
+                                              Clock clock) {
 
         this.personService = personService;
         this.accountService = accountService;
         this.accountInteractionService = accountInteractionService;
+        this.vacationDaysService = vacationDaysService;
         this.vacationDaysReminderService = vacationDaysReminderService;
         this.mailService = mailService;
+        this.accountRolloverRepository = accountRolloverRepository;
+        this.accountRolloverChunkRepository = accountRolloverChunkRepository;
+        this.accountProperties = accountProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
         this.clock = clock;
+        this.workers = Executors.newFixedThreadPool(accountProperties.getUpdate().getWorkers(), new CustomizableThreadFactory("account-update-"));
     }
 
     void updateAccountsForNextPeriod() {
 
+        final int year = Year.now(clock).getValue();
+
+        final AccountRollover accountRollover = accountRolloverRepository.findByYear(year)
+            .orElseGet(() -> accountRolloverRepository.save(new AccountRollover(year, Instant.now(clock))));
+        if (accountRollover.isFinished()) {
+            LOG.info("Holidays accounts for {} have already been updated at {}", year, accountRollover.getFinishedAt());
+            return;
+        }
+
         LOG.info("Starting update of holidays accounts to calculate the remaining vacation days.");
+        update(accountRollover);
+    }
+
+    /**
+     * Resumes the update of the holidays accounts of the current year if it has been started but not finished,
+     * e.g. because the application has been stopped or a chunk failed.
+     */
+    void resumeUnfinishedUpdate() {
 
-        // what's the new year?
         final int year = Year.now(clock).getValue();
 
-        // get all persons
-        final List<Person> persons = personService.getActivePersons();
+        accountRolloverRepository.findByYear(year)
+            .filter(accountRollover -> !accountRollover.isFinished())
+            .ifPresent(accountRollover -> {
+                LOG.info("Resuming update of holidays accounts for {} started at {}", year, accountRollover.getStartedAt());
+                update(accountRollover);
+            });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdown();
+    }
+
+    private void update(AccountRollover accountRollover) {
 
-        // get all their accounts and calculate the remaining vacation days for the new year
-        final List<Account> updatedAccounts = new ArrayList<>();
-        for (Person person : persons) {
+        final int year = accountRollover.getYear();
+
+        final List<Person> persons = personService.getActivePersons().stream()
+            .sorted(comparing(Person::getId))
+            .collect(toList());
+
+        final List<AccountRolloverChunk> completedChunks = accountRolloverChunkRepository.findByYear(year);
+        final List<Person> pendingPersons = persons.stream()
+            .filter(person -> completedChunks.stream().noneMatch(chunk -> chunk.contains(person.getId())))
+            .collect(toList());
+
+        final int chunkSize = accountProperties.getUpdate().getChunkSize();
+        final List<Future<?>> chunks = new ArrayList<>();
+        for (int fromIndex = 0; fromIndex < pendingPersons.size(); fromIndex += chunkSize) {
+            final List<Person> personsOfChunk = pendingPersons.subList(fromIndex, Math.min(fromIndex + chunkSize, pendingPersons.size()));
+            chunks.add(workers.submit(() -> {
+                final List<Account> updatedAccounts = transactionTemplate.execute(status -> updateChunk(year, personsOfChunk));
+                remindForRemainingVacationDays(updatedAccounts);
+            }));
+        }
+
+        if (!awaitAll(chunks)) {
+            LOG.error("Update of holidays accounts for {} is not finished and will be resumed", year);
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            final List<Account> updatedAccounts = getUpdatedAccounts(year, persons);
+            LOG.info("Updated holidays accounts: {} / {}", updatedAccounts.size(), persons.size());
+            sendSuccessfullyUpdatedAccountsNotification(updatedAccounts);
+
+            accountRollover.finished(Instant.now(clock));
+            accountRolloverRepository.save(accountRollover);
+        });
+    }
+
+    /**
+     * Updates the accounts of the given persons for the given year and records them as completed chunk. The vacation
+     * days left of last year are calculated at once for all given persons.
+     *
+     * @return the accounts of the given year of the given persons to remind of their remaining vacation days
+     */
+    private List<Account> updateChunk(int year, List<Person> persons) {
+
+        final List<Account> accountsOfLastYear = accountService.getHolidaysAccounts(year - 1, persons).stream()
+            .filter(account -> account.getAnnualVacationDays() != null)
+            .collect(toList());
+
+        final Map<Account, VacationDaysLeft> vacationDaysLeftOfLastYear = vacationDaysService.getVacationDaysLeft(accountsOfLastYear, List.of());
+
+        final LocalDate today = LocalDate.now(clock);
+        final Map<Person, Account> accounts = new LinkedHashMap<>();
+        for (Account accountLastYear : accountsOfLastYear) {
+            final Person person = accountLastYear.getPerson();
             LOG.info("Updating account of person with id {}", person.getId());
 
-            final Optional<Account> accountLastYear = accountService.getHolidaysAccount(year - 1, person);
+            final BigDecimal leftVacationDays = vacationDaysLeftOfLastYear.get(accountLastYear).getLeftVacationDays(today, accountLastYear.getExpiryDate());
+            final Account holidaysAccount = accountInteractionService.autoCreateOrUpdateNextYearsHolidaysAccount(accountLastYear, leftVacationDays);
 
-            if (accountLastYear.isPresent() && accountLastYear.get().getAnnualVacationDays() != null) {
-                final Account holidaysAccount = accountInteractionService.autoCreateOrUpdateNextYearsHolidaysAccount(
-                    accountLastYear.get());
+            LOG.info("Setting remaining vacation days of person with id {} to {} for {}",
+                person.getId(), holidaysAccount.getRemainingVacationDays(), year);
 
-                LOG.info("Setting remaining vacation days of person with id {} to {} for {}",
-                    person.getId(), holidaysAccount.getRemainingVacationDays(), year);
+            accounts.put(person, holidaysAccount);
+        }
 
-                updatedAccounts.add(holidaysAccount);
-            }
+        // persons without an account of last year may have an account for the new year nevertheless
+        final List<Person> personsWithoutUpdate = persons.stream()
+            .filter(person -> !accounts.containsKey(person))
+            .collect(toList());
+        accountService.getHolidaysAccounts(year, personsWithoutUpdate)
+            .forEach(account -> accounts.put(account.getPerson(), account));
+
+        final List<Integer> personIds = persons.stream().map(Person::getId).collect(toList());
+        final AccountRolloverChunk chunk = new AccountRolloverChunk(year, personIds, Instant.now(clock));
+        accountRolloverChunkRepository.save(chunk);
+        LOG.info("Updated holidays accounts of persons with id {} to {} for {}", chunk.getFirstPersonId(), chunk.getLastPersonId(), year);
+
+        return new ArrayList<>(accounts.values());
+    }
+
+    /**
+     * Reminds the persons of the given accounts of their remaining vacation days. A failed reminder does not fail the
+     * update, since the accounts of the chunk have already been committed.
+     */
+    private void remindForRemainingVacationDays(List<Account> accounts) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> vacationDaysReminderService.remindForRemainingVacationDays(accounts));
+        } catch (RuntimeException e) {
+            LOG.error("Failed to remind persons of their remaining vacation days", e);
         }
+    }
+
+    /**
+     * @return the accounts of the given year that have been updated from an account of the year before,
+     * including the accounts updated by an interrupted run
+     */
+    private List<Account> getUpdatedAccounts(int year, List<Person> persons) {
+
+        final List<Person> updatedPersons = accountService.getHolidaysAccounts(year - 1, persons).stream()
+            .filter(account -> account.getAnnualVacationDays() != null)
+            .map(Account::getPerson)
+            .collect(toList());
 
-        LOG.info("Updated holidays accounts: {} / {}", updatedAccounts.size(), persons.size());
-        sendSuccessfullyUpdatedAccountsNotification(updatedAccounts);
-        vacationDaysReminderService.remindForRemainingVacationDays();
+        return accountService.getHolidaysAccounts(year, updatedPersons);
+    }
+
+    /**
+     * @return {@code true} if all chunks have been updated without errors
+     */
+    private static boolean awaitAll(List<Future<?>> chunks) {
+        boolean successful = true;
+        for (Future<?> chunk : chunks) {
+            try {
+                chunk.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (ExecutionException e) {
+                LOG.error("Failed to update the holidays accounts of a chunk of persons", e.getCause());
+                successful = false;
+            }
+        }
+        return successful;
     }
 
     /**
@@ -19,6 +19,7 @@ import java.util.Optional;
 
 import static java.lang.invoke.MethodHandles.lookup;
 import static java.math.BigDecimal.ZERO;
+import static java.util.stream.Collectors.toList;
 import static org.slf4j.LoggerFactory.getLogger;
 
 @Service
@@ -49,42 +50,55 @@ public class VacationDaysReminderService {
         final int year = Year.now(clock).getValue();
         final List<Person> persons = personService.getActivePersons();
 
-        for (Person person : persons) {
+        final List<Account> accounts = accountService.getHolidaysAccounts(year, persons);
+        final Map<Account, VacationDaysLeft> vacationDaysLeftByAccount = vacationDaysService.getVacationDaysLeft(accounts, List.of());
 
-            accountService.getHolidaysAccount(year, person).ifPresent(account -> {
+        final LocalDate today = LocalDate.now(clock);
+        for (Account account : accounts) {
 
-                final BigDecimal vacationDaysLeft = vacationDaysService.calculateTotalLeftVacationDays(account);
-                if (vacationDaysLeft.compareTo(ZERO) > 0) {
-                    sendReminderForCurrentlyLeftVacationDays(person, vacationDaysLeft, year + 1);
-                    LOG.info("Reminded person with id {} for {} currently left vacation days", person.getId(), vacationDaysLeft);
-                }
-            });
+            final Person person = account.getPerson();
+            final BigDecimal vacationDaysLeft = vacationDaysLeftByAccount.get(account).getLeftVacationDays(today, account.getExpiryDate());
+            if (vacationDaysLeft.compareTo(ZERO) > 0) {
+                sendReminderForCurrentlyLeftVacationDays(person, vacationDaysLeft, year + 1);
+                LOG.info("Reminded person with id {} for {} currently left vacation days", person.getId(), vacationDaysLeft);
+            }
         }
     }
 
     /**
      * Remind for remaining vacation days of last year
      * Should be called after turn of the year logic which calculates the new account for the new year
+     *
+     * <p>The vacation days left of all given accounts are calculated at once.</p>
+     *
+     * @param accounts of the <b>current year</b> of the persons to remind
      */
-    void remindForRemainingVacationDays() {
+    void remindForRemainingVacationDays(List<Account> accounts) {
+
+        if (accounts.isEmpty()) {
+            return;
+        }
+
         final int year = Year.now(clock).getValue();
-        final List<Person> persons = personService.getActivePersons();
+        final List<Person> persons = accounts.stream()
+            .map(Account::getPerson)
+            .collect(toList());
 
-        for (Person person : persons) {
+        final List<Account> accountsOfNextYear = accountService.getHolidaysAccounts(year + 1, persons);
+        final Map<Account, VacationDaysLeft> vacationDaysLeftByAccount = vacationDaysService.getVacationDaysLeft(accounts, accountsOfNextYear);
 
-            accountService.getHolidaysAccount(year, person).ifPresent(account -> {
+        for (Account account : accounts) {
 
-                final Optional<Account> accountOfNextYear = accountService.getHolidaysAccount(year + 1, person);
-                final VacationDaysLeft vacationDaysLeft = vacationDaysService.getVacationDaysLeft(account, accountOfNextYear);
+            final Person person = account.getPerson();
+            final VacationDaysLeft vacationDaysLeft = vacationDaysLeftByAccount.get(account);
 
-                final BigDecimal remainingVacationDaysLeft = vacationDaysLeft.getRemainingVacationDays()
-                    .subtract(vacationDaysLeft.getRemainingVacationDaysNotExpiring());
+            final BigDecimal remainingVacationDaysLeft = vacationDaysLeft.getRemainingVacationDays()
+                .subtract(vacationDaysLeft.getRemainingVacationDaysNotExpiring());
 
-                if (remainingVacationDaysLeft.compareTo(ZERO) > 0) {
-                    sendReminderForRemainingVacationDaysNotification(person, remainingVacationDaysLeft, account.getExpiryDate().minusDays(1));
-                    LOG.info("Reminded person with id {} for {} remaining vacation days in year {}.", person.getId(), remainingVacationDaysLeft, year);
-                }
-            });
+            if (remainingVacationDaysLeft.compareTo(ZERO) > 0) {
+                sendReminderForRemainingVacationDaysNotification(person, remainingVacationDaysLeft, account.getExpiryDate().minusDays(1));
+                LOG.info("Reminded person with id {} for {} remaining vacation days in year {}.", person.getId(), remainingVacationDaysLeft, year);
+            }
         }
     }
 
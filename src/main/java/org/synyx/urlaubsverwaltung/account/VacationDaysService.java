@@ -6,17 +6,25 @@ import org.synyx.urlaubsverwaltung.application.application.Application;
 import org.synyx.urlaubsverwaltung.application.application.ApplicationService;
 import org.synyx.urlaubsverwaltung.application.application.ApplicationStatus;
 import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.workingtime.WorkDaysCountRequest;
 import org.synyx.urlaubsverwaltung.workingtime.WorkDaysCountService;
 
 import java.math.BigDecimal;
 import java.time.Clock;
 import java.time.LocalDate;
 import java.time.Year;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static java.math.BigDecimal.ZERO;
 import static java.time.temporal.TemporalAdjusters.lastDayOfYear;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
 import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.ALLOWED;
 import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.ALLOWED_CANCELLATION_REQUESTED;
 import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.TEMPORARY_ALLOWED;
@@ -103,6 +111,103 @@ public class VacationDaysService {
             .build();
     }
 
+    /**
+     * Calculates the vacation days left of many accounts at once, e.g. for the statistics of all persons.
+     * The result of every account is identical to {@link #getVacationDaysLeft(LocalDate, LocalDate, Account, Optional)}
+     * without an account for the following year.
+     *
+     * @param start    first day of the period to calculate the vacation days for
+     * @param end      last day of the period to calculate the vacation days for
+     * @param accounts the accounts to calculate the vacation days for
+     * @return information about the vacation days left for every given account
+     */
+    public Map<Account, VacationDaysLeft> getVacationDaysLeft(LocalDate start, LocalDate end, List<Account> accounts) {
+        return getVacationDaysLeft(start, end, accounts, Map.of());
+    }
+
+    /**
+     * Calculates the vacation days left of many accounts at once, e.g. for the list of all persons.
+     * The result of every account is identical to {@link #getVacationDaysLeft(Account, Optional)} with the account
+     * of the following year of the same person, if there is one.
+     * <p>
+     * The applications for leave of all persons of the same year are loaded with one query and the work days
+     * of all these applications are counted at once.
+     *
+     * @param accounts           the accounts to calculate the vacation days for
+     * @param accountsOfNextYear the accounts of the following year of the same persons, if available
+     * @return information about the vacation days left for every given account
+     */
+    public Map<Account, VacationDaysLeft> getVacationDaysLeft(List<Account> accounts, List<Account> accountsOfNextYear) {
+
+        final Map<Person, Account> accountOfNextYearByPerson = accountsOfNextYear.stream()
+            .collect(toMap(Account::getPerson, identity(), (account, sameAccount) -> account));
+
+        final Map<Account, VacationDaysLeft> vacationDaysLeftByAccount = new HashMap<>();
+        accounts.stream()
+            .collect(groupingBy(Account::getYear))
+            .forEach((year, accountsOfYear) -> {
+                final LocalDate firstDayOfYear = Year.of(year).atDay(1);
+                final LocalDate lastDayOfYear = firstDayOfYear.with(lastDayOfYear());
+                vacationDaysLeftByAccount.putAll(getVacationDaysLeft(firstDayOfYear, lastDayOfYear, accountsOfYear, accountOfNextYearByPerson));
+            });
+
+        return vacationDaysLeftByAccount;
+    }
+
+    /**
+     * Like {@link #getVacationDaysLeft(LocalDate, LocalDate, Account, Optional)} the used remaining vacation days of the
+     * following year are calculated within the given period, so the applications of the given period are sufficient for
+     * both years.
+     */
+    private Map<Account, VacationDaysLeft> getVacationDaysLeft(LocalDate start, LocalDate end, List<Account> accounts,
+                                                               Map<Person, Account> accountOfNextYearByPerson) {
+
+        if (accounts.isEmpty()) {
+            return Map.of();
+        }
+
+        final List<Person> persons = accounts.stream()
+            .map(Account::getPerson)
+            .distinct()
+            .collect(toList());
+
+        final List<ApplicationStatus> statuses = List.of(WAITING, TEMPORARY_ALLOWED, ALLOWED, ALLOWED_CANCELLATION_REQUESTED);
+        final Map<Person, List<Application>> applicationsByPerson = applicationService.getForStatesAndPersonAndVacationCategory(statuses, persons, start, end, HOLIDAY).stream()
+            .collect(groupingBy(Application::getPerson));
+
+        final Map<Account, List<WorkDaysCountRequest>> usedBeforeExpiryDateByAccount = new HashMap<>();
+        final Map<Account, List<WorkDaysCountRequest>> usedAfterExpiryDateByAccount = new HashMap<>();
+        final Map<Account, Account> accountOfNextYearByAccount = new HashMap<>();
+        final List<WorkDaysCountRequest> workDaysCountRequests = new ArrayList<>();
+
+        for (Account account : accounts) {
+            final List<Application> applications = applicationsByPerson.getOrDefault(account.getPerson(), List.of());
+            addUsedVacationDaysRequests(account, applications, start, end, usedBeforeExpiryDateByAccount, usedAfterExpiryDateByAccount, workDaysCountRequests);
+
+            final Account accountOfNextYear = accountOfNextYearByPerson.get(account.getPerson());
+            if (accountOfNextYear != null && !start.isAfter(end) && accountOfNextYear.getRemainingVacationDays().signum() > 0) {
+                addUsedVacationDaysRequests(accountOfNextYear, applications, start, end, usedBeforeExpiryDateByAccount, usedAfterExpiryDateByAccount, workDaysCountRequests);
+                accountOfNextYearByAccount.put(account, accountOfNextYear);
+            }
+        }
+
+        final Map<WorkDaysCountRequest, BigDecimal> workDaysCount = workDaysCountService.getWorkDaysCount(workDaysCountRequests);
+
+        final Map<Account, VacationDaysLeft> vacationDaysLeftByAccount = new HashMap<>();
+        for (Account account : accounts) {
+
+            final Account accountOfNextYear = accountOfNextYearByAccount.get(account);
+            final BigDecimal usedVacationDaysNextYear = accountOfNextYear == null
+                ? ZERO
+                : getUsedRemainingVacationDays(accountOfNextYear, buildVacationDaysLeft(accountOfNextYear, usedBeforeExpiryDateByAccount, usedAfterExpiryDateByAccount, workDaysCount, ZERO));
+
+            final VacationDaysLeft vacationDaysLeft = buildVacationDaysLeft(account, usedBeforeExpiryDateByAccount, usedAfterExpiryDateByAccount, workDaysCount, usedVacationDaysNextYear);
+            vacationDaysLeftByAccount.put(account, vacationDaysLeft);
+        }
+
+        return vacationDaysLeftByAccount;
+    }
+
     /**
      * Returns the already used vacations from last year of the given account.
      *
@@ -127,19 +232,21 @@ public class VacationDaysService {
         if (account.isPresent() && account.get().getRemainingVacationDays().signum() > 0) {
 
             final VacationDaysLeft left = getVacationDaysLeft(start, end, account.get(), Optional.empty());
+            return getUsedRemainingVacationDays(account.get(), left);
+        }
+        return ZERO;
+    }
 
-            final BigDecimal totalUsed = account.get().getActualVacationDays()
-                .add(account.get().getRemainingVacationDays())
-                .subtract(left.getVacationDays())
-                .subtract(left.getRemainingVacationDays());
+    private static BigDecimal getUsedRemainingVacationDays(Account account, VacationDaysLeft left) {
 
-            final BigDecimal remainingUsed = totalUsed.subtract(account.get().getActualVacationDays());
+        final BigDecimal totalUsed = account.getActualVacationDays()
+            .add(account.getRemainingVacationDays())
+            .subtract(left.getVacationDays())
+            .subtract(left.getRemainingVacationDays());
 
-            if (remainingUsed.signum() > 0) {
-                return remainingUsed;
-            }
-        }
-        return ZERO;
+        final BigDecimal remainingUsed = totalUsed.subtract(account.getActualVacationDays());
+
+        return remainingUsed.signum() > 0 ? remainingUsed : ZERO;
     }
 
     BigDecimal getUsedVacationDaysBetweenTwoMilestones(Person person, LocalDate firstMilestone, LocalDate lastMilestone) {
@@ -159,4 +266,60 @@ public class VacationDaysService {
         final LocalDate endDate = application.getEndDate().isAfter(lastMilestone) ? lastMilestone : application.getEndDate();
         return workDaysCountService.getWorkDaysCount(application.getDayLength(), startDate, endDate, person);
     }
+
+    private static void addUsedVacationDaysRequests(Account account, List<Application> applications, LocalDate start, LocalDate end,
+                                                    Map<Account, List<WorkDaysCountRequest>> usedBeforeExpiryDateByAccount,
+                                                    Map<Account, List<WorkDaysCountRequest>> usedAfterExpiryDateByAccount,
+                                                    List<WorkDaysCountRequest> workDaysCountRequests) {
+
+        final LocalDate lastDayBeforeExpiryDate = account.getExpiryDate().minusDays(1);
+        final LocalDate endBeforeExpiryDate = end.isAfter(lastDayBeforeExpiryDate) ? lastDayBeforeExpiryDate : end;
+
+        final LocalDate expiryDate = account.getExpiryDate();
+        final LocalDate startAfterExpiryDate = start.isBefore(expiryDate) ? expiryDate : start;
+
+        final List<WorkDaysCountRequest> usedBeforeExpiryDate = getUsedVacationDaysRequests(applications, start, endBeforeExpiryDate);
+        final List<WorkDaysCountRequest> usedAfterExpiryDate = getUsedVacationDaysRequests(applications, startAfterExpiryDate, end);
+
+        usedBeforeExpiryDateByAccount.put(account, usedBeforeExpiryDate);
+        usedAfterExpiryDateByAccount.put(account, usedAfterExpiryDate);
+        workDaysCountRequests.addAll(usedBeforeExpiryDate);
+        workDaysCountRequests.addAll(usedAfterExpiryDate);
+    }
+
+    private static VacationDaysLeft buildVacationDaysLeft(Account account,
+                                                          Map<Account, List<WorkDaysCountRequest>> usedBeforeExpiryDateByAccount,
+                                                          Map<Account, List<WorkDaysCountRequest>> usedAfterExpiryDateByAccount,
+                                                          Map<WorkDaysCountRequest, BigDecimal> workDaysCount, BigDecimal usedVacationDaysNextYear) {
+        return VacationDaysLeft.builder()
+            .withAnnualVacation(account.getActualVacationDays())
+            .withRemainingVacation(account.getRemainingVacationDays())
+            .notExpiring(account.getRemainingVacationDaysNotExpiring())
+            .forUsedVacationDaysBeforeExpiry(sum(usedBeforeExpiryDateByAccount.get(account), workDaysCount))
+            .forUsedVacationDaysAfterExpiry(sum(usedAfterExpiryDateByAccount.get(account), workDaysCount))
+            .withVacationDaysUsedNextYear(usedVacationDaysNextYear)
+            .build();
+    }
+
+    private static List<WorkDaysCountRequest> getUsedVacationDaysRequests(List<Application> applications, LocalDate firstMilestone, LocalDate lastMilestone) {
+
+        if (firstMilestone.isAfter(lastMilestone)) {
+            return List.of();
+        }
+
+        return applications.stream()
+            .filter(application -> !application.getEndDate().isBefore(firstMilestone) && !application.getStartDate().isAfter(lastMilestone))
+            .map(application -> {
+                final LocalDate startDate = application.getStartDate().isBefore(firstMilestone) ? firstMilestone : application.getStartDate();
+                final LocalDate endDate = application.getEndDate().isAfter(lastMilestone) ? lastMilestone : application.getEndDate();
+                return new WorkDaysCountRequest(application.getPerson(), application.getDayLength(), startDate, endDate);
+            })
+            .collect(toList());
+    }
+
+    private static BigDecimal sum(List<WorkDaysCountRequest> requests, Map<WorkDaysCountRequest, BigDecimal> workDaysCount) {
+        return requests.stream()
+            .map(workDaysCount::get)
+            .reduce(ZERO, BigDecimal::add);
+    }
 }
@@ -16,6 +16,8 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -31,10 +33,16 @@ import static org.synyx.urlaubsverwaltung.application.application.ApplicationSta
 
 /**
  * This class describes an application for leave.
+ * <p>
+ * Lists of applications are loaded with the {@value #LIST_GRAPH} entity graph, which fetches the person and the
+ * vacation type with the applications. All other associations are loaded in batches.
  */
 @Entity
+@NamedEntityGraph(name = Application.LIST_GRAPH, attributeNodes = {@NamedAttributeNode("person"), @NamedAttributeNode("vacationType")})
 public class Application {
 
+    static final String LIST_GRAPH = "Application.list";
+
     @Id
     @GeneratedValue
     private Integer id;
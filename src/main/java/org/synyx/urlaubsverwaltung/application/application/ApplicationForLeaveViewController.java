@@ -12,6 +12,7 @@ import org.synyx.urlaubsverwaltung.period.DayLength;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonService;
 import org.synyx.urlaubsverwaltung.util.DurationFormatter;
+import org.synyx.urlaubsverwaltung.workingtime.WorkDaysCountRequest;
 import org.synyx.urlaubsverwaltung.workingtime.WorkDaysCountService;
 
 import java.math.BigDecimal;
@@ -207,9 +208,8 @@ class ApplicationForLeaveViewController {
     }
 
     private List<ApplicationReplacementDto> getHolidayReplacements(Person holidayReplacement, LocalDate holidayReplacementForDate, Locale locale) {
-        return applicationService.getForHolidayReplacement(holidayReplacement, holidayReplacementForDate)
+        return toApplicationsForLeaveSortedByStartDate(applicationService.getForHolidayReplacement(holidayReplacement, holidayReplacementForDate))
             .stream()
-            .sorted(comparing(Application::getStartDate))
             .map(application -> toApplicationReplacementDto(application, holidayReplacement, locale))
             .collect(toList());
     }
@@ -223,11 +223,11 @@ class ApplicationForLeaveViewController {
             cancellationRequests = List.of();
         }
 
-        return cancellationRequests.stream()
+        final List<Application> relevantCancellationRequests = cancellationRequests.stream()
             .filter(withoutApplicationsOf(signedInUser))
-            .map(application -> new ApplicationForLeave(application, workDaysCountService))
-            .sorted(comparing(ApplicationForLeave::getStartDate))
             .collect(toList());
+
+        return toApplicationsForLeaveSortedByStartDate(relevantCancellationRequests);
     }
 
     private List<ApplicationForLeave> getOtherRelevantApplicationsForLeave(Person signedInUser, List<Person> membersAsDepartmentHead, List<Person> membersAsSecondStageAuthority) {
@@ -257,36 +257,50 @@ class ApplicationForLeaveViewController {
     }
 
     private List<ApplicationForLeave> getApplicationsForLeaveForBossOrOffice() {
-        return applicationService.getForStates(List.of(WAITING, TEMPORARY_ALLOWED)).stream()
-            .map(application -> new ApplicationForLeave(application, workDaysCountService))
-            .sorted(comparing(ApplicationForLeave::getStartDate))
-            .collect(toList());
+        return toApplicationsForLeaveSortedByStartDate(applicationService.getForStates(List.of(WAITING, TEMPORARY_ALLOWED)));
     }
 
     private List<ApplicationForLeave> getApplicationsForLeaveForUser(Person user) {
         final List<ApplicationStatus> states = List.of(WAITING, TEMPORARY_ALLOWED, ALLOWED_CANCELLATION_REQUESTED);
 
-        return applicationService.getForStatesAndPerson(states, List.of(user)).stream()
-            .map(application -> new ApplicationForLeave(application, workDaysCountService))
-            .sorted(comparing(ApplicationForLeave::getStartDate))
-            .collect(toList());
+        return toApplicationsForLeaveSortedByStartDate(applicationService.getForStatesAndPerson(states, List.of(user)));
     }
 
     private List<ApplicationForLeave> getApplicationsForLeaveForDepartmentHead(Person head, List<Person> members) {
-        return applicationService.getForStatesAndPerson(List.of(WAITING), members).stream()
+        final List<Application> applications = applicationService.getForStatesAndPerson(List.of(WAITING), members).stream()
             .filter(withoutApplicationsOf(head))
             .filter(withoutSecondStageAuthorityApplications())
-            .map(application -> new ApplicationForLeave(application, workDaysCountService))
-            .sorted(comparing(ApplicationForLeave::getStartDate))
             .collect(toList());
+
+        return toApplicationsForLeaveSortedByStartDate(applications);
     }
 
     private List<ApplicationForLeave> getApplicationsForLeaveForSecondStageAuthority(Person secondStage, List<Person> members) {
-        return applicationService.getForStatesAndPerson(List.of(WAITING, TEMPORARY_ALLOWED), members).stream()
+        final List<Application> applications = applicationService.getForStatesAndPerson(List.of(WAITING, TEMPORARY_ALLOWED), members).stream()
             .filter(withoutApplicationsOf(secondStage))
-            .map(application -> new ApplicationForLeave(application, workDaysCountService))
-            .sorted(comparing(ApplicationForLeave::getStartDate))
             .collect(toList());
+
+        return toApplicationsForLeaveSortedByStartDate(applications);
+    }
+
+    /**
+     * Counts the work days of all given applications at once, so the working times of all persons are loaded with
+     * one query instead of one per application.
+     */
+    private List<ApplicationForLeave> toApplicationsForLeaveSortedByStartDate(List<Application> applications) {
+
+        final List<WorkDaysCountRequest> requests = applications.stream()
+            .map(application -> new WorkDaysCountRequest(application.getPerson(), application.getDayLength(), application.getStartDate(), application.getEndDate()))
+            .collect(toList());
+        final Map<WorkDaysCountRequest, BigDecimal> workDaysCountByRequest = workDaysCountService.getWorkDaysCount(requests);
+
+        final List<ApplicationForLeave> applicationsForLeave = new ArrayList<>(applications.size());
+        for (int i = 0; i < applications.size(); i++) {
+            applicationsForLeave.add(new ApplicationForLeave(applications.get(i), workDaysCountByRequest.get(requests.get(i))));
+        }
+
+        applicationsForLeave.sort(comparing(ApplicationForLeave::getStartDate));
+        return applicationsForLeave;
     }
 
     private Predicate<Application> withoutApplicationsOf(Person person) {
@@ -302,12 +316,10 @@ class ApplicationForLeaveViewController {
         return t -> seen.putIfAbsent(keyExtractor.apply(t), Boolean.TRUE) == null;
     }
 
-    private ApplicationReplacementDto toApplicationReplacementDto(Application application, Person holidayReplacementPerson, Locale locale) {
+    private ApplicationReplacementDto toApplicationReplacementDto(ApplicationForLeave application, Person holidayReplacementPerson, Locale locale) {
         final DayLength dayLength = application.getDayLength();
-        final LocalDate startDate = application.getStartDate();
-        final LocalDate endDate = application.getEndDate();
         final Person applicationPerson = application.getPerson();
-        final BigDecimal workDays = workDaysCountService.getWorkDaysCount(dayLength, startDate, endDate, applicationPerson);
+        final BigDecimal workDays = application.getWorkDays();
 
         final String note = application.getHolidayReplacements().stream()
             .filter(holidayReplacementEntity -> holidayReplacementEntity.getPerson().equals(holidayReplacementPerson))
@@ -4,20 +4,14 @@ import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.synyx.urlaubsverwaltung.absence.Absence;
-import org.synyx.urlaubsverwaltung.absence.AbsenceTimeConfiguration;
-import org.synyx.urlaubsverwaltung.absence.TimeSettings;
 import org.synyx.urlaubsverwaltung.account.AccountInteractionService;
 import org.synyx.urlaubsverwaltung.application.comment.ApplicationComment;
 import org.synyx.urlaubsverwaltung.application.comment.ApplicationCommentAction;
 import org.synyx.urlaubsverwaltung.application.comment.ApplicationCommentService;
-import org.synyx.urlaubsverwaltung.calendarintegration.AbsenceMapping;
-import org.synyx.urlaubsverwaltung.calendarintegration.AbsenceMappingService;
-import org.synyx.urlaubsverwaltung.calendarintegration.CalendarSyncService;
+import org.synyx.urlaubsverwaltung.calendarintegration.CalendarSyncDispatcher;
 import org.synyx.urlaubsverwaltung.department.Department;
 import org.synyx.urlaubsverwaltung.department.DepartmentService;
 import org.synyx.urlaubsverwaltung.person.Person;
-import org.synyx.urlaubsverwaltung.settings.SettingsService;
 
 import java.time.Clock;
 import java.time.LocalDate;
@@ -58,9 +52,7 @@ class ApplicationInteractionServiceImpl implements ApplicationInteractionService
     private final AccountInteractionService accountInteractionService;
     private final ApplicationCommentService commentService;
     private final ApplicationMailService applicationMailService;
-    private final CalendarSyncService calendarSyncService;
-    private final AbsenceMappingService absenceMappingService;
-    private final TimeSettings timeSettings;
+    private final CalendarSyncDispatcher calendarSyncDispatcher;
     private final DepartmentService departmentService;
     private final Clock clock;
 
@@ -69,18 +61,14 @@ class ApplicationInteractionServiceImpl implements ApplicationInteractionService
                                       ApplicationCommentService commentService,
                                       AccountInteractionService accountInteractionService,
                                       ApplicationMailService applicationMailService,
-                                      CalendarSyncService calendarSyncService,
-                                      AbsenceMappingService absenceMappingService,
-                                      SettingsService settingsService,
+                                      CalendarSyncDispatcher calendarSyncDispatcher,
                                       DepartmentService departmentService, Clock clock) {
 
         this.applicationService = applicationService;
         this.commentService = commentService;
         this.accountInteractionService = accountInteractionService;
         this.applicationMailService = applicationMailService;
-        this.calendarSyncService = calendarSyncService;
-        this.absenceMappingService = absenceMappingService;
-        this.timeSettings = settingsService.getSettings().getTimeSettings();
+        this.calendarSyncDispatcher = calendarSyncDispatcher;
         this.departmentService = departmentService;
         this.clock = clock;
     }
@@ -128,12 +116,8 @@ class ApplicationInteractionServiceImpl implements ApplicationInteractionService
         // update remaining vacation days (if there is already a holidays account for next year)
         accountInteractionService.updateRemainingVacationDays(savedApplication.getStartDate().getYear(), person);
 
-        if (calendarSyncService.isRealProviderConfigured()) {
-            final AbsenceTimeConfiguration absenceTimeConfiguration = new AbsenceTimeConfiguration(timeSettings);
-            final Absence absence = new Absence(savedApplication.getPerson(), savedApplication.getPeriod(), absenceTimeConfiguration);
-            calendarSyncService.addAbsence(absence)
-                .ifPresent(eventId -> absenceMappingService.create(savedApplication.getId(), VACATION, eventId));
-        }
+        calendarSyncDispatcher.dispatchSync(savedApplication.getId(), VACATION, savedApplication.getPerson(), savedApplication.getPeriod());
+
         return savedApplication;
     }
 
@@ -205,12 +189,8 @@ class ApplicationInteractionServiceImpl implements ApplicationInteractionService
         // TODO - wann brachen wir das? Nur wenn die category HOLIDAY ist?
         accountInteractionService.updateRemainingVacationDays(savedApplication.getStartDate().getYear(), person);
 
-        if (calendarSyncService.isRealProviderConfigured()) {
-            final AbsenceTimeConfiguration absenceTimeConfiguration = new AbsenceTimeConfiguration(timeSettings);
-            final Absence absence = new Absence(savedApplication.getPerson(), savedApplication.getPeriod(), absenceTimeConfiguration);
-            calendarSyncService.addAbsence(absence)
-                .ifPresent(eventId -> absenceMappingService.create(savedApplication.getId(), VACATION, eventId));
-        }
+        calendarSyncDispatcher.dispatchSync(savedApplication.getId(), VACATION, savedApplication.getPerson(), savedApplication.getPeriod());
+
         return savedApplication;
     }
 
@@ -287,11 +267,7 @@ class ApplicationInteractionServiceImpl implements ApplicationInteractionService
             applicationMailService.notifyHolidayReplacementAboutCancellation(holidayReplacement, savedApplication);
         }
 
-        final Optional<AbsenceMapping> absenceMapping = absenceMappingService.getAbsenceByIdAndType(savedApplication.getId(), VACATION);
-        if (absenceMapping.isPresent()) {
-            calendarSyncService.deleteAbsence(absenceMapping.get().getEventId());
-            absenceMappingService.delete(absenceMapping.get());
-        }
+        calendarSyncDispatcher.dispatchDelete(savedApplication.getId(), VACATION);
 
         return application;
     }
@@ -313,11 +289,7 @@ class ApplicationInteractionServiceImpl implements ApplicationInteractionService
 
         accountInteractionService.updateRemainingVacationDays(application.getStartDate().getYear(), person);
 
-        final Optional<AbsenceMapping> absenceMapping = absenceMappingService.getAbsenceByIdAndType(application.getId(), VACATION);
-        if (absenceMapping.isPresent()) {
-            calendarSyncService.deleteAbsence(absenceMapping.get().getEventId());
-            absenceMappingService.delete(absenceMapping.get());
-        }
+        calendarSyncDispatcher.dispatchDelete(application.getId(), VACATION);
 
         return application;
     }
@@ -1,12 +1,11 @@
 package org.synyx.urlaubsverwaltung.application.application;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
-import org.springframework.data.repository.query.Param;
 import org.synyx.urlaubsverwaltung.application.vacationtype.VacationCategory;
 import org.synyx.urlaubsverwaltung.person.Person;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -15,6 +14,7 @@ import java.util.List;
  */
 interface ApplicationRepository extends CrudRepository<Application, Integer> {
 
+    @EntityGraph(Application.LIST_GRAPH)
     List<Application> findByStatusIn(List<ApplicationStatus> statuses);
 
     List<Application> findByStatusInAndStartDateBetweenAndUpcomingApplicationsReminderSendIsNull(List<ApplicationStatus> statuses, LocalDate from, LocalDate to);
@@ -23,12 +23,15 @@ interface ApplicationRepository extends CrudRepository<Application, Integer> {
 
     List<Application> findByStatusInAndEndDateGreaterThanEqual(List<ApplicationStatus> statuses, LocalDate since);
 
+    @EntityGraph(Application.LIST_GRAPH)
     List<Application> findByStatusInAndPersonIn(List<ApplicationStatus> statuses, List<Person> persons);
 
     List<Application> findByStatusInAndPersonInAndEndDateIsGreaterThanEqual(List<ApplicationStatus> statuses, List<Person> persons, LocalDate sinceStartDate);
 
     List<Application> findByStatusInAndPersonInAndEndDateIsGreaterThanEqualAndStartDateIsLessThanEqual(List<ApplicationStatus> statuses, List<Person> persons, LocalDate start, LocalDate end);
 
+    List<Application> findByStatusInAndPersonInAndEndDateIsGreaterThanEqualAndStartDateIsLessThanEqualAndVacationTypeCategory(List<ApplicationStatus> statuses, List<Person> persons, LocalDate start, LocalDate end, VacationCategory vacationCategory);
+
     @Query(
         "select x from Application x "
             + "where x.status = ?3 "
@@ -58,23 +61,11 @@ interface ApplicationRepository extends CrudRepository<Application, Integer> {
     )
     List<Application> getApplicationsForACertainTimeAndPersonAndState(LocalDate startDate, LocalDate endDate, Person person, ApplicationStatus status);
 
-    @Query(
-        "SELECT SUM(application.hours) FROM Application application WHERE application.person = :person "
-            + "AND application.vacationType.category = 'OVERTIME' "
-            + "AND (application.status = 'WAITING' OR application.status = 'TEMPORARY_ALLOWED' OR application.status = 'ALLOWED' OR application.status = 'ALLOWED_CANCELLATION_REQUESTED')"
-    )
-    BigDecimal calculateTotalOvertimeReductionOfPerson(@Param("person") Person person);
+    List<Application> findByPersonAndVacationTypeCategoryAndStatusIn(Person person, VacationCategory category, List<ApplicationStatus> statuses);
 
     List<Application> findByPersonAndVacationTypeCategoryAndStatusInAndEndDateIsGreaterThanEqualAndStartDateIsLessThanEqual(
         Person person, VacationCategory category, List<ApplicationStatus> statuses, LocalDate start, LocalDate end);
 
-    @Query(
-        "SELECT SUM(application.hours) FROM Application application WHERE application.person = :person "
-            + "AND application.startDate < :date "
-            + "AND application.vacationType.category = 'OVERTIME' "
-            + "AND (application.status = 'WAITING' OR application.status = 'TEMPORARY_ALLOWED' OR application.status = 'ALLOWED' OR application.status = 'ALLOWED_CANCELLATION_REQUESTED')"
-    )
-    BigDecimal calculateTotalOvertimeReductionOfPersonBefore(@Param("person") Person person, @Param("date") LocalDate before);
-
+    @EntityGraph(Application.LIST_GRAPH)
     List<Application> findByHolidayReplacements_PersonAndEndDateIsGreaterThanEqualAndStatusIn(Person person, LocalDate date, List<ApplicationStatus> status);
 }
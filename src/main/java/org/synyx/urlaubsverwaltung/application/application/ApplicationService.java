@@ -6,6 +6,7 @@ import org.synyx.urlaubsverwaltung.person.Person;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -143,16 +144,30 @@ public interface ApplicationService {
     List<Application> getForStatesAndPerson(List<ApplicationStatus> statuses, List<Person> persons, LocalDate start, LocalDate end);
 
     /**
-     * Get the total hours of overtime reduction for a certain person.
+     * Get all {@link Application}s with specific states, persons and vacation category for the given date range
      *
-     * @param person to get the total hours of overtime reduction for
-     * @return the total overtime reduction of a person, never {@code null}
+     * @param statuses         {@link ApplicationStatus} to filter
+     * @param persons          {@link Person}s to consider
+     * @param start            start date (inclusive)
+     * @param end              end date (inclusive)
+     * @param vacationCategory {@link VacationCategory} to filter
+     * @return list of all matching {@link Application}s
+     */
+    List<Application> getForStatesAndPersonAndVacationCategory(List<ApplicationStatus> statuses, List<Person> persons, LocalDate start, LocalDate end, VacationCategory vacationCategory);
+
+    /**
+     * Get all {@link Application}s with specific states and vacation category of the given person
+     *
+     * @param statuses         {@link ApplicationStatus} to filter
+     * @param person           {@link Person} to consider
+     * @param vacationCategory {@link VacationCategory} to filter
+     * @return list of all matching {@link Application}s
      */
-    Duration getTotalOvertimeReductionOfPerson(Person person);
+    List<Application> getForStatesAndPersonAndVacationCategory(List<ApplicationStatus> statuses, Person person, VacationCategory vacationCategory);
 
     Duration getTotalOvertimeReductionOfPerson(Person person, LocalDate start, LocalDate end);
 
-    Duration getTotalOvertimeReductionOfPersonBefore(Person person, LocalDate before);
+    Map<Person, Duration> getTotalOvertimeReductionOfPersons(List<Person> persons, LocalDate start, LocalDate end);
 
     /**
      * Get a list of all active replacements of the given person and that are active at the given date
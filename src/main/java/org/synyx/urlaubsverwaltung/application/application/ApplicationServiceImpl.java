@@ -1,6 +1,7 @@
 package org.synyx.urlaubsverwaltung.application.application;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.synyx.urlaubsverwaltung.absence.DateRange;
 import org.synyx.urlaubsverwaltung.application.vacationtype.VacationCategory;
@@ -10,7 +11,9 @@ import org.synyx.urlaubsverwaltung.util.DecimalConverter;
 import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static java.math.RoundingMode.HALF_EVEN;
@@ -28,10 +31,12 @@ import static org.synyx.urlaubsverwaltung.util.DecimalConverter.toFormattedDecim
 class ApplicationServiceImpl implements ApplicationService {
 
     private final ApplicationRepository applicationRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     @Autowired
-    ApplicationServiceImpl(ApplicationRepository applicationRepository) {
+    ApplicationServiceImpl(ApplicationRepository applicationRepository, ApplicationEventPublisher applicationEventPublisher) {
         this.applicationRepository = applicationRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
     }
 
     @Override
@@ -41,7 +46,9 @@ class ApplicationServiceImpl implements ApplicationService {
 
     @Override
     public Application save(Application application) {
-        return applicationRepository.save(application);
+        final Application savedApplication = applicationRepository.save(application);
+        applicationEventPublisher.publishEvent(new ApplicationUpdatedEvent(this, savedApplication.getId()));
+        return savedApplication;
     }
 
     @Override
@@ -105,9 +112,13 @@ class ApplicationServiceImpl implements ApplicationService {
     }
 
     @Override
-    public Duration getTotalOvertimeReductionOfPerson(Person person) {
-        final BigDecimal overtimeReduction = Optional.ofNullable(applicationRepository.calculateTotalOvertimeReductionOfPerson(person)).orElse(BigDecimal.ZERO);
-        return Duration.ofMinutes(overtimeReduction.multiply(BigDecimal.valueOf(60)).longValue());
+    public List<Application> getForStatesAndPersonAndVacationCategory(List<ApplicationStatus> statuses, List<Person> persons, LocalDate start, LocalDate end, VacationCategory vacationCategory) {
+        return applicationRepository.findByStatusInAndPersonInAndEndDateIsGreaterThanEqualAndStartDateIsLessThanEqualAndVacationTypeCategory(statuses, persons, start, end, vacationCategory);
+    }
+
+    @Override
+    public List<Application> getForStatesAndPersonAndVacationCategory(List<ApplicationStatus> statuses, Person person, VacationCategory vacationCategory) {
+        return applicationRepository.findByPersonAndVacationTypeCategoryAndStatusIn(person, vacationCategory, statuses);
     }
 
     @Override
@@ -117,21 +128,26 @@ class ApplicationServiceImpl implements ApplicationService {
 
         final List<ApplicationStatus> waitingAndAllowedStatus = List.of(WAITING, TEMPORARY_ALLOWED, ALLOWED, ALLOWED_CANCELLATION_REQUESTED);
         return applicationRepository.findByPersonAndVacationTypeCategoryAndStatusInAndEndDateIsGreaterThanEqualAndStartDateIsLessThanEqual(person, OVERTIME, waitingAndAllowedStatus, start, end).stream()
-            .map(application -> {
-                final DateRange applicationDateRage = new DateRange(application.getStartDate(), application.getEndDate());
-                final Duration durationOfOverlap = dateRangeOfPeriod.overlap(applicationDateRage).map(DateRange::duration).orElse(Duration.ZERO);
-                return toFormattedDecimal(application.getHours())
-                    .divide(toFormattedDecimal(applicationDateRage.duration()), HALF_EVEN)
-                    .multiply(toFormattedDecimal(durationOfOverlap)).setScale(0, HALF_EVEN);
-            })
-            .map(DecimalConverter::toDuration)
+            .map(application -> overtimeReductionInPeriod(application, dateRangeOfPeriod))
             .reduce(Duration.ZERO, Duration::plus);
     }
 
     @Override
-    public Duration getTotalOvertimeReductionOfPersonBefore(Person person, LocalDate date) {
-        final BigDecimal overtimeReduction = Optional.ofNullable(applicationRepository.calculateTotalOvertimeReductionOfPersonBefore(person, date)).orElse(BigDecimal.ZERO);
-        return Duration.ofMinutes(overtimeReduction.multiply(BigDecimal.valueOf(60)).longValue());
+    public Map<Person, Duration> getTotalOvertimeReductionOfPersons(List<Person> persons, LocalDate start, LocalDate end) {
+
+        final Map<Person, Duration> overtimeReductionByPerson = new HashMap<>();
+        persons.forEach(person -> overtimeReductionByPerson.put(person, Duration.ZERO));
+        if (persons.isEmpty()) {
+            return overtimeReductionByPerson;
+        }
+
+        final DateRange dateRangeOfPeriod = new DateRange(start, end);
+
+        final List<ApplicationStatus> waitingAndAllowedStatus = List.of(WAITING, TEMPORARY_ALLOWED, ALLOWED, ALLOWED_CANCELLATION_REQUESTED);
+        applicationRepository.findByStatusInAndPersonInAndEndDateIsGreaterThanEqualAndStartDateIsLessThanEqualAndVacationTypeCategory(waitingAndAllowedStatus, persons, start, end, OVERTIME)
+            .forEach(application -> overtimeReductionByPerson.merge(application.getPerson(), overtimeReductionInPeriod(application, dateRangeOfPeriod), Duration::plus));
+
+        return overtimeReductionByPerson;
     }
 
     @Override
@@ -139,4 +155,13 @@ class ApplicationServiceImpl implements ApplicationService {
         final List<ApplicationStatus> status = List.of(WAITING, TEMPORARY_ALLOWED, ALLOWED, ALLOWED_CANCELLATION_REQUESTED);
         return applicationRepository.findByHolidayReplacements_PersonAndEndDateIsGreaterThanEqualAndStatusIn(holidayReplacement, date, status);
     }
+
+    private static Duration overtimeReductionInPeriod(Application application, DateRange dateRangeOfPeriod) {
+        final DateRange applicationDateRage = new DateRange(application.getStartDate(), application.getEndDate());
+        final Duration durationOfOverlap = dateRangeOfPeriod.overlap(applicationDateRage).map(DateRange::duration).orElse(Duration.ZERO);
+        final BigDecimal overtimeReduction = toFormattedDecimal(application.getHours())
+            .divide(toFormattedDecimal(applicationDateRage.duration()), HALF_EVEN)
+            .multiply(toFormattedDecimal(durationOfOverlap)).setScale(0, HALF_EVEN);
+        return DecimalConverter.toDuration(overtimeReduction);
+    }
 }
@@ -0,0 +1,20 @@
+package org.synyx.urlaubsverwaltung.application.application;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published whenever an {@link Application} has been saved, e.g. it has been applied for, allowed or cancelled.
+ */
+public class ApplicationUpdatedEvent extends ApplicationEvent {
+
+    private final Integer applicationId;
+
+    public ApplicationUpdatedEvent(Object source, Integer applicationId) {
+        super(source);
+        this.applicationId = applicationId;
+    }
+
+    public Integer getApplicationId() {
+        return applicationId;
+    }
+}
@@ -3,27 +3,33 @@ package org.synyx.urlaubsverwaltung.application.statistics;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
+import org.synyx.urlaubsverwaltung.account.Account;
 import org.synyx.urlaubsverwaltung.account.AccountService;
 import org.synyx.urlaubsverwaltung.account.VacationDaysLeft;
 import org.synyx.urlaubsverwaltung.account.VacationDaysService;
 import org.synyx.urlaubsverwaltung.application.application.Application;
 import org.synyx.urlaubsverwaltung.application.application.ApplicationService;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationStatus;
 import org.synyx.urlaubsverwaltung.application.vacationtype.VacationType;
 import org.synyx.urlaubsverwaltung.overtime.OvertimeService;
-import org.synyx.urlaubsverwaltung.period.DayLength;
 import org.synyx.urlaubsverwaltung.person.Person;
-import org.synyx.urlaubsverwaltung.person.basedata.PersonBasedata;
+import org.synyx.urlaubsverwaltung.workingtime.WorkDaysCountRequest;
 import org.synyx.urlaubsverwaltung.workingtime.WorkDaysCountService;
 
 import java.math.BigDecimal;
 import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 import static java.math.BigDecimal.ZERO;
 import static java.time.temporal.TemporalAdjusters.firstDayOfYear;
 import static java.time.temporal.TemporalAdjusters.lastDayOfYear;
-import static java.util.Optional.empty;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
 import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.ALLOWED;
 import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.ALLOWED_CANCELLATION_REQUESTED;
 import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.TEMPORARY_ALLOWED;
@@ -31,12 +37,17 @@ import static org.synyx.urlaubsverwaltung.application.application.ApplicationSta
 import static org.synyx.urlaubsverwaltung.application.vacationtype.VacationTypeServiceImpl.convert;
 
 /**
- * Builds a {@link ApplicationForLeaveStatistics} for the given
- * {@link org.synyx.urlaubsverwaltung.person.Person} and period.
+ * Builds the {@link ApplicationForLeaveStatistics} for the given
+ * {@link org.synyx.urlaubsverwaltung.person.Person}s and period.
+ * <p>
+ * Accounts, applications for leave, overtime and working times are loaded for all persons at once,
+ * so the number of queries does not depend on the number of persons.
  */
 @Component
 class ApplicationForLeaveStatisticsBuilder {
 
+    private static final List<ApplicationStatus> WAITING_AND_ALLOWED = List.of(WAITING, TEMPORARY_ALLOWED, ALLOWED, ALLOWED_CANCELLATION_REQUESTED);
+
     private final AccountService accountService;
     private final ApplicationService applicationService;
     private final WorkDaysCountService workDaysCountService;
@@ -56,60 +67,77 @@ class ApplicationForLeaveStatisticsBuilder {
         this.clock = clock;
     }
 
-    public ApplicationForLeaveStatistics build(Person person, PersonBasedata personBasedata, LocalDate from, LocalDate to, List<VacationType> vacationTypes) {
+    /**
+     * @return the statistics of the given persons in the same order as the persons
+     */
+    public List<ApplicationForLeaveStatistics> build(List<Person> persons, LocalDate from, LocalDate to, List<VacationType> vacationTypes) {
         Assert.isTrue(from.getYear() == to.getYear(), "From and to must be in the same year");
 
-        final ApplicationForLeaveStatistics statistics = build(person, from, to, vacationTypes);
-        statistics.setPersonBasedata(personBasedata);
-
-        return statistics;
-    }
-
-    public ApplicationForLeaveStatistics build(Person person, LocalDate from, LocalDate to, List<VacationType> vacationTypes) {
+        if (persons.isEmpty()) {
+            return List.of();
+        }
 
         final LocalDate today = LocalDate.now(clock);
-        final ApplicationForLeaveStatistics statistics = new ApplicationForLeaveStatistics(person);
-
-        accountService.getHolidaysAccount(from.getYear(), person)
-            .ifPresent(account -> {
-                final LocalDate firstDayOfYear = from.with(firstDayOfYear());
-                final LocalDate lastDayOfYear = to.with(lastDayOfYear());
-                final VacationDaysLeft vacationDaysLeftYear = vacationDaysService.getVacationDaysLeft(firstDayOfYear, lastDayOfYear, account, empty());
-                statistics.setLeftVacationDaysForYear(vacationDaysLeftYear.getLeftVacationDays(today, account.getExpiryDate()));
-                statistics.setLeftRemainingVacationDaysForYear(vacationDaysLeftYear.getRemainingVacationDaysLeft(today, account.getExpiryDate()));
-
-                final VacationDaysLeft vacationDaysLeftPeriod = vacationDaysService.getVacationDaysLeft(from, to, account, empty());
-                statistics.setLeftVacationDaysForPeriod(vacationDaysLeftPeriod.getLeftVacationDays(to, account.getExpiryDate()));
-                statistics.setLeftRemainingVacationDaysForPeriod(vacationDaysLeftPeriod.getRemainingVacationDaysLeft(to, account.getExpiryDate()));
-            });
-
-        statistics.setLeftOvertimeForYear(overtimeService.getLeftOvertimeForPerson(person));
-        statistics.setLeftOvertimeForPeriod(overtimeService.getLeftOvertimeForPerson(person, from, to));
-
-        for (VacationType type : vacationTypes) {
-            statistics.addWaitingVacationDays(type, ZERO);
-            statistics.addAllowedVacationDays(type, ZERO);
-        }
 
-        final List<Application> applications = applicationService.getApplicationsForACertainPeriodAndPerson(from, to, person);
-        for (Application application : applications) {
-            if (application.hasStatus(WAITING) || application.hasStatus(TEMPORARY_ALLOWED)) {
-                statistics.addWaitingVacationDays(convert(application.getVacationType()), getVacationDaysFor(application, from, to));
-            } else if (application.hasStatus(ALLOWED) || application.hasStatus(ALLOWED_CANCELLATION_REQUESTED)) {
-                statistics.addAllowedVacationDays(convert(application.getVacationType()), getVacationDaysFor(application, from, to));
-            }
-        }
-        return statistics;
+        final Map<Person, Account> accountByPerson = accountService.getHolidaysAccounts(from.getYear(), persons).stream()
+            .collect(toMap(Account::getPerson, identity(), (account, sameAccount) -> account));
+        final List<Account> accounts = List.copyOf(accountByPerson.values());
+
+        final LocalDate firstDayOfYear = from.with(firstDayOfYear());
+        final LocalDate lastDayOfYear = to.with(lastDayOfYear());
+        final Map<Account, VacationDaysLeft> vacationDaysLeftOfYear = vacationDaysService.getVacationDaysLeft(firstDayOfYear, lastDayOfYear, accounts);
+        final Map<Account, VacationDaysLeft> vacationDaysLeftOfPeriod = vacationDaysService.getVacationDaysLeft(from, to, accounts);
+
+        final Map<Person, Duration> leftOvertimeForYear = overtimeService.getLeftOvertimeForPersons(persons);
+        final Map<Person, Duration> leftOvertimeForPeriod = overtimeService.getLeftOvertimeForPersons(persons, from, to);
+
+        final List<Application> applications = applicationService.getForStatesAndPerson(WAITING_AND_ALLOWED, persons, from, to);
+        final Map<Person, List<Application>> applicationsByPerson = applications.stream()
+            .collect(groupingBy(Application::getPerson));
+        final Map<WorkDaysCountRequest, BigDecimal> workDaysCount = workDaysCountService.getWorkDaysCount(applications.stream()
+            .map(application -> toWorkDaysCountRequest(application, from, to))
+            .collect(toList()));
+
+        return persons.stream()
+            .map(person -> {
+                final ApplicationForLeaveStatistics statistics = new ApplicationForLeaveStatistics(person);
+
+                final Account account = accountByPerson.get(person);
+                if (account != null) {
+                    final VacationDaysLeft vacationDaysLeftYear = vacationDaysLeftOfYear.get(account);
+                    statistics.setLeftVacationDaysForYear(vacationDaysLeftYear.getLeftVacationDays(today, account.getExpiryDate()));
+                    statistics.setLeftRemainingVacationDaysForYear(vacationDaysLeftYear.getRemainingVacationDaysLeft(today, account.getExpiryDate()));
+
+                    final VacationDaysLeft vacationDaysLeftPeriod = vacationDaysLeftOfPeriod.get(account);
+                    statistics.setLeftVacationDaysForPeriod(vacationDaysLeftPeriod.getLeftVacationDays(to, account.getExpiryDate()));
+                    statistics.setLeftRemainingVacationDaysForPeriod(vacationDaysLeftPeriod.getRemainingVacationDaysLeft(to, account.getExpiryDate()));
+                }
+
+                statistics.setLeftOvertimeForYear(leftOvertimeForYear.getOrDefault(person, Duration.ZERO));
+                statistics.setLeftOvertimeForPeriod(leftOvertimeForPeriod.getOrDefault(person, Duration.ZERO));
+
+                for (VacationType type : vacationTypes) {
+                    statistics.addWaitingVacationDays(type, ZERO);
+                    statistics.addAllowedVacationDays(type, ZERO);
+                }
+
+                for (Application application : applicationsByPerson.getOrDefault(person, List.of())) {
+                    final BigDecimal vacationDays = workDaysCount.get(toWorkDaysCountRequest(application, from, to));
+                    if (application.hasStatus(WAITING) || application.hasStatus(TEMPORARY_ALLOWED)) {
+                        statistics.addWaitingVacationDays(convert(application.getVacationType()), vacationDays);
+                    } else if (application.hasStatus(ALLOWED) || application.hasStatus(ALLOWED_CANCELLATION_REQUESTED)) {
+                        statistics.addAllowedVacationDays(convert(application.getVacationType()), vacationDays);
+                    }
+                }
+
+                return statistics;
+            })
+            .collect(toList());
     }
 
-    private BigDecimal getVacationDaysFor(Application application, LocalDate from, LocalDate to) {
-
-        final DayLength dayLength = application.getDayLength();
-        final Person person = application.getPerson();
-
+    private static WorkDaysCountRequest toWorkDaysCountRequest(Application application, LocalDate from, LocalDate to) {
         final LocalDate startDate = application.getStartDate().isBefore(from) ? from : application.getStartDate();
         final LocalDate endDate = application.getEndDate().isAfter(to) ? to : application.getEndDate();
-
-        return workDaysCountService.getWorkDaysCount(dayLength, startDate, endDate, person);
+        return new WorkDaysCountRequest(application.getPerson(), application.getDayLength(), startDate, endDate);
     }
 }
@@ -25,6 +25,7 @@ class ApplicationForLeaveStatisticsCsvExportService {
 
     private static final Locale LOCALE = Locale.GERMAN;
     private static final String DATE_FORMAT = "ddMMyyyy";
+    private static final int NUMBER_OF_COLUMNS = 11;
 
     private final MessageSource messageSource;
     private final VacationTypeService vacationTypeService;
@@ -38,6 +39,15 @@ class ApplicationForLeaveStatisticsCsvExportService {
     }
 
     void writeStatistics(FilterPeriod period, List<ApplicationForLeaveStatistics> statistics, CSVWriter csvWriter) {
+        writeHeader(period, csvWriter);
+        writeRows(statistics, csvWriter);
+    }
+
+    /**
+     * Writes the header lines of the statistics of the given period, the rows are written with
+     * {@link #writeRows(List, CSVWriter)}.
+     */
+    void writeHeader(FilterPeriod period, CSVWriter csvWriter) {
         final String[] csvHeader = {
             getTranslation("person.account.basedata.personnelNumber"),
             getTranslation("person.data.firstName"),
@@ -68,23 +78,22 @@ class ApplicationForLeaveStatisticsCsvExportService {
         final String endDateString = dateFormatAware.format(period.getEndDate());
         final String headerNote = getTranslation("absence.period") + ": " + startDateString + " - " + endDateString;
 
-        final DecimalFormatSymbols newSymbols = new DecimalFormatSymbols(LOCALE);
-        newSymbols.setDecimalSeparator(',');
-        newSymbols.setGroupingSeparator('.');
-
-        final DecimalFormat decimalFormat = (DecimalFormat) NumberFormat.getInstance(LOCALE);
-        decimalFormat.setDecimalFormatSymbols(newSymbols);
-
         csvWriter.writeNext(new String[]{headerNote});
         csvWriter.writeNext(csvHeader);
         csvWriter.writeNext(csvSubHeader);
+    }
 
+    /**
+     * Writes the rows of the given statistics. Can be called several times to write the statistics in chunks.
+     */
+    void writeRows(List<ApplicationForLeaveStatistics> statistics, CSVWriter csvWriter) {
+        final DecimalFormat decimalFormat = createDecimalFormat();
         final List<VacationType> allVacationTypes = vacationTypeService.getAllVacationTypes();
 
         final String translatedTextTotal = getTranslation("applications.statistics.total");
         for (ApplicationForLeaveStatistics applicationForLeaveStatistics : statistics) {
 
-            final String[] csvRow = new String[csvHeader.length];
+            final String[] csvRow = new String[NUMBER_OF_COLUMNS];
             csvRow[0] = applicationForLeaveStatistics.getPersonBasedata().map(PersonBasedata::getPersonnelNumber).orElse("");
             csvRow[1] = applicationForLeaveStatistics.getPerson().getFirstName();
             csvRow[2] = applicationForLeaveStatistics.getPerson().getLastName();
@@ -103,7 +112,7 @@ class ApplicationForLeaveStatisticsCsvExportService {
 
             for (final VacationType type : allVacationTypes) {
                 if (applicationForLeaveStatistics.hasVacationType(type)) {
-                    final String[] csvRowVacationTypes = new String[csvHeader.length];
+                    final String[] csvRowVacationTypes = new String[NUMBER_OF_COLUMNS];
                     csvRowVacationTypes[3] = getTranslation(type.getMessageKey());
                     csvRowVacationTypes[4] = decimalFormat.format(applicationForLeaveStatistics.getAllowedVacationDays(type));
                     csvRowVacationTypes[5] = decimalFormat.format(applicationForLeaveStatistics.getWaitingVacationDays(type));
@@ -119,6 +128,16 @@ class ApplicationForLeaveStatisticsCsvExportService {
             period.getEndDate().format(ofPattern(DATE_FORMAT)));
     }
 
+    private static DecimalFormat createDecimalFormat() {
+        final DecimalFormatSymbols newSymbols = new DecimalFormatSymbols(LOCALE);
+        newSymbols.setDecimalSeparator(',');
+        newSymbols.setGroupingSeparator('.');
+
+        final DecimalFormat decimalFormat = (DecimalFormat) NumberFormat.getInstance(LOCALE);
+        decimalFormat.setDecimalFormatSymbols(newSymbols);
+        return decimalFormat;
+    }
+
     private String getTranslation(String key, Object... args) {
         return messageSource.getMessage(key, args, LOCALE);
     }
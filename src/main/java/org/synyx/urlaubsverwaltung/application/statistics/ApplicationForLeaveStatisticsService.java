@@ -13,8 +13,8 @@ import org.synyx.urlaubsverwaltung.web.FilterPeriod;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
-import java.util.function.Function;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import static java.util.stream.Collectors.toCollection;
 import static java.util.stream.Collectors.toList;
@@ -27,6 +27,11 @@ import static org.synyx.urlaubsverwaltung.person.Role.SECOND_STAGE_AUTHORITY;
 @Service
 class ApplicationForLeaveStatisticsService {
 
+    /**
+     * number of persons whose statistics are built together, limits the size of the 'in' clauses of the bulk queries
+     */
+    private static final int PERSONS_PER_CHUNK = 500;
+
     private final PersonService personService;
     private final PersonBasedataService personBasedataService;
     private final DepartmentService departmentService;
@@ -43,22 +48,54 @@ class ApplicationForLeaveStatisticsService {
         this.vacationTypeService = vacationTypeService;
     }
 
+    /**
+     * Builds the statistics of all persons the signed in user is allowed to see. The persons are processed in chunks,
+     * for every chunk the data is loaded with a constant number of queries and the statistics are computed in memory.
+     *
+     * @param period to build the statistics for
+     * @return the statistics of the relevant persons
+     */
     List<ApplicationForLeaveStatistics> getStatistics(FilterPeriod period) {
+
+        final List<ApplicationForLeaveStatistics> statistics = new ArrayList<>();
+        forEachStatisticsChunk(period, statistics::addAll);
+
+        return statistics;
+    }
+
+    /**
+     * Builds the statistics of all persons the signed in user is allowed to see chunk by chunk and hands every chunk
+     * to the given consumer as soon as it is built. In contrast to {@link #getStatistics(FilterPeriod)} the statistics
+     * of a chunk can be released after it has been consumed, e.g. written to a response.
+     *
+     * @param period to build the statistics for
+     * @param chunkConsumer consumes the statistics of one chunk of persons, in the order of the relevant persons
+     */
+    void forEachStatisticsChunk(FilterPeriod period, Consumer<List<ApplicationForLeaveStatistics>> chunkConsumer) {
+
         final List<VacationType> activeVacationTypes = vacationTypeService.getActiveVacationTypes();
-        return getRelevantPersons().stream()
-            .map(toApplicationForLeaveStatistics(period, activeVacationTypes))
-            .collect(toList());
+        final List<Person> relevantPersons = getRelevantPersons();
+
+        for (int fromIndex = 0; fromIndex < relevantPersons.size(); fromIndex += PERSONS_PER_CHUNK) {
+            final List<Person> persons = relevantPersons.subList(fromIndex, Math.min(fromIndex + PERSONS_PER_CHUNK, relevantPersons.size()));
+            chunkConsumer.accept(getStatistics(persons, period, activeVacationTypes));
+        }
     }
 
-    private Function<Person, ApplicationForLeaveStatistics> toApplicationForLeaveStatistics(FilterPeriod period, List<VacationType> activeVacationTypes) {
-        return person -> {
-            final Optional<PersonBasedata> personBasedata = personBasedataService.getBasedataByPersonId(person.getId());
-            if (personBasedata.isPresent()) {
-                return applicationForLeaveStatisticsBuilder.build(person, personBasedata.get(), period.getStartDate(), period.getEndDate(), activeVacationTypes);
-            } else {
-                return applicationForLeaveStatisticsBuilder.build(person, period.getStartDate(), period.getEndDate(), activeVacationTypes);
+    private List<ApplicationForLeaveStatistics> getStatistics(List<Person> persons, FilterPeriod period, List<VacationType> activeVacationTypes) {
+
+        final List<Integer> personIds = persons.stream().map(Person::getId).collect(toList());
+        final Map<Integer, PersonBasedata> basedataByPersonId = personBasedataService.getBasedataByPersonIds(personIds);
+
+        final List<ApplicationForLeaveStatistics> statistics = applicationForLeaveStatisticsBuilder.build(persons, period.getStartDate(), period.getEndDate(), activeVacationTypes);
+        for (ApplicationForLeaveStatistics statisticsOfPerson : statistics) {
+            final PersonBasedata personBasedata = basedataByPersonId.get(statisticsOfPerson.getPerson().getId());
+            if (personBasedata != null) {
+                statisticsOfPerson.setPersonBasedata(personBasedata);
             }
-        };
+        }
+
+        return statistics;
     }
 
     private List<Person> getRelevantPersons() {
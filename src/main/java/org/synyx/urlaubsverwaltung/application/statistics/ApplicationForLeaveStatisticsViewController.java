@@ -22,6 +22,7 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Locale;
@@ -126,14 +127,23 @@ class ApplicationForLeaveStatisticsViewController {
         response.setCharacterEncoding(UTF_8.name());
         response.setHeader("Content-disposition", "attachment;filename=" + fileName);
 
-        final List<ApplicationForLeaveStatistics> statistics = applicationForLeaveStatisticsService.getStatistics(period);
-
         try (final OutputStream os = response.getOutputStream()) {
             os.write(UTF8_BOM);
 
             try (final PrintWriter printWriter = new PrintWriter(new OutputStreamWriter(os, UTF_8))) {
                 try (final CSVWriter csvWriter = new CSVWriter(printWriter, SEPARATOR, NO_QUOTE_CHARACTER, DEFAULT_QUOTE_CHARACTER)) {
-                    applicationForLeaveStatisticsCsvExportService.writeStatistics(period, statistics, csvWriter);
+                    // send the header right away so that the download starts before the statistics are built
+                    applicationForLeaveStatisticsCsvExportService.writeHeader(period, csvWriter);
+                    csvWriter.flush();
+
+                    applicationForLeaveStatisticsService.forEachStatisticsChunk(period, statistics -> {
+                        applicationForLeaveStatisticsCsvExportService.writeRows(statistics, csvWriter);
+                        try {
+                            csvWriter.flush();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
                 }
                 printWriter.flush();
             }
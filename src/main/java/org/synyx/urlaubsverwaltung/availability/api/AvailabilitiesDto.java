@@ -0,0 +1,19 @@
+package org.synyx.urlaubsverwaltung.availability.api;
+
+import java.util.List;
+
+@Deprecated(forRemoval = true, since = "4.4.0")
+class AvailabilitiesDto {
+
+    private final List<AvailabilityListDto> availabilities;
+
+    AvailabilitiesDto(List<AvailabilityListDto> availabilities) {
+
+        this.availabilities = availabilities;
+    }
+
+    public List<AvailabilityListDto> getAvailabilities() {
+
+        return availabilities;
+    }
+}
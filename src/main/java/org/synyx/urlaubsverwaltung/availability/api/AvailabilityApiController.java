@@ -18,21 +18,28 @@ import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonService;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.NO_CONTENT;
 import static org.synyx.urlaubsverwaltung.security.SecurityRules.IS_OFFICE;
 
 @RestControllerAdviceMarker
-@Tag(name = "availabilities", description = "Availabilities: Get all availabilities for a certain person and period")
+@Tag(name = "availabilities", description = "Availabilities: Get all availabilities for certain persons and period")
 @RestController
-@RequestMapping("/api/persons/{personId}")
+@RequestMapping("/api")
 @Deprecated(forRemoval = true, since = "4.4.0")
 public class AvailabilityApiController {
 
     public static final String AVAILABILITIES = "availabilities";
 
+    private static final int MAX_PERSONS_PER_REQUEST = 100;
+
     private final PersonService personService;
     private final AvailabilityService availabilityService;
 
@@ -47,7 +54,7 @@ public class AvailabilityApiController {
         summary = "Get all availabilities for a certain period and person",
         description = "Get all availabilities for a certain period and person. Maximum allowed period per request is one month."
     )
-    @GetMapping(AVAILABILITIES)
+    @GetMapping("/persons/{personId}/" + AVAILABILITIES)
     @PreAuthorize(IS_OFFICE)
     public AvailabilityListDto personsAvailabilities(
         @Parameter(description = "id of the person")
@@ -77,4 +84,57 @@ public class AvailabilityApiController {
             throw new ResponseStatusException(NO_CONTENT, "There is no content available for this person and the date range");
         }
     }
+
+    @Operation(
+        deprecated = true,
+        summary = "Get all availabilities for a certain period and multiple persons",
+        description = "Get all availabilities for a certain period and multiple persons, e.g. all members of a team. "
+            + "Maximum allowed period per request is one month and maximum number of persons per request is "
+            + MAX_PERSONS_PER_REQUEST + "."
+    )
+    @GetMapping(AVAILABILITIES)
+    @PreAuthorize(IS_OFFICE)
+    public AvailabilitiesDto availabilities(
+        @Parameter(description = "ids of the persons")
+        @RequestParam("personIds")
+            List<Integer> personIds,
+        @Parameter(description = "start of interval to get availabilities from (inclusive)")
+        @RequestParam("from")
+        @DateTimeFormat(iso = ISO.DATE)
+            LocalDate startDate,
+        @Parameter(description = "end of interval to get availabilities from (inclusive)")
+        @RequestParam("to")
+        @DateTimeFormat(iso = ISO.DATE)
+            LocalDate endDate) {
+
+        if (startDate.isAfter(endDate)) {
+            throw new ResponseStatusException(BAD_REQUEST, "Start date " + startDate + " must not be after end date " + endDate);
+        }
+
+        if (endDate.isAfter(startDate.plusMonths(1).minusDays(1))) {
+            throw new ResponseStatusException(BAD_REQUEST, "Period from " + startDate + " to " + endDate + " must not be longer than one month");
+        }
+
+        final List<Integer> distinctPersonIds = personIds.stream().distinct().collect(toList());
+        if (distinctPersonIds.size() > MAX_PERSONS_PER_REQUEST) {
+            throw new ResponseStatusException(BAD_REQUEST, "Availabilities can be requested for at most " + MAX_PERSONS_PER_REQUEST + " persons");
+        }
+
+        final Map<Integer, Person> personsById = personService.getPersonsByIds(distinctPersonIds).stream()
+            .collect(toMap(Person::getId, identity()));
+
+        final List<Integer> unknownPersonIds = distinctPersonIds.stream()
+            .filter(personId -> !personsById.containsKey(personId))
+            .collect(toList());
+        if (!unknownPersonIds.isEmpty()) {
+            throw new ResponseStatusException(BAD_REQUEST, "No persons found for ids = " + unknownPersonIds);
+        }
+
+        final List<Person> persons = distinctPersonIds.stream().map(personsById::get).collect(toList());
+        try {
+            return new AvailabilitiesDto(availabilityService.getPersonsAvailabilities(startDate, endDate, persons));
+        } catch (FreeTimeAbsenceException e) {
+            throw new ResponseStatusException(NO_CONTENT, "There is no content available for these persons and the date range");
+        }
+    }
 }
@@ -2,28 +2,72 @@ package org.synyx.urlaubsverwaltung.availability.api;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.synyx.urlaubsverwaltung.application.application.Application;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationService;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationStatus;
+import org.synyx.urlaubsverwaltung.period.DayLength;
 import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.publicholiday.PublicHoliday;
+import org.synyx.urlaubsverwaltung.publicholiday.PublicHolidaysService;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNote;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteService;
+import org.synyx.urlaubsverwaltung.workingtime.FederalState;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTime;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeService;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeTimeline;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
 
+import static java.math.BigDecimal.ZERO;
+import static java.time.temporal.ChronoUnit.DAYS;
+import static java.util.Comparator.comparing;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toMap;
+import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.ALLOWED;
+import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.ALLOWED_CANCELLATION_REQUESTED;
+import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.TEMPORARY_ALLOWED;
+import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.WAITING;
+import static org.synyx.urlaubsverwaltung.period.DayLength.FULL;
+import static org.synyx.urlaubsverwaltung.period.DayLength.NOON;
+import static org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteStatus.ACTIVE;
 
 /**
  * Service to retrieve {@link DayAvailability} information.
+ * <p>
+ * The applications, sick notes, working times and public holidays of the requested period are loaded once for all
+ * requested persons and the days are filled in a single pass. Multiple overlapping absences of a day are checked in
+ * the order free time, public holidays, sick notes and vacation, absences of a lower priority are omitted as soon as
+ * the person is absent for the whole day.
  */
 @Deprecated(forRemoval = true, since = "4.4.0")
 @Service
 public class AvailabilityService {
 
-    private final FreeTimeAbsenceProvider freeTimeAbsenceProvider;
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final List<ApplicationStatus> VACATION_STATUSES = List.of(WAITING, TEMPORARY_ALLOWED, ALLOWED, ALLOWED_CANCELLATION_REQUESTED);
+
+    private final ApplicationService applicationService;
+    private final SickNoteService sickNoteService;
+    private final WorkingTimeService workingTimeService;
+    private final PublicHolidaysService publicHolidaysService;
 
     @Autowired
-    public AvailabilityService(FreeTimeAbsenceProvider freeTimeAbsenceProvider) {
+    public AvailabilityService(ApplicationService applicationService, SickNoteService sickNoteService,
+                               WorkingTimeService workingTimeService, PublicHolidaysService publicHolidaysService) {
 
-        this.freeTimeAbsenceProvider = freeTimeAbsenceProvider;
+        this.applicationService = applicationService;
+        this.sickNoteService = sickNoteService;
+        this.workingTimeService = workingTimeService;
+        this.publicHolidaysService = publicHolidaysService;
     }
 
     /**
@@ -33,22 +77,153 @@ public class AvailabilityService {
      * @param endDate   end date of the of the requested availability duration
      * @param person    to receive the availability information
      * @return a {@link AvailabilityListDto availability list} of the requested person
+     * @throws FreeTimeAbsenceException if the person has no working time at a day of the period
      */
     AvailabilityListDto getPersonsAvailabilities(LocalDate startDate, LocalDate endDate, Person person) {
+        return getPersonsAvailabilities(startDate, endDate, List.of(person)).get(0);
+    }
+
+    /**
+     * Fetch an {@link AvailabilityListDto} for each of the given persons on all days in the given period of time.
+     *
+     * @param startDate start date of the of the requested availability duration
+     * @param endDate   end date of the of the requested availability duration
+     * @param persons   to receive the availability information
+     * @return the {@link AvailabilityListDto availability lists} in the order of the given persons
+     * @throws FreeTimeAbsenceException if one of the persons has no working time at a day of the period
+     */
+    List<AvailabilityListDto> getPersonsAvailabilities(LocalDate startDate, LocalDate endDate, List<Person> persons) {
+
+        if (persons.isEmpty()) {
+            return List.of();
+        }
+
+        final Map<Person, WorkingTimeTimeline> timelines = workingTimeService.getTimelines(persons);
+        final Map<Person, List<SickNote>> sickNotesByPerson =
+            sickNoteService.getForStatesAndPerson(List.of(ACTIVE), persons, startDate, endDate).stream()
+                .sorted(comparing(SickNote::getStartDate))
+                .collect(groupingBy(SickNote::getPerson));
+        final Map<Person, List<Application>> applicationsByPerson =
+            applicationService.getForStatesAndPerson(VACATION_STATUSES, persons, startDate, endDate).stream()
+                .sorted(comparing(Application::getStartDate))
+                .collect(groupingBy(Application::getPerson));
+        final Map<FederalState, Map<LocalDate, PublicHoliday>> publicHolidays = new EnumMap<>(FederalState.class);
+
+        final List<AvailabilityListDto> availabilities = new ArrayList<>();
+        for (Person person : persons) {
+            final List<DayAvailability> availabilitiesOfPerson = getAvailabilities(startDate, endDate, person,
+                timelines.getOrDefault(person, WorkingTimeTimeline.of(List.of())),
+                sickNotesByPerson.getOrDefault(person, List.of()),
+                applicationsByPerson.getOrDefault(person, List.of()),
+                federalState -> publicHolidays.computeIfAbsent(federalState, state -> getPublicHolidays(startDate, endDate, state)));
+
+            availabilities.add(new AvailabilityListDto(availabilitiesOfPerson, person.getId()));
+        }
+
+        return availabilities;
+    }
+
+    private List<DayAvailability> getAvailabilities(LocalDate startDate, LocalDate endDate, Person person,
+                                                    WorkingTimeTimeline timeline, List<SickNote> sickNotes,
+                                                    List<Application> applications,
+                                                    Function<FederalState, Map<LocalDate, PublicHoliday>> publicHolidays) {
+
+        final int numberOfDays = (int) DAYS.between(startDate, endDate) + 1;
+        final List<List<TimedAbsence>> sickDays = absencesByDay(startDate, numberOfDays, sickNotes,
+            SickNote::getStartDate, SickNote::getEndDate, SickNote::getDayLength);
+        final List<List<TimedAbsence>> vacationDays = absencesByDay(startDate, numberOfDays, applications,
+            Application::getStartDate, Application::getEndDate, Application::getDayLength);
+
+        final List<DayAvailability> availabilities = new ArrayList<>(numberOfDays);
+        for (int index = 0; index < numberOfDays; index++) {
+            final LocalDate date = startDate.plusDays(index);
+
+            final Optional<WorkingTime> maybeWorkingTime = timeline.workingTimeAt(date);
+            if (maybeWorkingTime.isEmpty()) {
+                throw new FreeTimeAbsenceException("Person " + person + " does not have workingTime configured");
+            }
+            final WorkingTime workingTime = maybeWorkingTime.get();
+
+            final List<TimedAbsence> absences = new ArrayList<>();
+            checkForFreeTime(workingTime, date).ifPresent(absences::add);
+            if (!isAbsentForWholeDay(absences)) {
+                checkForPublicHoliday(publicHolidays.apply(workingTime.getFederalState()).get(date)).ifPresent(absences::add);
+            }
+            if (!isAbsentForWholeDay(absences)) {
+                absences.addAll(sickDays.get(index));
+            }
+            if (!isAbsentForWholeDay(absences)) {
+                absences.addAll(vacationDays.get(index));
+            }
+
+            final TimedAbsenceSpans timedAbsenceSpans = new TimedAbsenceSpans(absences);
+            availabilities.add(new DayAvailability(timedAbsenceSpans.calculatePresenceRatio(), date.format(DATE_FORMATTER), timedAbsenceSpans));
+        }
+
+        return availabilities;
+    }
+
+    private Map<LocalDate, PublicHoliday> getPublicHolidays(LocalDate startDate, LocalDate endDate, FederalState federalState) {
+        return publicHolidaysService.getPublicHolidays(startDate, endDate, federalState).stream()
+            .collect(toMap(PublicHoliday::getDate, identity(), (first, second) -> first));
+    }
+
+    /**
+     * Distributes the given absences to the days of the period starting at the given date.
+     *
+     * @return the absences of every day of the period, indexed by the number of days since the start date
+     */
+    private static <T> List<List<TimedAbsence>> absencesByDay(LocalDate startDate, int numberOfDays, List<T> absences,
+                                                              Function<T, LocalDate> absenceStartDate,
+                                                              Function<T, LocalDate> absenceEndDate,
+                                                              Function<T, DayLength> absenceDayLength) {
+
+        final List<List<TimedAbsence>> absencesByDay = new ArrayList<>(numberOfDays);
+        for (int index = 0; index < numberOfDays; index++) {
+            absencesByDay.add(new ArrayList<>());
+        }
 
-        List<DayAvailability> availabilities = new ArrayList<>();
+        for (T absence : absences) {
+            final int firstIndex = (int) Math.max(0, DAYS.between(startDate, absenceStartDate.apply(absence)));
+            final int lastIndex = (int) Math.min(numberOfDays - 1L, DAYS.between(startDate, absenceEndDate.apply(absence)));
+            final TimedAbsence timedAbsence = new TimedAbsence(absenceDayLength.apply(absence));
+            for (int index = firstIndex; index <= lastIndex; index++) {
+                absencesByDay.get(index).add(timedAbsence);
+            }
+        }
 
-        LocalDate currentDay = startDate;
+        return absencesByDay;
+    }
 
-        while (!currentDay.isAfter(endDate)) {
-            TimedAbsenceSpans absences = freeTimeAbsenceProvider.checkForAbsence(person, currentDay);
-            BigDecimal presenceRatio = absences.calculatePresenceRatio();
+    private static Optional<TimedAbsence> checkForFreeTime(WorkingTime workingTime, LocalDate date) {
 
-            availabilities.add(new DayAvailability(presenceRatio, currentDay.format(DateTimeFormatter.ofPattern("yyyy-MM-dd")), absences));
+        final DayLength expectedWorkTime = workingTime.getDayLengthForWeekDay(date.getDayOfWeek());
 
-            currentDay = currentDay.plusDays(1);
+        final boolean expectedWorkTimeIsLessThanFullDay = expectedWorkTime.getDuration().compareTo(BigDecimal.ONE) < 0;
+        if (expectedWorkTimeIsLessThanFullDay) {
+            return Optional.of(new TimedAbsence(expectedWorkTime.getInverse()));
         }
 
-        return new AvailabilityListDto(availabilities, person.getId());
+        return Optional.empty();
+    }
+
+    private static Optional<TimedAbsence> checkForPublicHoliday(PublicHoliday publicHoliday) {
+
+        if (publicHoliday == null) {
+            return Optional.empty();
+        }
+
+        final BigDecimal workingDuration = publicHoliday.getWorkingDuration();
+        if (workingDuration.compareTo(DayLength.ZERO.getDuration()) == 0) {
+            return Optional.of(new TimedAbsence(FULL));
+        } else if (workingDuration.compareTo(NOON.getDuration()) == 0) {
+            return Optional.of(new TimedAbsence(NOON));
+        }
+
+        return Optional.empty();
+    }
+
+    private static boolean isAbsentForWholeDay(List<TimedAbsence> absences) {
+        return ZERO.compareTo(new TimedAbsenceSpans(absences).calculatePresenceRatio()) == 0;
     }
 }
@@ -0,0 +1,273 @@
+package org.synyx.urlaubsverwaltung.calendar;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.synyx.urlaubsverwaltung.absence.Absence;
+import org.synyx.urlaubsverwaltung.absence.AbsenceService;
+import org.synyx.urlaubsverwaltung.absence.AbsenceSource;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationUpdatedEvent;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.person.PersonService;
+import org.synyx.urlaubsverwaltung.person.PersonUpdatedEvent;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteUpdatedEvent;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Keeps the open absences shown in the calendar feeds and applies only the changed applications, sick notes and
+ * persons before a feed is generated.
+ * <p>
+ * The open absences are loaded once since the earliest date a feed asked for. Afterwards the lifecycle events of
+ * applications, sick notes and persons are collected and applied on the next request, so generating a feed costs
+ * one query per change since the last request instead of loading all absences of the calendar period. The absences
+ * are loaded again if a feed asks for an earlier date or after the time to live of the feed cache, which bounds the
+ * staleness caused by changes the index is not notified about, e.g. changes of the time settings or changes made on
+ * another instance of the application.
+ * <p>
+ * The absences are kept in a snapshot ordered by the type and the id of their source, so a feed lists the same
+ * absences in the same order no matter in which order they have been loaded or changed. The absences are loaded
+ * without blocking the collection of changes and swapped in afterwards.
+ */
+@Component
+class CalendarAbsenceIndex {
+
+    private static final Comparator<AbsenceSource> SOURCE_ORDER =
+        Comparator.comparing(AbsenceSource::getType).thenComparing(AbsenceSource::getId);
+
+    private final AbsenceService absenceService;
+    private final PersonService personService;
+    private final CalendarProperties calendarProperties;
+    private final Clock clock;
+
+    /**
+     * Serializes the updates, so a change is applied once and no request is answered from an outdated snapshot
+     * while the change is applied.
+     */
+    private final Object updateLock = new Object();
+
+    /**
+     * Changes not applied to the snapshot yet with the sequence number of their last occurrence, guarded by this.
+     */
+    private final Map<AbsenceSource, Long> changedSources = new LinkedHashMap<>();
+    private final Map<Integer, Long> changedPersonIds = new LinkedHashMap<>();
+    private long changeSequence;
+
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    CalendarAbsenceIndex(AbsenceService absenceService, PersonService personService, CalendarProperties calendarProperties, Clock clock) {
+        this.absenceService = absenceService;
+        this.personService = personService;
+        this.calendarProperties = calendarProperties;
+        this.clock = clock;
+    }
+
+    /**
+     * @param since date the absences must end on or after
+     * @return all open absences since the given date ordered by the type and the id of their source
+     */
+    List<Absence> getOpenAbsencesSince(LocalDate since) {
+        return update(since).absences.values().stream()
+            .filter(absence -> !endDateOf(absence).isBefore(since))
+            .collect(toList());
+    }
+
+    /**
+     * @param persons to get the absences for
+     * @param since   date the absences must end on or after
+     * @return open absences of the given persons since the given date, per person ordered by the type and the id of
+     * their source
+     */
+    List<Absence> getOpenAbsencesSince(List<Person> persons, LocalDate since) {
+        final Snapshot current = update(since);
+
+        final List<Absence> absencesOfPersons = new ArrayList<>();
+        for (Person person : persons) {
+            current.absencesByPersonId.getOrDefault(person.getId(), List.of()).stream()
+                .filter(absence -> !endDateOf(absence).isBefore(since))
+                .forEach(absencesOfPersons::add);
+        }
+
+        return absencesOfPersons;
+    }
+
+    @EventListener
+    public void handleApplicationUpdated(ApplicationUpdatedEvent event) {
+        changed(AbsenceSource.application(event.getApplicationId()));
+    }
+
+    @EventListener
+    public void handleSickNoteUpdated(SickNoteUpdatedEvent event) {
+        changed(AbsenceSource.sickNote(event.getSickNoteId()));
+    }
+
+    @EventListener
+    public void handlePersonUpdated(PersonUpdatedEvent event) {
+        final Integer personId = event.getPersonId();
+        if (personId == null) {
+            return;
+        }
+
+        synchronized (this) {
+            changedPersonIds.put(personId, ++changeSequence);
+        }
+        afterCompletion(() -> changedPersonIds.put(personId, ++changeSequence));
+    }
+
+    /**
+     * Remembers the change of the given source. Within a transaction the source is remembered again after
+     * completion, since a feed requested before the commit would still see the previous state.
+     */
+    private void changed(AbsenceSource source) {
+        if (source.getId() == null) {
+            return;
+        }
+
+        synchronized (this) {
+            changedSources.put(source, ++changeSequence);
+        }
+        afterCompletion(() -> changedSources.put(source, ++changeSequence));
+    }
+
+    private void afterCompletion(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    synchronized (CalendarAbsenceIndex.this) {
+                        change.run();
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns the current snapshot if it covers the given date and there are no changes to apply. Otherwise the
+     * absences are loaded without holding the monitor the changes are collected with, and the updated snapshot is
+     * swapped in afterwards. Changes occurring while the absences are loaded are applied on the next update.
+     */
+    private Snapshot update(LocalDate since) {
+
+        final Instant now = Instant.now(clock);
+
+        Snapshot current = snapshot;
+        if (isUpToDate(current, since, now)) {
+            return current;
+        }
+
+        synchronized (updateLock) {
+            current = snapshot;
+
+            final Map<AbsenceSource, Long> sources;
+            final Map<Integer, Long> personIds;
+            synchronized (this) {
+                if (isUpToDate(current, since, now)) {
+                    return current;
+                }
+                sources = new LinkedHashMap<>(changedSources);
+                personIds = new LinkedHashMap<>(changedPersonIds);
+            }
+
+            final Snapshot updated = isLoaded(current, since, now)
+                ? apply(current, sources.keySet(), personIds.keySet())
+                : load(since, now);
+
+            synchronized (this) {
+                sources.forEach((source, sequence) -> changedSources.remove(source, sequence));
+                personIds.forEach((personId, sequence) -> changedPersonIds.remove(personId, sequence));
+                snapshot = updated;
+            }
+
+            return updated;
+        }
+    }
+
+    private boolean isUpToDate(Snapshot current, LocalDate since, Instant now) {
+        if (!isLoaded(current, since, now)) {
+            return false;
+        }
+        synchronized (this) {
+            return changedSources.isEmpty() && changedPersonIds.isEmpty();
+        }
+    }
+
+    private boolean isLoaded(Snapshot current, LocalDate since, Instant now) {
+        return current != null
+            && !since.isBefore(current.loadedSince)
+            && now.isBefore(current.loadedAt.plus(calendarProperties.getFeedCacheTimeToLive()));
+    }
+
+    private Snapshot load(LocalDate since, Instant now) {
+        final SortedMap<AbsenceSource, Absence> absences = new TreeMap<>(SOURCE_ORDER);
+        absences.putAll(absenceService.getOpenAbsencesBySourceSince(since));
+        return new Snapshot(absences, since, now);
+    }
+
+    /**
+     * Loads the changed applications and sick notes and the absences of the changed persons again, e.g. to show the
+     * changed name of a person.
+     */
+    private Snapshot apply(Snapshot current, Set<AbsenceSource> sources, Set<Integer> personIds) {
+        final SortedMap<AbsenceSource, Absence> absences = new TreeMap<>(current.absences);
+
+        for (AbsenceSource source : sources) {
+            absences.remove(source);
+            absenceService.getOpenAbsence(source)
+                .filter(absence -> !endDateOf(absence).isBefore(current.loadedSince))
+                .ifPresent(absence -> absences.put(source, absence));
+        }
+
+        for (Integer personId : personIds) {
+            personService.getPersonByID(personId).ifPresent(person -> {
+                absences.values().removeIf(absence -> personId.equals(absence.getPerson().getId()));
+                absences.putAll(absenceService.getOpenAbsencesBySourceSince(List.of(person), current.loadedSince));
+            });
+        }
+
+        return new Snapshot(absences, current.loadedSince, current.loadedAt);
+    }
+
+    /**
+     * Open absences loaded at a point in time, never changed after creation.
+     */
+    private static final class Snapshot {
+
+        private final SortedMap<AbsenceSource, Absence> absences;
+        private final Map<Integer, List<Absence>> absencesByPersonId;
+        private final LocalDate loadedSince;
+        private final Instant loadedAt;
+
+        private Snapshot(SortedMap<AbsenceSource, Absence> absences, LocalDate loadedSince, Instant loadedAt) {
+            this.absences = absences;
+            this.absencesByPersonId = absences.values().stream()
+                .collect(groupingBy(absence -> absence.getPerson().getId()));
+            this.loadedSince = loadedSince;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    /**
+     * @return the last day of the period of the given absence, the end of a full day absence is the start of the next day
+     */
+    private static LocalDate endDateOf(Absence absence) {
+        final LocalDate endDate = absence.getEndDate().toLocalDate();
+        return absence.isAllDay() ? endDate.minusDays(1) : endDate;
+    }
+}
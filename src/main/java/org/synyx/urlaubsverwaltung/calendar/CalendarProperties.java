@@ -7,6 +7,7 @@ import org.springframework.validation.annotation.Validated;
 
 import javax.validation.constraints.Email;
 import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 
@@ -45,6 +46,16 @@ public class CalendarProperties {
     @DurationUnit(ChronoUnit.MINUTES)
     private Duration refreshInterval = Duration.ofDays(1);
 
+    /**
+     * Defines how long a rendered iCal Feed is served from the cache at most. Cached feeds are invalidated
+     * as soon as applications, sick notes or persons change, the time to live only bounds the staleness
+     * of feeds caused by changes made on other instances of the application.
+     * <p>
+     * Default time to live is fifteen minutes (PT15M).
+     */
+    @NotNull
+    private Duration feedCacheTimeToLive = Duration.ofMinutes(15);
+
     public String getOrganizer() {
         return organizer;
     }
@@ -60,4 +71,12 @@ public class CalendarProperties {
     public void setRefreshInterval(Duration refreshInterval) {
         this.refreshInterval = refreshInterval;
     }
+
+    public Duration getFeedCacheTimeToLive() {
+        return feedCacheTimeToLive;
+    }
+
+    public void setFeedCacheTimeToLive(Duration feedCacheTimeToLive) {
+        this.feedCacheTimeToLive = feedCacheTimeToLive;
+    }
 }
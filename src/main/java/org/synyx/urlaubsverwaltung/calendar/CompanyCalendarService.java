@@ -3,11 +3,9 @@ package org.synyx.urlaubsverwaltung.calendar;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.synyx.urlaubsverwaltung.absence.Absence;
-import org.synyx.urlaubsverwaltung.absence.AbsenceService;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonService;
 import org.synyx.urlaubsverwaltung.person.Role;
@@ -24,18 +22,20 @@ import java.util.Optional;
 @Service
 class CompanyCalendarService {
 
-    private final AbsenceService absenceService;
+    private final CalendarAbsenceIndex calendarAbsenceIndex;
     private final CompanyCalendarRepository companyCalendarRepository;
     private final ICalService iCalService;
+    private final ICalFeedCache iCalFeedCache;
     private final PersonService personService;
     private final MessageSource messageSource;
     private final Clock clock;
 
     @Autowired
-    CompanyCalendarService(AbsenceService absenceService, CompanyCalendarRepository companyCalendarRepository, ICalService iCalService, PersonService personService, MessageSource messageSource, Clock clock) {
-        this.absenceService = absenceService;
+    CompanyCalendarService(CalendarAbsenceIndex calendarAbsenceIndex, CompanyCalendarRepository companyCalendarRepository, ICalService iCalService, ICalFeedCache iCalFeedCache, PersonService personService, MessageSource messageSource, Clock clock) {
+        this.calendarAbsenceIndex = calendarAbsenceIndex;
         this.companyCalendarRepository = companyCalendarRepository;
         this.iCalService = iCalService;
+        this.iCalFeedCache = iCalFeedCache;
         this.personService = personService;
         this.messageSource = messageSource;
         this.clock = clock;
@@ -51,7 +51,10 @@ class CompanyCalendarService {
         companyCalendar.setCalendarPeriod(calendarPeriod);
         companyCalendar.generateSecret();
 
-        return companyCalendarRepository.save(companyCalendar);
+        final CompanyCalendar savedCompanyCalendar = companyCalendarRepository.save(companyCalendar);
+        iCalFeedCache.evictAll();
+
+        return savedCompanyCalendar;
     }
 
     Optional<CompanyCalendar> getCompanyCalendar(int personId) {
@@ -61,7 +64,7 @@ class CompanyCalendarService {
         return companyCalendarRepository.findByPerson(person);
     }
 
-    ByteArrayResource getCalendarForAll(Integer personId, String secret, Locale locale) {
+    ICalFeedRenderer getCalendarForAll(Integer personId, String secret, Locale locale) {
 
         if (StringUtils.isBlank(secret)) {
             throw new IllegalArgumentException("secret must not be empty.");
@@ -77,9 +80,9 @@ class CompanyCalendarService {
 
         final CompanyCalendar companyCalendar = maybeCompanyCalendar.get();
         final LocalDate sinceDate = LocalDate.now(clock).minus(companyCalendar.getCalendarPeriod());
-        final List<Absence> absences = absenceService.getOpenAbsencesSince(sinceDate);
+        final List<Absence> absences = calendarAbsenceIndex.getOpenAbsencesSince(sinceDate);
 
-        return iCalService.getCalendar(title, absences);
+        return outputStream -> iCalService.writeCalendar(title, absences, outputStream);
     }
 
     @Transactional
@@ -88,6 +91,8 @@ class CompanyCalendarService {
         final Person person = getPersonOrThrow(personId);
 
         companyCalendarRepository.deleteByPerson(person);
+
+        iCalFeedCache.evictAll();
     }
 
     /**
@@ -105,6 +110,8 @@ class CompanyCalendarService {
                 companyCalendarRepository.deleteByPerson(person);
             }
         }
+
+        iCalFeedCache.evictAll();
     }
 
     private Person getPersonOrThrow(Integer personId) {
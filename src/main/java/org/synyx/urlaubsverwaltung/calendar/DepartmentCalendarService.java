@@ -3,11 +3,9 @@ package org.synyx.urlaubsverwaltung.calendar;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.synyx.urlaubsverwaltung.absence.Absence;
-import org.synyx.urlaubsverwaltung.absence.AbsenceService;
 import org.synyx.urlaubsverwaltung.department.Department;
 import org.synyx.urlaubsverwaltung.department.DepartmentService;
 import org.synyx.urlaubsverwaltung.person.Person;
@@ -24,23 +22,25 @@ import java.util.Optional;
 @Service
 class DepartmentCalendarService {
 
-    private final AbsenceService absenceService;
+    private final CalendarAbsenceIndex calendarAbsenceIndex;
     private final DepartmentService departmentService;
     private final PersonService personService;
     private final DepartmentCalendarRepository departmentCalendarRepository;
     private final ICalService iCalService;
+    private final ICalFeedCache iCalFeedCache;
     private final MessageSource messageSource;
     private final Clock clock;
 
     @Autowired
-    public DepartmentCalendarService(AbsenceService absenceService, DepartmentService departmentService,
-                                     PersonService personService, DepartmentCalendarRepository departmentCalendarRepository, ICalService iCalService, MessageSource messageSource, Clock clock) {
+    public DepartmentCalendarService(CalendarAbsenceIndex calendarAbsenceIndex, DepartmentService departmentService,
+                                     PersonService personService, DepartmentCalendarRepository departmentCalendarRepository, ICalService iCalService, ICalFeedCache iCalFeedCache, MessageSource messageSource, Clock clock) {
 
-        this.absenceService = absenceService;
+        this.calendarAbsenceIndex = calendarAbsenceIndex;
         this.departmentService = departmentService;
         this.personService = personService;
         this.departmentCalendarRepository = departmentCalendarRepository;
         this.iCalService = iCalService;
+        this.iCalFeedCache = iCalFeedCache;
         this.messageSource = messageSource;
         this.clock = clock;
     }
@@ -51,6 +51,8 @@ class DepartmentCalendarService {
         final Person person = getPersonOrThrow(personId);
 
         departmentCalendarRepository.deleteByDepartmentIdAndPerson(departmentId, person);
+
+        iCalFeedCache.evictAll();
     }
 
     DepartmentCalendar createCalendarForDepartmentAndPerson(int departmentId, int personId, Period calendarPeriod) {
@@ -68,7 +70,10 @@ class DepartmentCalendarService {
         departmentCalendar.setCalendarPeriod(calendarPeriod);
         departmentCalendar.generateSecret();
 
-        return departmentCalendarRepository.save(departmentCalendar);
+        final DepartmentCalendar savedDepartmentCalendar = departmentCalendarRepository.save(departmentCalendar);
+        iCalFeedCache.evictAll();
+
+        return savedDepartmentCalendar;
     }
 
     Optional<DepartmentCalendar> getCalendarForDepartment(Integer departmentId, Integer personId) {
@@ -78,7 +83,7 @@ class DepartmentCalendarService {
         return departmentCalendarRepository.findByDepartmentIdAndPerson(departmentId, person);
     }
 
-    ByteArrayResource getCalendarForDepartment(Integer departmentId, Integer personId, String secret, Locale locale) {
+    ICalFeedRenderer getCalendarForDepartment(Integer departmentId, Integer personId, String secret, Locale locale) {
 
         if (StringUtils.isBlank(secret)) {
             throw new IllegalArgumentException("secret must not be empty.");
@@ -102,9 +107,9 @@ class DepartmentCalendarService {
         final LocalDate departmentExistsSinceDate = department.getCreatedAt();
         final LocalDate sinceDate = departmentExistsSinceDate.isAfter(chosenCalendarPeriodSinceDate) ? departmentExistsSinceDate : chosenCalendarPeriodSinceDate;
 
-        final List<Absence> absences = absenceService.getOpenAbsencesSince(department.getMembers(), sinceDate);
+        final List<Absence> absences = calendarAbsenceIndex.getOpenAbsencesSince(department.getMembers(), sinceDate);
 
-        return iCalService.getCalendar(title, absences);
+        return outputStream -> iCalService.writeCalendar(title, absences, outputStream);
     }
 
     @Transactional
@@ -113,6 +118,8 @@ class DepartmentCalendarService {
         final Person person = getPersonOrThrow(personId);
 
         departmentCalendarRepository.deleteByPerson(person);
+
+        iCalFeedCache.evictAll();
     }
 
     private Department getDepartmentOrThrow(Integer departmentId) {
@@ -0,0 +1,101 @@
+package org.synyx.urlaubsverwaltung.calendar;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.apache.commons.codec.digest.MessageDigestAlgorithms.MD5;
+
+/**
+ * Writes an iCal feed into the given output streams and computes its entity tag while writing.
+ * <p>
+ * The DTSTAMP lines are left out, since they contain the time the feed has been rendered at. A feed rendered again
+ * with the same events gets the same entity tag, so calendar clients polling with {@code If-None-Match} are answered
+ * with {@code 304 Not Modified} as long as the events do not change.
+ */
+final class ICalETagOutputStream extends OutputStream {
+
+    private static final byte[] DTSTAMP = "DTSTAMP:".getBytes(US_ASCII);
+
+    private final OutputStream[] outputStreams;
+    private final MessageDigest md5 = new DigestUtils(MD5).getMessageDigest();
+
+    /**
+     * Number of bytes at the beginning of the current line that match the beginning of a DTSTAMP line and have not
+     * been digested yet, {@code -1} if the current line is digested.
+     */
+    private int matchedLineStart = 0;
+    private boolean skippingLine = false;
+
+    /**
+     * @param outputStreams to write the feed into, they are flushed but not closed
+     */
+    ICalETagOutputStream(OutputStream... outputStreams) {
+        this.outputStreams = outputStreams;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        for (OutputStream outputStream : outputStreams) {
+            outputStream.write(b);
+        }
+        digest((byte) b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        for (OutputStream outputStream : outputStreams) {
+            outputStream.write(b, off, len);
+        }
+        for (int i = off; i < off + len; i++) {
+            digest(b[i]);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        for (OutputStream outputStream : outputStreams) {
+            outputStream.flush();
+        }
+    }
+
+    /**
+     * @return the quoted entity tag of all bytes written so far, the stream must not be written afterwards
+     */
+    String getETag() {
+        if (matchedLineStart > 0 && !skippingLine) {
+            md5.update(DTSTAMP, 0, matchedLineStart);
+        }
+        return "\"" + Hex.encodeHexString(md5.digest()) + "\"";
+    }
+
+    private void digest(byte b) {
+
+        if (skippingLine) {
+            if (b == '\n') {
+                skippingLine = false;
+                matchedLineStart = 0;
+            }
+            return;
+        }
+
+        if (matchedLineStart >= 0) {
+            if (b == DTSTAMP[matchedLineStart]) {
+                matchedLineStart++;
+                skippingLine = matchedLineStart == DTSTAMP.length;
+                return;
+            }
+            md5.update(DTSTAMP, 0, matchedLineStart);
+            matchedLineStart = -1;
+        }
+
+        md5.update(b);
+        if (b == '\n') {
+            matchedLineStart = 0;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package org.synyx.urlaubsverwaltung.calendar;
+
+import java.time.Instant;
+
+/**
+ * Rendered iCal feed with the validators a client can use for conditional requests.
+ */
+final class ICalFeed {
+
+    private final byte[] content;
+    private final String eTag;
+    private final Instant lastModified;
+
+    ICalFeed(byte[] content, String eTag, Instant lastModified) {
+        this.content = content;
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+    }
+
+    byte[] getContent() {
+        return content;
+    }
+
+    String getETag() {
+        return eTag;
+    }
+
+    Instant getLastModified() {
+        return lastModified;
+    }
+}
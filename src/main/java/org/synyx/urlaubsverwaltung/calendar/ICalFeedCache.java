@@ -0,0 +1,260 @@
+package org.synyx.urlaubsverwaltung.calendar;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationUpdatedEvent;
+import org.synyx.urlaubsverwaltung.department.PersonLeftDepartmentEvent;
+import org.synyx.urlaubsverwaltung.person.PersonDisabledEvent;
+import org.synyx.urlaubsverwaltung.person.PersonUpdatedEvent;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteUpdatedEvent;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static java.time.temporal.ChronoUnit.SECONDS;
+
+/**
+ * Keeps the rendered iCal feeds so that polling calendar clients do not trigger the collection of all open absences
+ * again and again.
+ * <p>
+ * A feed is cached per calendar type, department, person, secret and locale. Since the secret is part of the key
+ * a cached feed can only be requested with the secret it has been rendered with. All feeds are invalidated as soon as
+ * an application, a sick note or a person changes or a calendar is created or deleted. Feeds rendered on a previous
+ * day are not served since the period of a calendar is relative to today. The time to live bounds the staleness of
+ * feeds caused by changes the cache is not notified about, e.g. changes made on another instance of the application.
+ * <p>
+ * A feed that is not cached can be rendered into memory or into an output stream while it is cached. The entity tag
+ * is computed while the feed is rendered and does not depend on the time it has been rendered at, see
+ * {@link ICalETagOutputStream}. A feed rendered again into memory with the same entity tag keeps the last
+ * modification date of the feed it replaces.
+ */
+@Component
+class ICalFeedCache {
+
+    enum CalendarType {
+        PERSON,
+        DEPARTMENT,
+        COMPANY
+    }
+
+    private final Map<Key, CachedFeed> feeds = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final CalendarProperties calendarProperties;
+    private final Clock clock;
+
+    @Autowired
+    ICalFeedCache(CalendarProperties calendarProperties, Clock clock) {
+        this.calendarProperties = calendarProperties;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the cached feed or renders it into memory if there is no valid one. Exceptions thrown on rendering are
+     * passed to the caller and nothing is cached.
+     *
+     * @param calendarType of the requested calendar
+     * @param departmentId of the requested department calendar, {@code null} otherwise
+     * @param personId     the calendar belongs to
+     * @param secret       of the calendar
+     * @param locale       the feed is rendered with
+     * @param renderer     provides the renderer of the feed if it is not cached
+     * @return the cached or newly rendered feed
+     */
+    ICalFeed getFeed(CalendarType calendarType, Integer departmentId, Integer personId, String secret, Locale locale,
+                     Supplier<ICalFeedRenderer> renderer) {
+
+        final Key key = new Key(calendarType, departmentId, personId, secret, locale);
+        final long currentGeneration = generation.get();
+        final Instant now = Instant.now(clock);
+        final LocalDate today = LocalDate.now(clock);
+
+        final CachedFeed cachedFeed = feeds.get(key);
+        if (cachedFeed != null && cachedFeed.isValid(currentGeneration, today, now)) {
+            return cachedFeed.feed;
+        }
+
+        final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        final ICalETagOutputStream eTagOutputStream = new ICalETagOutputStream(content);
+        renderer.get().renderTo(eTagOutputStream);
+
+        final String eTag = eTagOutputStream.getETag();
+        final Instant lastModified = cachedFeed != null && cachedFeed.feed.getETag().equals(eTag)
+            ? cachedFeed.feed.getLastModified()
+            : now.truncatedTo(SECONDS);
+        return cache(key, new ICalFeed(content.toByteArray(), eTag, lastModified), currentGeneration, today, now);
+    }
+
+    /**
+     * Returns the cached feed if there is a valid one. Otherwise the feed is rendered into the given output while it
+     * is cached, so the feed is sent while it is rendered. Exceptions thrown on rendering are passed to the caller
+     * and nothing is cached.
+     *
+     * @param calendarType of the requested calendar
+     * @param departmentId of the requested department calendar, {@code null} otherwise
+     * @param personId     the calendar belongs to
+     * @param secret       of the calendar
+     * @param locale       the feed is rendered with
+     * @param renderer     provides the renderer of the feed if it is not cached
+     * @param output       to render the feed into if it is not cached, opened after the renderer has been provided
+     * @return the cached feed, empty if the feed has been rendered into the given output
+     */
+    Optional<ICalFeed> getFeedOrRender(CalendarType calendarType, Integer departmentId, Integer personId, String secret,
+                                       Locale locale, Supplier<ICalFeedRenderer> renderer, FeedOutput output) throws IOException {
+
+        final Key key = new Key(calendarType, departmentId, personId, secret, locale);
+        final long currentGeneration = generation.get();
+        final Instant now = Instant.now(clock);
+        final LocalDate today = LocalDate.now(clock);
+
+        final CachedFeed cachedFeed = feeds.get(key);
+        if (cachedFeed != null && cachedFeed.isValid(currentGeneration, today, now)) {
+            return Optional.of(cachedFeed.feed);
+        }
+
+        final ICalFeedRenderer feedRenderer = renderer.get();
+        final Instant lastModified = now.truncatedTo(SECONDS);
+
+        final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        final ICalETagOutputStream eTagOutputStream = new ICalETagOutputStream(output.open(lastModified), content);
+        feedRenderer.renderTo(eTagOutputStream);
+
+        cache(key, new ICalFeed(content.toByteArray(), eTagOutputStream.getETag(), lastModified), currentGeneration, today, now);
+        return Optional.empty();
+    }
+
+    /**
+     * Invalidates all cached feeds. Feeds which are rendered concurrently will not be served afterwards. Within a
+     * transaction the feeds are invalidated again after completion, feeds rendered before the commit are outdated.
+     */
+    void evictAll() {
+        clear();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    clear();
+                }
+            });
+        }
+    }
+
+    private ICalFeed cache(Key key, ICalFeed feed, long feedGeneration, LocalDate today, Instant now) {
+        feeds.put(key, new CachedFeed(feed, feedGeneration, today, now.plus(calendarProperties.getFeedCacheTimeToLive())));
+        return feed;
+    }
+
+    private void clear() {
+        generation.incrementAndGet();
+        feeds.clear();
+    }
+
+    @EventListener
+    public void handleApplicationUpdated(ApplicationUpdatedEvent event) {
+        evictAll();
+    }
+
+    @EventListener
+    public void handleSickNoteUpdated(SickNoteUpdatedEvent event) {
+        evictAll();
+    }
+
+    @EventListener
+    public void handlePersonUpdated(PersonUpdatedEvent event) {
+        evictAll();
+    }
+
+    @EventListener
+    public void handlePersonDisabled(PersonDisabledEvent event) {
+        evictAll();
+    }
+
+    @EventListener
+    public void handlePersonLeftDepartment(PersonLeftDepartmentEvent event) {
+        evictAll();
+    }
+
+    /**
+     * Output a feed that is not cached is rendered into.
+     */
+    @FunctionalInterface
+    interface FeedOutput {
+
+        /**
+         * @param lastModified of the feed that is rendered into the returned output stream
+         * @return the output stream to render the feed into, it is flushed but not closed
+         */
+        OutputStream open(Instant lastModified) throws IOException;
+    }
+
+    private static final class CachedFeed {
+
+        private final ICalFeed feed;
+        private final long generation;
+        private final LocalDate renderedOn;
+        private final Instant expiresAt;
+
+        private CachedFeed(ICalFeed feed, long generation, LocalDate renderedOn, Instant expiresAt) {
+            this.feed = feed;
+            this.generation = generation;
+            this.renderedOn = renderedOn;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isValid(long currentGeneration, LocalDate today, Instant now) {
+            return generation == currentGeneration && renderedOn.equals(today) && now.isBefore(expiresAt);
+        }
+    }
+
+    private static final class Key {
+
+        private final CalendarType calendarType;
+        private final Integer departmentId;
+        private final Integer personId;
+        private final String secret;
+        private final Locale locale;
+
+        private Key(CalendarType calendarType, Integer departmentId, Integer personId, String secret, Locale locale) {
+            this.calendarType = calendarType;
+            this.departmentId = departmentId;
+            this.personId = personId;
+            this.secret = secret;
+            this.locale = locale;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final Key key = (Key) o;
+            return calendarType == key.calendarType
+                && Objects.equals(departmentId, key.departmentId)
+                && Objects.equals(personId, key.personId)
+                && Objects.equals(secret, key.secret)
+                && Objects.equals(locale, key.locale);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(calendarType, departmentId, personId, secret, locale);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package org.synyx.urlaubsverwaltung.calendar;
+
+import java.io.OutputStream;
+
+/**
+ * Renders an iCal feed whose access has been checked and whose absences have been collected already.
+ */
+@FunctionalInterface
+interface ICalFeedRenderer {
+
+    /**
+     * @param outputStream to render the feed into, it is flushed but not closed
+     */
+    void renderTo(OutputStream outputStream);
+}
@@ -4,13 +4,11 @@ import net.fortuna.ical4j.data.CalendarOutputter;
 import net.fortuna.ical4j.model.Calendar;
 import net.fortuna.ical4j.model.Date;
 import net.fortuna.ical4j.model.DateTime;
-import net.fortuna.ical4j.model.ParameterList;
 import net.fortuna.ical4j.model.component.VEvent;
 import net.fortuna.ical4j.model.parameter.Cn;
 import net.fortuna.ical4j.model.property.Attendee;
 import net.fortuna.ical4j.model.property.Organizer;
 import net.fortuna.ical4j.model.property.ProdId;
-import net.fortuna.ical4j.model.property.RefreshInterval;
 import net.fortuna.ical4j.model.property.Sequence;
 import net.fortuna.ical4j.model.property.Transp;
 import net.fortuna.ical4j.model.property.Uid;
@@ -25,8 +23,11 @@ import org.synyx.urlaubsverwaltung.absence.Absence;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URI;
 import java.text.ParseException;
+import java.time.Clock;
+import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
@@ -50,17 +51,33 @@ public class ICalService {
     private static final Logger LOG = getLogger(lookup().lookupClass());
 
     private final CalendarProperties calendarProperties;
+    private final Clock clock;
 
     private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyyMMdd");
 
     @Autowired
-    ICalService(CalendarProperties calendarProperties) {
+    ICalService(CalendarProperties calendarProperties, Clock clock) {
         this.calendarProperties = calendarProperties;
+        this.clock = clock;
     }
 
-    public ByteArrayResource getCalendar(String title, List<Absence> absences) {
-        final Calendar calendar = generateCalendar(title, absences);
-        return writeCalenderIntoRessource(calendar);
+    /**
+     * Writes the published calendar with the given absences event by event into the given output stream.
+     *
+     * @param title        of the calendar
+     * @param absences     to write as events
+     * @param outputStream to write the calendar into, it is flushed but not closed
+     */
+    public void writeCalendar(String title, List<Absence> absences, OutputStream outputStream) {
+        try (final ICalWriter writer = new ICalWriter(outputStream, PUBLISHED, calendarProperties.getOrganizer(), Instant.now(clock))) {
+            writer.writeBeginCalendar(title, calendarProperties.getRefreshInterval());
+            for (Absence absence : absences) {
+                writer.writeEvent(absence);
+            }
+            writer.writeEndCalendar();
+        } catch (IOException e) {
+            throw new CalendarException("iCal calendar could not be written to output stream", e);
+        }
     }
 
     public ByteArrayResource getSingleAppointment(Absence absence, ICalType method) {
@@ -68,18 +85,15 @@ public class ICalService {
         return writeCalenderIntoRessource(calendar);
     }
 
-    private Calendar generateCalendar(String title, List<Absence> absences) {
-        final Calendar calendar = prepareCalendar(absences, PUBLISHED);
-        calendar.getProperties().add(new XProperty("X-WR-CALNAME", title));
-        calendar.getProperties().add(new RefreshInterval(new ParameterList(), calendarProperties.getRefreshInterval()));
-        return calendar;
-    }
-
     private Calendar generateForSingleAppointment(Absence absence, ICalType method) {
         return prepareCalendar(List.of(absence), method);
     }
 
-    private Calendar prepareCalendar(List<Absence> absences, ICalType method) {
+    /**
+     * Builds the calendar with the ical4j object model, used for single appointments. Feeds are written by the
+     * {@link ICalWriter} instead, the object model is package-private to compare both.
+     */
+    Calendar prepareCalendar(List<Absence> absences, ICalType method) {
         final Calendar calendar = new Calendar();
         calendar.getProperties().add(VERSION_2_0);
         calendar.getProperties().add(new ProdId("-//Urlaubsverwaltung//iCal4j 1.0//DE"));
@@ -2,20 +2,28 @@ package org.synyx.urlaubsverwaltung.calendar;
 
 import io.swagger.v3.oas.annotations.Hidden;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
 import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Supplier;
 
+import static org.springframework.http.HttpHeaders.IF_MODIFIED_SINCE;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
+import static org.springframework.http.HttpHeaders.LAST_MODIFIED;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.NO_CONTENT;
+import static org.synyx.urlaubsverwaltung.calendar.ICalFeedCache.CalendarType.COMPANY;
+import static org.synyx.urlaubsverwaltung.calendar.ICalFeedCache.CalendarType.DEPARTMENT;
+import static org.synyx.urlaubsverwaltung.calendar.ICalFeedCache.CalendarType.PERSON;
 
 @Hidden
 @Controller
@@ -25,68 +33,94 @@ public class ICalViewController {
     private final PersonCalendarService personCalendarService;
     private final DepartmentCalendarService departmentCalendarService;
     private final CompanyCalendarService companyCalendarService;
+    private final ICalFeedCache iCalFeedCache;
 
     @Autowired
     public ICalViewController(PersonCalendarService personCalendarService, DepartmentCalendarService departmentCalendarService,
-                              CompanyCalendarService companyCalendarService) {
+                              CompanyCalendarService companyCalendarService, ICalFeedCache iCalFeedCache) {
 
         this.personCalendarService = personCalendarService;
         this.departmentCalendarService = departmentCalendarService;
         this.companyCalendarService = companyCalendarService;
+        this.iCalFeedCache = iCalFeedCache;
     }
 
     @GetMapping("/persons/{personId}/calendar")
-    @ResponseBody
-    public String getCalendarForPerson(Locale locale, HttpServletResponse response, @PathVariable Integer personId, @RequestParam String secret) {
+    public void getCalendarForPerson(Locale locale, WebRequest request, HttpServletResponse response, @PathVariable Integer personId, @RequestParam String secret) throws IOException {
 
-        final ByteArrayResource iCal;
         try {
-            iCal = personCalendarService.getCalendarForPerson(personId, secret, locale);
+            respond(PERSON, null, personId, secret, locale,
+                () -> personCalendarService.getCalendarForPerson(personId, secret, locale), request, response);
         } catch (IllegalArgumentException e) {
             throw new ResponseStatusException(BAD_REQUEST, "Could not generate person calendar");
         } catch (CalendarException e) {
             throw new ResponseStatusException(NO_CONTENT);
         }
-
-        setContentTypeAndHeaders(response);
-
-        return new String(iCal.getByteArray());
     }
 
     @GetMapping("/departments/{departmentId}/persons/{personId}/calendar")
-    @ResponseBody
-    public String getCalendarForDepartment(Locale locale, HttpServletResponse response, @PathVariable Integer departmentId, @PathVariable Integer personId, @RequestParam String secret) {
+    public void getCalendarForDepartment(Locale locale, WebRequest request, HttpServletResponse response, @PathVariable Integer departmentId, @PathVariable Integer personId, @RequestParam String secret) throws IOException {
 
-        final ByteArrayResource iCal;
         try {
-            iCal = departmentCalendarService.getCalendarForDepartment(departmentId, personId, secret, locale);
+            respond(DEPARTMENT, departmentId, personId, secret, locale,
+                () -> departmentCalendarService.getCalendarForDepartment(departmentId, personId, secret, locale), request, response);
         } catch (IllegalArgumentException e) {
             throw new ResponseStatusException(BAD_REQUEST, "Could not generate department calendar");
         } catch (CalendarException e) {
             throw new ResponseStatusException(NO_CONTENT);
         }
-
-        setContentTypeAndHeaders(response);
-
-        return new String(iCal.getByteArray());
     }
 
     @GetMapping("/company/persons/{personId}/calendar")
-    @ResponseBody
-    public String getCalendarForCompany(Locale locale, HttpServletResponse response, @PathVariable Integer personId, @RequestParam String secret) {
+    public void getCalendarForCompany(Locale locale, WebRequest request, HttpServletResponse response, @PathVariable Integer personId, @RequestParam String secret) throws IOException {
 
-        final ByteArrayResource iCal;
         try {
-            iCal = companyCalendarService.getCalendarForAll(personId, secret, locale);
+            respond(COMPANY, null, personId, secret, locale,
+                () -> companyCalendarService.getCalendarForAll(personId, secret, locale), request, response);
         } catch (IllegalArgumentException e) {
             throw new ResponseStatusException(BAD_REQUEST, "Could not generate company calendar");
         } catch (CalendarException e) {
             throw new ResponseStatusException(NO_CONTENT);
         }
+    }
+
+    /**
+     * Answers with the cached feed or with 304 Not Modified if the client already knows the feed. A feed that is not
+     * cached is rendered into the response, with the last modification date as only validator. A conditional request
+     * for a feed that is not cached is rendered into memory first, since the entity tag to compare with is known only
+     * after rendering.
+     */
+    private void respond(ICalFeedCache.CalendarType calendarType, Integer departmentId, Integer personId, String secret, Locale locale,
+                         Supplier<ICalFeedRenderer> renderer, WebRequest request, HttpServletResponse response) throws IOException {
+
+        final ICalFeed iCal;
+        if (isConditional(request)) {
+            iCal = iCalFeedCache.getFeed(calendarType, departmentId, personId, secret, locale, renderer);
+        } else {
+            final Optional<ICalFeed> cachedFeed = iCalFeedCache.getFeedOrRender(calendarType, departmentId, personId, secret, locale, renderer,
+                lastModified -> {
+                    setContentTypeAndHeaders(response);
+                    response.setDateHeader(LAST_MODIFIED, lastModified.toEpochMilli());
+                    return response.getOutputStream();
+                });
+            if (cachedFeed.isEmpty()) {
+                return;
+            }
+            iCal = cachedFeed.get();
+        }
 
         setContentTypeAndHeaders(response);
 
-        return new String(iCal.getByteArray());
+        if (request.checkNotModified(iCal.getETag(), iCal.getLastModified().toEpochMilli())) {
+            return;
+        }
+
+        response.setContentLength(iCal.getContent().length);
+        response.getOutputStream().write(iCal.getContent());
+    }
+
+    private static boolean isConditional(WebRequest request) {
+        return request.getHeader(IF_NONE_MATCH) != null || request.getHeader(IF_MODIFIED_SINCE) != null;
     }
 
     private void setContentTypeAndHeaders(HttpServletResponse response) {
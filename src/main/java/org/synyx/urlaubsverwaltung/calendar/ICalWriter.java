@@ -0,0 +1,173 @@
+package org.synyx.urlaubsverwaltung.calendar;
+
+import net.fortuna.ical4j.data.FoldingWriter;
+import net.fortuna.ical4j.model.ParameterList;
+import net.fortuna.ical4j.model.parameter.Cn;
+import net.fortuna.ical4j.model.property.Attendee;
+import net.fortuna.ical4j.model.property.Organizer;
+import net.fortuna.ical4j.model.property.ProdId;
+import net.fortuna.ical4j.model.property.RefreshInterval;
+import net.fortuna.ical4j.model.property.XProperty;
+import net.fortuna.ical4j.util.Strings;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.synyx.urlaubsverwaltung.absence.Absence;
+import org.synyx.urlaubsverwaltung.person.Person;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.time.ZoneOffset.UTC;
+import static net.fortuna.ical4j.data.FoldingWriter.REDUCED_FOLD_LENGTH;
+import static net.fortuna.ical4j.model.parameter.Role.REQ_PARTICIPANT;
+import static net.fortuna.ical4j.model.property.CalScale.GREGORIAN;
+import static net.fortuna.ical4j.model.property.Method.CANCEL;
+import static net.fortuna.ical4j.model.property.Version.VERSION_2_0;
+import static org.apache.commons.codec.digest.MessageDigestAlgorithms.MD5;
+import static org.synyx.urlaubsverwaltung.calendar.ICalType.CANCELLED;
+
+/**
+ * Writes a VCALENDAR line by line into an output stream without building the ical4j object model.
+ * <p>
+ * The output is the same as the one of the ical4j {@link net.fortuna.ical4j.data.CalendarOutputter} for the calendar
+ * built by {@link ICalService#getSingleAppointment(Absence, ICalType)}: properties are written in the same order,
+ * lines are folded by the same {@link FoldingWriter} and the property lines that do not depend on the event, like the
+ * attendee line of a person, are rendered once by ical4j itself.
+ */
+final class ICalWriter implements AutoCloseable {
+
+    private static final String LINE_SEPARATOR = "\r\n";
+    private static final String CALENDAR_HEADER = "BEGIN:VCALENDAR" + LINE_SEPARATOR
+        + VERSION_2_0
+        + new ProdId("-//Urlaubsverwaltung//iCal4j 1.0//DE")
+        + GREGORIAN
+        + new XProperty("X-MICROSOFT-CALSCALE", GREGORIAN.getValue());
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(UTC);
+
+    private final Writer writer;
+    private final ICalType method;
+    private final String organizerLine;
+    private final String dtStampLine;
+    private final Map<Person, String> attendeeLines = new HashMap<>();
+    private final DigestUtils md5 = new DigestUtils(MD5);
+
+    /**
+     * @param outputStream to write the calendar into, it is not closed by the writer
+     * @param method       of the calendar
+     * @param organizer    mail address of the organizer of all events
+     * @param now          used as creation date of all events
+     */
+    ICalWriter(OutputStream outputStream, ICalType method, String organizer, Instant now) {
+        this.writer = new FoldingWriter(new BufferedWriter(new OutputStreamWriter(outputStream, UTF_8)), REDUCED_FOLD_LENGTH);
+        this.method = method;
+        this.organizerLine = new Organizer(URI.create("mailto:" + organizer)).toString();
+        this.dtStampLine = "DTSTAMP:" + DATE_TIME_FORMATTER.format(now) + LINE_SEPARATOR;
+    }
+
+    /**
+     * Begins the calendar, optionally with the name and the refresh interval of a published feed.
+     *
+     * @param title           of the calendar, {@code null} to omit the name
+     * @param refreshInterval of the calendar, {@code null} to omit the refresh interval
+     */
+    void writeBeginCalendar(String title, Duration refreshInterval) throws IOException {
+        writer.write(CALENDAR_HEADER);
+
+        if (method == CANCELLED) {
+            writer.write(CANCEL.toString());
+        }
+
+        if (title != null) {
+            writer.write(new XProperty("X-WR-CALNAME", title).toString());
+        }
+
+        if (refreshInterval != null) {
+            writer.write(new RefreshInterval(new ParameterList(), refreshInterval).toString());
+        }
+    }
+
+    void writeEvent(Absence absence) throws IOException {
+
+        final ZonedDateTime startDateTime = absence.getStartDate();
+        final ZonedDateTime endDateTime = absence.getEndDate();
+
+        writer.write("BEGIN:VEVENT");
+        writer.write(LINE_SEPARATOR);
+        writer.write(dtStampLine);
+
+        if (absence.isAllDay()) {
+            writeProperty("DTSTART;VALUE=DATE", DATE_FORMATTER.format(startDateTime));
+            if (!isSameDay(startDateTime, endDateTime)) {
+                writeProperty("DTEND;VALUE=DATE", DATE_FORMATTER.format(endDateTime));
+            }
+            writeProperty("SUMMARY", Strings.escape(absence.getEventSubject()));
+            writeProperty("X-MICROSOFT-CDO-ALLDAYEVENT", "TRUE");
+        } else {
+            writeProperty("DTSTART", DATE_TIME_FORMATTER.format(startDateTime));
+            writeProperty("DTEND", DATE_TIME_FORMATTER.format(endDateTime));
+            writeProperty("SUMMARY", Strings.escape(absence.getEventSubject()));
+        }
+
+        writeProperty("UID", generateUid(absence));
+        writer.write(attendeeLines.computeIfAbsent(absence.getPerson(), ICalWriter::attendeeLine));
+
+        if (absence.isHolidayReplacement()) {
+            writeProperty("TRANSP", "TRANSPARENT");
+        }
+
+        if (method == CANCELLED) {
+            writeProperty("SEQUENCE", "1");
+        }
+
+        writer.write(organizerLine);
+        writer.write("END:VEVENT");
+        writer.write(LINE_SEPARATOR);
+    }
+
+    void writeEndCalendar() throws IOException {
+        writer.write("END:VCALENDAR");
+        writer.write(LINE_SEPARATOR);
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+    }
+
+    private void writeProperty(String nameAndParameters, String value) throws IOException {
+        writer.write(nameAndParameters);
+        writer.write(':');
+        writer.write(value);
+        writer.write(LINE_SEPARATOR);
+    }
+
+    private String generateUid(Absence absence) {
+        final String data = absence.getStartDate() + "" + absence.getEndDate() + "" + absence.getPerson();
+        return Hex.encodeHexString(md5.digest(data), false);
+    }
+
+    private static String attendeeLine(Person person) {
+        final Attendee attendee = new Attendee(URI.create("mailto:" + person.getEmail()));
+        attendee.getParameters().add(REQ_PARTICIPANT);
+        attendee.getParameters().add(new Cn(person.getNiceName()));
+        return attendee.toString();
+    }
+
+    private static boolean isSameDay(ZonedDateTime startDateTime, ZonedDateTime endDate) {
+        return startDateTime.toLocalDate().isEqual(endDate.toLocalDate().minusDays(1));
+    }
+}
@@ -3,11 +3,9 @@ package org.synyx.urlaubsverwaltung.calendar;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.synyx.urlaubsverwaltung.absence.Absence;
-import org.synyx.urlaubsverwaltung.absence.AbsenceService;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonService;
 
@@ -22,21 +20,23 @@ import java.util.Optional;
 @Service
 class PersonCalendarService {
 
-    private final AbsenceService absenceService;
+    private final CalendarAbsenceIndex calendarAbsenceIndex;
     private final PersonService personService;
     private final PersonCalendarRepository personCalendarRepository;
     private final ICalService iCalService;
+    private final ICalFeedCache iCalFeedCache;
     private final MessageSource messageSource;
     private final Clock clock;
 
     @Autowired
-    PersonCalendarService(AbsenceService absenceService, PersonService personService,
-                          PersonCalendarRepository personCalendarRepository, ICalService iCalService, MessageSource messageSource, Clock clock) {
+    PersonCalendarService(CalendarAbsenceIndex calendarAbsenceIndex, PersonService personService,
+                          PersonCalendarRepository personCalendarRepository, ICalService iCalService, ICalFeedCache iCalFeedCache, MessageSource messageSource, Clock clock) {
 
-        this.absenceService = absenceService;
+        this.calendarAbsenceIndex = calendarAbsenceIndex;
         this.personService = personService;
         this.personCalendarRepository = personCalendarRepository;
         this.iCalService = iCalService;
+        this.iCalFeedCache = iCalFeedCache;
         this.messageSource = messageSource;
         this.clock = clock;
     }
@@ -51,7 +51,10 @@ class PersonCalendarService {
         personCalendar.setCalendarPeriod(calendarPeriod);
         personCalendar.generateSecret();
 
-        return personCalendarRepository.save(personCalendar);
+        final PersonCalendar savedPersonCalendar = personCalendarRepository.save(personCalendar);
+        iCalFeedCache.evictAll();
+
+        return savedPersonCalendar;
     }
 
     Optional<PersonCalendar> getPersonCalendar(Integer personId) {
@@ -61,7 +64,7 @@ class PersonCalendarService {
         return personCalendarRepository.findByPerson(person);
     }
 
-    ByteArrayResource getCalendarForPerson(Integer personId, String secret, Locale locale) {
+    ICalFeedRenderer getCalendarForPerson(Integer personId, String secret, Locale locale) {
 
         if (StringUtils.isBlank(secret)) {
             throw new IllegalArgumentException("secret must not be empty.");
@@ -81,9 +84,9 @@ class PersonCalendarService {
         final String title = messageSource.getMessage("calendar.person.title", List.of(person.getNiceName()).toArray(), locale);
 
         final LocalDate sinceDate = LocalDate.now(clock).minus(personCalendar.getCalendarPeriod());
-        final List<Absence> absences = absenceService.getOpenAbsencesSince(List.of(person), sinceDate);
+        final List<Absence> absences = calendarAbsenceIndex.getOpenAbsencesSince(List.of(person), sinceDate);
 
-        return iCalService.getCalendar(title, absences);
+        return outputStream -> iCalService.writeCalendar(title, absences, outputStream);
     }
 
     @Transactional
@@ -92,6 +95,8 @@ class PersonCalendarService {
         final Person person = getPersonOrThrow(personId);
 
         personCalendarRepository.deleteByPerson(person);
+
+        iCalFeedCache.evictAll();
     }
 
     private Person getPersonOrThrow(Integer personId) {
@@ -0,0 +1,38 @@
+package org.synyx.urlaubsverwaltung.calendarintegration;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.synyx.urlaubsverwaltung.config.ScheduleLocking;
+
+import java.time.Duration;
+
+@Configuration
+class CalendarSyncConfiguration implements SchedulingConfigurer {
+
+    private final CalendarSyncProperties calendarSyncProperties;
+    private final CalendarSyncDispatcher calendarSyncDispatcher;
+    private final ScheduleLocking scheduleLocking;
+    private final ThreadPoolTaskScheduler taskScheduler;
+
+    @Autowired
+    CalendarSyncConfiguration(CalendarSyncProperties calendarSyncProperties, CalendarSyncDispatcher calendarSyncDispatcher,
+                              ScheduleLocking scheduleLocking, ThreadPoolTaskScheduler taskScheduler) {
+        this.calendarSyncProperties = calendarSyncProperties;
+        this.calendarSyncDispatcher = calendarSyncDispatcher;
+        this.scheduleLocking = scheduleLocking;
+        this.taskScheduler = taskScheduler;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.setTaskScheduler(taskScheduler);
+        // the lock is released right after the sync, so another node can take over with the next check
+        taskRegistrar.addFixedDelayTask(
+            scheduleLocking.withLock("CalendarSync", calendarSyncDispatcher::syncDueAbsences, Duration.ofMinutes(15), Duration.ZERO),
+            calendarSyncProperties.getPollInterval().toMillis()
+        );
+    }
+}
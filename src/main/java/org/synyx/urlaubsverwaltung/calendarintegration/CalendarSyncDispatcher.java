@@ -0,0 +1,269 @@
+package org.synyx.urlaubsverwaltung.calendarintegration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.synyx.urlaubsverwaltung.absence.Absence;
+import org.synyx.urlaubsverwaltung.absence.AbsenceTimeConfiguration;
+import org.synyx.urlaubsverwaltung.period.Period;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.settings.SettingsService;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.synyx.urlaubsverwaltung.calendarintegration.CalendarSyncJob.Operation.SYNC;
+
+/**
+ * Syncs absences with the configured calendar provider in the background, so a slow or unavailable calendar provider
+ * does not delay the actions of the users.
+ *
+ * <p>The changes of an absence are stored in the transaction of the calling action and synced by
+ * {@link #syncDueAbsences()}. Changes of the same absence that are not synced yet are coalesced, e.g. an absence that is
+ * added and deleted again before the next sync is never sent to the calendar provider. A failed sync is retried with
+ * exponential backoff until {@link CalendarSyncProperties#getMaxAttempts()} is reached.</p>
+ */
+@Service
+public class CalendarSyncDispatcher {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    private static final String METRIC_PREFIX = "calendar.sync";
+
+    private final CalendarSyncJobRepository calendarSyncJobRepository;
+    private final CalendarSyncService calendarSyncService;
+    private final AbsenceMappingService absenceMappingService;
+    private final SettingsService settingsService;
+    private final CalendarSyncProperties calendarSyncProperties;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong queueSize = new AtomicLong();
+    private final Counter retries;
+    private final Counter dropped;
+
+    @Autowired
+    CalendarSyncDispatcher(CalendarSyncJobRepository calendarSyncJobRepository, CalendarSyncService calendarSyncService,
+                           AbsenceMappingService absenceMappingService, SettingsService settingsService,
+                           CalendarSyncProperties calendarSyncProperties, Clock clock, MeterRegistry meterRegistry) {
+        this.calendarSyncJobRepository = calendarSyncJobRepository;
+        this.calendarSyncService = calendarSyncService;
+        this.absenceMappingService = absenceMappingService;
+        this.settingsService = settingsService;
+        this.calendarSyncProperties = calendarSyncProperties;
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder(METRIC_PREFIX + ".size", queueSize, AtomicLong::get)
+            .description("the number of absences waiting for the sync with the calendar provider at the last check")
+            .register(meterRegistry);
+        this.retries = failureCounter("retry", meterRegistry);
+        this.dropped = failureCounter("dropped", meterRegistry);
+    }
+
+    /**
+     * Adds the calendar event of the given absence or updates it if the absence is already synced.
+     * Does nothing if no calendar provider is configured.
+     *
+     * @param absenceId          id of the application for leave or the sick note
+     * @param absenceMappingType type of the absence
+     * @param person             the absent person
+     * @param period             period of the absence
+     */
+    public void dispatchSync(Integer absenceId, AbsenceMappingType absenceMappingType, Person person, Period period) {
+
+        if (!calendarSyncService.isRealProviderConfigured()) {
+            return;
+        }
+
+        final CalendarSyncJob calendarSyncJob = getPendingJob(absenceId, absenceMappingType);
+        calendarSyncJob.sync(person, period, Instant.now(clock));
+        calendarSyncJobRepository.save(calendarSyncJob);
+    }
+
+    /**
+     * Deletes the calendar event of the given absence if the absence has been synced or is about to be synced.
+     *
+     * @param absenceId          id of the application for leave or the sick note
+     * @param absenceMappingType type of the absence
+     */
+    public void dispatchDelete(Integer absenceId, AbsenceMappingType absenceMappingType) {
+
+        final Optional<CalendarSyncJob> pendingJob = calendarSyncJobRepository.findByAbsenceIdAndAbsenceMappingType(absenceId, absenceMappingType);
+        if (pendingJob.isEmpty() && absenceMappingService.getAbsenceByIdAndType(absenceId, absenceMappingType).isEmpty()) {
+            return;
+        }
+
+        final CalendarSyncJob calendarSyncJob = pendingJob.orElseGet(() -> new CalendarSyncJob(absenceId, absenceMappingType, Instant.now(clock)));
+        calendarSyncJob.delete(Instant.now(clock));
+        calendarSyncJobRepository.save(calendarSyncJob);
+    }
+
+    /**
+     * Moves the calendar event of an absence to another absence that replaces it, e.g. a sick note that is converted
+     * to an application for leave, and updates the event with the given absence data.
+     * Does nothing if the replaced absence has neither been synced nor is about to be synced.
+     *
+     * @param replacedAbsenceId          id of the replaced application for leave or sick note
+     * @param replacedAbsenceMappingType type of the replaced absence
+     * @param absenceId                  id of the application for leave or sick note that replaces the absence
+     * @param absenceMappingType         type of the absence that replaces the absence
+     * @param person                     the absent person
+     * @param period                     period of the absence that replaces the absence
+     */
+    public void dispatchMove(Integer replacedAbsenceId, AbsenceMappingType replacedAbsenceMappingType,
+                             Integer absenceId, AbsenceMappingType absenceMappingType, Person person, Period period) {
+
+        final Optional<CalendarSyncJob> pendingJob = calendarSyncJobRepository.findByAbsenceIdAndAbsenceMappingType(replacedAbsenceId, replacedAbsenceMappingType);
+        final Optional<AbsenceMapping> absenceMapping = absenceMappingService.getAbsenceByIdAndType(replacedAbsenceId, replacedAbsenceMappingType);
+
+        final boolean isAboutToBeSynced = pendingJob.map(CalendarSyncJob::getOperation).filter(SYNC::equals).isPresent();
+        if (absenceMapping.isEmpty() && !isAboutToBeSynced) {
+            return;
+        }
+
+        pendingJob.ifPresent(calendarSyncJobRepository::delete);
+        absenceMapping.ifPresent(mapping -> {
+            absenceMappingService.delete(mapping);
+            absenceMappingService.create(absenceId, absenceMappingType, mapping.getEventId());
+        });
+
+        dispatchSync(absenceId, absenceMappingType, person, period);
+    }
+
+    /**
+     * Syncs all absences that are due, in batches of {@link CalendarSyncProperties#getBatchSize()}, one after another
+     * as the calendar providers are not meant to be used concurrently. Must not run on more than one node at the same time.
+     */
+    void syncDueAbsences() {
+
+        final int batchSize = calendarSyncProperties.getBatchSize();
+
+        boolean moreDueJobs = true;
+        while (moreDueJobs) {
+            final List<CalendarSyncJob> dueJobs = calendarSyncJobRepository.findByNextAttemptAtLessThanEqualOrderByIdAsc(Instant.now(clock), PageRequest.of(0, batchSize));
+            dueJobs.forEach(this::sync);
+            moreDueJobs = dueJobs.size() == batchSize;
+        }
+
+        queueSize.set(calendarSyncJobRepository.count());
+    }
+
+    private void sync(CalendarSyncJob calendarSyncJob) {
+
+        final boolean synced;
+        try {
+            synced = calendarSyncJob.getOperation() == SYNC ? addOrUpdate(calendarSyncJob) : delete(calendarSyncJob);
+        } catch (RuntimeException e) {
+            handleFailedSync(calendarSyncJob, e.getMessage(), e);
+            return;
+        }
+
+        if (!synced) {
+            handleFailedSync(calendarSyncJob, "calendar provider could not add the event", null);
+            return;
+        }
+
+        lagTimer(calendarSyncJob).record(Duration.between(calendarSyncJob.getCreatedAt(), Instant.now(clock)));
+        try {
+            calendarSyncJobRepository.delete(calendarSyncJob);
+        } catch (OptimisticLockingFailureException e) {
+            LOG.debug("Absence of {} changed during its sync, it is synced again", calendarSyncJob);
+        }
+    }
+
+    private boolean addOrUpdate(CalendarSyncJob calendarSyncJob) {
+
+        if (!calendarSyncService.isRealProviderConfigured()) {
+            LOG.info("Calendar provider has been removed, skipping sync of {}", calendarSyncJob);
+            return true;
+        }
+
+        final AbsenceTimeConfiguration timeConfiguration = new AbsenceTimeConfiguration(settingsService.getSettings().getTimeSettings());
+        final Absence absence = new Absence(calendarSyncJob.getPerson(), calendarSyncJob.getPeriod(), timeConfiguration);
+
+        final Integer absenceId = calendarSyncJob.getAbsenceId();
+        final AbsenceMappingType absenceMappingType = calendarSyncJob.getAbsenceMappingType();
+        final Optional<AbsenceMapping> absenceMapping = absenceMappingService.getAbsenceByIdAndType(absenceId, absenceMappingType);
+        if (absenceMapping.isPresent()) {
+            calendarSyncService.update(absence, absenceMapping.get().getEventId());
+            return true;
+        }
+
+        final Optional<String> eventId = calendarSyncService.addAbsence(absence);
+        eventId.ifPresent(id -> absenceMappingService.create(absenceId, absenceMappingType, id));
+        return eventId.isPresent();
+    }
+
+    private boolean delete(CalendarSyncJob calendarSyncJob) {
+
+        final Optional<AbsenceMapping> absenceMapping = absenceMappingService.getAbsenceByIdAndType(calendarSyncJob.getAbsenceId(), calendarSyncJob.getAbsenceMappingType());
+        if (absenceMapping.isPresent()) {
+            calendarSyncService.deleteAbsence(absenceMapping.get().getEventId());
+            absenceMappingService.delete(absenceMapping.get());
+        }
+
+        return true;
+    }
+
+    private void handleFailedSync(CalendarSyncJob calendarSyncJob, String error, Exception exception) {
+
+        try {
+            if (calendarSyncJob.getAttempts() + 1 >= calendarSyncProperties.getMaxAttempts()) {
+                LOG.error("Sync of {} failed {} times, sync is dropped", calendarSyncJob, calendarSyncProperties.getMaxAttempts(), exception);
+                dropped.increment();
+                calendarSyncJobRepository.delete(calendarSyncJob);
+                return;
+            }
+
+            final Instant nextAttemptAt = Instant.now(clock).plus(backoff(calendarSyncJob.getAttempts()));
+            calendarSyncJob.failed(error, nextAttemptAt);
+            calendarSyncJobRepository.save(calendarSyncJob);
+
+            LOG.warn("Sync of {} failed, next attempt at {}", calendarSyncJob, nextAttemptAt, exception);
+            retries.increment();
+        } catch (OptimisticLockingFailureException e) {
+            LOG.debug("Absence of {} changed during its sync, it is synced again", calendarSyncJob);
+        }
+    }
+
+    private CalendarSyncJob getPendingJob(Integer absenceId, AbsenceMappingType absenceMappingType) {
+        return calendarSyncJobRepository.findByAbsenceIdAndAbsenceMappingType(absenceId, absenceMappingType)
+            .orElseGet(() -> new CalendarSyncJob(absenceId, absenceMappingType, Instant.now(clock)));
+    }
+
+    /**
+     * @return the initial backoff doubled for every previous failed attempt, limited by the max backoff
+     */
+    private Duration backoff(int previousAttempts) {
+        final Duration backoff = calendarSyncProperties.getInitialBackoff().multipliedBy(1L << Math.min(previousAttempts, 20));
+        return backoff.compareTo(calendarSyncProperties.getMaxBackoff()) > 0 ? calendarSyncProperties.getMaxBackoff() : backoff;
+    }
+
+    private Timer lagTimer(CalendarSyncJob calendarSyncJob) {
+        return Timer.builder(METRIC_PREFIX + ".lag")
+            .tag("provider", settingsService.getSettings().getCalendarSettings().getProvider())
+            .tag("operation", calendarSyncJob.getOperation().name())
+            .description("the time between the change of an absence and its sync with the calendar provider")
+            .register(meterRegistry);
+    }
+
+    private static Counter failureCounter(String outcome, MeterRegistry meterRegistry) {
+        return Counter.builder(METRIC_PREFIX + ".failures")
+            .tag("outcome", outcome)
+            .description("the number of failed syncs that are retried later or dropped")
+            .register(meterRegistry);
+    }
+}
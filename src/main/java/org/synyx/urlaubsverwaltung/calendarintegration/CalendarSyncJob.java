@@ -0,0 +1,182 @@
+package org.synyx.urlaubsverwaltung.calendarintegration;
+
+import org.synyx.urlaubsverwaltung.period.DayLength;
+import org.synyx.urlaubsverwaltung.period.Period;
+import org.synyx.urlaubsverwaltung.person.Person;
+
+import javax.persistence.Entity;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import javax.persistence.Version;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static javax.persistence.EnumType.STRING;
+
+/**
+ * The pending change of the calendar event of an absence, see {@link CalendarSyncDispatcher}. There is at most one job
+ * per absence, later changes of the absence replace the pending change.
+ */
+@Entity
+@Table(name = "calendar_sync_job")
+class CalendarSyncJob {
+
+    enum Operation {
+
+        /**
+         * Adds the calendar event of the absence or updates it if it already exists.
+         */
+        SYNC,
+
+        /**
+         * Deletes the calendar event of the absence if it exists.
+         */
+        DELETE
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Integer absenceId;
+
+    @Enumerated(STRING)
+    private AbsenceMappingType absenceMappingType;
+
+    @Enumerated(STRING)
+    private Operation operation;
+
+    @ManyToOne
+    private Person person;
+
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    @Enumerated(STRING)
+    private DayLength dayLength;
+
+    /**
+     * Point in time of the oldest change that is not synced yet.
+     */
+    private Instant createdAt;
+
+    private Instant nextAttemptAt;
+
+    /**
+     * Number of failed attempts of the current operation.
+     */
+    private int attempts;
+
+    private String lastError;
+
+    /**
+     * Protects a change of the absence from being removed together with the job of the previous change that is synced
+     * at the same time.
+     */
+    @Version
+    private Long version;
+
+    protected CalendarSyncJob() {
+        // ok
+    }
+
+    CalendarSyncJob(Integer absenceId, AbsenceMappingType absenceMappingType, Instant now) {
+        this.absenceId = absenceId;
+        this.absenceMappingType = absenceMappingType;
+        this.createdAt = now;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Integer getAbsenceId() {
+        return absenceId;
+    }
+
+    public AbsenceMappingType getAbsenceMappingType() {
+        return absenceMappingType;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public Person getPerson() {
+        return person;
+    }
+
+    public Period getPeriod() {
+        return new Period(startDate, endDate, dayLength);
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    /**
+     * Replaces the pending change with adding or updating the calendar event for the given absence data.
+     */
+    void sync(Person person, Period period, Instant now) {
+        this.operation = Operation.SYNC;
+        this.person = person;
+        this.startDate = period.getStartDate();
+        this.endDate = period.getEndDate();
+        this.dayLength = period.getDayLength();
+        dueAt(now);
+    }
+
+    /**
+     * Replaces the pending change with deleting the calendar event.
+     */
+    void delete(Instant now) {
+        this.operation = Operation.DELETE;
+        this.person = null;
+        this.startDate = null;
+        this.endDate = null;
+        this.dayLength = null;
+        dueAt(now);
+    }
+
+    /**
+     * Records a failed attempt and postpones the next attempt.
+     */
+    void failed(String error, Instant nextAttemptAt) {
+        this.attempts++;
+        this.lastError = error == null || error.length() <= 255 ? error : error.substring(0, 255);
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    private void dueAt(Instant now) {
+        this.nextAttemptAt = now;
+        this.attempts = 0;
+        this.lastError = null;
+    }
+
+    @Override
+    public String toString() {
+        return "CalendarSyncJob{" +
+            "id=" + id +
+            ", absenceId=" + absenceId +
+            ", absenceMappingType=" + absenceMappingType +
+            ", operation=" + operation +
+            ", attempts=" + attempts +
+            '}';
+    }
+}
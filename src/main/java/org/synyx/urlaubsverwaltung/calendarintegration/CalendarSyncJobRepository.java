@@ -0,0 +1,15 @@
+package org.synyx.urlaubsverwaltung.calendarintegration;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.CrudRepository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+interface CalendarSyncJobRepository extends CrudRepository<CalendarSyncJob, Long> {
+
+    Optional<CalendarSyncJob> findByAbsenceIdAndAbsenceMappingType(Integer absenceId, AbsenceMappingType absenceMappingType);
+
+    List<CalendarSyncJob> findByNextAttemptAtLessThanEqualOrderByIdAsc(Instant now, Pageable pageable);
+}
@@ -0,0 +1,85 @@
+package org.synyx.urlaubsverwaltung.calendarintegration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties("uv.calendar-sync")
+@Validated
+public class CalendarSyncProperties {
+
+    /**
+     * Interval between two checks for absences to sync with the calendar provider. Default is ten seconds (PT10S).
+     */
+    @NotNull
+    private Duration pollInterval = Duration.ofSeconds(10);
+
+    /**
+     * Maximum number of absences that are loaded and synced per check.
+     */
+    @Min(1)
+    private int batchSize = 50;
+
+    /**
+     * Number of sync attempts before a change of an absence is dropped.
+     */
+    @Min(1)
+    private int maxAttempts = 5;
+
+    /**
+     * Delay before the first retry of a failed sync, doubled with every further failure.
+     */
+    @NotNull
+    private Duration initialBackoff = Duration.ofMinutes(1);
+
+    /**
+     * Upper limit of the delay between two attempts.
+     */
+    @NotNull
+    private Duration maxBackoff = Duration.ofHours(1);
+
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    public void setPollInterval(Duration pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public Duration getInitialBackoff() {
+        return initialBackoff;
+    }
+
+    public void setInitialBackoff(Duration initialBackoff) {
+        this.initialBackoff = initialBackoff;
+    }
+
+    public Duration getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    public void setMaxBackoff(Duration maxBackoff) {
+        this.maxBackoff = maxBackoff;
+    }
+}
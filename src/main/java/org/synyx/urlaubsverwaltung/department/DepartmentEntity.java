@@ -21,6 +21,10 @@ import java.util.Objects;
 import static java.time.ZoneOffset.UTC;
 import static org.hibernate.annotations.LazyCollectionOption.FALSE;
 
+/**
+ * The members, department heads and second stage authorities are always needed with the department, so they are
+ * loaded eagerly. For lists of departments they are loaded in batches instead of one statement per department.
+ */
 @Entity(name = "department")
 class DepartmentEntity {
 
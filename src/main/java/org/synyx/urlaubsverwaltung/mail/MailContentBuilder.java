@@ -3,13 +3,22 @@ package org.synyx.urlaubsverwaltung.mail;
 import freemarker.template.Configuration;
 import freemarker.template.Template;
 import freemarker.template.TemplateException;
+import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.ui.freemarker.FreeMarkerTemplateUtils;
+import org.synyx.urlaubsverwaltung.person.Person;
 
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.util.stream.Collectors.toList;
+import static org.slf4j.LoggerFactory.getLogger;
 
 
 /**
@@ -18,7 +27,12 @@ import java.util.Map;
 @Service
 class MailContentBuilder {
 
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
     private static final String FILE_EXTENSION = ".ftl";
+    private static final String RECIPIENT = "recipient";
+
+    private final RecipientPlaceholder recipientPlaceholder = new RecipientPlaceholder();
 
     private final Configuration freemarkerConfiguration;
 
@@ -36,14 +50,63 @@ class MailContentBuilder {
      * @return the text representation of the filled template
      */
     String buildMailBody(String templateName, Map<String, Object> model, Locale locale) {
+        return process(getTemplate(templateName, locale), model);
+    }
+
+    /**
+     * Build the mail bodies for the given recipients using the given model to fill the template with the given name.
+     * The model is extended by the respective recipient.
+     *
+     * <p>The template is rendered only once for all recipients and the properties of the recipient are filled in
+     * afterwards. Only if the template uses the recipient in another way, e.g. in a condition, it is rendered for
+     * every single recipient.</p>
+     *
+     * @param templateName of the template to be used
+     * @param model        to fill the template
+     * @param recipients   of the mail
+     * @param locale       the locale used for the email template
+     * @return the text representations of the filled template in the order of the given recipients
+     */
+    List<String> buildMailBodies(String templateName, Map<String, Object> model, List<Person> recipients, Locale locale) {
+
+        final Template template = getTemplate(templateName, locale);
+        final Optional<String> bodyForAllRecipients = processForAllRecipients(template, model);
 
-        final String templateFilename = templateName + FILE_EXTENSION;
+        return recipients.stream()
+            .map(recipient -> bodyForAllRecipients
+                .flatMap(body -> recipientPlaceholder.fillIn(body, recipient))
+                .orElseGet(() -> process(template, withRecipient(model, recipient))))
+            .collect(toList());
+    }
 
+    private Optional<String> processForAllRecipients(Template template, Map<String, Object> model) {
         try {
-            final Template template = freemarkerConfiguration.getTemplate(templateFilename, locale);
-            return FreeMarkerTemplateUtils.processTemplateIntoString(template, model);
+            return Optional.of(FreeMarkerTemplateUtils.processTemplateIntoString(template, withRecipient(model, recipientPlaceholder)));
         } catch (TemplateException | IOException e) {
+            LOG.debug("Template={} could not be rendered for all recipients at once, rendering it for every recipient", template.getName(), e);
+            return Optional.empty();
+        }
+    }
+
+    private Template getTemplate(String templateName, Locale locale) {
+        try {
+            return freemarkerConfiguration.getTemplate(templateName + FILE_EXTENSION, locale);
+        } catch (IOException e) {
             throw new MailContentBuilderException("Something went wrong processing email template=" + templateName, e);
         }
     }
+
+    private static String process(Template template, Map<String, Object> model) {
+        try {
+            return FreeMarkerTemplateUtils.processTemplateIntoString(template, model);
+        } catch (TemplateException | IOException e) {
+            throw new MailContentBuilderException("Something went wrong processing email template=" + template.getName(), e);
+        }
+    }
+
+    private static Map<String, Object> withRecipient(Map<String, Object> model, Object recipient) {
+        final Map<String, Object> modelWithRecipient = new HashMap<>(model);
+        modelWithRecipient.put(RECIPIENT, recipient);
+        return modelWithRecipient;
+    }
 }
@@ -4,8 +4,12 @@ import org.hibernate.validator.constraints.URL;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
+import javax.validation.Valid;
 import javax.validation.constraints.Email;
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import java.time.Duration;
 
 @Validated
 @ConfigurationProperties(prefix = "uv.mail")
@@ -25,6 +29,9 @@ public class MailProperties {
     @URL
     private String applicationUrl;
 
+    @Valid
+    private Outbox outbox = new Outbox();
+
     public String getSender() {
         return sender;
     }
@@ -56,4 +63,116 @@ public class MailProperties {
     public void setApplicationUrl(String applicationUrl) {
         this.applicationUrl = applicationUrl;
     }
+
+    public Outbox getOutbox() {
+        return outbox;
+    }
+
+    public void setOutbox(Outbox outbox) {
+        this.outbox = outbox;
+    }
+
+    /**
+     * Mails are not sent while the user waits for the response, they are written to the outbound mail table
+     * in the transaction of the action and delivered in the background.
+     */
+    public static class Outbox {
+
+        /**
+         * Mails are sent directly while the user waits for the response if disabled.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Interval between two checks for mails to deliver. Default is five seconds (PT5S).
+         */
+        @NotNull
+        private Duration pollInterval = Duration.ofSeconds(5);
+
+        /**
+         * Number of mails that are sent in parallel.
+         */
+        @Min(1)
+        private int workers = 2;
+
+        /**
+         * Maximum number of mails that are loaded and delivered per check.
+         */
+        @Min(1)
+        private int batchSize = 50;
+
+        /**
+         * Number of delivery attempts before a mail is dropped.
+         */
+        @Min(1)
+        private int maxAttempts = 8;
+
+        /**
+         * Delay before the first retry of a failed delivery, doubled with every further failure.
+         */
+        @NotNull
+        private Duration initialBackoff = Duration.ofMinutes(1);
+
+        /**
+         * Upper limit of the delay between two attempts.
+         */
+        @NotNull
+        private Duration maxBackoff = Duration.ofHours(1);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+
+        public int getWorkers() {
+            return workers;
+        }
+
+        public void setWorkers(int workers) {
+            this.workers = workers;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Duration getInitialBackoff() {
+            return initialBackoff;
+        }
+
+        public void setInitialBackoff(Duration initialBackoff) {
+            this.initialBackoff = initialBackoff;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+    }
 }
@@ -2,16 +2,19 @@ package org.synyx.urlaubsverwaltung.mail;
 
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.MailException;
-import org.springframework.mail.SimpleMailMessage;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
 import javax.mail.MessagingException;
 import javax.mail.internet.MimeMessage;
-import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static java.lang.invoke.MethodHandles.lookup;
 import static org.slf4j.LoggerFactory.getLogger;
@@ -29,73 +32,65 @@ class MailSenderService {
     }
 
     /**
-     * Send a mail with the given subject and text to the given recipients.
+     * Send the given mails. All mails are sent through one connection to the mail server instead of
+     * opening a new connection for every mail.
      *
-     * @param from       mail address from where the mail is sent
-     * @param recipients mail addresses where the mail should be sent to
-     * @param subject    mail subject
-     * @param text       mail body
+     * @param outboundMails mails to send
+     * @return the mails that could not be sent with the reason, empty if all mails have been sent
      */
-    void sendEmail(String from, List<String> recipients, String subject, String text) {
+    Map<OutboundMail, Exception> send(List<OutboundMail> outboundMails) {
 
-        if (recipients == null || recipients.isEmpty()) {
-            LOG.warn("Could not send email to empty recipients!");
-            return;
-        }
-
-        final SimpleMailMessage mailMessage = new SimpleMailMessage();
-        mailMessage.setFrom(from);
-        mailMessage.setTo(recipients.toArray(new String[0]));
-        mailMessage.setSubject(subject);
-        mailMessage.setText(text);
+        final Map<OutboundMail, Exception> failedMails = new HashMap<>();
 
-        send(mailMessage);
-    }
+        final Map<MimeMessage, OutboundMail> outboundMailByMessage = new LinkedHashMap<>();
+        for (OutboundMail outboundMail : outboundMails) {
+            try {
+                outboundMailByMessage.put(createMimeMessage(outboundMail), outboundMail);
+            } catch (MessagingException | RuntimeException e) {
+                failedMails.put(outboundMail, new MailPreparationException(e));
+            }
+        }
 
-    /**
-     * Send a mail with the given subject and text to the given recipients.
-     *
-     * @param from            mail address from where the mail is sent
-     * @param recipients      mail addresses where the mail should be sent to
-     * @param subject         mail subject
-     * @param text            mail body
-     * @param mailAttachments List of attachments to add to the mail
-     */
-    void sendEmail(String from, List<String> recipients, String subject, String text, List<MailAttachment> mailAttachments) {
+        if (outboundMailByMessage.isEmpty()) {
+            return failedMails;
+        }
 
-        final MimeMessage mimeMessage = mailSender.createMimeMessage();
         try {
-            final MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true);
-            helper.setTo(recipients.toArray(new String[]{}));
-            helper.setFrom(from);
-            helper.setSubject(subject);
-            helper.setText(text);
-
-            for (MailAttachment mailAttachment : mailAttachments) {
-                helper.addAttachment(mailAttachment.getName(), mailAttachment.getContent());
+            mailSender.send(outboundMailByMessage.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                outboundMailByMessage.values().forEach(outboundMail -> failedMails.put(outboundMail, e));
+            } else {
+                e.getFailedMessages().forEach((message, exception) -> failedMails.put(outboundMailByMessage.get(message), exception));
             }
-        } catch (MessagingException e) {
-            LOG.error("Sending email to {} failed", recipients, e);
+        } catch (RuntimeException e) {
+            outboundMailByMessage.values().forEach(outboundMail -> failedMails.put(outboundMail, e));
+        }
+
+        if (LOG.isDebugEnabled()) {
+            outboundMailByMessage.values().stream()
+                .filter(outboundMail -> !failedMails.containsKey(outboundMail))
+                .forEach(outboundMail -> LOG.debug("Sent email to {}", outboundMail.getRecipient()));
         }
-        mailSender.send(mimeMessage);
+
+        return failedMails;
     }
 
-    private void send(SimpleMailMessage message) {
-        try {
+    private MimeMessage createMimeMessage(OutboundMail outboundMail) throws MessagingException {
 
-            mailSender.send(message);
+        final List<OutboundMailAttachment> attachments = outboundMail.getAttachments();
 
-            if (LOG.isDebugEnabled()) {
-                for (String recipient : message.getTo()) {
-                    LOG.debug("Sent email to {}", recipient);
-                }
-                LOG.debug("To={}\n\nSubject={}\n\nText={}",
-                    Arrays.toString(message.getTo()), message.getSubject(), message.getText());
-            }
-        } catch (MailException ex) {
-            for (String recipient : message.getTo()) {
-                LOG.error("Sending email to {} failed", recipient, ex);
-            }
+        final MimeMessage mimeMessage = mailSender.createMimeMessage();
+        final MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, !attachments.isEmpty());
+        helper.setTo(outboundMail.getRecipient());
+        helper.setFrom(outboundMail.getSender());
+        helper.setSubject(outboundMail.getSubject());
+        helper.setText(outboundMail.getBody());
+
+        for (OutboundMailAttachment attachment : attachments) {
+            helper.addAttachment(attachment.getName(), new ByteArrayResource(attachment.getContent()));
         }
+
+        return mimeMessage;
     }
 }
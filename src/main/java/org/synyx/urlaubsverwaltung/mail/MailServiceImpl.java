@@ -1,5 +1,6 @@
 package org.synyx.urlaubsverwaltung.mail;
 
+import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.MessageSource;
@@ -12,6 +13,10 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.util.stream.Collectors.toList;
+import static org.slf4j.LoggerFactory.getLogger;
+
 /**
  * Implementation of interface {@link MailService}.
  */
@@ -19,22 +24,26 @@ import java.util.Map;
 @EnableConfigurationProperties(MailProperties.class)
 class MailServiceImpl implements MailService {
 
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
     private static final Locale LOCALE = Locale.GERMAN;
 
     private final MessageSource messageSource;
     private final MailContentBuilder mailContentBuilder;
     private final MailSenderService mailSenderService;
+    private final OutboundMailService outboundMailService;
     private final MailProperties mailProperties;
     private final PersonService personService;
 
     @Autowired
     MailServiceImpl(MessageSource messageSource, MailContentBuilder mailContentBuilder, MailSenderService mailSenderService,
-                    MailProperties mailProperties, PersonService personService) {
+                    OutboundMailService outboundMailService, MailProperties mailProperties, PersonService personService) {
 
         this.messageSource = messageSource;
         this.mailContentBuilder = mailContentBuilder;
         this.mailProperties = mailProperties;
         this.mailSenderService = mailSenderService;
+        this.outboundMailService = outboundMailService;
         this.personService = personService;
     }
 
@@ -47,15 +56,24 @@ class MailServiceImpl implements MailService {
         final String subject = getTranslation(mail.getSubjectMessageKey(), mail.getSubjectMessageArguments());
         final String sender = generateMailAddressAndDisplayName(mailProperties.getSender(), mailProperties.getSenderDisplayName());
 
-        getRecipients(mail).forEach(recipient -> {
-            model.put("recipient", recipient);
-            final String body = mailContentBuilder.buildMailBody(mail.getTemplateName(), model, LOCALE);
+        final List<OutboundMailAttachment> attachments = mail.getMailAttachments().orElse(List.of()).stream()
+            .map(OutboundMailAttachment::from)
+            .collect(toList());
+
+        final List<Person> recipients = getRecipients(mail);
+        final List<String> bodies = mailContentBuilder.buildMailBodies(mail.getTemplateName(), model, recipients, LOCALE);
 
-            mail.getMailAttachments().ifPresentOrElse(
-                mailAttachments -> mailSenderService.sendEmail(sender, List.of(recipient.getEmail()), subject, body, mailAttachments),
-                () -> mailSenderService.sendEmail(sender, List.of(recipient.getEmail()), subject, body)
-            );
-        });
+        final List<OutboundMail> outboundMails = new ArrayList<>();
+        for (int i = 0; i < recipients.size(); i++) {
+            outboundMails.add(new OutboundMail(sender, recipients.get(i).getEmail(), subject, bodies.get(i), attachments));
+        }
+
+        if (mailProperties.getOutbox().isEnabled()) {
+            outboundMailService.enqueue(outboundMails);
+        } else {
+            mailSenderService.send(outboundMails)
+                .forEach((outboundMail, exception) -> LOG.error("Sending email to {} failed", outboundMail.getRecipient(), exception));
+        }
     }
 
     private List<Person> getRecipients(Mail mail) {
@@ -0,0 +1,131 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import javax.persistence.CollectionTable;
+import javax.persistence.ElementCollection;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static javax.persistence.FetchType.EAGER;
+
+/**
+ * A rendered mail to one recipient. Waits in the outbox for its delivery if enqueued, see {@link OutboundMailService}.
+ */
+@Entity
+@Table(name = "outbound_mail")
+class OutboundMail {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String sender;
+    private String recipient;
+    private String subject;
+
+    @Lob
+    private String body;
+
+    @ElementCollection(fetch = EAGER)
+    @CollectionTable(name = "outbound_mail_attachment", joinColumns = @JoinColumn(name = "outbound_mail_id"))
+    private List<OutboundMailAttachment> attachments = new ArrayList<>();
+
+    private Instant createdAt;
+
+    /**
+     * The mail is not delivered before this point in time, is moved into the future after a failed delivery.
+     */
+    private Instant nextAttemptAt;
+
+    /**
+     * Number of failed deliveries.
+     */
+    private int attempts;
+
+    private String lastError;
+
+    protected OutboundMail() {
+        // ok
+    }
+
+    OutboundMail(String sender, String recipient, String subject, String body, List<OutboundMailAttachment> attachments) {
+        this.sender = sender;
+        this.recipient = recipient;
+        this.subject = subject;
+        this.body = body;
+        this.attachments = new ArrayList<>(attachments);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getSender() {
+        return sender;
+    }
+
+    public String getRecipient() {
+        return recipient;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public List<OutboundMailAttachment> getAttachments() {
+        return attachments;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    /**
+     * Marks the mail as ready for delivery from the given point in time on.
+     */
+    void enqueued(Instant now) {
+        this.createdAt = now;
+        this.nextAttemptAt = now;
+    }
+
+    /**
+     * Records a failed delivery and postpones the next attempt.
+     */
+    void failed(String error, Instant nextAttemptAt) {
+        this.attempts++;
+        this.lastError = error == null || error.length() <= 255 ? error : error.substring(0, 255);
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    @Override
+    public String toString() {
+        return "OutboundMail{" +
+            "id=" + id +
+            ", attempts=" + attempts +
+            ", nextAttemptAt=" + nextAttemptAt +
+            '}';
+    }
+}
@@ -0,0 +1,34 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import javax.persistence.Embeddable;
+import javax.persistence.Lob;
+
+@Embeddable
+class OutboundMailAttachment {
+
+    private String name;
+
+    @Lob
+    private byte[] content;
+
+    protected OutboundMailAttachment() {
+        // ok
+    }
+
+    OutboundMailAttachment(String name, byte[] content) {
+        this.name = name;
+        this.content = content;
+    }
+
+    static OutboundMailAttachment from(MailAttachment mailAttachment) {
+        return new OutboundMailAttachment(mailAttachment.getName(), mailAttachment.getContent().getByteArray());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public byte[] getContent() {
+        return content;
+    }
+}
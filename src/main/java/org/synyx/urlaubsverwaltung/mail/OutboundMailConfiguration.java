@@ -0,0 +1,40 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.synyx.urlaubsverwaltung.config.ScheduleLocking;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(value = "uv.mail.outbox.enabled", havingValue = "true", matchIfMissing = true)
+class OutboundMailConfiguration implements SchedulingConfigurer {
+
+    private final MailProperties mailProperties;
+    private final OutboundMailService outboundMailService;
+    private final ScheduleLocking scheduleLocking;
+    private final ThreadPoolTaskScheduler taskScheduler;
+
+    @Autowired
+    OutboundMailConfiguration(MailProperties mailProperties, OutboundMailService outboundMailService,
+                              ScheduleLocking scheduleLocking, ThreadPoolTaskScheduler taskScheduler) {
+        this.mailProperties = mailProperties;
+        this.outboundMailService = outboundMailService;
+        this.scheduleLocking = scheduleLocking;
+        this.taskScheduler = taskScheduler;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.setTaskScheduler(taskScheduler);
+        // the lock is released right after the delivery, so another node can take over with the next check
+        taskRegistrar.addFixedDelayTask(
+            scheduleLocking.withLock("OutboundMailDelivery", outboundMailService::deliverDueMails, Duration.ofMinutes(15), Duration.ZERO),
+            mailProperties.getOutbox().getPollInterval().toMillis()
+        );
+    }
+}
@@ -0,0 +1,12 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.CrudRepository;
+
+import java.time.Instant;
+import java.util.List;
+
+interface OutboundMailRepository extends CrudRepository<OutboundMail, Long> {
+
+    List<OutboundMail> findByNextAttemptAtLessThanEqualOrderByIdAsc(Instant now, Pageable pageable);
+}
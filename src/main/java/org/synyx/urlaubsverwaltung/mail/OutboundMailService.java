@@ -0,0 +1,219 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Transactional outbox for mails: mails are stored with {@link #enqueue(List)} in the transaction of the calling action
+ * and delivered in the background by {@link #deliverDueMails()} with a bounded number of workers.
+ * A failed delivery is retried with exponential backoff until {@link MailProperties.Outbox#getMaxAttempts()} is reached.
+ */
+@Service
+class OutboundMailService {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    private static final String METRIC_PREFIX = "mail.outbox";
+
+    private final OutboundMailRepository outboundMailRepository;
+    private final MailSenderService mailSenderService;
+    private final MailProperties mailProperties;
+    private final Clock clock;
+    private final ExecutorService workers;
+
+    private final AtomicLong queueSize = new AtomicLong();
+    private final Timer deliverySuccess;
+    private final Timer deliveryFailure;
+    private final Timer deliveryLag;
+    private final Counter retries;
+    private final Counter dropped;
+
+    @Autowired
+    OutboundMailService(OutboundMailRepository outboundMailRepository, MailSenderService mailSenderService,
+                        MailProperties mailProperties, Clock clock, MeterRegistry meterRegistry) {
+        this.outboundMailRepository = outboundMailRepository;
+        this.mailSenderService = mailSenderService;
+        this.mailProperties = mailProperties;
+        this.clock = clock;
+        this.workers = Executors.newFixedThreadPool(mailProperties.getOutbox().getWorkers(), new CustomizableThreadFactory("outbound-mail-"));
+
+        Gauge.builder(METRIC_PREFIX + ".size", queueSize, AtomicLong::get)
+            .description("the number of mails waiting for delivery at the last check")
+            .register(meterRegistry);
+        this.deliverySuccess = deliveryTimer("success", meterRegistry);
+        this.deliveryFailure = deliveryTimer("failure", meterRegistry);
+        this.deliveryLag = Timer.builder(METRIC_PREFIX + ".lag")
+            .description("the time between enqueuing and sending a mail")
+            .register(meterRegistry);
+        this.retries = failureCounter("retry", meterRegistry);
+        this.dropped = failureCounter("dropped", meterRegistry);
+    }
+
+    /**
+     * Stores the given mails for delivery. Participates in the current transaction, so the mails
+     * are only delivered if the transaction is committed.
+     *
+     * @param outboundMails mails to deliver
+     */
+    void enqueue(List<OutboundMail> outboundMails) {
+
+        final Instant now = Instant.now(clock);
+        outboundMails.forEach(outboundMail -> outboundMail.enqueued(now));
+
+        outboundMailRepository.saveAll(outboundMails);
+        LOG.debug("Enqueued {} emails", outboundMails.size());
+    }
+
+    /**
+     * Delivers all mails that are due, in batches of {@link MailProperties.Outbox#getBatchSize()}.
+     * Every batch is split between the workers and every worker sends its share through one connection
+     * to the mail server. Must not run on more than one node at the same time.
+     */
+    void deliverDueMails() {
+
+        final MailProperties.Outbox outbox = mailProperties.getOutbox();
+        final int batchSize = outbox.getBatchSize();
+
+        boolean moreDueMails = true;
+        while (moreDueMails) {
+            final List<OutboundMail> dueMails = outboundMailRepository.findByNextAttemptAtLessThanEqualOrderByIdAsc(Instant.now(clock), PageRequest.of(0, batchSize));
+
+            final int mailsPerWorker = Math.max(1, (dueMails.size() + outbox.getWorkers() - 1) / outbox.getWorkers());
+            final List<Future<?>> deliveries = new ArrayList<>();
+            for (int fromIndex = 0; fromIndex < dueMails.size(); fromIndex += mailsPerWorker) {
+                final List<OutboundMail> mailsOfWorker = dueMails.subList(fromIndex, Math.min(fromIndex + mailsPerWorker, dueMails.size()));
+                deliveries.add(workers.submit(() -> deliver(mailsOfWorker)));
+            }
+
+            // stop if a worker failed nevertheless, its mails would be loaded again right away otherwise
+            moreDueMails = awaitAll(deliveries) && dueMails.size() == batchSize;
+        }
+
+        queueSize.set(outboundMailRepository.count());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdown();
+    }
+
+    /**
+     * Sends the given mails and removes every delivered mail from the queue in a transaction of its own, so a failure
+     * while updating the queue only affects the mail at hand. Unexpected errors while sending count as failed attempt
+     * of every given mail.
+     */
+    private void deliver(List<OutboundMail> outboundMails) {
+
+        final Instant start = Instant.now(clock);
+        final Map<OutboundMail, Exception> failedMails = send(outboundMails);
+        final Instant sent = Instant.now(clock);
+        (failedMails.isEmpty() ? deliverySuccess : deliveryFailure).record(Duration.between(start, sent));
+
+        for (OutboundMail outboundMail : outboundMails) {
+            final Exception failure = failedMails.get(outboundMail);
+            try {
+                if (failure == null) {
+                    deliveryLag.record(Duration.between(outboundMail.getCreatedAt(), sent));
+                    outboundMailRepository.delete(outboundMail);
+                } else {
+                    handleFailedDelivery(outboundMail, failure);
+                }
+            } catch (RuntimeException e) {
+                LOG.error("Failed to update the queued email to {} after sending", outboundMail.getRecipient(), e);
+            }
+        }
+    }
+
+    private Map<OutboundMail, Exception> send(List<OutboundMail> outboundMails) {
+        try {
+            return mailSenderService.send(outboundMails);
+        } catch (RuntimeException e) {
+            final Map<OutboundMail, Exception> failedMails = new HashMap<>();
+            outboundMails.forEach(outboundMail -> failedMails.put(outboundMail, e));
+            return failedMails;
+        }
+    }
+
+    private void handleFailedDelivery(OutboundMail outboundMail, Exception exception) {
+
+        final MailProperties.Outbox outbox = mailProperties.getOutbox();
+        if (outboundMail.getAttempts() + 1 >= outbox.getMaxAttempts()) {
+            LOG.error("Sending email to {} failed {} times, email is dropped", outboundMail.getRecipient(), outbox.getMaxAttempts(), exception);
+            dropped.increment();
+            outboundMailRepository.delete(outboundMail);
+            return;
+        }
+
+        final Instant nextAttemptAt = Instant.now(clock).plus(backoff(outboundMail.getAttempts(), outbox));
+        outboundMail.failed(exception.getMessage(), nextAttemptAt);
+        outboundMailRepository.save(outboundMail);
+
+        LOG.warn("Sending email to {} failed, next attempt at {}", outboundMail.getRecipient(), nextAttemptAt, exception);
+        retries.increment();
+    }
+
+    /**
+     * @return the initial backoff doubled for every previous failed attempt, limited by the max backoff
+     */
+    private static Duration backoff(int previousAttempts, MailProperties.Outbox outbox) {
+        final Duration backoff = outbox.getInitialBackoff().multipliedBy(1L << Math.min(previousAttempts, 20));
+        return backoff.compareTo(outbox.getMaxBackoff()) > 0 ? outbox.getMaxBackoff() : backoff;
+    }
+
+    /**
+     * @return {@code true} if all deliveries completed without unexpected errors
+     */
+    private static boolean awaitAll(List<Future<?>> deliveries) {
+        boolean successful = true;
+        for (Future<?> delivery : deliveries) {
+            try {
+                delivery.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (ExecutionException e) {
+                LOG.error("Unexpected error while sending email", e.getCause());
+                successful = false;
+            }
+        }
+        return successful;
+    }
+
+    private static Timer deliveryTimer(String result, MeterRegistry meterRegistry) {
+        return Timer.builder(METRIC_PREFIX + ".delivery")
+            .tag("result", result)
+            .description("the time it takes to send the mails of one worker through one connection")
+            .register(meterRegistry);
+    }
+
+    private static Counter failureCounter(String outcome, MeterRegistry meterRegistry) {
+        return Counter.builder(METRIC_PREFIX + ".failures")
+            .tag("outcome", outcome)
+            .description("the number of failed deliveries that are retried later or dropped")
+            .register(meterRegistry);
+    }
+}
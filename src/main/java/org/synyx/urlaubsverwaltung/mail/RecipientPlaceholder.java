@@ -0,0 +1,77 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import freemarker.template.SimpleScalar;
+import freemarker.template.TemplateHashModel;
+import freemarker.template.TemplateModel;
+import freemarker.template.TemplateModelException;
+import org.synyx.urlaubsverwaltung.person.Person;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Stands in for the recipient while a mail template is rendered once for all recipients of a mail. Every supported
+ * property of the recipient is rendered as a marker that is replaced with the value of the actual recipient afterwards.
+ *
+ * <p>Accessing any other property of the recipient fails the rendering, so the template has to be rendered for
+ * every single recipient.</p>
+ */
+class RecipientPlaceholder implements TemplateHashModel {
+
+    // a private use character that does not occur in any rendered text
+    private static final char MARKER = '\uE000';
+
+    private static final Map<String, Function<Person, String>> PROPERTIES = Map.of(
+        "niceName", Person::getNiceName,
+        "firstName", Person::getFirstName,
+        "lastName", Person::getLastName,
+        "email", Person::getEmail
+    );
+
+    @Override
+    public TemplateModel get(String key) throws TemplateModelException {
+
+        if (!PROPERTIES.containsKey(key)) {
+            throw new TemplateModelException("recipient." + key + " can not be rendered for all recipients at once");
+        }
+
+        return new SimpleScalar(marker(key));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return false;
+    }
+
+    /**
+     * Replaces the markers of the placeholder in the given body with the properties of the given recipient.
+     *
+     * @param body      rendered with this placeholder as recipient
+     * @param recipient of the mail
+     * @return the body for the given recipient, empty if the markers have been altered by the template or the
+     * recipient lacks a rendered property, so the template has to be rendered for this recipient
+     */
+    Optional<String> fillIn(String body, Person recipient) {
+
+        String filledIn = body;
+        for (Map.Entry<String, Function<Person, String>> property : PROPERTIES.entrySet()) {
+
+            final String marker = marker(property.getKey());
+            if (filledIn.contains(marker)) {
+                final String value = property.getValue().apply(recipient);
+                if (value == null) {
+                    return Optional.empty();
+                }
+
+                filledIn = filledIn.replace(marker, value);
+            }
+        }
+
+        return filledIn.indexOf(MARKER) == -1 ? Optional.of(filledIn) : Optional.empty();
+    }
+
+    private static String marker(String property) {
+        return MARKER + property + MARKER;
+    }
+}
@@ -0,0 +1,47 @@
+package org.synyx.urlaubsverwaltung.overtime;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.Instant;
+
+/**
+ * Marks the overtime ledgers of all persons as built, see {@link OvertimeLedgerService#buildLedgers()}.
+ * The ledgers are built only once, even if no person has overtime and the ledger stays empty.
+ */
+@Entity
+@Table(name = "overtime_ledger_build")
+class OvertimeLedgerBuild {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Instant builtAt;
+
+    protected OvertimeLedgerBuild() {
+        // ok
+    }
+
+    OvertimeLedgerBuild(Instant builtAt) {
+        this.builtAt = builtAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Instant getBuiltAt() {
+        return builtAt;
+    }
+
+    @Override
+    public String toString() {
+        return "OvertimeLedgerBuild{" +
+            "id=" + id +
+            ", builtAt=" + builtAt +
+            '}';
+    }
+}
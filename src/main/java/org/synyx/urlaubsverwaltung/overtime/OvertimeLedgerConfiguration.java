@@ -0,0 +1,49 @@
+package org.synyx.urlaubsverwaltung.overtime;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.synyx.urlaubsverwaltung.config.ScheduleLocking;
+
+@Configuration
+class OvertimeLedgerConfiguration implements SchedulingConfigurer, SmartInitializingSingleton {
+
+    private static final String LOCK_NAME = "OvertimeLedgerCheck";
+
+    private final OvertimeProperties overtimeProperties;
+    private final OvertimeLedgerService overtimeLedgerService;
+    private final ScheduleLocking scheduleLocking;
+    private final ThreadPoolTaskScheduler taskScheduler;
+
+    @Autowired
+    OvertimeLedgerConfiguration(OvertimeProperties overtimeProperties, OvertimeLedgerService overtimeLedgerService, ScheduleLocking scheduleLocking, ThreadPoolTaskScheduler taskScheduler) {
+        this.overtimeProperties = overtimeProperties;
+        this.overtimeLedgerService = overtimeLedgerService;
+        this.scheduleLocking = scheduleLocking;
+        this.taskScheduler = taskScheduler;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.setTaskScheduler(taskScheduler);
+        taskRegistrar.addCronTask(
+            scheduleLocking.withLock(LOCK_NAME, overtimeLedgerService::checkLedgers),
+            overtimeProperties.getLedgerCheck().getCron()
+        );
+    }
+
+    /**
+     * Builds the ledgers when the application is started for the first time with the overtime ledger, or again if the
+     * last build has not been completed. The ledgers are built before the web server is started, so no request reads
+     * the left overtime of an empty ledger.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!overtimeLedgerService.isLedgerBuilt()) {
+            scheduleLocking.withLock(LOCK_NAME, overtimeLedgerService::buildLedgers).run();
+        }
+    }
+}
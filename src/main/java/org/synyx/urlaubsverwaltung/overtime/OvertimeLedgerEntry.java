@@ -0,0 +1,105 @@
+package org.synyx.urlaubsverwaltung.overtime;
+
+import org.synyx.urlaubsverwaltung.person.Person;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import java.time.Duration;
+
+/**
+ * Yearly entry of the overtime ledger of a person: the overtime left at the beginning of the year, the overtime
+ * recorded and the overtime reduction applied for in the year. Overtime records and applications for leave count for
+ * the year they start in. Years without overtime records and overtime reduction have no entry.
+ */
+@Entity
+@Table(name = "overtime_ledger")
+class OvertimeLedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne
+    private Person person;
+
+    @Column(name = "ledger_year")
+    private int year;
+
+    private long openingBalanceMinutes;
+
+    private long overtimeMinutes;
+
+    private long overtimeReductionMinutes;
+
+    protected OvertimeLedgerEntry() {
+        // ok
+    }
+
+    OvertimeLedgerEntry(Person person, int year, Duration openingBalance, Duration overtime, Duration overtimeReduction) {
+        this.person = person;
+        this.year = year;
+        setBalances(openingBalance, overtime, overtimeReduction);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Person getPerson() {
+        return person;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    /**
+     * @return the overtime left at the beginning of the year
+     */
+    public Duration getOpeningBalance() {
+        return Duration.ofMinutes(openingBalanceMinutes);
+    }
+
+    public Duration getOvertime() {
+        return Duration.ofMinutes(overtimeMinutes);
+    }
+
+    public Duration getOvertimeReduction() {
+        return Duration.ofMinutes(overtimeReductionMinutes);
+    }
+
+    /**
+     * @return the overtime left at the end of the year
+     */
+    public Duration getClosingBalance() {
+        return Duration.ofMinutes(openingBalanceMinutes + overtimeMinutes - overtimeReductionMinutes);
+    }
+
+    void setBalances(Duration openingBalance, Duration overtime, Duration overtimeReduction) {
+        this.openingBalanceMinutes = openingBalance.toMinutes();
+        this.overtimeMinutes = overtime.toMinutes();
+        this.overtimeReductionMinutes = overtimeReduction.toMinutes();
+    }
+
+    boolean hasBalancesOf(OvertimeLedgerEntry other) {
+        return openingBalanceMinutes == other.openingBalanceMinutes
+            && overtimeMinutes == other.overtimeMinutes
+            && overtimeReductionMinutes == other.overtimeReductionMinutes;
+    }
+
+    @Override
+    public String toString() {
+        return "OvertimeLedgerEntry{" +
+            "person=" + person +
+            ", year=" + year +
+            ", openingBalanceMinutes=" + openingBalanceMinutes +
+            ", overtimeMinutes=" + overtimeMinutes +
+            ", overtimeReductionMinutes=" + overtimeReductionMinutes +
+            '}';
+    }
+}
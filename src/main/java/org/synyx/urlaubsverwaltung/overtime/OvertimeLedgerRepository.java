@@ -0,0 +1,33 @@
+package org.synyx.urlaubsverwaltung.overtime;
+
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.synyx.urlaubsverwaltung.person.Person;
+
+import javax.persistence.LockModeType;
+import java.util.List;
+import java.util.Optional;
+
+interface OvertimeLedgerRepository extends CrudRepository<OvertimeLedgerEntry, Long> {
+
+    List<OvertimeLedgerEntry> findByPersonOrderByYear(Person person);
+
+    Optional<OvertimeLedgerEntry> findFirstByPersonAndYearLessThanEqualOrderByYearDesc(Person person, int year);
+
+    Optional<OvertimeLedgerEntry> findFirstByPersonOrderByYearDesc(Person person);
+
+    List<OvertimeLedgerEntry> findByPersonInAndYearLessThanEqual(List<Person> persons, int year);
+
+    List<OvertimeLedgerEntry> findByPersonIn(List<Person> persons);
+
+    /**
+     * Locks the rows of the given persons until the end of the transaction, so the ledgers of the persons are updated
+     * by one transaction at a time. The rows of the persons are locked instead of their ledger entries, since a
+     * person without overtime has no ledger entries to lock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select person from Person person where person in :persons order by person.id")
+    List<Person> lockPersons(@Param("persons") List<Person> persons);
+}
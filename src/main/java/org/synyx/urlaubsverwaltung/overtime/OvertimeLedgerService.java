@@ -0,0 +1,328 @@
+package org.synyx.urlaubsverwaltung.overtime;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.synyx.urlaubsverwaltung.application.application.Application;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationService;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationStatus;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationUpdatedEvent;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.person.PersonService;
+
+import javax.transaction.Transactional;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.time.Duration.ZERO;
+import static java.util.Comparator.comparing;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
+import static javax.transaction.Transactional.TxType.NOT_SUPPORTED;
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.ALLOWED;
+import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.ALLOWED_CANCELLATION_REQUESTED;
+import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.TEMPORARY_ALLOWED;
+import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.WAITING;
+import static org.springframework.transaction.TransactionDefinition.PROPAGATION_REQUIRES_NEW;
+import static org.synyx.urlaubsverwaltung.application.vacationtype.VacationCategory.OVERTIME;
+
+/**
+ * Maintains the overtime ledger: the yearly {@link OvertimeLedgerEntry entries} with the overtime left at the
+ * beginning of every year of a person.
+ * <p>
+ * The ledger of a person is updated whenever an overtime record or an application for leave of the person is saved,
+ * so the left overtime is read from a single entry instead of summing up all overtime records and applications of
+ * the person. The ledger is updated after the save has been committed, in a new transaction that locks the person
+ * first, so concurrent saves of the same person update the ledger one after another from committed data.
+ * <p>
+ * The {@link #checkLedgers() consistency check} compares the ledgers of all persons with their overtime records and
+ * applications in chunks of persons and repairs differing ledgers, e.g. after changes made directly in the database.
+ */
+@Transactional
+@Service
+class OvertimeLedgerService {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    private static final List<ApplicationStatus> OVERTIME_REDUCTION_STATUSES = List.of(WAITING, TEMPORARY_ALLOWED, ALLOWED, ALLOWED_CANCELLATION_REQUESTED);
+
+    private final OvertimeLedgerRepository overtimeLedgerRepository;
+    private final OvertimeRepository overtimeRepository;
+    private final ApplicationService applicationService;
+    private final PersonService personService;
+    private final OvertimeLedgerBuildRepository overtimeLedgerBuildRepository;
+    private final OvertimeProperties overtimeProperties;
+    private final TransactionTemplate requiresNewTransactionTemplate;
+    private final Clock clock;
+
+    @Autowired
+    OvertimeLedgerService(OvertimeLedgerRepository overtimeLedgerRepository, OvertimeRepository overtimeRepository,
+                          ApplicationService applicationService, PersonService personService,
+                          OvertimeLedgerBuildRepository overtimeLedgerBuildRepository, OvertimeProperties overtimeProperties,
+                          PlatformTransactionManager transactionManager, Clock clock) {
+        this.overtimeLedgerRepository = overtimeLedgerRepository;
+        this.overtimeRepository = overtimeRepository;
+        this.applicationService = applicationService;
+        this.personService = personService;
+        this.overtimeLedgerBuildRepository = overtimeLedgerBuildRepository;
+        this.overtimeProperties = overtimeProperties;
+        this.requiresNewTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.requiresNewTransactionTemplate.setPropagationBehavior(PROPAGATION_REQUIRES_NEW);
+        this.clock = clock;
+    }
+
+    /**
+     * @param person to get the overtime for
+     * @param year   to get the overtime at the beginning of
+     * @return the overtime of the person left at the beginning of the given year, never {@code null}
+     */
+    Duration getOpeningBalance(Person person, int year) {
+        return overtimeLedgerRepository.findFirstByPersonAndYearLessThanEqualOrderByYearDesc(person, year)
+            .map(entry -> openingBalance(entry, year))
+            .orElse(ZERO);
+    }
+
+    /**
+     * @param persons to get the overtime for
+     * @param year    to get the overtime at the beginning of
+     * @return the overtime of every given person left at the beginning of the given year
+     */
+    Map<Person, Duration> getOpeningBalances(List<Person> persons, int year) {
+
+        final Map<Person, OvertimeLedgerEntry> latestEntries = new HashMap<>();
+        overtimeLedgerRepository.findByPersonInAndYearLessThanEqual(persons, year)
+            .forEach(entry -> latestEntries.merge(entry.getPerson(), entry, OvertimeLedgerService::later));
+
+        return persons.stream()
+            .distinct()
+            .collect(toMap(identity(), person -> Optional.ofNullable(latestEntries.get(person))
+                .map(entry -> openingBalance(entry, year))
+                .orElse(ZERO)));
+    }
+
+    /**
+     * @param person to get the overtime for
+     * @return the overtime of the person left after all overtime records and overtime reductions, never {@code null}
+     */
+    Duration getBalance(Person person) {
+        return overtimeLedgerRepository.findFirstByPersonOrderByYearDesc(person)
+            .map(OvertimeLedgerEntry::getClosingBalance)
+            .orElse(ZERO);
+    }
+
+    /**
+     * @param persons to get the overtime for
+     * @return the overtime of every given person left after all overtime records and overtime reductions
+     */
+    Map<Person, Duration> getBalances(List<Person> persons) {
+
+        final Map<Person, OvertimeLedgerEntry> latestEntries = new HashMap<>();
+        overtimeLedgerRepository.findByPersonIn(persons)
+            .forEach(entry -> latestEntries.merge(entry.getPerson(), entry, OvertimeLedgerService::later));
+
+        return persons.stream()
+            .distinct()
+            .collect(toMap(identity(), person -> Optional.ofNullable(latestEntries.get(person))
+                .map(OvertimeLedgerEntry::getClosingBalance)
+                .orElse(ZERO)));
+    }
+
+    /**
+     * Updates the ledger of the given person after the current transaction has been committed, or at once if there
+     * is no transaction. A ledger that fails to be updated is repaired by the next {@link #checkLedgers() check}.
+     *
+     * @param person to update the ledger of
+     */
+    void updateLedgerAfterCommit(Person person) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    updateLedgerInNewTransaction(person);
+                }
+            });
+        } else {
+            updateLedgerInNewTransaction(person);
+        }
+    }
+
+    /**
+     * Updates the ledger of the given person to the current overtime records and overtime reductions. The person is
+     * locked before its overtime records and applications are read, so this has to be the first read of the
+     * transaction; otherwise the ledger is calculated from the data as of the first read.
+     *
+     * @param person to update the ledger of
+     * @return {@code true} if the ledger had to be changed, {@code false} otherwise
+     */
+    boolean updateLedger(Person person) {
+        overtimeLedgerRepository.lockPersons(List.of(person));
+        return updateLockedLedger(person);
+    }
+
+    /**
+     * Compares the ledgers of all persons with their overtime records and overtime reductions and repairs the
+     * ledgers that differ. Every chunk of persons is checked in its own transaction, a failed chunk does not stop
+     * the check of the other chunks.
+     *
+     * @return {@code true} if the ledgers of all persons have been checked, {@code false} if a chunk failed
+     */
+    @Transactional(NOT_SUPPORTED)
+    boolean checkLedgers() {
+
+        final List<Person> persons = new ArrayList<>(personService.getActivePersons());
+        persons.addAll(personService.getInactivePersons());
+        persons.sort(comparing(Person::getId));
+
+        final int chunkSize = overtimeProperties.getLedgerCheck().getChunkSize();
+        int repairedLedgers = 0;
+        boolean successful = true;
+        for (int fromIndex = 0; fromIndex < persons.size(); fromIndex += chunkSize) {
+            final List<Person> personsOfChunk = persons.subList(fromIndex, Math.min(fromIndex + chunkSize, persons.size()));
+            try {
+                final Integer repairedLedgersOfChunk = requiresNewTransactionTemplate.execute(status -> updateLedgers(personsOfChunk));
+                repairedLedgers += repairedLedgersOfChunk == null ? 0 : repairedLedgersOfChunk;
+            } catch (RuntimeException e) {
+                LOG.error("Failed to check overtime ledgers of persons with id {} to {}",
+                    personsOfChunk.get(0).getId(), personsOfChunk.get(personsOfChunk.size() - 1).getId(), e);
+                successful = false;
+            }
+        }
+
+        LOG.info("Checked overtime ledgers of {} persons, repaired {} ledgers", persons.size(), repairedLedgers);
+        return successful;
+    }
+
+    /**
+     * Builds the ledgers of all persons and marks them as built if the ledgers of all persons have been checked.
+     */
+    @Transactional(NOT_SUPPORTED)
+    void buildLedgers() {
+        if (checkLedgers()) {
+            overtimeLedgerBuildRepository.save(new OvertimeLedgerBuild(Instant.now(clock)));
+        } else {
+            LOG.warn("Overtime ledgers have not been built completely and are built again on the next start");
+        }
+    }
+
+    /**
+     * @return {@code true} if the ledgers have been built, even if no person has overtime
+     */
+    boolean isLedgerBuilt() {
+        return overtimeLedgerBuildRepository.count() > 0;
+    }
+
+    /**
+     * Updates the ledger of the person of every saved application, since an application can also stop being an
+     * overtime reduction, e.g. if its category is changed.
+     */
+    @EventListener
+    public void handleApplicationUpdated(ApplicationUpdatedEvent event) {
+        applicationService.getApplicationById(event.getApplicationId())
+            .ifPresent(application -> updateLedgerAfterCommit(application.getPerson()));
+    }
+
+    private void updateLedgerInNewTransaction(Person person) {
+        try {
+            requiresNewTransactionTemplate.executeWithoutResult(status -> updateLedger(person));
+        } catch (RuntimeException e) {
+            LOG.error("Failed to update overtime ledger of person {}, it is repaired by the next check", person, e);
+        }
+    }
+
+    /**
+     * Locks all given persons at once before the first of their ledgers is calculated.
+     *
+     * @return the number of ledgers that had to be changed
+     */
+    private int updateLedgers(List<Person> persons) {
+
+        overtimeLedgerRepository.lockPersons(persons);
+
+        int changedLedgers = 0;
+        for (Person person : persons) {
+            if (updateLockedLedger(person)) {
+                LOG.debug("Repaired overtime ledger of person {}", person);
+                changedLedgers++;
+            }
+        }
+        return changedLedgers;
+    }
+
+    private boolean updateLockedLedger(Person person) {
+
+        final Map<Integer, OvertimeLedgerEntry> entriesByYear = new HashMap<>();
+        overtimeLedgerRepository.findByPersonOrderByYear(person).forEach(entry -> entriesByYear.put(entry.getYear(), entry));
+
+        final List<OvertimeLedgerEntry> changedEntries = new ArrayList<>();
+        for (OvertimeLedgerEntry calculatedEntry : calculateLedger(person)) {
+            final OvertimeLedgerEntry entry = entriesByYear.remove(calculatedEntry.getYear());
+            if (entry == null) {
+                changedEntries.add(calculatedEntry);
+            } else if (!entry.hasBalancesOf(calculatedEntry)) {
+                entry.setBalances(calculatedEntry.getOpeningBalance(), calculatedEntry.getOvertime(), calculatedEntry.getOvertimeReduction());
+                changedEntries.add(entry);
+            }
+        }
+
+        final List<OvertimeLedgerEntry> obsoleteEntries = new ArrayList<>(entriesByYear.values());
+        overtimeLedgerRepository.saveAll(changedEntries);
+        overtimeLedgerRepository.deleteAll(obsoleteEntries);
+
+        return !changedEntries.isEmpty() || !obsoleteEntries.isEmpty();
+    }
+
+    private List<OvertimeLedgerEntry> calculateLedger(Person person) {
+
+        final Map<Integer, Duration> overtimeByYear = new HashMap<>();
+        for (Overtime overtime : overtimeRepository.findByPerson(person)) {
+            overtimeByYear.merge(overtime.getStartDate().getYear(), overtime.getDuration(), Duration::plus);
+        }
+
+        final Map<Integer, Duration> overtimeReductionByYear = new HashMap<>();
+        for (Application application : applicationService.getForStatesAndPersonAndVacationCategory(OVERTIME_REDUCTION_STATUSES, person, OVERTIME)) {
+            if (application.getHours() != null) {
+                overtimeReductionByYear.merge(application.getStartDate().getYear(), application.getHours(), Duration::plus);
+            }
+        }
+
+        final SortedSet<Integer> years = new TreeSet<>(overtimeByYear.keySet());
+        years.addAll(overtimeReductionByYear.keySet());
+
+        final List<OvertimeLedgerEntry> ledger = new ArrayList<>();
+        Duration openingBalance = ZERO;
+        for (Integer year : years) {
+            final Duration overtime = overtimeByYear.getOrDefault(year, ZERO);
+            final Duration overtimeReduction = overtimeReductionByYear.getOrDefault(year, ZERO);
+            ledger.add(new OvertimeLedgerEntry(person, year, openingBalance, overtime, overtimeReduction));
+            openingBalance = openingBalance.plus(overtime).minus(overtimeReduction);
+        }
+
+        return ledger;
+    }
+
+    /**
+     * @return the opening balance of the given year, the closing balance of the given entry if it is of an earlier year
+     */
+    private static Duration openingBalance(OvertimeLedgerEntry entry, int year) {
+        return entry.getYear() == year ? entry.getOpeningBalance() : entry.getClosingBalance();
+    }
+
+    private static OvertimeLedgerEntry later(OvertimeLedgerEntry entry, OvertimeLedgerEntry other) {
+        return entry.getYear() >= other.getYear() ? entry : other;
+    }
+}
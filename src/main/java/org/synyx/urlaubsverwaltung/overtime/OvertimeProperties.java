@@ -0,0 +1,57 @@
+package org.synyx.urlaubsverwaltung.overtime;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+import org.synyx.urlaubsverwaltung.validation.CronExpression;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+
+@Component
+@ConfigurationProperties("uv.overtime")
+@Validated
+public class OvertimeProperties {
+
+    @Valid
+    private LedgerCheck ledgerCheck = new LedgerCheck();
+
+    public LedgerCheck getLedgerCheck() {
+        return ledgerCheck;
+    }
+
+    public void setLedgerCheck(LedgerCheck ledgerCheck) {
+        this.ledgerCheck = ledgerCheck;
+    }
+
+    public static class LedgerCheck {
+
+        /**
+         * Check and repair the overtime ledgers of all persons by default every day at 03:00 am
+         */
+        @CronExpression
+        private String cron = "0 0 3 * * *";
+
+        /**
+         * Number of persons whose overtime ledgers are checked in one transaction.
+         */
+        @Min(1)
+        private int chunkSize = 100;
+
+        public String getCron() {
+            return cron;
+        }
+
+        public void setCron(String cron) {
+            this.cron = cron;
+        }
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+}
@@ -1,13 +1,10 @@
 package org.synyx.urlaubsverwaltung.overtime;
 
-import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
-import org.springframework.data.repository.query.Param;
 import org.synyx.urlaubsverwaltung.person.Person;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Optional;
 
 /**
  * Allows access to overtime records.
@@ -18,11 +15,8 @@ interface OvertimeRepository extends CrudRepository<Overtime, Integer> {
 
     List<Overtime> findByPerson(Person person);
 
-    @Query("SELECT SUM(overtime.duration) FROM Overtime overtime WHERE overtime.person = :person")
-    Optional<Double> calculateTotalHoursForPerson(@Param("person") Person person);
-
     List<Overtime> findByPersonAndStartDateBetweenOrderByStartDateDesc(Person person, LocalDate start, LocalDate end);
     List<Overtime> findByPersonAndEndDateIsGreaterThanEqualAndStartDateIsLessThanEqual(Person person, LocalDate start, LocalDate end);
 
-    List<Overtime> findByPersonAndStartDateIsBefore(Person person, LocalDate before);
+    List<Overtime> findByPersonInAndEndDateIsGreaterThanEqualAndStartDateIsLessThanEqual(List<Person> persons, LocalDate start, LocalDate end);
 }
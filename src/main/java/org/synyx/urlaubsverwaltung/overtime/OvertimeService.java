@@ -5,6 +5,7 @@ import org.synyx.urlaubsverwaltung.person.Person;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -97,6 +98,25 @@ public interface OvertimeService {
      */
     Duration getLeftOvertimeForPerson(Person person, LocalDate start, LocalDate end);
 
+    /**
+     * Get the left overtime hours of every given person, see {@link #getLeftOvertimeForPerson(Person)}.
+     *
+     * @param persons to get the left overtime for
+     * @return the left overtime of every given person, never {@code null}
+     */
+    Map<Person, Duration> getLeftOvertimeForPersons(List<Person> persons);
+
+    /**
+     * Get the left overtime hours of every given person for the period between start and end,
+     * see {@link #getLeftOvertimeForPerson(Person, LocalDate, LocalDate)}.
+     *
+     * @param persons to get the left overtime for
+     * @param start of period
+     * @param end of period
+     * @return the left overtime of every given person, never {@code null}
+     */
+    Map<Person, Duration> getLeftOvertimeForPersons(List<Person> persons, LocalDate start, LocalDate end);
+
     /**
      * Is signedInUser allowed to write (create or update) overtime records of given personOfOvertime.
      *
@@ -15,13 +15,14 @@ import java.time.Clock;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.Year;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static java.lang.invoke.MethodHandles.lookup;
 import static java.math.RoundingMode.HALF_EVEN;
 import static java.time.Duration.ZERO;
-import static java.time.temporal.ChronoUnit.MINUTES;
 import static org.slf4j.LoggerFactory.getLogger;
 import static org.synyx.urlaubsverwaltung.overtime.OvertimeCommentAction.CREATED;
 import static org.synyx.urlaubsverwaltung.overtime.OvertimeCommentAction.EDITED;
@@ -39,6 +40,7 @@ class OvertimeServiceImpl implements OvertimeService {
 
     private final OvertimeRepository overtimeRepository;
     private final OvertimeCommentRepository overtimeCommentRepository;
+    private final OvertimeLedgerService overtimeLedgerService;
     private final ApplicationService applicationService;
     private final OvertimeMailService overtimeMailService;
     private final SettingsService settingsService;
@@ -46,10 +48,11 @@ class OvertimeServiceImpl implements OvertimeService {
 
     @Autowired
     public OvertimeServiceImpl(OvertimeRepository overtimeRepository, OvertimeCommentRepository overtimeCommentRepository,
-                               ApplicationService applicationService, OvertimeMailService overtimeMailService,
-                               SettingsService settingsService, Clock clock) {
+                               OvertimeLedgerService overtimeLedgerService, ApplicationService applicationService,
+                               OvertimeMailService overtimeMailService, SettingsService settingsService, Clock clock) {
         this.overtimeRepository = overtimeRepository;
         this.overtimeCommentRepository = overtimeCommentRepository;
+        this.overtimeLedgerService = overtimeLedgerService;
         this.applicationService = applicationService;
         this.overtimeMailService = overtimeMailService;
         this.settingsService = settingsService;
@@ -74,6 +77,7 @@ class OvertimeServiceImpl implements OvertimeService {
         // save overtime record
         overtime.onUpdate();
         final Overtime savedOvertime = overtimeRepository.save(overtime);
+        overtimeLedgerService.updateLedgerAfterCommit(overtime.getPerson());
 
         // save comment
         final OvertimeCommentAction action = isNewOvertime ? CREATED : EDITED;
@@ -106,21 +110,12 @@ class OvertimeServiceImpl implements OvertimeService {
 
     @Override
     public Duration getTotalOvertimeForPersonBeforeYear(Person person, int year) {
-        final LocalDate firstDayOfYear = Year.of(year).atDay(1);
-        final Duration totalOvertimeReductionBeforeYear = applicationService.getTotalOvertimeReductionOfPersonBefore(person, firstDayOfYear);
-        final Duration totalOvertimeBeforeYear = overtimeRepository.findByPersonAndStartDateIsBefore(person, firstDayOfYear).stream()
-            .map(Overtime::getDuration)
-            .reduce(ZERO, Duration::plus);
-
-        return totalOvertimeBeforeYear.minus(totalOvertimeReductionBeforeYear);
+        return overtimeLedgerService.getOpeningBalance(person, year);
     }
 
     @Override
     public Duration getLeftOvertimeForPerson(Person person) {
-        final Duration totalOvertime = getTotalOvertimeForPerson(person);
-        final Duration overtimeReduction = applicationService.getTotalOvertimeReductionOfPerson(person);
-
-        return totalOvertime.minus(overtimeReduction);
+        return overtimeLedgerService.getBalance(person);
     }
 
     @Override
@@ -129,14 +124,7 @@ class OvertimeServiceImpl implements OvertimeService {
         final DateRange dateRangeOfPeriod = new DateRange(start, end);
 
         final Duration overtimeForPeriod = overtimeRepository.findByPersonAndEndDateIsGreaterThanEqualAndStartDateIsLessThanEqual(person, start, end).stream()
-            .map(overtime -> {
-                final DateRange overtimeDateRange = new DateRange(overtime.getStartDate(), overtime.getEndDate());
-                final Duration durationOfOverlap = dateRangeOfPeriod.overlap(overtimeDateRange).map(DateRange::duration).orElse(ZERO);
-                return toFormattedDecimal(overtime.getDuration())
-                    .divide(toFormattedDecimal(overtimeDateRange.duration()), HALF_EVEN)
-                    .multiply(toFormattedDecimal(durationOfOverlap)).setScale(0, HALF_EVEN);
-            })
-            .map(DecimalConverter::toDuration)
+            .map(overtime -> overtimeInPeriod(overtime, dateRangeOfPeriod))
             .reduce(ZERO, Duration::plus);
 
         final Duration overtimeReductionForPeriod = applicationService.getTotalOvertimeReductionOfPerson(person, start, end);
@@ -145,6 +133,37 @@ class OvertimeServiceImpl implements OvertimeService {
         return totalOvertimeBeforeYear.plus(overtimeForPeriod).minus(overtimeReductionForPeriod);
     }
 
+    @Override
+    public Map<Person, Duration> getLeftOvertimeForPersons(List<Person> persons) {
+        if (persons.isEmpty()) {
+            return Map.of();
+        }
+
+        return overtimeLedgerService.getBalances(persons);
+    }
+
+    @Override
+    public Map<Person, Duration> getLeftOvertimeForPersons(List<Person> persons, LocalDate start, LocalDate end) {
+
+        final Map<Person, Duration> leftOvertimeByPerson = new HashMap<>();
+        persons.forEach(person -> leftOvertimeByPerson.put(person, ZERO));
+        if (persons.isEmpty()) {
+            return leftOvertimeByPerson;
+        }
+
+        final DateRange dateRangeOfPeriod = new DateRange(start, end);
+
+        overtimeLedgerService.getOpeningBalances(persons, start.getYear())
+            .forEach((person, openingBalance) -> leftOvertimeByPerson.merge(person, openingBalance, Duration::plus));
+
+        overtimeRepository.findByPersonInAndEndDateIsGreaterThanEqualAndStartDateIsLessThanEqual(persons, start, end)
+            .forEach(overtime -> leftOvertimeByPerson.merge(overtime.getPerson(), overtimeInPeriod(overtime, dateRangeOfPeriod), Duration::plus));
+        applicationService.getTotalOvertimeReductionOfPersons(persons, start, end)
+            .forEach((person, overtimeReduction) -> leftOvertimeByPerson.merge(person, overtimeReduction.negated(), Duration::plus));
+
+        return leftOvertimeByPerson;
+    }
+
     /**
      * Is signedInUser person allowed to write (edit or update) the overtime record of personOfOvertime.
      * <pre>
@@ -169,10 +188,14 @@ class OvertimeServiceImpl implements OvertimeService {
             || signedInUser.equals(personOfOvertime) && (!overtimeSettings.isOvertimeWritePrivilegedOnly() || signedInUser.isPrivileged());
     }
 
-    private Duration getTotalOvertimeForPerson(Person person) {
-        return overtimeRepository.calculateTotalHoursForPerson(person)
-            .map(totalHours -> Math.round(totalHours * 60))
-            .map(totalMinutes -> Duration.of(totalMinutes, MINUTES))
-            .orElse(ZERO);
+    /**
+     * @return the part of the overtime that is within the given period, proportional to the overlapping days
+     */
+    private static Duration overtimeInPeriod(Overtime overtime, DateRange dateRangeOfPeriod) {
+        final DateRange overtimeDateRange = new DateRange(overtime.getStartDate(), overtime.getEndDate());
+        final Duration durationOfOverlap = dateRangeOfPeriod.overlap(overtimeDateRange).map(DateRange::duration).orElse(ZERO);
+        return DecimalConverter.toDuration(toFormattedDecimal(overtime.getDuration())
+            .divide(toFormattedDecimal(overtimeDateRange.duration()), HALF_EVEN)
+            .multiply(toFormattedDecimal(durationOfOverlap)).setScale(0, HALF_EVEN));
     }
 }
@@ -19,6 +19,9 @@ import static org.synyx.urlaubsverwaltung.person.Role.privilegedRoles;
 
 /**
  * This class describes a person.
+ * <p>
+ * The permissions and notifications are loaded eagerly. For lists of persons they are loaded in batches instead of
+ * one statement per person.
  */
 @Entity
 public class Person {
@@ -70,6 +70,14 @@ public interface PersonService {
      */
     Optional<Person> getPersonByID(Integer id);
 
+    /**
+     * finds all {@link Person}s in the database by their primary keys.
+     *
+     * @param ids the ids of the persons
+     * @return the persons found for the given ids, ids without a person are skipped
+     */
+    List<Person> getPersonsByIds(List<Integer> ids);
+
     /**
      * finds a {@link Person} in the database by username.
      *
@@ -106,6 +106,8 @@ class PersonServiceImpl implements PersonService {
         final boolean isInactive = persistedPerson.getPermissions().contains(INACTIVE);
         if (isInactive) {
             applicationEventPublisher.publishEvent(new PersonDisabledEvent(this, persistedPerson.getId()));
+        } else {
+            applicationEventPublisher.publishEvent(new PersonUpdatedEvent(this, persistedPerson.getId()));
         }
 
         return persistedPerson;
@@ -116,6 +118,11 @@ class PersonServiceImpl implements PersonService {
         return personRepository.findById(id);
     }
 
+    @Override
+    public List<Person> getPersonsByIds(List<Integer> ids) {
+        return personRepository.findAllById(ids);
+    }
+
     @Override
     public Optional<Person> getPersonByUsername(String username) {
         return personRepository.findByUsername(username);
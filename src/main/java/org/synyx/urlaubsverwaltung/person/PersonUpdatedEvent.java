@@ -0,0 +1,20 @@
+package org.synyx.urlaubsverwaltung.person;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published whenever an active {@link Person} has been saved, e.g. the name or the permissions have been changed.
+ */
+public class PersonUpdatedEvent extends ApplicationEvent {
+
+    private final Integer personId;
+
+    public PersonUpdatedEvent(Object source, Integer personId) {
+        super(source);
+        this.personId = personId;
+    }
+
+    public Integer getPersonId() {
+        return personId;
+    }
+}
@@ -1,5 +1,7 @@
 package org.synyx.urlaubsverwaltung.person.basedata;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface PersonBasedataService {
@@ -13,6 +15,14 @@ public interface PersonBasedataService {
      */
     Optional<PersonBasedata> getBasedataByPersonId(int personId);
 
+    /**
+     * Returns the base data of all given persons that have base data saved in the database
+     *
+     * @param personIds to find base data of the persons
+     * @return base data of the given persons by person id, persons without base data are missing
+     */
+    Map<Integer, PersonBasedata> getBasedataByPersonIds(List<Integer> personIds);
+
     /**
      * Update a person base data object
      *
@@ -2,8 +2,14 @@ package org.synyx.urlaubsverwaltung.person.basedata;
 
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
+import static java.util.stream.StreamSupport.stream;
+
 import static org.synyx.urlaubsverwaltung.person.basedata.PersonBasedataMapper.mapToEntity;
 
 @Service
@@ -21,6 +27,13 @@ class PersonBasedataServiceImpl implements PersonBasedataService {
             .map(PersonBasedataMapper::mapFromEntity);
     }
 
+    @Override
+    public Map<Integer, PersonBasedata> getBasedataByPersonIds(List<Integer> personIds) {
+        return stream(personBasedataRepository.findAllById(personIds).spliterator(), false)
+            .map(PersonBasedataMapper::mapFromEntity)
+            .collect(toMap(PersonBasedata::getPersonId, identity()));
+    }
+
     @Override
     public void update(PersonBasedata personBasedata) {
         personBasedataRepository.save(mapToEntity(personBasedata));
@@ -1,6 +1,10 @@
 package org.synyx.urlaubsverwaltung.person.web;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
@@ -11,8 +15,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.synyx.urlaubsverwaltung.account.Account;
 import org.synyx.urlaubsverwaltung.account.AccountService;
-import org.synyx.urlaubsverwaltung.account.VacationDaysLeft;
-import org.synyx.urlaubsverwaltung.account.VacationDaysService;
+import org.synyx.urlaubsverwaltung.account.PersonVacationSummary;
+import org.synyx.urlaubsverwaltung.account.PersonVacationSummaryService;
 import org.synyx.urlaubsverwaltung.department.Department;
 import org.synyx.urlaubsverwaltung.department.DepartmentService;
 import org.synyx.urlaubsverwaltung.department.web.UnknownDepartmentException;
@@ -25,18 +29,24 @@ import org.synyx.urlaubsverwaltung.settings.SettingsService;
 import org.synyx.urlaubsverwaltung.workingtime.WorkingTime;
 import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeService;
 
+import java.math.BigDecimal;
 import java.time.Clock;
 import java.time.LocalDate;
 import java.time.Year;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Stream;
 
+import static java.lang.String.CASE_INSENSITIVE_ORDER;
 import static java.lang.String.format;
 import static java.util.Comparator.comparing;
+import static java.util.Comparator.nullsLast;
 import static java.util.stream.Collectors.toCollection;
 import static java.util.stream.Collectors.toList;
 import static org.springframework.util.StringUtils.hasText;
@@ -56,10 +66,13 @@ import static org.synyx.urlaubsverwaltung.security.SecurityRules.IS_PRIVILEGED_U
 public class PersonDetailsViewController {
 
     private static final String PERSON_ATTRIBUTE = "person";
+    private static final String DEFAULT_PAGE_SIZE = "50";
+    private static final List<String> SORTABLE_FIELDS = List.of("personnelNumber", "firstName", "lastName", "entitlementYear",
+        "entitlementActual", "entitlementRemaining", "vacationDaysLeft", "vacationDaysLeftRemaining");
 
     private final PersonService personService;
     private final AccountService accountService;
-    private final VacationDaysService vacationDaysService;
+    private final PersonVacationSummaryService personVacationSummaryService;
     private final DepartmentService departmentService;
     private final WorkingTimeService workingTimeService;
     private final SettingsService settingsService;
@@ -68,12 +81,12 @@ public class PersonDetailsViewController {
 
     @Autowired
     public PersonDetailsViewController(PersonService personService, AccountService accountService,
-                                       VacationDaysService vacationDaysService, DepartmentService departmentService,
+                                       PersonVacationSummaryService personVacationSummaryService, DepartmentService departmentService,
                                        WorkingTimeService workingTimeService, SettingsService settingsService,
                                        PersonBasedataService personBasedataService, Clock clock) {
         this.personService = personService;
         this.accountService = accountService;
-        this.vacationDaysService = vacationDaysService;
+        this.personVacationSummaryService = personVacationSummaryService;
         this.departmentService = departmentService;
         this.workingTimeService = workingTimeService;
         this.settingsService = settingsService;
@@ -137,6 +150,11 @@ public class PersonDetailsViewController {
     public String showPerson(@RequestParam(value = "active") boolean active,
                              @RequestParam(value = "department", required = false) Optional<Integer> requestedDepartmentId,
                              @RequestParam(value = "year", required = false) Optional<Integer> requestedYear,
+                             @RequestParam(value = "page", defaultValue = "0") int page,
+                             @RequestParam(value = "size", defaultValue = DEFAULT_PAGE_SIZE) int size,
+                             @RequestParam(value = "sort", defaultValue = "firstName") String sort,
+                             @RequestParam(value = "direction", defaultValue = "asc") String direction,
+                             @RequestParam(value = "query", defaultValue = "") String query,
                              Model model) throws UnknownDepartmentException {
 
         final Integer year = requestedYear.orElseGet(() -> Year.now(clock).getValue());
@@ -144,7 +162,6 @@ public class PersonDetailsViewController {
         final Person signedInUser = personService.getSignedInUser();
         final List<Person> persons = active ? getRelevantActivePersons(signedInUser) : getRelevantInactivePersons(signedInUser);
 
-
         if (requestedDepartmentId.isPresent()) {
             final Integer departmentId = requestedDepartmentId.get();
             final Department department = departmentService.getDepartmentById(departmentId)
@@ -156,7 +173,10 @@ public class PersonDetailsViewController {
             model.addAttribute("department", department);
         }
 
-        preparePersonView(signedInUser, persons, year, model);
+        final Sort.Direction sortDirection = Sort.Direction.fromOptionalString(direction).orElse(Sort.Direction.ASC);
+        final String sortField = SORTABLE_FIELDS.contains(sort) ? sort : "firstName";
+
+        preparePersonView(signedInUser, persons, year, query.trim(), page, size, Sort.by(sortDirection, sortField), model);
 
         return "person/person_view";
     }
@@ -233,33 +253,40 @@ public class PersonDetailsViewController {
             .collect(toList());
     }
 
-    private void preparePersonView(Person signedInUser, List<Person> persons, int year, Model model) {
+    /**
+     * The persons are filtered by role, department and search query in memory, so they are sorted and paged in memory
+     * as well. The vacation days of all persons are read from the precomputed {@link PersonVacationSummary} with one
+     * query.
+     */
+    private void preparePersonView(Person signedInUser, List<Person> relevantPersons, int year, String query, int page,
+                                   int size, Sort sort, Model model) {
 
         final LocalDate now = LocalDate.now(clock);
 
-        final List<PersonDto> personDtos = new ArrayList<>(persons.size());
-        for (Person person : persons) {
-            final PersonDto.Builder personDtoBuilder = PersonDto.builder();
+        final List<Integer> personIds = relevantPersons.stream().map(Person::getId).collect(toList());
+        final Map<Integer, PersonBasedata> basedataByPersonId = personBasedataService.getBasedataByPersonIds(personIds);
+
+        final boolean showPersonnelNumberColumn = basedataByPersonId.values().stream()
+            .anyMatch(personBasedata -> hasText(personBasedata.getPersonnelNumber()));
 
-            final Optional<Account> account = accountService.getHolidaysAccount(year, person);
-            if (account.isPresent()) {
-                final Account holidaysAccount = account.get();
-                final Optional<Account> accountNextYear = accountService.getHolidaysAccount(year + 1, person);
-                final VacationDaysLeft vacationDaysLeft = vacationDaysService.getVacationDaysLeft(holidaysAccount, accountNextYear);
+        final List<Person> persons = relevantPersons.stream()
+            .filter(person -> matchesQuery(person, basedataByPersonId.get(person.getId()), query))
+            .collect(toList());
 
-                final boolean beforeExpiryDate = now.isBefore(holidaysAccount.getExpiryDate());
-                model.addAttribute("isBeforeExpiryDate", beforeExpiryDate);
+        final Map<Person, PersonVacationSummary> summaryByPerson = personVacationSummaryService.getSummaries(year, persons);
 
-                final double remainingVacationDays = beforeExpiryDate
-                    ? vacationDaysLeft.getRemainingVacationDays().doubleValue()
-                    : vacationDaysLeft.getRemainingVacationDaysNotExpiring().doubleValue();
+        final List<PersonDto> personDtos = new ArrayList<>(persons.size());
+        for (Person person : persons) {
+            final PersonDto.Builder personDtoBuilder = PersonDto.builder();
 
+            final PersonVacationSummary summary = summaryByPerson.get(person);
+            if (summary != null && summary.hasAccount()) {
                 personDtoBuilder
-                    .entitlementYear(holidaysAccount.getAnnualVacationDays().doubleValue())
-                    .entitlementActual(holidaysAccount.getActualVacationDays().doubleValue())
-                    .entitlementRemaining(holidaysAccount.getRemainingVacationDays().doubleValue())
-                    .vacationDaysLeft(vacationDaysLeft.getVacationDays().doubleValue())
-                    .vacationDaysLeftRemaining(remainingVacationDays);
+                    .entitlementYear(toDouble(summary.getAnnualVacationDays()))
+                    .entitlementActual(toDouble(summary.getActualVacationDays()))
+                    .entitlementRemaining(toDouble(summary.getRemainingVacationDays()))
+                    .vacationDaysLeft(toDouble(summary.getVacationDaysLeft()))
+                    .vacationDaysLeftRemaining(toDouble(summary.getRemainingVacationDaysLeft(now)));
             }
 
             final String lastName = person.getFirstName() == null && person.getLastName() == null
@@ -273,21 +300,78 @@ public class PersonDetailsViewController {
                 .niceName(person.getNiceName())
                 .lastName(lastName);
 
-            personBasedataService.getBasedataByPersonId(person.getId())
-                .ifPresent(personBasedata -> personDtoBuilder.personnelNumber(personBasedata.getPersonnelNumber()));
-
-            final PersonDto personDto = personDtoBuilder.build();
+            final PersonBasedata personBasedata = basedataByPersonId.get(person.getId());
+            if (personBasedata != null) {
+                personDtoBuilder.personnelNumber(personBasedata.getPersonnelNumber());
+            }
 
-            personDtos.add(personDto);
+            personDtos.add(personDtoBuilder.build());
         }
 
-        final boolean showPersonnelNumberColumn = personDtos.stream()
-            .anyMatch(personDto -> hasText(personDto.getPersonnelNumber()));
-
-        model.addAttribute("persons", personDtos);
+        final Sort.Order order = sort.iterator().next();
+        personDtos.sort(personDtoComparator(order.getProperty(), order.isDescending()));
+
+        final int pageSize = Math.max(1, size);
+        final int lastPage = Math.max(0, (personDtos.size() - 1) / pageSize);
+        final PageRequest pageRequest = PageRequest.of(Math.min(Math.max(0, page), lastPage), pageSize, sort);
+        final int fromIndex = (int) pageRequest.getOffset();
+        final int toIndex = Math.min(fromIndex + pageSize, personDtos.size());
+        final Page<PersonDto> personPage = new PageImpl<>(personDtos.subList(fromIndex, toIndex), pageRequest, personDtos.size());
+
+        model.addAttribute("persons", personPage.getContent());
+        model.addAttribute("personPage", personPage);
+        model.addAttribute("sort", order.getProperty());
+        model.addAttribute("direction", order.getDirection().name().toLowerCase());
+        model.addAttribute("query", query);
         model.addAttribute("showPersonnelNumberColumn", showPersonnelNumberColumn);
         model.addAttribute("year", year);
         model.addAttribute("now", now);
         model.addAttribute("departments", getRelevantDepartmentsSortedByName(signedInUser));
     }
+
+    /**
+     * @return {@code true} if the first name, the last name, the username or the personnel number of the person
+     * contains the given query ignoring case, or if the query is empty
+     */
+    private static boolean matchesQuery(Person person, PersonBasedata personBasedata, String query) {
+
+        if (query.isEmpty()) {
+            return true;
+        }
+
+        final String personnelNumber = personBasedata == null ? null : personBasedata.getPersonnelNumber();
+        return Stream.of(person.getFirstName(), person.getLastName(), person.getUsername(), personnelNumber)
+            .anyMatch(value -> value != null && value.toLowerCase(Locale.ROOT).contains(query.toLowerCase(Locale.ROOT)));
+    }
+
+    private static Comparator<PersonDto> personDtoComparator(String sortField, boolean descending) {
+
+        final Comparator<String> textOrder = nullsLast(descending ? CASE_INSENSITIVE_ORDER.reversed() : CASE_INSENSITIVE_ORDER);
+        final Comparator<Double> numberOrder = nullsLast(descending ? Comparator.<Double>reverseOrder() : Comparator.<Double>naturalOrder());
+        final Comparator<PersonDto> nameOrder = comparing(PersonDto::getFirstName, nullsLast(CASE_INSENSITIVE_ORDER))
+            .thenComparing(PersonDto::getLastName, nullsLast(CASE_INSENSITIVE_ORDER));
+
+        switch (sortField) {
+            case "personnelNumber":
+                return comparing(PersonDto::getPersonnelNumber, textOrder).thenComparing(nameOrder);
+            case "lastName":
+                return comparing(PersonDto::getLastName, textOrder).thenComparing(PersonDto::getFirstName, textOrder);
+            case "entitlementYear":
+                return comparing(PersonDto::getEntitlementYear, numberOrder).thenComparing(nameOrder);
+            case "entitlementActual":
+                return comparing(PersonDto::getEntitlementActual, numberOrder).thenComparing(nameOrder);
+            case "entitlementRemaining":
+                return comparing(PersonDto::getEntitlementRemaining, numberOrder).thenComparing(nameOrder);
+            case "vacationDaysLeft":
+                return comparing(PersonDto::getVacationDaysLeft, numberOrder).thenComparing(nameOrder);
+            case "vacationDaysLeftRemaining":
+                return comparing(PersonDto::getVacationDaysLeftRemaining, numberOrder).thenComparing(nameOrder);
+            default:
+                return comparing(PersonDto::getFirstName, textOrder).thenComparing(PersonDto::getLastName, textOrder);
+        }
+    }
+
+    private static Double toDouble(Optional<BigDecimal> value) {
+        return value.map(BigDecimal::doubleValue).orElse(null);
+    }
 }
@@ -0,0 +1,139 @@
+package org.synyx.urlaubsverwaltung.publicholiday;
+
+import de.focus_shift.Holiday;
+import org.synyx.urlaubsverwaltung.period.DayLength;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeSettings;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.synyx.urlaubsverwaltung.period.DayLength.ZERO;
+import static org.synyx.urlaubsverwaltung.util.DateUtil.isChristmasEve;
+import static org.synyx.urlaubsverwaltung.util.DateUtil.isNewYearsEve;
+
+/**
+ * Public holidays of one federal state in one year, indexed by day of year.
+ * <p>
+ * The day length of christmas eve and new years eve depends on the {@link WorkingTimeSettings} the calendar
+ * has been built with. A calendar must not be used anymore if these settings changed,
+ * see {@link #isBuiltWith(WorkingTimeSettings)}.
+ */
+final class PublicHolidayCalendar {
+
+    private final int year;
+    private final DayLength workingDurationForChristmasEve;
+    private final DayLength workingDurationForNewYearsEve;
+
+    /**
+     * index is the day of year minus one, {@code null} if the day is no public holiday
+     */
+    private final Holiday[] holidays;
+    private final DayLength[] dayLengths;
+
+    /**
+     * days of year with a public holiday in ascending order
+     */
+    private final int[] daysOfYear;
+
+    private PublicHolidayCalendar(int year, DayLength workingDurationForChristmasEve, DayLength workingDurationForNewYearsEve,
+                                  Holiday[] holidays, DayLength[] dayLengths, int[] daysOfYear) {
+        this.year = year;
+        this.workingDurationForChristmasEve = workingDurationForChristmasEve;
+        this.workingDurationForNewYearsEve = workingDurationForNewYearsEve;
+        this.holidays = holidays;
+        this.dayLengths = dayLengths;
+        this.daysOfYear = daysOfYear;
+    }
+
+    static PublicHolidayCalendar of(int year, Set<Holiday> holidaysOfYear, WorkingTimeSettings workingTimeSettings) {
+
+        final int numberOfDays = Year.of(year).length();
+        final Holiday[] holidays = new Holiday[numberOfDays];
+        final DayLength[] dayLengths = new DayLength[numberOfDays];
+
+        final DayLength workingDurationForChristmasEve = workingTimeSettings.getWorkingDurationForChristmasEve();
+        final DayLength workingDurationForNewYearsEve = workingTimeSettings.getWorkingDurationForNewYearsEve();
+
+        for (Holiday holiday : holidaysOfYear) {
+            final LocalDate date = holiday.getDate();
+            final int index = date.getDayOfYear() - 1;
+            if (date.getYear() != year || holidays[index] != null) {
+                continue;
+            }
+
+            holidays[index] = holiday;
+            dayLengths[index] = getHolidayDayLength(date, workingDurationForChristmasEve, workingDurationForNewYearsEve);
+        }
+
+        final int[] daysOfYear = new int[holidaysOfYear.size()];
+        int count = 0;
+        for (int index = 0; index < numberOfDays; index++) {
+            if (holidays[index] != null) {
+                daysOfYear[count++] = index + 1;
+            }
+        }
+
+        return new PublicHolidayCalendar(year, workingDurationForChristmasEve, workingDurationForNewYearsEve,
+            holidays, dayLengths, Arrays.copyOf(daysOfYear, count));
+    }
+
+    int getYear() {
+        return year;
+    }
+
+    /**
+     * @param workingTimeSettings the current working time settings
+     * @return {@code true} if the day lengths of this calendar are still valid for the given settings
+     */
+    boolean isBuiltWith(WorkingTimeSettings workingTimeSettings) {
+        return workingDurationForChristmasEve == workingTimeSettings.getWorkingDurationForChristmasEve()
+            && workingDurationForNewYearsEve == workingTimeSettings.getWorkingDurationForNewYearsEve();
+    }
+
+    Optional<PublicHoliday> getPublicHoliday(LocalDate date, Locale locale) {
+        return Optional.ofNullable(toPublicHoliday(date.getDayOfYear() - 1, locale));
+    }
+
+    /**
+     * Adds the public holidays between from and to (inclusive) of this calendar year in ascending order to the given list.
+     */
+    void addPublicHolidays(LocalDate from, LocalDate to, Locale locale, List<PublicHoliday> publicHolidays) {
+        final int firstDayOfYear = from.getYear() < year ? 1 : from.getDayOfYear();
+        final int lastDayOfYear = to.getYear() > year ? holidays.length : to.getDayOfYear();
+
+        for (int dayOfYear : daysOfYear) {
+            if (dayOfYear > lastDayOfYear) {
+                break;
+            }
+            if (dayOfYear >= firstDayOfYear) {
+                publicHolidays.add(toPublicHoliday(dayOfYear - 1, locale));
+            }
+        }
+    }
+
+    private PublicHoliday toPublicHoliday(int index, Locale locale) {
+        final Holiday holiday = holidays[index];
+        if (holiday == null) {
+            return null;
+        }
+        return new PublicHoliday(holiday.getDate(), dayLengths[index], holiday.getDescription(locale));
+    }
+
+    private static DayLength getHolidayDayLength(LocalDate date, DayLength workingDurationForChristmasEve, DayLength workingDurationForNewYearsEve) {
+        final DayLength workingTime;
+        if (isChristmasEve(date)) {
+            workingTime = workingDurationForChristmasEve;
+        } else if (isNewYearsEve(date)) {
+            workingTime = workingDurationForNewYearsEve;
+        } else {
+            workingTime = ZERO;
+        }
+
+        return workingTime.getInverse();
+    }
+}
@@ -5,39 +5,52 @@ import de.focus_shift.HolidayManager;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.stereotype.Service;
-import org.synyx.urlaubsverwaltung.period.DayLength;
 import org.synyx.urlaubsverwaltung.settings.SettingsService;
 import org.synyx.urlaubsverwaltung.workingtime.FederalState;
 import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeSettings;
 
 import java.time.LocalDate;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
-import static java.util.stream.Collectors.toUnmodifiableList;
-import static org.synyx.urlaubsverwaltung.period.DayLength.FULL;
-import static org.synyx.urlaubsverwaltung.period.DayLength.ZERO;
-import static org.synyx.urlaubsverwaltung.util.DateUtil.isChristmasEve;
-import static org.synyx.urlaubsverwaltung.util.DateUtil.isNewYearsEve;
+import static java.time.Month.DECEMBER;
+import static java.util.Collections.unmodifiableList;
 
+/**
+ * Public holidays are calculated once per federal state and year by jollyday and kept as {@link PublicHolidayCalendar}.
+ * A calendar is recalculated if the working duration of christmas eve or new years eve has been changed in the settings.
+ */
 @Service
 public class PublicHolidaysServiceImpl implements PublicHolidaysService {
 
     private final Map<String, HolidayManager> holidayManagers;
     private final SettingsService settingsService;
+    private final Map<FederalState, Map<Integer, PublicHolidayCalendar>> calendars;
 
     @Autowired
     public PublicHolidaysServiceImpl(SettingsService settingsService, Map<String, HolidayManager> holidayManagers) {
         this.settingsService = settingsService;
         this.holidayManagers = holidayManagers;
+
+        this.calendars = new EnumMap<>(FederalState.class);
+        for (FederalState federalState : FederalState.values()) {
+            this.calendars.put(federalState, new ConcurrentHashMap<>());
+        }
     }
 
     @Override
     public Optional<PublicHoliday> getPublicHoliday(LocalDate date, FederalState federalState) {
-        return getPublicHolidays(date, date, federalState).stream().findFirst();
+        final WorkingTimeSettings workingTimeSettings = getWorkingTimeSettings();
+        final Locale locale = LocaleContextHolder.getLocale();
+
+        return getCalendar(date.getYear(), federalState, workingTimeSettings).getPublicHoliday(date, locale);
     }
 
     @Override
@@ -45,38 +58,33 @@ public class PublicHolidaysServiceImpl implements PublicHolidaysService {
         final WorkingTimeSettings workingTimeSettings = getWorkingTimeSettings();
         final Locale locale = LocaleContextHolder.getLocale();
 
-        return getHolidays(from, to, federalState).stream()
-            .map(holiday -> new PublicHoliday(holiday.getDate(), getHolidayDayLength(workingTimeSettings, holiday.getDate(), federalState), holiday.getDescription(locale)))
-            .collect(toUnmodifiableList());
+        final List<PublicHoliday> publicHolidays = new ArrayList<>();
+        for (int year = from.getYear(); year <= to.getYear(); year++) {
+            getCalendar(year, federalState, workingTimeSettings).addPublicHolidays(from, to, locale, publicHolidays);
+        }
+
+        return unmodifiableList(publicHolidays);
     }
 
-    private DayLength getHolidayDayLength(WorkingTimeSettings workingTimeSettings, LocalDate date, FederalState federalState) {
-        DayLength workingTime = FULL;
-        if (isPublicHoliday(date, federalState)) {
-            if (isChristmasEve(date)) {
-                workingTime = workingTimeSettings.getWorkingDurationForChristmasEve();
-            } else if (isNewYearsEve(date)) {
-                workingTime = workingTimeSettings.getWorkingDurationForNewYearsEve();
-            } else {
-                workingTime = ZERO;
-            }
+    private PublicHolidayCalendar getCalendar(int year, FederalState federalState, WorkingTimeSettings workingTimeSettings) {
+        final Map<Integer, PublicHolidayCalendar> calendarsOfFederalState = calendars.get(federalState);
+
+        final PublicHolidayCalendar calendar = calendarsOfFederalState.get(year);
+        if (calendar != null && calendar.isBuiltWith(workingTimeSettings)) {
+            return calendar;
         }
 
-        return workingTime.getInverse();
+        final PublicHolidayCalendar newCalendar = PublicHolidayCalendar.of(year, getHolidays(year, federalState), workingTimeSettings);
+        calendarsOfFederalState.put(year, newCalendar);
+        return newCalendar;
     }
 
-    private Set<Holiday> getHolidays(final LocalDate from, final LocalDate to, FederalState federalState) {
+    private Set<Holiday> getHolidays(int year, FederalState federalState) {
         return getHolidayManager(federalState)
-            .map(holidayManager -> holidayManager.getHolidays(from, to, federalState.getCodes()))
+            .map(holidayManager -> holidayManager.getHolidays(Year.of(year).atDay(1), Year.of(year).atMonth(DECEMBER).atEndOfMonth(), federalState.getCodes()))
             .orElseGet(Set::of);
     }
 
-    private boolean isPublicHoliday(LocalDate date, FederalState federalState) {
-        return getHolidayManager(federalState)
-            .map(holidayManager -> holidayManager.isHoliday(date, federalState.getCodes()))
-            .orElse(false);
-    }
-
     private Optional<HolidayManager> getHolidayManager(FederalState federalState) {
         return Optional.ofNullable(holidayManagers.get(federalState.getCountry()));
     }
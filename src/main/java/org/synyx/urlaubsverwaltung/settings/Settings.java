@@ -24,6 +24,11 @@ public class Settings {
     @GeneratedValue
     private Integer id;
 
+    /**
+     * Incremented on every save to detect changes made by other nodes, see {@link SettingsServiceImpl}.
+     */
+    private Long version;
+
     private ApplicationSettings applicationSettings;
     private AccountSettings accountSettings;
     private WorkingTimeSettings workingTimeSettings;
@@ -42,6 +47,14 @@ public class Settings {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public ApplicationSettings getApplicationSettings() {
         if (applicationSettings == null) {
             applicationSettings = new ApplicationSettings();
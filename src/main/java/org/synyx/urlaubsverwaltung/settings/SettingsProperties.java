@@ -0,0 +1,32 @@
+package org.synyx.urlaubsverwaltung.settings;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.NotNull;
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties("uv.settings")
+@Validated
+public class SettingsProperties {
+
+    /**
+     * The settings are kept in memory and are only reloaded if they were changed.
+     * Changes made on this node are visible immediately. Changes made on other nodes
+     * are detected by comparing the version of the settings at most once per this interval.
+     * <p>
+     * Default interval is ten seconds (PT10S).
+     */
+    @NotNull
+    private Duration versionCheckInterval = Duration.ofSeconds(10);
+
+    public Duration getVersionCheckInterval() {
+        return versionCheckInterval;
+    }
+
+    public void setVersionCheckInterval(Duration versionCheckInterval) {
+        this.versionCheckInterval = versionCheckInterval;
+    }
+}
@@ -1,10 +1,16 @@
 package org.synyx.urlaubsverwaltung.settings;
 
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 
+import java.util.Optional;
+
 
 /**
  * Repository for {@link Settings} entities.
  */
 public interface SettingsRepository extends CrudRepository<Settings, Integer> {
+
+    @Query("select x.version from Settings x where x.id = ?1")
+    Optional<Long> findVersionById(Integer id);
 }
@@ -1,36 +1,171 @@
 package org.synyx.urlaubsverwaltung.settings;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.synyx.urlaubsverwaltung.absence.TimeSettings;
+import org.synyx.urlaubsverwaltung.account.AccountSettings;
+import org.synyx.urlaubsverwaltung.application.settings.ApplicationSettings;
+import org.synyx.urlaubsverwaltung.calendarintegration.CalendarSettings;
+import org.synyx.urlaubsverwaltung.calendarintegration.ExchangeCalendarSettings;
+import org.synyx.urlaubsverwaltung.calendarintegration.GoogleCalendarSettings;
+import org.synyx.urlaubsverwaltung.overtime.OvertimeSettings;
+import org.synyx.urlaubsverwaltung.sicknote.settings.SickNoteSettings;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeSettings;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Optional;
 
 import static java.lang.invoke.MethodHandles.lookup;
+import static org.springframework.beans.BeanUtils.copyProperties;
 import static org.slf4j.LoggerFactory.getLogger;
 
 /**
  * Implementation for {@link org.synyx.urlaubsverwaltung.settings.SettingsService}.
+ * <p>
+ * The settings are read on nearly every request, often several times. Therefore the last loaded settings are kept
+ * in memory as snapshot. The snapshot is dropped on {@link #save(Settings)}. Changes made by other nodes are detected
+ * by comparing the version of the stored settings with the version of the snapshot, at most once per
+ * {@link SettingsProperties#getVersionCheckInterval()}.
+ * <p>
+ * The snapshot never leaves this service: every caller gets its own copy of the settings, since callers change the
+ * settings they got, e.g. to fill a form or to save a single changed value.
  */
 @Service
 public class SettingsServiceImpl implements SettingsService {
 
     private static final Logger LOG = getLogger(lookup().lookupClass());
 
+    private static final int SETTINGS_ID = 1;
+    private static final String METRIC_CACHE_GETS = "cache.gets";
+
     private final SettingsRepository settingsRepository;
+    private final SettingsProperties settingsProperties;
+    private final Clock clock;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+
+    private volatile SettingsSnapshot snapshot;
 
     @Autowired
-    public SettingsServiceImpl(SettingsRepository settingsRepository) {
+    public SettingsServiceImpl(SettingsRepository settingsRepository, SettingsProperties settingsProperties,
+                               Clock clock, MeterRegistry meterRegistry) {
         this.settingsRepository = settingsRepository;
+        this.settingsProperties = settingsProperties;
+        this.clock = clock;
+        this.cacheHits = cacheGetsCounter("hit", meterRegistry);
+        this.cacheMisses = cacheGetsCounter("miss", meterRegistry);
     }
 
     @Override
     public void save(Settings settings) {
+        snapshot = null;
+
+        final Integer id = settings.getId() == null ? SETTINGS_ID : settings.getId();
+        final long currentVersion = settingsRepository.findVersionById(id).orElse(0L);
+        settings.setVersion(currentVersion + 1);
         settingsRepository.save(settings);
+
+        // a concurrent read could have cached the settings that were valid before saving
+        snapshot = null;
         LOG.info("Updated settings: {}", settings);
     }
 
     @Override
     public Settings getSettings() {
-        return settingsRepository.findById(1)
+        final SettingsSnapshot currentSnapshot = snapshot;
+        final Instant now = Instant.now(clock);
+
+        if (currentSnapshot != null) {
+            if (!currentSnapshot.isVersionCheckDue(now, settingsProperties)) {
+                cacheHits.increment();
+                return copyOf(currentSnapshot.getSettings());
+            }
+
+            final Optional<Long> storedVersion = settingsRepository.findVersionById(SETTINGS_ID);
+            if (storedVersion.isPresent() && Objects.equals(storedVersion.get(), currentSnapshot.getSettings().getVersion())) {
+                snapshot = currentSnapshot.checkedAt(now);
+                cacheHits.increment();
+                return copyOf(currentSnapshot.getSettings());
+            }
+        }
+
+        cacheMisses.increment();
+
+        final Settings settings = settingsRepository.findById(SETTINGS_ID)
             .orElseThrow(() -> new IllegalStateException("No settings in database found."));
+        snapshot = new SettingsSnapshot(copyOf(settings), now);
+
+        LOG.debug("Loaded settings with version {}", settings.getVersion());
+        return settings;
+    }
+
+    /**
+     * @return a deep copy of the given settings, the embedded settings consist of immutable values only
+     */
+    @SuppressWarnings("removal")
+    private static Settings copyOf(Settings settings) {
+
+        final Settings copy = new Settings();
+        copy.setId(settings.getId());
+        copy.setVersion(settings.getVersion());
+        copy.setApplicationSettings(copy(settings.getApplicationSettings(), new ApplicationSettings()));
+        copy.setAccountSettings(copy(settings.getAccountSettings(), new AccountSettings()));
+        // the working days are derived from the day lengths, setting them would drop half days
+        copy.setWorkingTimeSettings(copy(settings.getWorkingTimeSettings(), new WorkingTimeSettings(), "workingDays"));
+        copy.setOvertimeSettings(copy(settings.getOvertimeSettings(), new OvertimeSettings()));
+        copy.setTimeSettings(copy(settings.getTimeSettings(), new TimeSettings()));
+        copy.setSickNoteSettings(copy(settings.getSickNoteSettings(), new SickNoteSettings()));
+
+        final CalendarSettings calendarSettings = settings.getCalendarSettings();
+        final CalendarSettings calendarSettingsCopy = copy(calendarSettings, new CalendarSettings(), "googleCalendarSettings", "exchangeCalendarSettings");
+        calendarSettingsCopy.setGoogleCalendarSettings(copy(calendarSettings.getGoogleCalendarSettings(), new GoogleCalendarSettings()));
+        calendarSettingsCopy.setExchangeCalendarSettings(copy(calendarSettings.getExchangeCalendarSettings(), new ExchangeCalendarSettings()));
+        copy.setCalendarSettings(calendarSettingsCopy);
+
+        return copy;
+    }
+
+    private static <T> T copy(T source, T target, String... ignoreProperties) {
+        copyProperties(source, target, ignoreProperties);
+        return target;
+    }
+
+    private static Counter cacheGetsCounter(String result, MeterRegistry meterRegistry) {
+        return Counter.builder(METRIC_CACHE_GETS)
+            .tag("cache", "settings")
+            .tag("result", result)
+            .description("the number of times the settings were requested from memory (hit) or from the database (miss)")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Settings loaded at a point in time. The settings of a snapshot are never handed out, only copies of them.
+     */
+    private static final class SettingsSnapshot {
+
+        private final Settings settings;
+        private final Instant lastVersionCheck;
+
+        private SettingsSnapshot(Settings settings, Instant lastVersionCheck) {
+            this.settings = settings;
+            this.lastVersionCheck = lastVersionCheck;
+        }
+
+        private Settings getSettings() {
+            return settings;
+        }
+
+        private boolean isVersionCheckDue(Instant now, SettingsProperties settingsProperties) {
+            return !now.isBefore(lastVersionCheck.plus(settingsProperties.getVersionCheckInterval()));
+        }
+
+        private SettingsSnapshot checkedAt(Instant now) {
+            return new SettingsSnapshot(settings, now);
+        }
     }
 }
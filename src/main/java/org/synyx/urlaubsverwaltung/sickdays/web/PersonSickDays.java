@@ -0,0 +1,44 @@
+package org.synyx.urlaubsverwaltung.sickdays.web;
+
+import org.synyx.urlaubsverwaltung.person.Person;
+
+/**
+ * Sick days and child sick days of a person within the period of the sick days overview.
+ */
+public class PersonSickDays {
+
+    private final Person person;
+    private final String personnelNumber;
+    private final SickDays sickDays = new SickDays();
+    private final SickDays childSickDays = new SickDays();
+
+    PersonSickDays(Person person, String personnelNumber) {
+        this.person = person;
+        this.personnelNumber = personnelNumber;
+    }
+
+    public Person getPerson() {
+        return person;
+    }
+
+    public String getPersonnelNumber() {
+        return personnelNumber;
+    }
+
+    public SickDays getSickDays() {
+        return sickDays;
+    }
+
+    public SickDays getChildSickDays() {
+        return childSickDays;
+    }
+
+    @Override
+    public String toString() {
+        return "PersonSickDays{" +
+            "person=" + person +
+            ", sickDays=" + sickDays +
+            ", childSickDays=" + childSickDays +
+            '}';
+    }
+}
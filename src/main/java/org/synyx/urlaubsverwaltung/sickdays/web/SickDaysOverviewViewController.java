@@ -4,6 +4,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.util.StringUtils;
 import org.springframework.validation.Errors;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
@@ -11,7 +12,6 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
-import org.synyx.urlaubsverwaltung.period.DayLength;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonService;
 import org.synyx.urlaubsverwaltung.person.basedata.PersonBasedata;
@@ -20,19 +20,20 @@ import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNote;
 import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteService;
 import org.synyx.urlaubsverwaltung.web.DateFormatAware;
 import org.synyx.urlaubsverwaltung.web.FilterPeriod;
+import org.synyx.urlaubsverwaltung.workingtime.WorkDaysCountRequest;
 import org.synyx.urlaubsverwaltung.workingtime.WorkDaysCountService;
 
 import java.math.BigDecimal;
 import java.time.Clock;
 import java.time.LocalDate;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 import static java.util.stream.Collectors.toList;
-import static org.springframework.util.StringUtils.hasText;
 import static org.synyx.urlaubsverwaltung.security.SecurityRules.IS_OFFICE;
 import static org.synyx.urlaubsverwaltung.sickdays.web.SickDays.SickDayType.TOTAL;
 import static org.synyx.urlaubsverwaltung.sickdays.web.SickDays.SickDayType.WITH_AUB;
@@ -101,58 +102,63 @@ public class SickDaysOverviewViewController {
         model.addAttribute("period", period);
 
         final List<Person> persons = personService.getActivePersons();
-        final Map<Integer, String> personnelNumberOfPersons = persons.stream().map(person -> personBasedataService.getBasedataByPersonId(person.getId()))
-            .filter(Optional::isPresent)
-            .map(Optional::get)
-            .filter(personBasedata -> hasText(personBasedata.getPersonnelNumber()))
-            .collect(Collectors.toMap(PersonBasedata::getPersonId, PersonBasedata::getPersonnelNumber));
-
-        final List<SickNote> sickNotesOfActivePersons = sickNotes.stream()
-            .filter(sickNote -> persons.contains(sickNote.getPerson()) && sickNote.isActive())
-            .collect(toList());
-
-        final Map<Person, SickDays> sickDays = new HashMap<>();
-        final Map<Person, SickDays> childSickDays = new HashMap<>();
+        final List<Integer> personIds = persons.stream().map(Person::getId).collect(toList());
+        final Map<Integer, PersonBasedata> basedataByPersonId = personBasedataService.getBasedataByPersonIds(personIds);
 
+        final Map<Person, PersonSickDays> sickDaysByPerson = new LinkedHashMap<>();
         for (Person person : persons) {
-            sickDays.put(person, new SickDays());
-            childSickDays.put(person, new SickDays());
+            final String personnelNumber = Optional.ofNullable(basedataByPersonId.get(person.getId()))
+                .map(PersonBasedata::getPersonnelNumber)
+                .filter(StringUtils::hasText)
+                .orElse(null);
+            sickDaysByPerson.put(person, new PersonSickDays(person, personnelNumber));
         }
 
-        for (SickNote sickNote : sickNotesOfActivePersons) {
-
-            final Person person = sickNote.getPerson();
+        calculateSickDays(period, sickNotes, sickDaysByPerson);
 
-            if (sickNote.getSickNoteType().isOfCategory(SICK_NOTE_CHILD)) {
-                calculateSickDays(period, childSickDays, sickNote, person);
-            } else {
-                calculateSickDays(period, sickDays, sickNote, person);
-            }
-        }
+        final List<PersonSickDays> personsSickDays = new ArrayList<>(sickDaysByPerson.values());
+        model.addAttribute("personsSickDays", personsSickDays);
+        model.addAttribute("showPersonnelNumberColumn", personsSickDays.stream().anyMatch(personSickDays -> personSickDays.getPersonnelNumber() != null));
+    }
 
-        model.addAttribute("sickDays", sickDays);
-        model.addAttribute("childSickDays", childSickDays);
-        model.addAttribute("persons", persons);
+    /**
+     * Adds the work days of the given active sick notes of active persons within the period to the sick days of the
+     * persons. The work days of all sick notes and their AUB periods are counted at once.
+     */
+    private void calculateSickDays(FilterPeriod period, List<SickNote> sickNotes, Map<Person, PersonSickDays> sickDaysByPerson) {
 
-        model.addAttribute("showPersonnelNumberColumn", !personnelNumberOfPersons.isEmpty());
-        model.addAttribute("personnelNumberOfPersons", personnelNumberOfPersons);
-    }
+        final List<SickNote> sickNotesOfActivePersons = sickNotes.stream()
+            .filter(sickNote -> sickNote.isActive() && sickDaysByPerson.containsKey(sickNote.getPerson()))
+            .collect(toList());
 
-    private void calculateSickDays(FilterPeriod period, Map<Person, SickDays> sickDays, SickNote sickNote, Person person) {
+        final List<WorkDaysCountRequest> requests = new ArrayList<>();
+        for (SickNote sickNote : sickNotesOfActivePersons) {
+            requests.add(workDaysCountRequest(sickNote, sickNote.getStartDate(), sickNote.getEndDate(), period));
+            if (sickNote.isAubPresent()) {
+                requests.add(workDaysCountRequest(sickNote, sickNote.getAubStartDate(), sickNote.getAubEndDate(), period));
+            }
+        }
 
-        final DayLength dayLength = sickNote.getDayLength();
+        final Map<WorkDaysCountRequest, BigDecimal> workDaysByRequest = workDaysCountService.getWorkDaysCount(requests);
 
-        final LocalDate startDate = sickNote.getStartDate().isBefore(period.getStartDate()) ? period.getStartDate() : sickNote.getStartDate();
-        final LocalDate endDate = sickNote.getEndDate().isAfter(period.getEndDate()) ? period.getEndDate() : sickNote.getEndDate();
-        final BigDecimal workDays = workDaysCountService.getWorkDaysCount(dayLength, startDate, endDate, person);
-        sickDays.get(person).addDays(TOTAL, workDays);
+        final Iterator<WorkDaysCountRequest> requestIterator = requests.iterator();
+        for (SickNote sickNote : sickNotesOfActivePersons) {
 
-        if (sickNote.isAubPresent()) {
-            final LocalDate startDateAub = sickNote.getAubStartDate().isBefore(period.getStartDate()) ? period.getStartDate() : sickNote.getAubStartDate();
-            final LocalDate endDateAub = sickNote.getAubEndDate().isAfter(period.getEndDate()) ? period.getEndDate() : sickNote.getAubEndDate();
+            final PersonSickDays personSickDays = sickDaysByPerson.get(sickNote.getPerson());
+            final SickDays sickDays = sickNote.getSickNoteType().isOfCategory(SICK_NOTE_CHILD)
+                ? personSickDays.getChildSickDays()
+                : personSickDays.getSickDays();
 
-            final BigDecimal workDaysWithAUB = workDaysCountService.getWorkDaysCount(dayLength, startDateAub, endDateAub, person);
-            sickDays.get(person).addDays(WITH_AUB, workDaysWithAUB);
+            sickDays.addDays(TOTAL, workDaysByRequest.get(requestIterator.next()));
+            if (sickNote.isAubPresent()) {
+                sickDays.addDays(WITH_AUB, workDaysByRequest.get(requestIterator.next()));
+            }
         }
     }
+
+    private static WorkDaysCountRequest workDaysCountRequest(SickNote sickNote, LocalDate from, LocalDate to, FilterPeriod period) {
+        final LocalDate startDate = from.isBefore(period.getStartDate()) ? period.getStartDate() : from;
+        final LocalDate endDate = to.isAfter(period.getEndDate()) ? period.getEndDate() : to;
+        return new WorkDaysCountRequest(sickNote.getPerson(), sickNote.getDayLength(), startDate, endDate);
+    }
 }
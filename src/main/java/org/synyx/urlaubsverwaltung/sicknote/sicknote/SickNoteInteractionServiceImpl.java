@@ -4,22 +4,15 @@ import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.synyx.urlaubsverwaltung.absence.Absence;
-import org.synyx.urlaubsverwaltung.absence.AbsenceTimeConfiguration;
-import org.synyx.urlaubsverwaltung.absence.TimeSettings;
 import org.synyx.urlaubsverwaltung.application.application.Application;
 import org.synyx.urlaubsverwaltung.application.application.ApplicationInteractionService;
-import org.synyx.urlaubsverwaltung.calendarintegration.AbsenceMapping;
-import org.synyx.urlaubsverwaltung.calendarintegration.AbsenceMappingService;
-import org.synyx.urlaubsverwaltung.calendarintegration.CalendarSyncService;
+import org.synyx.urlaubsverwaltung.calendarintegration.CalendarSyncDispatcher;
 import org.synyx.urlaubsverwaltung.person.Person;
-import org.synyx.urlaubsverwaltung.settings.SettingsService;
 import org.synyx.urlaubsverwaltung.sicknote.comment.SickNoteCommentAction;
 import org.synyx.urlaubsverwaltung.sicknote.comment.SickNoteCommentService;
 
 import java.time.Clock;
 import java.time.LocalDate;
-import java.util.Optional;
 
 import static java.lang.invoke.MethodHandles.lookup;
 import static org.slf4j.LoggerFactory.getLogger;
@@ -42,22 +35,18 @@ class SickNoteInteractionServiceImpl implements SickNoteInteractionService {
     private final SickNoteService sickNoteService;
     private final SickNoteCommentService commentService;
     private final ApplicationInteractionService applicationInteractionService;
-    private final CalendarSyncService calendarSyncService;
-    private final AbsenceMappingService absenceMappingService;
-    private final SettingsService settingsService;
+    private final CalendarSyncDispatcher calendarSyncDispatcher;
     private final Clock clock;
 
     @Autowired
     SickNoteInteractionServiceImpl(SickNoteService sickNoteService, SickNoteCommentService commentService,
-                                          ApplicationInteractionService applicationInteractionService, CalendarSyncService calendarSyncService,
-                                          AbsenceMappingService absenceMappingService, SettingsService settingsService, Clock clock) {
+                                          ApplicationInteractionService applicationInteractionService,
+                                          CalendarSyncDispatcher calendarSyncDispatcher, Clock clock) {
 
         this.sickNoteService = sickNoteService;
         this.commentService = commentService;
         this.applicationInteractionService = applicationInteractionService;
-        this.calendarSyncService = calendarSyncService;
-        this.absenceMappingService = absenceMappingService;
-        this.settingsService = settingsService;
+        this.calendarSyncDispatcher = calendarSyncDispatcher;
         this.clock = clock;
     }
 
@@ -94,7 +83,7 @@ class SickNoteInteractionServiceImpl implements SickNoteInteractionService {
         LOG.info("Updated sick note: {}", sickNote);
 
         commentService.create(sickNote, EDITED, editor, comment);
-        updateAbsence(sickNote);
+        updateCalendar(sickNote);
 
         return sickNote;
     }
@@ -110,19 +99,7 @@ class SickNoteInteractionServiceImpl implements SickNoteInteractionService {
         applicationInteractionService.createFromConvertedSickNote(application, converter);
         LOG.info("Converted sick note to vacation: {}", sickNote);
 
-        if (calendarSyncService.isRealProviderConfigured()) {
-            final Optional<AbsenceMapping> absenceMapping = absenceMappingService.getAbsenceByIdAndType(sickNote.getId(), SICKNOTE);
-            if (absenceMapping.isPresent()) {
-                final String eventId = absenceMapping.get().getEventId();
-                final TimeSettings timeSettings = getTimeSettings();
-
-                calendarSyncService.update(new Absence(application.getPerson(), application.getPeriod(),
-                    new AbsenceTimeConfiguration(timeSettings)), eventId);
-
-                absenceMappingService.delete(absenceMapping.get());
-                absenceMappingService.create(application.getId(), VACATION, eventId);
-            }
-        }
+        calendarSyncDispatcher.dispatchMove(sickNote.getId(), SICKNOTE, application.getId(), VACATION, application.getPerson(), application.getPeriod());
 
         return sickNote;
     }
@@ -136,39 +113,13 @@ class SickNoteInteractionServiceImpl implements SickNoteInteractionService {
 
         commentService.create(sickNote, SickNoteCommentAction.CANCELLED, canceller);
 
-        final Optional<AbsenceMapping> absenceMapping = absenceMappingService.getAbsenceByIdAndType(sickNote.getId(), SICKNOTE);
-        if (absenceMapping.isPresent()) {
-            calendarSyncService.deleteAbsence(absenceMapping.get().getEventId());
-            absenceMappingService.delete(absenceMapping.get());
-        }
+        calendarSyncDispatcher.dispatchDelete(sickNote.getId(), SICKNOTE);
 
         return sickNote;
     }
 
-    private void updateAbsence(SickNote sickNote) {
-
-        if (calendarSyncService.isRealProviderConfigured()) {
-            final Optional<AbsenceMapping> absenceMapping = absenceMappingService.getAbsenceByIdAndType(sickNote.getId(), SICKNOTE);
-            if (absenceMapping.isPresent()) {
-                final AbsenceTimeConfiguration timeConfiguration = new AbsenceTimeConfiguration(getTimeSettings());
-                calendarSyncService.update(new Absence(sickNote.getPerson(), sickNote.getPeriod(),
-                    timeConfiguration), absenceMapping.get().getEventId());
-            }
-        }
-    }
-
     private void updateCalendar(SickNote sickNote) {
-
-        if (calendarSyncService.isRealProviderConfigured()) {
-            final AbsenceTimeConfiguration timeConfiguration = new AbsenceTimeConfiguration(getTimeSettings());
-            final Absence absence = new Absence(sickNote.getPerson(), sickNote.getPeriod(), timeConfiguration);
-            calendarSyncService.addAbsence(absence)
-                .ifPresent(eventId -> absenceMappingService.create(sickNote.getId(), SICKNOTE, eventId));
-        }
-    }
-
-    private TimeSettings getTimeSettings() {
-        return settingsService.getSettings().getTimeSettings();
+        calendarSyncDispatcher.dispatchSync(sickNote.getId(), SICKNOTE, sickNote.getPerson(), sickNote.getPeriod());
     }
 
     private void saveSickNote(SickNote sickNote) {
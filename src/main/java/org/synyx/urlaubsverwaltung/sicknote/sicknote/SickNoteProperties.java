@@ -6,6 +6,8 @@ import org.springframework.validation.annotation.Validated;
 import org.synyx.urlaubsverwaltung.validation.CronExpression;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import java.time.Duration;
 
 @Component
 @ConfigurationProperties("uv.sick-note")
@@ -15,6 +17,9 @@ public class SickNoteProperties {
     @Valid
     private EndOfPayNotification endOfPayNotification = new EndOfPayNotification();
 
+    @Valid
+    private Statistics statistics = new Statistics();
+
     public EndOfPayNotification getEndOfPayNotification() {
         return endOfPayNotification;
     }
@@ -23,6 +28,14 @@ public class SickNoteProperties {
         this.endOfPayNotification = endOfPayNotification;
     }
 
+    public Statistics getStatistics() {
+        return statistics;
+    }
+
+    public void setStatistics(Statistics statistics) {
+        this.statistics = statistics;
+    }
+
     public static class EndOfPayNotification {
 
         /**
@@ -39,5 +52,25 @@ public class SickNoteProperties {
             this.cron = cron;
         }
     }
-}
 
+    public static class Statistics {
+
+        /**
+         * The sick note statistics are kept in memory per year. Changes made on this node evict them immediately.
+         * Changes made on other nodes are visible after the statistics are calculated again at the latest
+         * after this duration.
+         * <p>
+         * Default duration is five minutes (PT5M).
+         */
+        @NotNull
+        private Duration cacheTimeToLive = Duration.ofMinutes(5);
+
+        public Duration getCacheTimeToLive() {
+            return cacheTimeToLive;
+        }
+
+        public void setCacheTimeToLive(Duration cacheTimeToLive) {
+            this.cacheTimeToLive = cacheTimeToLive;
+        }
+    }
+}
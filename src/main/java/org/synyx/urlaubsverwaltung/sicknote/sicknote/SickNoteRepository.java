@@ -28,11 +28,11 @@ interface SickNoteRepository extends CrudRepository<SickNote, Integer> {
     List<SickNote> findByPeriod(LocalDate startDate, LocalDate endDate);
 
     // NOTE: Following methods are to create statistic
-    @Query("SELECT x FROM SickNote x WHERE (YEAR(x.startDate) = ?1 OR YEAR(x.endDate) = ?1) AND x.status = 'ACTIVE'")
-    List<SickNote> findAllActiveByYear(int year);
+    @Query("SELECT x FROM SickNote x WHERE x.status = 'ACTIVE' AND x.startDate <= ?2 AND x.endDate >= ?1")
+    List<SickNote> findAllActiveByPeriod(LocalDate from, LocalDate to);
 
-    @Query("SELECT COUNT(DISTINCT x.person) FROM SickNote x WHERE YEAR(x.startDate) = ?1 OR YEAR(x.endDate) = ?1 AND x.status = 'ACTIVE'")
-    Long findNumberOfPersonsWithMinimumOneSickNote(int year);
+    @Query("SELECT COUNT(DISTINCT x.person) FROM SickNote x WHERE x.status = 'ACTIVE' AND x.startDate <= ?2 AND x.endDate >= ?1")
+    Long findNumberOfPersonsWithMinimumOneSickNote(LocalDate from, LocalDate to);
 
     // NOTE: Only needed to send email after certain duration of a sick note
     @Query("SELECT x " +
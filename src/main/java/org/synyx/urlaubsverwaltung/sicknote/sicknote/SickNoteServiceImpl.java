@@ -1,6 +1,7 @@
 package org.synyx.urlaubsverwaltung.sicknote.sicknote;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.settings.Settings;
@@ -9,10 +10,13 @@ import org.synyx.urlaubsverwaltung.sicknote.settings.SickNoteSettings;
 
 import java.time.Clock;
 import java.time.LocalDate;
+import java.time.Year;
 import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import static org.synyx.urlaubsverwaltung.util.DateUtil.getLastDayOfYear;
+
 /**
  * Implementation for {@link SickNoteService}.
  */
@@ -21,18 +25,22 @@ class SickNoteServiceImpl implements SickNoteService {
 
     private final SickNoteRepository sickNoteRepository;
     private final SettingsService settingsService;
+    private final ApplicationEventPublisher applicationEventPublisher;
     private final Clock clock;
 
     @Autowired
-    SickNoteServiceImpl(SickNoteRepository sickNoteRepository, SettingsService settingsService, Clock clock) {
+    SickNoteServiceImpl(SickNoteRepository sickNoteRepository, SettingsService settingsService,
+                        ApplicationEventPublisher applicationEventPublisher, Clock clock) {
         this.sickNoteRepository = sickNoteRepository;
         this.settingsService = settingsService;
+        this.applicationEventPublisher = applicationEventPublisher;
         this.clock = clock;
     }
 
     @Override
     public void save(SickNote sickNote) {
         sickNoteRepository.save(sickNote);
+        applicationEventPublisher.publishEvent(new SickNoteUpdatedEvent(this, sickNote.getId()));
     }
 
     @Override
@@ -65,12 +73,12 @@ class SickNoteServiceImpl implements SickNoteService {
 
     @Override
     public List<SickNote> getAllActiveByYear(int year) {
-        return sickNoteRepository.findAllActiveByYear(year);
+        return sickNoteRepository.findAllActiveByPeriod(Year.of(year).atDay(1), getLastDayOfYear(year));
     }
 
     @Override
     public Long getNumberOfPersonsWithMinimumOneSickNote(int year) {
-        return sickNoteRepository.findNumberOfPersonsWithMinimumOneSickNote(year);
+        return sickNoteRepository.findNumberOfPersonsWithMinimumOneSickNote(Year.of(year).atDay(1), getLastDayOfYear(year));
     }
 
     @Override
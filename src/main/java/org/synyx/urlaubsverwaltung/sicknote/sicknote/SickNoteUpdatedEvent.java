@@ -0,0 +1,20 @@
+package org.synyx.urlaubsverwaltung.sicknote.sicknote;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published whenever a {@link SickNote} has been saved, e.g. it has been created, edited or cancelled.
+ */
+public class SickNoteUpdatedEvent extends ApplicationEvent {
+
+    private final Integer sickNoteId;
+
+    public SickNoteUpdatedEvent(Object source, Integer sickNoteId) {
+        super(source);
+        this.sickNoteId = sickNoteId;
+    }
+
+    public Integer getSickNoteId() {
+        return sickNoteId;
+    }
+}
@@ -1,18 +1,7 @@
 package org.synyx.urlaubsverwaltung.sicknote.statistics;
 
-import org.springframework.util.Assert;
-import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNote;
-import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteService;
-import org.synyx.urlaubsverwaltung.workingtime.WorkDaysCountService;
-
 import java.math.BigDecimal;
-import java.time.Clock;
 import java.time.LocalDate;
-import java.time.Year;
-import java.util.List;
-
-import static java.time.temporal.TemporalAdjusters.firstDayOfYear;
-import static java.time.temporal.TemporalAdjusters.lastDayOfYear;
 
 /**
  * A statistic containing information about sick notes of a year.
@@ -25,16 +14,13 @@ public class SickNoteStatistics {
     private final BigDecimal totalNumberOfSickDays;
     private final Long numberOfPersonsWithMinimumOneSickNote;
 
-    SickNoteStatistics(Clock clock, SickNoteService sickNoteService, WorkDaysCountService calendarService) {
-
-        this.year = Year.now(clock).getValue();
-        this.numberOfPersonsWithMinimumOneSickNote = sickNoteService.getNumberOfPersonsWithMinimumOneSickNote(year);
-        this.created = LocalDate.now(clock);
-
-        List<SickNote> sickNotes = sickNoteService.getAllActiveByYear(year);
-
-        this.totalNumberOfSickNotes = sickNotes.size();
-        this.totalNumberOfSickDays = calculateTotalNumberOfSickDays(calendarService, sickNotes);
+    SickNoteStatistics(int year, LocalDate created, int totalNumberOfSickNotes, BigDecimal totalNumberOfSickDays,
+                       Long numberOfPersonsWithMinimumOneSickNote) {
+        this.year = year;
+        this.created = created;
+        this.totalNumberOfSickNotes = totalNumberOfSickNotes;
+        this.totalNumberOfSickDays = totalNumberOfSickDays;
+        this.numberOfPersonsWithMinimumOneSickNote = numberOfPersonsWithMinimumOneSickNote;
     }
 
     public int getTotalNumberOfSickNotes() {
@@ -70,40 +56,6 @@ public class SickNoteStatistics {
         }
     }
 
-    private BigDecimal calculateTotalNumberOfSickDays(WorkDaysCountService calendarService, List<SickNote> sickNotes) {
-
-        BigDecimal numberOfSickDays = BigDecimal.ZERO;
-        for (SickNote sickNote : sickNotes) {
-            final LocalDate sickNoteStartDate = sickNote.getStartDate();
-            final LocalDate sickNoteEndDate = sickNote.getEndDate();
-
-            LocalDate startDate;
-            LocalDate endDate;
-
-            Assert.isTrue(sickNoteStartDate.getYear() == this.year || sickNoteEndDate.getYear() == this.year,
-                "Start date OR end date of the sick note must be in the year " + this.year);
-
-            if (sickNoteStartDate.getYear() == this.year) {
-                startDate = sickNoteStartDate;
-            } else {
-                startDate = sickNoteEndDate.with(firstDayOfYear());
-            }
-
-            if (sickNoteEndDate.getYear() == this.year) {
-                endDate = sickNoteEndDate;
-            } else {
-                endDate = sickNoteStartDate.with(lastDayOfYear());
-            }
-
-            BigDecimal workDays = calendarService.getWorkDaysCount(sickNote.getDayLength(), startDate, endDate,
-                sickNote.getPerson());
-
-            numberOfSickDays = numberOfSickDays.add(workDays);
-        }
-
-        return numberOfSickDays;
-    }
-
     @Override
     public String toString() {
         return "SickNoteStatistics{" +
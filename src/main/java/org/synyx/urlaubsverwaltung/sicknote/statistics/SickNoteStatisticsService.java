@@ -1,30 +1,187 @@
 package org.synyx.urlaubsverwaltung.sicknote.statistics;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNote;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteProperties;
 import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteService;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteUpdatedEvent;
+import org.synyx.urlaubsverwaltung.workingtime.WorkDaysCountRequest;
 import org.synyx.urlaubsverwaltung.workingtime.WorkDaysCountService;
 
+import java.math.BigDecimal;
 import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+import static org.synyx.urlaubsverwaltung.util.DateUtil.getLastDayOfYear;
 
 /**
  * Service for creating {@link SickNoteStatistics}.
+ * <p>
+ * The statistics are cached per year. The statistics of past years are only calculated again if a sick note of that
+ * year is changed on this node. The statistics of the current and future years are calculated again after every change
+ * of a sick note and on the next day, since changes of working times or public holidays affect the number of sick days
+ * as well. Every cached statistic expires after {@link SickNoteProperties.Statistics#getCacheTimeToLive()}, so that
+ * changes made on other nodes become visible, and at most {@link #MAX_CACHED_YEARS} years are cached.
  */
 @Service
 @Transactional
 public class SickNoteStatisticsService {
 
+    static final int MAX_CACHED_YEARS = 10;
+
+    private final Map<Integer, CachedStatistics> statisticsByYear = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
     private final SickNoteService sickNoteService;
     private final WorkDaysCountService workDaysCountService;
+    private final SickNoteProperties sickNoteProperties;
+    private final Clock clock;
 
     @Autowired
-    SickNoteStatisticsService(SickNoteService sickNoteService, WorkDaysCountService workDaysCountService) {
+    SickNoteStatisticsService(SickNoteService sickNoteService, WorkDaysCountService workDaysCountService,
+                              SickNoteProperties sickNoteProperties, Clock clock) {
         this.sickNoteService = sickNoteService;
         this.workDaysCountService = workDaysCountService;
+        this.sickNoteProperties = sickNoteProperties;
+        this.clock = clock;
+    }
+
+    /**
+     * @param year to get the statistics of
+     * @return the cached statistics of the given year or newly calculated ones if there are no valid cached statistics
+     */
+    SickNoteStatistics getStatistics(int year) {
+
+        final Instant now = Instant.now(clock);
+        final LocalDate today = LocalDate.now(clock);
+
+        final CachedStatistics cachedStatistics = statisticsByYear.get(year);
+        if (cachedStatistics != null && !cachedStatistics.isExpired(now, sickNoteProperties.getStatistics().getCacheTimeToLive())
+            && (year < today.getYear() || cachedStatistics.isCreatedOn(today))) {
+            return cachedStatistics.statistics;
+        }
+
+        final long currentGeneration = generation.get();
+        final CachedStatistics calculatedStatistics = calculateStatistics(year, now, today);
+        if (generation.get() == currentGeneration) {
+            cache(year, calculatedStatistics);
+        }
+
+        return calculatedStatistics.statistics;
+    }
+
+    @EventListener
+    public void handleSickNoteUpdated(SickNoteUpdatedEvent event) {
+
+        final Integer sickNoteId = event.getSickNoteId();
+        final Set<Integer> yearsOfSickNote = sickNoteService.getById(sickNoteId)
+            .map(sickNote -> IntStream.rangeClosed(sickNote.getStartDate().getYear(), sickNote.getEndDate().getYear()).boxed().collect(toSet()))
+            .orElse(Set.of());
+
+        evict(sickNoteId, yearsOfSickNote);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(sickNoteId, yearsOfSickNote);
+                }
+            });
+        }
+    }
+
+    /**
+     * Evicts the statistics of the current and future years and of all past years the given sick note belongs or
+     * belonged to. Statistics which are calculated concurrently will not be cached.
+     */
+    private void evict(Integer sickNoteId, Set<Integer> yearsOfSickNote) {
+
+        final int currentYear = Year.now(clock).getValue();
+
+        generation.incrementAndGet();
+        statisticsByYear.entrySet().removeIf(entry -> entry.getKey() >= currentYear
+            || yearsOfSickNote.contains(entry.getKey())
+            || entry.getValue().sickNoteIds.contains(sickNoteId));
     }
 
-    SickNoteStatistics createStatistics(Clock clock) {
-        return new SickNoteStatistics(clock, sickNoteService, workDaysCountService);
+    /**
+     * Caches the given statistics and removes the statistics which were calculated first if the cache would exceed
+     * {@link #MAX_CACHED_YEARS} years otherwise.
+     */
+    private void cache(int year, CachedStatistics statistics) {
+
+        statisticsByYear.put(year, statistics);
+
+        while (statisticsByYear.size() > MAX_CACHED_YEARS) {
+            statisticsByYear.entrySet().stream()
+                .filter(entry -> entry.getKey() != year)
+                .min(Comparator.comparing(entry -> entry.getValue().calculatedAt))
+                .ifPresent(entry -> statisticsByYear.remove(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    private CachedStatistics calculateStatistics(int year, Instant now, LocalDate today) {
+
+        final LocalDate firstDayOfYear = Year.of(year).atDay(1);
+        final LocalDate lastDayOfYear = getLastDayOfYear(year);
+
+        final List<SickNote> sickNotes = sickNoteService.getAllActiveByYear(year);
+
+        final List<WorkDaysCountRequest> requests = sickNotes.stream()
+            .map(sickNote -> new WorkDaysCountRequest(sickNote.getPerson(), sickNote.getDayLength(),
+                sickNote.getStartDate().isBefore(firstDayOfYear) ? firstDayOfYear : sickNote.getStartDate(),
+                sickNote.getEndDate().isAfter(lastDayOfYear) ? lastDayOfYear : sickNote.getEndDate()))
+            .collect(toList());
+
+        final Map<WorkDaysCountRequest, BigDecimal> workDaysCountByRequest = workDaysCountService.getWorkDaysCount(requests);
+        final BigDecimal totalNumberOfSickDays = requests.stream()
+            .map(workDaysCountByRequest::get)
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        final Long numberOfPersonsWithMinimumOneSickNote = sickNoteService.getNumberOfPersonsWithMinimumOneSickNote(year);
+
+        final SickNoteStatistics statistics = new SickNoteStatistics(year, today, sickNotes.size(), totalNumberOfSickDays,
+            numberOfPersonsWithMinimumOneSickNote);
+        final Set<Integer> sickNoteIds = sickNotes.stream().map(SickNote::getId).collect(toSet());
+
+        return new CachedStatistics(statistics, sickNoteIds, now);
+    }
+
+    private static final class CachedStatistics {
+
+        private final SickNoteStatistics statistics;
+        private final Set<Integer> sickNoteIds;
+        private final Instant calculatedAt;
+
+        private CachedStatistics(SickNoteStatistics statistics, Set<Integer> sickNoteIds, Instant calculatedAt) {
+            this.statistics = statistics;
+            this.sickNoteIds = sickNoteIds;
+            this.calculatedAt = calculatedAt;
+        }
+
+        private boolean isExpired(Instant now, Duration timeToLive) {
+            return !now.isBefore(calculatedAt.plus(timeToLive));
+        }
+
+        private boolean isCreatedOn(LocalDate date) {
+            return statistics.getCreated().equals(date);
+        }
     }
 }
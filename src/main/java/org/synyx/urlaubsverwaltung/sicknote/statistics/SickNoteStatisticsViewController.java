@@ -10,7 +10,6 @@ import org.springframework.web.bind.annotation.RequestParam;
 
 import java.time.Clock;
 import java.time.Year;
-import java.time.ZonedDateTime;
 
 import static org.synyx.urlaubsverwaltung.security.SecurityRules.IS_OFFICE;
 
@@ -34,18 +33,11 @@ class SickNoteStatisticsViewController {
     @GetMapping("/sicknote/statistics")
     public String sickNotesStatistics(@RequestParam(value = "year", required = false) Integer requestedYear, Model model) {
 
-        final Clock clockOfRequestedYear = getClockOfRequestedYear(requestedYear);
-        final SickNoteStatistics statistics = statisticsService.createStatistics(clockOfRequestedYear);
+        final int year = requestedYear == null ? Year.now(clock).getValue() : requestedYear;
+        final SickNoteStatistics statistics = statisticsService.getStatistics(year);
 
         model.addAttribute("statistics", statistics);
 
         return "sicknote/sick_notes_statistics";
     }
-
-    private Clock getClockOfRequestedYear(Integer requestedYear) {
-        if (requestedYear == null) {
-            requestedYear = Year.now(clock).getValue();
-        }
-        return Clock.fixed(ZonedDateTime.now(clock).withYear(requestedYear).toInstant(), clock.getZone());
-    }
 }
@@ -0,0 +1,70 @@
+package org.synyx.urlaubsverwaltung.workingtime;
+
+import org.synyx.urlaubsverwaltung.period.DayLength;
+import org.synyx.urlaubsverwaltung.person.Person;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * One period of a person for which the work days should be counted,
+ * see {@link WorkDaysCountService#getWorkDaysCount(java.util.List)}.
+ */
+public final class WorkDaysCountRequest {
+
+    private final Person person;
+    private final DayLength dayLength;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+
+    public WorkDaysCountRequest(Person person, DayLength dayLength, LocalDate startDate, LocalDate endDate) {
+        this.person = person;
+        this.dayLength = dayLength;
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+
+    public Person getPerson() {
+        return person;
+    }
+
+    public DayLength getDayLength() {
+        return dayLength;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final WorkDaysCountRequest that = (WorkDaysCountRequest) o;
+        return Objects.equals(person, that.person) && dayLength == that.dayLength
+            && Objects.equals(startDate, that.startDate) && Objects.equals(endDate, that.endDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(person, dayLength, startDate, endDate);
+    }
+
+    @Override
+    public String toString() {
+        return "WorkDaysCountRequest{" +
+            "person=" + person +
+            ", dayLength=" + dayLength +
+            ", startDate=" + startDate +
+            ", endDate=" + endDate +
+            '}';
+    }
+}
@@ -11,12 +11,21 @@ import org.synyx.urlaubsverwaltung.util.DateUtil;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.Year;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 import static java.math.RoundingMode.UNNECESSARY;
+import static java.time.Month.DECEMBER;
+import static java.time.Month.JANUARY;
 import static java.time.format.DateTimeFormatter.ofPattern;
+import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
 import static org.synyx.urlaubsverwaltung.util.DateAndTimeFormat.DD_MM_YYYY;
 
 @Service
@@ -115,6 +124,152 @@ public class WorkDaysCountService {
         return vacationDays.multiply(dayLength.getDuration()).setScale(1, UNNECESSARY);
     }
 
+    /**
+     * Calculates the workdays of many periods at once, e.g. of all applications shown in the statistics.
+     * The result of every request is identical to {@link #getWorkDaysCount(DayLength, LocalDate, LocalDate, Person)}.
+     * <p>
+     * The working times of all persons are loaded with one query and the public holidays only once per
+     * federal state and year. The days are summed up in quarter days (half day public holiday × half day working time)
+     * and converted to {@link BigDecimal} once per request.
+     *
+     * @param requests periods to calculate the workdays for
+     * @return number of workdays of every given request
+     * @throws WorkDaysCountException if a person has no working time for the whole period of a request
+     */
+    public Map<WorkDaysCountRequest, BigDecimal> getWorkDaysCount(List<WorkDaysCountRequest> requests) {
+
+        if (requests.isEmpty()) {
+            return Map.of();
+        }
+
+        final List<Person> persons = requests.stream()
+            .map(WorkDaysCountRequest::getPerson)
+            .distinct()
+            .collect(toList());
+
+        final Map<Person, List<WorkingTime>> workingTimesByPerson = workingTimeService.getByPersons(persons).stream()
+            .sorted(comparing(WorkingTime::getValidFrom))
+            .collect(groupingBy(WorkingTime::getPerson));
+
+        final Map<FederalState, Map<Integer, byte[]>> workingHalfDaysOfPublicHolidays = new EnumMap<>(FederalState.class);
+
+        final Map<WorkDaysCountRequest, BigDecimal> workDaysCountByRequest = new HashMap<>();
+        for (WorkDaysCountRequest request : requests) {
+            final List<WorkingTime> workingTimes = workingTimesByPerson.getOrDefault(request.getPerson(), List.of());
+            final long quarterDays = getWorkQuarterDays(request, workingTimes, workingHalfDaysOfPublicHolidays);
+            workDaysCountByRequest.put(request, toWorkDaysCount(quarterDays, request.getDayLength()));
+        }
+
+        return workDaysCountByRequest;
+    }
+
+    /**
+     * @param workingTimes of the person of the request sorted ascending by valid from
+     */
+    private long getWorkQuarterDays(WorkDaysCountRequest request, List<WorkingTime> workingTimes,
+                                    Map<FederalState, Map<Integer, byte[]>> workingHalfDaysOfPublicHolidays) {
+
+        final LocalDate startDate = request.getStartDate();
+        final LocalDate endDate = request.getEndDate();
+
+        int workingTimeIndex = indexOfWorkingTimeValidAt(startDate, workingTimes);
+        if (workingTimeIndex < 0) {
+            throw new WorkDaysCountException("No working times found for user '" + request.getPerson().getId()
+                + "' in period " + startDate.format(ofPattern(DD_MM_YYYY)) + " - " + endDate.format(ofPattern(DD_MM_YYYY)));
+        }
+
+        WorkingTime workingTime = workingTimes.get(workingTimeIndex);
+        byte[] workingHalfDaysOfYear = null;
+
+        long quarterDays = 0;
+        LocalDate day = startDate;
+        while (!day.isAfter(endDate)) {
+
+            final int nextIndex = workingTimeIndex + 1;
+            if (nextIndex < workingTimes.size() && !workingTimes.get(nextIndex).getValidFrom().isAfter(day)) {
+                workingTimeIndex = nextIndex;
+                workingTime = workingTimes.get(workingTimeIndex);
+                workingHalfDaysOfYear = null;
+            }
+
+            if (workingHalfDaysOfYear == null || day.getDayOfYear() == 1) {
+                final FederalState federalState = workingTime.getFederalState();
+                workingHalfDaysOfYear = workingHalfDaysOfPublicHolidays
+                    .computeIfAbsent(federalState, state -> new HashMap<>())
+                    .computeIfAbsent(day.getYear(), year -> getWorkingHalfDaysOfYear(year, federalState));
+            }
+
+            // 2 for no public holiday, 1 for Christmas Eve or New Year's Eve and 0 for public holidays
+            final int publicHolidayHalfDays = workingHalfDaysOfYear[day.getDayOfYear() - 1];
+            final int workingHalfDays = halfDays(workingTime.getDayLengthForWeekDay(day.getDayOfWeek()));
+
+            quarterDays += publicHolidayHalfDays * workingHalfDays;
+
+            day = day.plusDays(1);
+        }
+
+        return quarterDays;
+    }
+
+    /**
+     * @return index of the working time valid at the given date or -1 if the date is before the first working time
+     */
+    private static int indexOfWorkingTimeValidAt(LocalDate date, List<WorkingTime> workingTimes) {
+        int low = 0;
+        int high = workingTimes.size() - 1;
+        int index = -1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            if (workingTimes.get(middle).getValidFrom().isAfter(date)) {
+                high = middle - 1;
+            } else {
+                index = middle;
+                low = middle + 1;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * @return working half days of every day of the given year indexed by day of year minus one
+     */
+    private byte[] getWorkingHalfDaysOfYear(int year, FederalState federalState) {
+
+        final byte[] workingHalfDays = new byte[Year.of(year).length()];
+        Arrays.fill(workingHalfDays, (byte) 2);
+
+        final List<PublicHoliday> publicHolidays = publicHolidaysService.getPublicHolidays(LocalDate.of(year, JANUARY, 1), LocalDate.of(year, DECEMBER, 31), federalState);
+        for (PublicHoliday publicHoliday : publicHolidays) {
+            workingHalfDays[publicHoliday.getDate().getDayOfYear() - 1] = (byte) halfDays(publicHoliday.getDayLength().getInverse());
+        }
+
+        return workingHalfDays;
+    }
+
+    private static int halfDays(DayLength dayLength) {
+        switch (dayLength) {
+            case FULL:
+                return 2;
+            case MORNING:
+            case NOON:
+                return 1;
+            default:
+                return 0;
+        }
+    }
+
+    private static BigDecimal toWorkDaysCount(long quarterDays, DayLength dayLength) {
+
+        final BigDecimal vacationDays = BigDecimal.valueOf(quarterDays * 25, 2);
+
+        // vacation days < 1 day --> must not be divided, else an ArithmeticException is thrown
+        if (vacationDays.compareTo(BigDecimal.ONE) < 0) {
+            return vacationDays.setScale(1, UNNECESSARY);
+        }
+
+        return vacationDays.multiply(dayLength.getDuration()).setScale(1, UNNECESSARY);
+    }
+
     private Map<LocalDate, WorkingTime> toLocalDateWorkingTime(Map<DateRange, WorkingTime> workingTimes) {
         final Map<LocalDate, WorkingTime> localDateWorkingTimeMap = new HashMap<>();
         workingTimes.forEach((key, value) -> key.iterator().forEachRemaining(localDate -> localDateWorkingTimeMap.put(localDate, value)));
@@ -7,6 +7,7 @@ import org.springframework.validation.annotation.Validated;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
+import java.time.Duration;
 import java.util.List;
 
 @Component
@@ -24,6 +25,16 @@ public class WorkingTimeProperties {
     @Deprecated
     private List<@Min(-1) @Max(7) Integer> defaultWorkingDays = List.of(1, 2, 3, 4, 5);
 
+    /**
+     * The working times of a person are kept in memory as timeline. Changes made on this node evict the timeline
+     * immediately. Changes made on other nodes are visible after the timeline is loaded again at the latest
+     * after this duration.
+     * <p>
+     * Default duration is one minute (PT1M).
+     */
+    @NotNull
+    private Duration timelineCacheTimeToLive = Duration.ofMinutes(1);
+
     @Deprecated
     public List<Integer> getDefaultWorkingDays() {
         return defaultWorkingDays;
@@ -38,4 +49,12 @@ public class WorkingTimeProperties {
     public boolean isDefaultWorkingDaysDeactivated() {
         return defaultWorkingDays.get(0) == -1;
     }
+
+    public Duration getTimelineCacheTimeToLive() {
+        return timelineCacheTimeToLive;
+    }
+
+    public void setTimelineCacheTimeToLive(Duration timelineCacheTimeToLive) {
+        this.timelineCacheTimeToLive = timelineCacheTimeToLive;
+    }
 }
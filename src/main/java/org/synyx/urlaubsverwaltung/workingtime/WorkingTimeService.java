@@ -43,6 +43,27 @@ public interface WorkingTimeService {
      */
     List<WorkingTime> getByPersons(List<Person> persons);
 
+    /**
+     * Returns the timeline of all working times of the given person.
+     * <p>
+     * Timelines are kept in memory until a working time of the person is changed.
+     *
+     * @param person to get the timeline of
+     * @return timeline of the working times of the person, empty if the person has no working time
+     */
+    WorkingTimeTimeline getTimeline(Person person);
+
+    /**
+     * Returns the timelines of all working times of the given persons.
+     * <p>
+     * Timelines are kept in memory until a working time of the person is changed. The working times
+     * of all persons without a known timeline are loaded at once.
+     *
+     * @param persons to get the timelines of
+     * @return timeline of every given person, empty if the person has no working time
+     */
+    Map<Person, WorkingTimeTimeline> getTimelines(List<Person> persons);
+
     /**
      * Returns a map of date ranges and the associated working time.
      * <p>
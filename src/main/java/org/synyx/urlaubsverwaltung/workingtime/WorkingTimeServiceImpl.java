@@ -2,8 +2,11 @@ package org.synyx.urlaubsverwaltung.workingtime;
 
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.synyx.urlaubsverwaltung.absence.DateRange;
 import org.synyx.urlaubsverwaltung.period.DayLength;
 import org.synyx.urlaubsverwaltung.person.Person;
@@ -11,16 +14,21 @@ import org.synyx.urlaubsverwaltung.settings.SettingsService;
 
 import java.time.Clock;
 import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
 import static java.lang.invoke.MethodHandles.lookup;
 import static java.time.format.DateTimeFormatter.ofPattern;
 import static java.time.temporal.TemporalAdjusters.firstDayOfYear;
+import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 import static org.slf4j.LoggerFactory.getLogger;
@@ -35,14 +43,18 @@ class WorkingTimeServiceImpl implements WorkingTimeService, WorkingTimeWriteServ
     private final WorkingTimeProperties workingTimeProperties;
     private final WorkingTimeRepository workingTimeRepository;
     private final SettingsService settingsService;
+    private final ApplicationEventPublisher applicationEventPublisher;
     private final Clock clock;
+    private final Map<Integer, CachedTimeline> timelines = new ConcurrentHashMap<>();
 
     @Autowired
     public WorkingTimeServiceImpl(WorkingTimeProperties workingTimeProperties, WorkingTimeRepository workingTimeRepository,
-                                  SettingsService settingsService, Clock clock) {
+                                  SettingsService settingsService, ApplicationEventPublisher applicationEventPublisher,
+                                  Clock clock) {
         this.workingTimeProperties = workingTimeProperties;
         this.workingTimeRepository = workingTimeRepository;
         this.settingsService = settingsService;
+        this.applicationEventPublisher = applicationEventPublisher;
         this.clock = clock;
     }
 
@@ -75,6 +87,9 @@ class WorkingTimeServiceImpl implements WorkingTimeService, WorkingTimeWriteServ
 
         workingTimeRepository.save(workingTimeEntity);
         LOG.info("Created working time {} for person {}", workingTimeEntity, person);
+
+        evictTimeline(person);
+        applicationEventPublisher.publishEvent(new WorkingTimeUpdatedEvent(this, person.getId()));
     }
 
     @Override
@@ -94,35 +109,52 @@ class WorkingTimeServiceImpl implements WorkingTimeService, WorkingTimeWriteServ
     }
 
     @Override
-    public Map<DateRange, WorkingTime> getWorkingTimesByPersonAndDateRange(Person person, DateRange dateRange) {
+    public WorkingTimeTimeline getTimeline(Person person) {
 
-        final List<WorkingTime> workingTimesByPerson = toWorkingTimes(workingTimeRepository.findByPersonOrderByValidFromDesc(person));
-        final List<WorkingTime> workingTimeList = workingTimesByPerson.stream()
-            .filter(workingTime -> !workingTime.getValidFrom().isAfter(dateRange.getEndDate()))
-            .collect(toList());
+        final Supplier<FederalState> systemDefaultFederalState = new CachedSupplier<>(this::getSystemDefaultFederalState);
 
-        final HashMap<DateRange, WorkingTime> workingTimesOfPersonByDateRange = new HashMap<>();
-        LocalDate nextEnd = dateRange.getEndDate();
+        final Optional<WorkingTimeTimeline> cachedTimeline = getCachedTimeline(person, systemDefaultFederalState);
+        if (cachedTimeline.isPresent()) {
+            return cachedTimeline.get();
+        }
 
-        for (WorkingTime workingTime : workingTimeList) {
+        final List<WorkingTimeEntity> entities = workingTimeRepository.findByPersonOrderByValidFromDesc(person);
+        final WorkingTimeTimeline timeline = WorkingTimeTimeline.of(toWorkingTimes(entities, systemDefaultFederalState));
+        cacheTimeline(person, timeline);
 
-            final DateRange range;
-            if (workingTime.getValidFrom().isBefore(dateRange.getStartDate())) {
-                range = new DateRange(dateRange.getStartDate(), nextEnd);
-            } else {
-                range = new DateRange(workingTime.getValidFrom(), nextEnd);
-            }
+        return timeline;
+    }
 
-            workingTimesOfPersonByDateRange.put(range, workingTime);
+    @Override
+    public Map<Person, WorkingTimeTimeline> getTimelines(List<Person> persons) {
 
-            if (!workingTime.getValidFrom().isAfter(dateRange.getStartDate())) {
-                return workingTimesOfPersonByDateRange;
-            }
+        final Supplier<FederalState> systemDefaultFederalState = new CachedSupplier<>(this::getSystemDefaultFederalState);
 
-            nextEnd = workingTime.getValidFrom().minusDays(1);
+        final Map<Person, WorkingTimeTimeline> timelinesByPerson = new HashMap<>();
+        final List<Person> personsToLoad = new ArrayList<>();
+        for (Person person : persons) {
+            getCachedTimeline(person, systemDefaultFederalState)
+                .ifPresentOrElse(timeline -> timelinesByPerson.put(person, timeline), () -> personsToLoad.add(person));
         }
 
-        return workingTimesOfPersonByDateRange;
+        if (!personsToLoad.isEmpty()) {
+            final Map<Person, List<WorkingTime>> workingTimesByPerson =
+                toWorkingTimes(workingTimeRepository.findByPersonIn(personsToLoad), systemDefaultFederalState).stream()
+                    .collect(groupingBy(WorkingTime::getPerson));
+
+            for (Person person : personsToLoad) {
+                final WorkingTimeTimeline timeline = WorkingTimeTimeline.of(workingTimesByPerson.getOrDefault(person, List.of()));
+                cacheTimeline(person, timeline);
+                timelinesByPerson.put(person, timeline);
+            }
+        }
+
+        return timelinesByPerson;
+    }
+
+    @Override
+    public Map<DateRange, WorkingTime> getWorkingTimesByPersonAndDateRange(Person person, DateRange dateRange) {
+        return getTimeline(person).getWorkingTimesByDateRange(dateRange);
     }
 
     @Override
@@ -162,10 +194,54 @@ class WorkingTimeServiceImpl implements WorkingTimeService, WorkingTimeWriteServ
         this.touch(defaultWorkingDays, today.with(firstDayOfYear()), person);
     }
 
+    private Optional<WorkingTimeTimeline> getCachedTimeline(Person person, Supplier<FederalState> systemDefaultFederalState) {
+        if (person.getId() == null) {
+            return Optional.empty();
+        }
+
+        // working times without federal state override depend on the system default federal state of the settings
+        return Optional.ofNullable(timelines.get(person.getId()))
+            .filter(cachedTimeline -> !cachedTimeline.isExpired(Instant.now(clock), workingTimeProperties.getTimelineCacheTimeToLive()))
+            .filter(cachedTimeline -> cachedTimeline.systemDefaultFederalState == null
+                || cachedTimeline.systemDefaultFederalState == systemDefaultFederalState.get())
+            .map(cachedTimeline -> cachedTimeline.timeline);
+    }
+
+    private void cacheTimeline(Person person, WorkingTimeTimeline timeline) {
+        if (person.getId() != null) {
+            timelines.put(person.getId(), new CachedTimeline(timeline, Instant.now(clock)));
+        }
+    }
+
+    /**
+     * Evicts the timeline of the person now and once more after commit, so that a timeline loaded concurrently
+     * before the commit is not kept.
+     */
+    private void evictTimeline(Person person) {
+        final Integer personId = person.getId();
+        if (personId == null) {
+            return;
+        }
+
+        timelines.remove(personId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    timelines.remove(personId);
+                }
+            });
+        }
+    }
+
     private List<WorkingTime> toWorkingTimes(List<WorkingTimeEntity> workingTimeEntities) {
-        final CachedSupplier<FederalState> federalStateCachedSupplier = new CachedSupplier<>(this::getSystemDefaultFederalState);
+        return toWorkingTimes(workingTimeEntities, new CachedSupplier<>(this::getSystemDefaultFederalState));
+    }
+
+    private static List<WorkingTime> toWorkingTimes(List<WorkingTimeEntity> workingTimeEntities, Supplier<FederalState> defaultFederalStateProvider) {
         return workingTimeEntities.stream()
-            .map(workingTime -> toWorkingTime(workingTime, federalStateCachedSupplier))
+            .map(workingTime -> toWorkingTime(workingTime, defaultFederalStateProvider))
             .collect(toList());
     }
 
@@ -240,6 +316,36 @@ class WorkingTimeServiceImpl implements WorkingTimeService, WorkingTimeWriteServ
         return DayLength.ZERO;
     }
 
+    private static class CachedTimeline {
+        private final WorkingTimeTimeline timeline;
+
+        /**
+         * System default federal state used by the working times of the timeline, {@code null} if every working time
+         * has a federal state override.
+         */
+        private final FederalState systemDefaultFederalState;
+
+        /**
+         * The timeline is loaded again after {@link WorkingTimeProperties#getTimelineCacheTimeToLive()}, so that
+         * changes of working times made on other nodes become visible.
+         */
+        private final Instant loadedAt;
+
+        CachedTimeline(WorkingTimeTimeline timeline, Instant loadedAt) {
+            this.timeline = timeline;
+            this.loadedAt = loadedAt;
+            this.systemDefaultFederalState = timeline.getWorkingTimes().stream()
+                .filter(WorkingTime::isDefaultFederalState)
+                .map(WorkingTime::getFederalState)
+                .findFirst()
+                .orElse(null);
+        }
+
+        boolean isExpired(Instant now, Duration timeToLive) {
+            return !now.isBefore(loadedAt.plus(timeToLive));
+        }
+    }
+
     private static class CachedSupplier<T> implements Supplier<T> {
         private T cachedValue;
         private final Supplier<T> supplier;
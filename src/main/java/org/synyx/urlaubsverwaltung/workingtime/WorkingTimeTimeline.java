@@ -0,0 +1,180 @@
+package org.synyx.urlaubsverwaltung.workingtime;
+
+import org.synyx.urlaubsverwaltung.absence.DateRange;
+import org.synyx.urlaubsverwaltung.person.Person;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.groupingBy;
+
+/**
+ * Immutable index of all working times of one person ordered by the date they are valid from.
+ * <p>
+ * The working time valid at a date is found by binary search over the valid from dates. Whether a date is a workday
+ * is answered by a bit set that covers every day between the first and the last valid from date, days after the last
+ * valid from date are resolved by the workdays of the last working time. The working times must not be modified once
+ * the timeline is built.
+ */
+public final class WorkingTimeTimeline {
+
+    private static final WorkingTimeTimeline EMPTY = new WorkingTimeTimeline(new WorkingTime[0]);
+
+    private final WorkingTime[] workingTimes;
+    private final long[] validFromEpochDays;
+    private final byte[] workdayMasks;
+    private final BitSet workdays;
+
+    private WorkingTimeTimeline(WorkingTime[] workingTimes) {
+        this.workingTimes = workingTimes;
+        this.validFromEpochDays = new long[workingTimes.length];
+        this.workdayMasks = new byte[workingTimes.length];
+
+        for (int index = 0; index < workingTimes.length; index++) {
+            validFromEpochDays[index] = workingTimes[index].getValidFrom().toEpochDay();
+            workdayMasks[index] = workdayMask(workingTimes[index]);
+        }
+
+        this.workdays = new BitSet();
+        for (int index = 0; index < workingTimes.length - 1; index++) {
+            for (long epochDay = validFromEpochDays[index]; epochDay < validFromEpochDays[index + 1]; epochDay++) {
+                if (isWorkday(workdayMasks[index], epochDay)) {
+                    workdays.set((int) (epochDay - validFromEpochDays[0]));
+                }
+            }
+        }
+    }
+
+    /**
+     * @param workingTimes of one person in any order
+     * @return timeline of the given working times
+     */
+    public static WorkingTimeTimeline of(List<WorkingTime> workingTimes) {
+        if (workingTimes.isEmpty()) {
+            return EMPTY;
+        }
+
+        return new WorkingTimeTimeline(workingTimes.stream()
+            .sorted(comparing(WorkingTime::getValidFrom))
+            .toArray(WorkingTime[]::new));
+    }
+
+    /**
+     * @param workingTimes of many persons in any order
+     * @return timeline of every person that has at least one of the given working times
+     */
+    public static Map<Person, WorkingTimeTimeline> byPerson(List<WorkingTime> workingTimes) {
+        final Map<Person, WorkingTimeTimeline> timelines = new HashMap<>();
+        workingTimes.stream()
+            .collect(groupingBy(WorkingTime::getPerson))
+            .forEach((person, workingTimesOfPerson) -> timelines.put(person, of(workingTimesOfPerson)));
+        return timelines;
+    }
+
+    public boolean isEmpty() {
+        return workingTimes.length == 0;
+    }
+
+    /**
+     * @return working times ordered ascending by the date they are valid from
+     */
+    public List<WorkingTime> getWorkingTimes() {
+        return List.of(workingTimes);
+    }
+
+    /**
+     * @return the working time with the earliest valid from date, empty if there is no working time
+     */
+    public Optional<WorkingTime> getFirstWorkingTime() {
+        return isEmpty() ? Optional.empty() : Optional.of(workingTimes[0]);
+    }
+
+    /**
+     * @param date to get the working time for
+     * @return the working time valid at the given date, empty if the date is before the first working time
+     */
+    public Optional<WorkingTime> workingTimeAt(LocalDate date) {
+        final int index = indexAt(date.toEpochDay());
+        return index < 0 ? Optional.empty() : Optional.of(workingTimes[index]);
+    }
+
+    /**
+     * @param date to check
+     * @return {@code true} if the working time valid at the given date has working hours on its day of week,
+     * {@code false} otherwise or if the date is before the first working time
+     */
+    public boolean isWorkday(LocalDate date) {
+        if (isEmpty()) {
+            return false;
+        }
+
+        final long epochDay = date.toEpochDay();
+        final int lastIndex = workingTimes.length - 1;
+        if (epochDay >= validFromEpochDays[lastIndex]) {
+            return isWorkday(workdayMasks[lastIndex], epochDay);
+        }
+        if (epochDay < validFromEpochDays[0]) {
+            return false;
+        }
+        return workdays.get((int) (epochDay - validFromEpochDays[0]));
+    }
+
+    /**
+     * Splits the given date range into the date ranges of the working times valid within.
+     *
+     * @param dateRange to split
+     * @return map of the date ranges and the working time valid within, days before the first working time are missing
+     */
+    public Map<DateRange, WorkingTime> getWorkingTimesByDateRange(DateRange dateRange) {
+
+        final Map<DateRange, WorkingTime> workingTimesByDateRange = new HashMap<>();
+
+        final long startEpochDay = dateRange.getStartDate().toEpochDay();
+        final int lastIndex = indexAt(dateRange.getEndDate().toEpochDay());
+        LocalDate nextEnd = dateRange.getEndDate();
+
+        for (int index = lastIndex; index >= 0; index--) {
+            final WorkingTime workingTime = workingTimes[index];
+            if (validFromEpochDays[index] <= startEpochDay) {
+                workingTimesByDateRange.put(new DateRange(dateRange.getStartDate(), nextEnd), workingTime);
+                break;
+            }
+
+            workingTimesByDateRange.put(new DateRange(workingTime.getValidFrom(), nextEnd), workingTime);
+            nextEnd = workingTime.getValidFrom().minusDays(1);
+        }
+
+        return workingTimesByDateRange;
+    }
+
+    /**
+     * @return index of the last working time valid from the given epoch day or before, -1 if there is none
+     */
+    private int indexAt(long epochDay) {
+        final int index = Arrays.binarySearch(validFromEpochDays, epochDay);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    private static byte workdayMask(WorkingTime workingTime) {
+        byte mask = 0;
+        for (int dayOfWeek = 1; dayOfWeek <= 7; dayOfWeek++) {
+            if (workingTime.isWorkingDay(DayOfWeek.of(dayOfWeek))) {
+                mask |= 1 << (dayOfWeek - 1);
+            }
+        }
+        return mask;
+    }
+
+    private static boolean isWorkday(byte workdayMask, long epochDay) {
+        // 1970-01-01 was a thursday, the index of monday is zero
+        final int dayOfWeekIndex = (int) Math.floorMod(epochDay + 3, 7L);
+        return (workdayMask & (1 << dayOfWeekIndex)) != 0;
+    }
+}
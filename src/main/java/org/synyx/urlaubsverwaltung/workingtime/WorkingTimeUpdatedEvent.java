@@ -0,0 +1,20 @@
+package org.synyx.urlaubsverwaltung.workingtime;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published whenever a {@link WorkingTime} of a person has been saved.
+ */
+public class WorkingTimeUpdatedEvent extends ApplicationEvent {
+
+    private final Integer personId;
+
+    public WorkingTimeUpdatedEvent(Object source, Integer personId) {
+        super(source);
+        this.personId = personId;
+    }
+
+    public Integer getPersonId() {
+        return personId;
+    }
+}
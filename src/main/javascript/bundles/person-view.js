@@ -1,2 +1 @@
-import "../js/person/person-list";
 import "../js/navigate";
@@ -4,6 +4,16 @@
 <%@taglib prefix="icon" tagdir="/WEB-INF/tags/icons" %>
 
 <spring:url var="URL_PREFIX" value="/web"/>
+<c:url var="PERSON_LIST_URL" value="/web/person">
+    <c:param name="active" value="${param.active}"/>
+    <c:param name="year" value="${year}"/>
+    <c:if test="${not empty department}">
+        <c:param name="department" value="${department.id}"/>
+    </c:if>
+    <c:if test="${not empty query}">
+        <c:param name="query" value="${query}"/>
+    </c:if>
+</c:url>
 
 <p class="text-right visible-print">
     <spring:message code="filter.validity"/> <uv:date date="${now}"/>
@@ -11,11 +21,18 @@
 
 <div id="users">
 
-    <form class="form-inline" id="search">
+    <form class="form-inline" id="search" method="get" action="${URL_PREFIX}/person">
+        <input type="hidden" name="active" value="<c:out value='${param.active}'/>"/>
+        <input type="hidden" name="year" value="${year}"/>
+        <c:if test="${not empty department}">
+            <input type="hidden" name="department" value="${department.id}"/>
+        </c:if>
+        <input type="hidden" name="sort" value="<c:out value='${sort}'/>"/>
+        <input type="hidden" name="direction" value="<c:out value='${direction}'/>"/>
         <div class="form-group">
             <div class="input-group search-field">
-                <%-- NOTE: class 'search' is needed for list.js --%>
-                <input type="text" class="search form-control" placeholder="<spring:message code='action.search'/>"/>
+                <input type="search" name="query" class="form-control" value="<c:out value='${query}'/>"
+                       placeholder="<spring:message code='action.search'/>"/>
                 <span class="input-group-addon">
                     <icon:search className="tw-w-4 tw-h-4"/>
                 </span>
@@ -23,132 +40,173 @@
         </div>
     </form>
 
-    <table id="person-table" class="list-table selectable-table tw-text-sm">
-        <thead class="hidden-xs hidden-sm print:tw-table-header-group">
-        <tr>
-            <th scope="col"><%-- placeholder to ensure correct number of th --%></th>
-            <c:if test="${showPersonnelNumberColumn}">
-                <th scope="col" class="sortable-field">
-                    <spring:message code="person.account.basedata.personnelNumber.abbreviation"/>
-                </th>
-            </c:if>
-            <th scope="col" class="sortable-field">
-                <spring:message code="person.data.firstName"/>
-            </th>
-            <th scope="col" class="sortable-field">
-                <spring:message code="person.data.lastName"/>
-            </th>
-            <th scope="col" class="sortable-field is-centered">
-                <spring:message code='persons.account.vacation.entitlement.year'/>
-            </th>
-            <th scope="col" class="sortable-field is-centered">
-                <spring:message code='persons.account.vacation.entitlement.actual'/>
-            </th>
-            <th scope="col" class="sortable-field is-centered">
-                <spring:message code='persons.account.vacation.entitlement.remaining'/>
-            </th>
-            <th scope="col" class="sortable-field is-centered">
-                <spring:message code="persons.account.vacation.vacationDaysLeft"/>
-            </th>
-            <th scope="col" class="sortable-field is-centered">
-                <spring:message code="persons.account.vacation.vacationDaysLeft.remaining"/>
-            </th>
-            <th scope="col"><%-- placeholder to ensure correct number of th --%></th>
-        </tr>
-        </thead>
-        <%-- NOTE: class 'list' is needed for list.js --%>
-        <tbody class="list">
-        <c:forEach items="${persons}" var="person" varStatus="loopStatus">
-            <tr onclick="navigate('${URL_PREFIX}/person/${person.id}/overview');">
-                <td class="is-centered">
-                    <uv:avatar
-                        url="${person.gravatarUrl}?d=mm&s=40"
-                        username="${person.niceName}"
-                        width="40px"
-                        height="40px"
-                        border="true"
-                    />
-                </td>
+    <c:if test="${empty persons}">
+        <p><spring:message code="persons.none"/></p>
+    </c:if>
+
+    <c:if test="${not empty persons}">
+        <table id="person-table" class="list-table selectable-table tw-text-sm">
+            <thead class="hidden-xs hidden-sm print:tw-table-header-group">
+            <tr>
+                <th scope="col"><%-- placeholder to ensure correct number of th --%></th>
                 <c:if test="${showPersonnelNumberColumn}">
-                    <td class="personnelNumber hidden-xs hidden-sm tw-text-ellipsis tw-overflow-hidden tw-max-w-xs print:tw-table-cell tw-text-center">
-                        <c:out value="${person.personnelNumber}"/>
+                    <th scope="col">
+                        <uv:sort-link hrefPrefix="${PERSON_LIST_URL}&" field="personnelNumber" sort="${sort}" direction="${direction}">
+                            <spring:message code="person.account.basedata.personnelNumber.abbreviation"/>
+                        </uv:sort-link>
+                    </th>
+                </c:if>
+                <th scope="col">
+                    <uv:sort-link hrefPrefix="${PERSON_LIST_URL}&" field="firstName" sort="${sort}" direction="${direction}">
+                        <spring:message code="person.data.firstName"/>
+                    </uv:sort-link>
+                </th>
+                <th scope="col">
+                    <uv:sort-link hrefPrefix="${PERSON_LIST_URL}&" field="lastName" sort="${sort}" direction="${direction}">
+                        <spring:message code="person.data.lastName"/>
+                    </uv:sort-link>
+                </th>
+                <th scope="col" class="is-centered">
+                    <uv:sort-link hrefPrefix="${PERSON_LIST_URL}&" field="entitlementYear" sort="${sort}" direction="${direction}">
+                        <spring:message code='persons.account.vacation.entitlement.year'/>
+                    </uv:sort-link>
+                </th>
+                <th scope="col" class="is-centered">
+                    <uv:sort-link hrefPrefix="${PERSON_LIST_URL}&" field="entitlementActual" sort="${sort}" direction="${direction}">
+                        <spring:message code='persons.account.vacation.entitlement.actual'/>
+                    </uv:sort-link>
+                </th>
+                <th scope="col" class="is-centered">
+                    <uv:sort-link hrefPrefix="${PERSON_LIST_URL}&" field="entitlementRemaining" sort="${sort}" direction="${direction}">
+                        <spring:message code='persons.account.vacation.entitlement.remaining'/>
+                    </uv:sort-link>
+                </th>
+                <th scope="col" class="is-centered">
+                    <uv:sort-link hrefPrefix="${PERSON_LIST_URL}&" field="vacationDaysLeft" sort="${sort}" direction="${direction}">
+                        <spring:message code="persons.account.vacation.vacationDaysLeft"/>
+                    </uv:sort-link>
+                </th>
+                <th scope="col" class="is-centered">
+                    <uv:sort-link hrefPrefix="${PERSON_LIST_URL}&" field="vacationDaysLeftRemaining" sort="${sort}" direction="${direction}">
+                        <spring:message code="persons.account.vacation.vacationDaysLeft.remaining"/>
+                    </uv:sort-link>
+                </th>
+                <th scope="col"><%-- placeholder to ensure correct number of th --%></th>
+            </tr>
+            </thead>
+            <tbody>
+            <c:forEach items="${persons}" var="person" varStatus="loopStatus">
+                <tr onclick="navigate('${URL_PREFIX}/person/${person.id}/overview');">
+                    <td class="is-centered">
+                        <uv:avatar
+                            url="${person.gravatarUrl}?d=mm&s=40"
+                            username="${person.niceName}"
+                            width="40px"
+                            height="40px"
+                            border="true"
+                        />
+                    </td>
+                    <c:if test="${showPersonnelNumberColumn}">
+                        <td class="personnelNumber hidden-xs hidden-sm tw-text-ellipsis tw-overflow-hidden tw-max-w-xs print:tw-table-cell tw-text-center">
+                            <c:out value="${person.personnelNumber}"/>
+                        </td>
+                    </c:if>
+                    <td class="firstname">
+                        <c:out value="${person.firstName}"/>
                     </td>
+                    <td class="lastname">
+                        <c:out value="${person.lastName}"/>
+                    </td>
+                    <td class="is-centered hidden-xs hidden-sm print:tw-table-cell">
+                        <c:choose>
+                            <c:when test="${person.entitlementYear != null}">
+                                <uv:number number="${person.entitlementYear}"/>
+                            </c:when>
+                            <c:otherwise>
+                                <spring:message code='person.account.vacation.noInformation'/>
+                            </c:otherwise>
+                        </c:choose>
+                    </td>
+                    <td class="is-centered hidden-xs hidden-sm print:tw-table-cell">
+                        <c:choose>
+                            <c:when test="${person.entitlementActual != null}">
+                                <uv:number number="${person.entitlementActual}"/>
+                            </c:when>
+                            <c:otherwise>
+                                <spring:message code='person.account.vacation.noInformation'/>
+                            </c:otherwise>
+                        </c:choose>
+                    </td>
+                    <td class="is-centered hidden-xs hidden-sm print:tw-table-cell">
+                        <c:choose>
+                            <c:when test="${person.entitlementRemaining != null}">
+                                <uv:number number="${person.entitlementRemaining}"/>
+                            </c:when>
+                            <c:otherwise>
+                                <spring:message code='person.account.vacation.noInformation'/>
+                            </c:otherwise>
+                        </c:choose>
+                    </td>
+                    <td class="is-centered hidden-xs hidden-sm print:tw-table-cell">
+                        <c:choose>
+                            <c:when test="${person.vacationDaysLeft != null}">
+                                <uv:number number="${person.vacationDaysLeft}"/>
+                            </c:when>
+                            <c:otherwise>
+                                <spring:message code='person.account.vacation.noInformation'/>
+                            </c:otherwise>
+                        </c:choose>
+                    </td>
+                    <td class="is-centered hidden-xs hidden-sm print:tw-table-cell">
+                        <c:choose>
+                            <c:when test="${person.vacationDaysLeftRemaining != null}">
+                                <uv:number number="${person.vacationDaysLeftRemaining}"/>
+                            </c:when>
+                            <c:otherwise>
+                                <spring:message code='person.account.vacation.noInformation'/>
+                            </c:otherwise>
+                        </c:choose>
+                    </td>
+                    <td class="hidden-xs">
+                        <div class="print:tw-hidden">
+                            <a
+                                class="action-link"
+                                href="${URL_PREFIX}/person/${person.id}"
+                                data-title="<spring:message code="action.account.title" arguments="${person.niceName}"/>"
+                            >
+                                <icon:user-circle className="tw-w-5 tw-h-5 tw-mr-1"/>
+                                <spring:message code="action.account.title" arguments="${person.niceName}" />
+                            </a>
+                        </div>
+                    </td>
+                </tr>
+            </c:forEach>
+            </tbody>
+        </table>
+    </c:if>
+
+    <c:if test="${personPage.totalPages > 1}">
+        <c:set var="PERSON_PAGE_URL" value="${PERSON_LIST_URL}&sort=${sort}&direction=${direction}&size=${personPage.size}&page="/>
+        <nav class="print:tw-hidden">
+            <ul class="pager">
+                <c:if test="${personPage.hasPrevious()}">
+                    <li class="previous">
+                        <a href="${PERSON_PAGE_URL}${personPage.number - 1}">
+                            <spring:message code="persons.pagination.previous"/>
+                        </a>
+                    </li>
                 </c:if>
-                <td class="firstname">
-                    <c:out value="${person.firstName}"/>
-                </td>
-                <td class="lastname">
-                    <c:out value="${person.lastName}"/>
-                </td>
-                <td class="is-centered hidden-xs hidden-sm print:tw-table-cell"
-                    data-sortable-value="${person.entitlementYear}">
-                    <c:choose>
-                        <c:when test="${person.entitlementYear != null}">
-                            <uv:number number="${person.entitlementYear}"/>
-                        </c:when>
-                        <c:otherwise>
-                            <spring:message code='person.account.vacation.noInformation'/>
-                        </c:otherwise>
-                    </c:choose>
-                </td>
-                <td class="is-centered hidden-xs hidden-sm print:tw-table-cell"
-                    data-sortable-value="${person.entitlementActual}">
-                    <c:choose>
-                        <c:when test="${person.entitlementActual != null}">
-                            <uv:number number="${person.entitlementActual}"/>
-                        </c:when>
-                        <c:otherwise>
-                            <spring:message code='person.account.vacation.noInformation'/>
-                        </c:otherwise>
-                    </c:choose>
-                </td>
-                <td class="is-centered hidden-xs hidden-sm print:tw-table-cell"
-                    data-sortable-value="${person.entitlementRemaining}">
-                    <c:choose>
-                        <c:when test="${person.entitlementRemaining != null}">
-                            <uv:number number="${person.entitlementRemaining}"/>
-                        </c:when>
-                        <c:otherwise>
-                            <spring:message code='person.account.vacation.noInformation'/>
-                        </c:otherwise>
-                    </c:choose>
-                </td>
-                <td class="is-centered hidden-xs hidden-sm print:tw-table-cell"
-                    data-sortable-value="${person.vacationDaysLeft}">
-                    <c:choose>
-                        <c:when test="${person.vacationDaysLeft != null}">
-                            <uv:number number="${person.vacationDaysLeft}"/>
-                        </c:when>
-                        <c:otherwise>
-                            <spring:message code='person.account.vacation.noInformation'/>
-                        </c:otherwise>
-                    </c:choose>
-                </td>
-                <td class="is-centered hidden-xs hidden-sm print:tw-table-cell"
-                    data-sortable-value="${person.vacationDaysLeftRemaining}">
-                    <c:choose>
-                        <c:when test="${person.vacationDaysLeftRemaining != null}">
-                            <uv:number number="${person.vacationDaysLeftRemaining}"/>
-                        </c:when>
-                        <c:otherwise>
-                            <spring:message code='person.account.vacation.noInformation'/>
-                        </c:otherwise>
-                    </c:choose>
-                </td>
-                <td class="hidden-xs">
-                    <div class="print:tw-hidden">
-                        <a
-                            class="action-link"
-                            href="${URL_PREFIX}/person/${person.id}"
-                            data-title="<spring:message code="action.account.title" arguments="${person.niceName}"/>"
-                        >
-                            <icon:user-circle className="tw-w-5 tw-h-5 tw-mr-1"/>
-                            <spring:message code="action.account.title" arguments="${person.niceName}" />
+                <li>
+                    <spring:message code="persons.pagination.info" arguments="${personPage.number + 1},${personPage.totalPages}"/>
+                </li>
+                <c:if test="${personPage.hasNext()}">
+                    <li class="next">
+                        <a href="${PERSON_PAGE_URL}${personPage.number + 1}">
+                            <spring:message code="persons.pagination.next"/>
                         </a>
-                    </div>
-                </td>
-            </tr>
-        </c:forEach>
-        </tbody>
-    </table>
+                    </li>
+                </c:if>
+            </ul>
+        </nav>
+    </c:if>
 </div>
@@ -18,8 +18,6 @@
     </title>
     <uv:custom-head/>
     <c:if test="${not empty persons}">
-    <script defer src="<asset:url value='npm.tablesorter.js' />"></script>
-    <script defer src="<asset:url value='npm.string-natural-compare.js' />"></script>
     <script defer src="<asset:url value='npm.list.js.js' />"></script>
     <script defer src="<asset:url value='person_view.js' />"></script>
     </c:if>
@@ -103,7 +101,7 @@
         <div class="row">
             <div class="col-xs-12">
                 <c:choose>
-                    <c:when test="${empty persons}">
+                    <c:when test="${empty persons and empty query}">
                         <p><spring:message code="persons.none"/></p>
                     </c:when>
                     <c:otherwise>
@@ -108,7 +108,8 @@
                     </tr>
                     </thead>
                     <tbody>
-                    <c:forEach items="${persons}" var="person">
+                    <c:forEach items="${personsSickDays}" var="personSickDays">
+                    <c:set var="person" value="${personSickDays.person}"/>
                     <tr onclick="navigate('${URL_PREFIX}/person/${person.id}/overview#anchorSickNotes');">
                         <td class="is-centered print:tw-hidden">
                             <uv:avatar
@@ -121,7 +122,7 @@
                         </td>
                         <c:if test="${showPersonnelNumberColumn}">
                             <td class="tw-hidden lg:tw-table-cell print:tw-table-cell tw-text-ellipsis tw-overflow-hidden tw-max-w-xs tw-text-center">
-                                <c:out value="${personnelNumberOfPersons[person.id]}"/>
+                                <c:out value="${personSickDays.personnelNumber}"/>
                             </td>
                         </c:if>
                         <td class="hidden-xs">
@@ -133,47 +134,47 @@
                         <td class="visible-xs">
                             <c:out value="${person.niceName}"/>
                         </td>
-                        <td class="hidden-xs" data-sortable-value="${sickDays[person].days['TOTAL']}">
+                        <td class="hidden-xs" data-sortable-value="${personSickDays.sickDays.days['TOTAL']}">
                             <div class="tw-flex tw-items-center">
                                 <icon:medkit className="tw-w-4 tw-h-4" />
-                                &nbsp;<uv:number number="${sickDays[person].days['TOTAL']}"/>
+                                &nbsp;<uv:number number="${personSickDays.sickDays.days['TOTAL']}"/>
                                 <spring:message code="sicknotes.daysOverview.sickDays.number"/>
                             </div>
-                            <c:if test="${sickDays[person].days['WITH_AUB'] > 0}">
+                            <c:if test="${personSickDays.sickDays.days['WITH_AUB'] > 0}">
                                 <p class="list-table--second-row tw-flex tw-items-center">
                                     <span class="tw-text-emerald-500 tw-flex tw-items-center">
                                         <icon:check className="tw-w-4 tw-h-4" />
                                     </span>
-                                    &nbsp;<spring:message code="overview.sicknotes.sickdays.aub" arguments="${sickDays[person].days['WITH_AUB']}"/>
+                                    &nbsp;<spring:message code="overview.sicknotes.sickdays.aub" arguments="${personSickDays.sickDays.days['WITH_AUB']}"/>
                                 </p>
                             </c:if>
                         </td>
-                        <td class="hidden-xs" data-sortable-value="${childSickDays[person].days['TOTAL']}">
+                        <td class="hidden-xs" data-sortable-value="${personSickDays.childSickDays.days['TOTAL']}">
                             <div class="tw-flex tw-items-center">
                                 <icon:child className="tw-w-3 tw-h-3" />
-                                &nbsp;<uv:number number="${childSickDays[person].days['TOTAL']}"/>
+                                &nbsp;<uv:number number="${personSickDays.childSickDays.days['TOTAL']}"/>
                                 <spring:message code="sicknotes.daysOverview.sickDays.child.number"/>
                             </div>
-                            <c:if test="${childSickDays[person].days['WITH_AUB'] > 0}">
+                            <c:if test="${personSickDays.childSickDays.days['WITH_AUB'] > 0}">
                                 <p class="list-table--second-row tw-flex tw-items-center">
                                     <span class="tw-text-emerald-500 tw-flex tw-items-center">
                                         <icon:check className="tw-w-4 tw-h-4" />
                                     </span>
-                                    &nbsp;<spring:message code="overview.sicknotes.sickdays.aub" arguments="${childSickDays[person].days['WITH_AUB']}"/>
+                                    &nbsp;<spring:message code="overview.sicknotes.sickdays.aub" arguments="${personSickDays.childSickDays.days['WITH_AUB']}"/>
                                 </p>
                             </c:if>
                         </td>
                         <td class="visible-xs">
                             <div class="tw-flex tw-items-center">
-                                <icon:medkit className="tw-w-3 tw-h-3" />&nbsp;<uv:number number="${sickDays[person].days['TOTAL']}"/>
-                                <c:if test="${sickDays[person].days['WITH_AUB'] > 0}">
-                                    &nbsp;(&nbsp;<icon:check className="tw-w-4 tw-h-4 tw-text-emerald-500" /><uv:number number="${sickDays[person].days['WITH_AUB']}"/>)
+                                <icon:medkit className="tw-w-3 tw-h-3" />&nbsp;<uv:number number="${personSickDays.sickDays.days['TOTAL']}"/>
+                                <c:if test="${personSickDays.sickDays.days['WITH_AUB'] > 0}">
+                                    &nbsp;(&nbsp;<icon:check className="tw-w-4 tw-h-4 tw-text-emerald-500" /><uv:number number="${personSickDays.sickDays.days['WITH_AUB']}"/>)
                                 </c:if>
                             </div>
                             <div class="tw-flex tw-items-center">
-                                <icon:child className="tw-w-3 tw-h-3" />&nbsp;<uv:number number="${childSickDays[person].days['TOTAL']}"/>
-                                <c:if test="${childSickDays[person].days['WITH_AUB'] > 0}">
-                                    &nbsp;(&nbsp;<icon:check className="tw-w-4 tw-h-4 tw-text-emerald-500"/><uv:number number="${childSickDays[person].days['WITH_AUB']}"/>)
+                                <icon:child className="tw-w-3 tw-h-3" />&nbsp;<uv:number number="${personSickDays.childSickDays.days['TOTAL']}"/>
+                                <c:if test="${personSickDays.childSickDays.days['WITH_AUB'] > 0}">
+                                    &nbsp;(&nbsp;<icon:check className="tw-w-4 tw-h-4 tw-text-emerald-500"/><uv:number number="${personSickDays.childSickDays.days['WITH_AUB']}"/>)
                                 </c:if>
                             </div>
                         </td>
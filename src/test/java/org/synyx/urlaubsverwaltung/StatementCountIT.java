@@ -0,0 +1,242 @@
+package org.synyx.urlaubsverwaltung;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.context.WebApplicationContext;
+import org.synyx.urlaubsverwaltung.application.application.Application;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationService;
+import org.synyx.urlaubsverwaltung.application.vacationtype.VacationTypeEntity;
+import org.synyx.urlaubsverwaltung.application.vacationtype.VacationTypeService;
+import org.synyx.urlaubsverwaltung.department.Department;
+import org.synyx.urlaubsverwaltung.department.DepartmentService;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.person.PersonService;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeWriteService;
+import org.testcontainers.containers.MariaDBContainer;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.time.DayOfWeek.FRIDAY;
+import static java.time.DayOfWeek.MONDAY;
+import static java.time.DayOfWeek.THURSDAY;
+import static java.time.DayOfWeek.TUESDAY;
+import static java.time.DayOfWeek.WEDNESDAY;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.setup.MockMvcBuilders.webAppContextSetup;
+import static org.synyx.urlaubsverwaltung.TestDataCreator.createApplication;
+import static org.synyx.urlaubsverwaltung.application.vacationtype.VacationTypeServiceImpl.convert;
+import static org.synyx.urlaubsverwaltung.period.DayLength.FULL;
+import static org.synyx.urlaubsverwaltung.person.Role.OFFICE;
+import static org.synyx.urlaubsverwaltung.person.Role.USER;
+import static org.testcontainers.containers.MariaDBContainer.NAME;
+
+/**
+ * Ensures that the number of statements executed to render the list pages does not grow with the number of rows.
+ * <p>
+ * Uses a database of its own, since the created data is committed and must not affect other tests.
+ */
+@SpringBootTest
+@WithMockUser(username = StatementCountIT.OFFICE_USERNAME, authorities = {"USER", "OFFICE"})
+class StatementCountIT {
+
+    static final String OFFICE_USERNAME = "statementcount";
+
+    static final MariaDBContainer<?> mariaDB = new MariaDBContainer<>(NAME + ":10.5")
+        .withCommand("--character-set-server=utf8mb4", "--collation-server=utf8mb4_unicode_ci");
+
+    @DynamicPropertySource
+    static void mariaDBProperties(DynamicPropertyRegistry registry) {
+        mariaDB.start();
+        registry.add("spring.datasource.url", mariaDB::getJdbcUrl);
+        registry.add("spring.datasource.username", mariaDB::getUsername);
+        registry.add("spring.datasource.password", mariaDB::getPassword);
+    }
+
+    private static final List<Integer> WORKING_DAYS = List.of(MONDAY.getValue(), TUESDAY.getValue(),
+        WEDNESDAY.getValue(), THURSDAY.getValue(), FRIDAY.getValue());
+
+    @Autowired
+    private WebApplicationContext context;
+    @Autowired
+    private RequestStatementCounter requestStatementCounter;
+
+    @Autowired
+    private PersonService personService;
+    @Autowired
+    private DepartmentService departmentService;
+    @Autowired
+    private ApplicationService applicationService;
+    @Autowired
+    private VacationTypeService vacationTypeService;
+    @Autowired
+    private WorkingTimeWriteService workingTimeWriteService;
+
+    private MockMvc mockMvc;
+    private int personCounter;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = webAppContextSetup(context).apply(springSecurity()).build();
+
+        if (personService.getPersonByUsername(OFFICE_USERNAME).isEmpty()) {
+            final Person office = new Person(OFFICE_USERNAME, "Office", "Olivia", "office@example.org");
+            office.setPermissions(List.of(USER, OFFICE));
+            workingTimeWriteService.touch(WORKING_DAYS, LocalDate.of(2020, 1, 1), personService.create(office));
+        }
+    }
+
+    @Test
+    void ensureStatementCountOfDepartmentOverviewDoesNotGrowWithNumberOfDepartments() throws Exception {
+
+        createDepartments(2);
+        final long statementsWithFewDepartments = countStatements("/web/department");
+
+        createDepartments(20);
+        final long statementsWithManyDepartments = countStatements("/web/department");
+
+        assertThat(statementsWithManyDepartments).isLessThanOrEqualTo(statementsWithFewDepartments);
+    }
+
+    @Test
+    void ensureStatementCountOfPersonOverviewDoesNotGrowWithNumberOfPersons() throws Exception {
+
+        createPersons(2);
+        final long statementsWithFewPersons = countStatements("/web/person?active=true");
+
+        createPersons(20);
+        final long statementsWithManyPersons = countStatements("/web/person?active=true");
+
+        assertThat(statementsWithManyPersons).isLessThanOrEqualTo(statementsWithFewPersons);
+    }
+
+    @Test
+    void ensureStatementCountOfApplicationOverviewDoesNotGrowWithNumberOfApplications() throws Exception {
+
+        createApplications(2);
+        final long statementsWithFewApplications = countStatements("/web/application");
+
+        createApplications(20);
+        final long statementsWithManyApplications = countStatements("/web/application");
+
+        assertThat(statementsWithManyApplications).isLessThanOrEqualTo(statementsWithFewApplications);
+    }
+
+    /**
+     * Requests the given url once to fill caches and summaries and counts the statements of the second request.
+     * Only the statements of the request thread are counted, not the ones of background jobs.
+     */
+    private long countStatements(String url) throws Exception {
+
+        mockMvc.perform(get(url)).andExpect(status().isOk());
+
+        requestStatementCounter.start();
+        try {
+            mockMvc.perform(get(url)).andExpect(status().isOk());
+            return requestStatementCounter.count();
+        } finally {
+            requestStatementCounter.stop();
+        }
+    }
+
+    private void createDepartments(int numberOfDepartments) {
+
+        for (int i = 0; i < numberOfDepartments; i++) {
+            final List<Person> members = createPersons(2);
+
+            final Department department = new Department();
+            department.setName("Department " + personCounter);
+            department.setMembers(members);
+            department.setDepartmentHeads(List.of(members.get(0)));
+            department.setSecondStageAuthorities(List.of(members.get(1)));
+            departmentService.create(department);
+        }
+    }
+
+    private void createApplications(int numberOfApplications) {
+
+        final VacationTypeEntity holiday = convert(vacationTypeService.getAllVacationTypes().get(0));
+        final LocalDate startDate = LocalDate.now().plusWeeks(1);
+
+        for (Person person : createPersons(numberOfApplications)) {
+            final Application application = createApplication(person, holiday, startDate, startDate.plusDays(2), FULL);
+            application.setApplicationDate(LocalDate.now());
+            applicationService.save(application);
+        }
+    }
+
+    private List<Person> createPersons(int numberOfPersons) {
+
+        final List<Person> persons = new ArrayList<>();
+        for (int i = 0; i < numberOfPersons; i++) {
+            personCounter++;
+            final String username = OFFICE_USERNAME + "-" + personCounter + "-" + System.nanoTime();
+            final Person person = new Person(username, "Muster", "Marlene", username + "@example.org");
+            person.setPermissions(List.of(USER));
+
+            final Person createdPerson = personService.create(person);
+            workingTimeWriteService.touch(WORKING_DAYS, LocalDate.of(2020, 1, 1), createdPerson);
+            persons.add(createdPerson);
+        }
+
+        return persons;
+    }
+
+    @TestConfiguration
+    static class StatementCounterConfig {
+
+        @Bean
+        RequestStatementCounter requestStatementCounter() {
+            return new RequestStatementCounter();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementCounterCustomizer(RequestStatementCounter requestStatementCounter) {
+            return hibernateProperties -> hibernateProperties.put("hibernate.session_factory.statement_inspector", requestStatementCounter);
+        }
+    }
+
+    /**
+     * Counts the statements prepared by hibernate on the thread that started counting.
+     */
+    static class RequestStatementCounter implements StatementInspector {
+
+        private final ThreadLocal<AtomicLong> statementCount = new ThreadLocal<>();
+
+        void start() {
+            statementCount.set(new AtomicLong());
+        }
+
+        long count() {
+            return statementCount.get().get();
+        }
+
+        void stop() {
+            statementCount.remove();
+        }
+
+        @Override
+        public String inspect(String sql) {
+            final AtomicLong count = statementCount.get();
+            if (count != null) {
+                count.incrementAndGet();
+            }
+            return sql;
+        }
+    }
+}
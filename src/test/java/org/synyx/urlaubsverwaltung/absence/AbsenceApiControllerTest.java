@@ -16,6 +16,7 @@ import org.synyx.urlaubsverwaltung.publicholiday.PublicHoliday;
 import org.synyx.urlaubsverwaltung.publicholiday.PublicHolidaysService;
 import org.synyx.urlaubsverwaltung.workingtime.WorkingTime;
 import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeService;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeTimeline;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -86,7 +87,7 @@ class AbsenceApiControllerTest {
         workingTime.setDayLengthForWeekDay(FRIDAY, FULL);
         workingTime.setDayLengthForWeekDay(SATURDAY, ZERO);
         workingTime.setDayLengthForWeekDay(SUNDAY, ZERO);
-        when(workingTimeService.getByPerson(person)).thenReturn(List.of(workingTime));
+        when(workingTimeService.getTimeline(person)).thenReturn(WorkingTimeTimeline.of(List.of(workingTime)));
 
         perform(get("/api/persons/23/absences?noWorkdaysInclusive=true")
             .param("from", "2016-01-01")
@@ -139,7 +140,7 @@ class AbsenceApiControllerTest {
         workingTime.setDayLengthForWeekDay(FRIDAY, FULL);
         workingTime.setDayLengthForWeekDay(SATURDAY, ZERO);
         workingTime.setDayLengthForWeekDay(SUNDAY, ZERO);
-        when(workingTimeService.getByPerson(person)).thenReturn(List.of(workingTime));
+        when(workingTimeService.getTimeline(person)).thenReturn(WorkingTimeTimeline.of(List.of(workingTime)));
 
         perform(get("/api/persons/23/absences?noWorkdaysInclusive=true")
             .param("from", "2016-01-01")
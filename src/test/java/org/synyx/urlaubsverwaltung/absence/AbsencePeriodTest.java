@@ -1,12 +1,19 @@
 package org.synyx.urlaubsverwaltung.absence;
 
 import org.junit.jupiter.api.Test;
+import org.synyx.urlaubsverwaltung.period.DayLength;
 import org.synyx.urlaubsverwaltung.person.Person;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
 
+import static java.time.DayOfWeek.SUNDAY;
+import static java.time.Month.DECEMBER;
 import static java.time.Month.NOVEMBER;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.synyx.urlaubsverwaltung.absence.AbsencePeriod.AbsenceStatus.ACTIVE;
 import static org.synyx.urlaubsverwaltung.absence.AbsencePeriod.AbsenceStatus.ALLOWED;
 import static org.synyx.urlaubsverwaltung.absence.AbsencePeriod.AbsenceStatus.ALLOWED_CANCELLATION_REQUESTED;
@@ -254,6 +261,105 @@ class AbsencePeriodTest {
         assertThat(noon.isVisibleToEveryone()).isFalse();
     }
 
+    @Test
+    void ensureRunLengthIsExpandedToRecordPerAbsenceDay() {
+        final Person person = anyPerson();
+        final AbsencePeriod.RecordMorningVacation morning = new AbsencePeriod.RecordMorningVacation(person, 1, ALLOWED, 1, false);
+        final AbsencePeriod.RecordNoonVacation noon = new AbsencePeriod.RecordNoonVacation(person, 1, ALLOWED, 1, false);
+
+        final DateRange dateRange = new DateRange(LocalDate.of(2021, DECEMBER, 23), LocalDate.of(2021, DECEMBER, 27));
+        final Map<LocalDate, DayLength> publicHolidays = Map.of(
+            LocalDate.of(2021, DECEMBER, 24), DayLength.NOON,
+            LocalDate.of(2021, DECEMBER, 25), DayLength.FULL
+        );
+        final LocalDate sunday = LocalDate.of(2021, DECEMBER, 26);
+
+        final AbsencePeriod sut = AbsencePeriod.runLength(person, dateRange, DayLength.FULL, morning, noon, publicHolidays, date -> !date.equals(sunday));
+
+        final List<AbsencePeriod.Record> records = sut.getAbsenceRecords();
+        assertThat(records).extracting(AbsencePeriod.Record::getDate)
+            .containsExactly(LocalDate.of(2021, DECEMBER, 23), LocalDate.of(2021, DECEMBER, 24), LocalDate.of(2021, DECEMBER, 27));
+        assertThat(records.get(0).getMorning()).containsSame(morning);
+        assertThat(records.get(0).getNoon()).containsSame(noon);
+        assertThat(records.get(1).getMorning()).containsSame(morning);
+        assertThat(records.get(1).getNoon()).isEmpty();
+        assertThat(records.get(2).getPerson()).isSameAs(person);
+        assertThat(records.get(2).isHalfDayAbsence()).isFalse();
+    }
+
+    @Test
+    void ensureRunLengthWithHalfDayAbsence() {
+        final Person person = anyPerson();
+        final AbsencePeriod.RecordMorningSick morning = new AbsencePeriod.RecordMorningSick(person, 1);
+        final AbsencePeriod.RecordNoonSick noon = new AbsencePeriod.RecordNoonSick(person, 1);
+
+        final DateRange dateRange = new DateRange(LocalDate.of(2021, DECEMBER, 31), LocalDate.of(2021, DECEMBER, 31));
+        final AbsencePeriod sut = AbsencePeriod.runLength(person, dateRange, DayLength.NOON, morning, noon, Map.of(), date -> true);
+
+        final List<AbsencePeriod.Record> records = sut.getAbsenceRecords();
+        assertThat(records).hasSize(1);
+        assertThat(records.get(0).getMorning()).isEmpty();
+        assertThat(records.get(0).getNoon()).containsSame(noon);
+    }
+
+    @Test
+    void ensureRunLengthEqualsAbsencePeriodOfExpandedRecords() {
+        final Person person = anyPerson();
+        final AbsencePeriod.RecordMorningSick morning = new AbsencePeriod.RecordMorningSick(person, 1);
+        final AbsencePeriod.RecordNoonSick noon = new AbsencePeriod.RecordNoonSick(person, 1);
+
+        final DateRange dateRange = new DateRange(LocalDate.of(2021, NOVEMBER, 1), LocalDate.of(2021, NOVEMBER, 2));
+        final AbsencePeriod sut = AbsencePeriod.runLength(person, dateRange, DayLength.FULL, morning, noon, Map.of(), date -> true);
+
+        assertThat(sut).isEqualTo(new AbsencePeriod(List.of(
+            new AbsencePeriod.Record(LocalDate.of(2021, NOVEMBER, 1), person, morning, noon),
+            new AbsencePeriod.Record(LocalDate.of(2021, NOVEMBER, 2), person, morning, noon)
+        )));
+    }
+
+    @Test
+    void ensureRunLengthRecordsAreUnmodifiable() {
+        final Person person = anyPerson();
+        final AbsencePeriod.RecordMorningSick morning = new AbsencePeriod.RecordMorningSick(person, 1);
+        final AbsencePeriod.RecordNoonSick noon = new AbsencePeriod.RecordNoonSick(person, 1);
+
+        final DateRange dateRange = new DateRange(LocalDate.of(2021, NOVEMBER, 1), LocalDate.of(2021, NOVEMBER, 2));
+        final AbsencePeriod sut = AbsencePeriod.runLength(person, dateRange, DayLength.FULL, morning, noon, Map.of(), date -> true);
+
+        final List<AbsencePeriod.Record> records = sut.getAbsenceRecords();
+        assertThatThrownBy(records::clear).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void ensureRunLengthsOfSameSegmentAreEqual() {
+        final Person person = anyPerson();
+        final AbsencePeriod.RecordMorningSick morning = new AbsencePeriod.RecordMorningSick(person, 1);
+        final AbsencePeriod.RecordNoonSick noon = new AbsencePeriod.RecordNoonSick(person, 1);
+
+        final DateRange dateRange = new DateRange(LocalDate.of(2021, NOVEMBER, 1), LocalDate.of(2021, NOVEMBER, 30));
+        final Predicate<LocalDate> isAbsenceDay = date -> date.getDayOfWeek() != SUNDAY;
+        final AbsencePeriod sut = AbsencePeriod.runLength(person, dateRange, DayLength.FULL, morning, noon, Map.of(), isAbsenceDay);
+        final AbsencePeriod sameSegment = AbsencePeriod.runLength(person, dateRange, DayLength.FULL, morning, noon, Map.of(), isAbsenceDay);
+
+        assertThat(sut).isEqualTo(sameSegment).hasSameHashCodeAs(sameSegment);
+    }
+
+    @Test
+    void ensureRunLengthsOfOtherSegmentsAreComparedByRecords() {
+        final Person person = anyPerson();
+        final AbsencePeriod.RecordMorningSick morning = new AbsencePeriod.RecordMorningSick(person, 1);
+        final AbsencePeriod.RecordNoonSick noon = new AbsencePeriod.RecordNoonSick(person, 1);
+
+        final DateRange dateRange = new DateRange(LocalDate.of(2021, NOVEMBER, 1), LocalDate.of(2021, NOVEMBER, 7));
+        final LocalDate sunday = LocalDate.of(2021, NOVEMBER, 7);
+        final AbsencePeriod sut = AbsencePeriod.runLength(person, dateRange, DayLength.FULL, morning, noon, Map.of(), date -> !date.equals(sunday));
+        final AbsencePeriod sameRecords = AbsencePeriod.runLength(person, dateRange, DayLength.FULL, morning, noon, Map.of(), date -> date.getDayOfWeek() != SUNDAY);
+        final AbsencePeriod otherRecords = AbsencePeriod.runLength(person, dateRange, DayLength.FULL, morning, noon, Map.of(), date -> true);
+
+        assertThat(sut).isEqualTo(sameRecords).hasSameHashCodeAs(sameRecords);
+        assertThat(sut).isNotEqualTo(otherRecords);
+    }
+
     private Person anyPerson () {
         return new Person("muster", "Muster", "Marlene", "muster@example.org");
     }
@@ -16,12 +16,15 @@ import org.synyx.urlaubsverwaltung.settings.Settings;
 import org.synyx.urlaubsverwaltung.settings.SettingsService;
 import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNote;
 import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteService;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteStatus;
 import org.synyx.urlaubsverwaltung.workingtime.WorkingTime;
 import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeService;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeTimeline;
 
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.IntStream;
 
@@ -35,7 +38,6 @@ import static java.time.DayOfWeek.WEDNESDAY;
 import static java.time.Month.DECEMBER;
 import static java.time.Month.JUNE;
 import static java.time.Month.MAY;
-import static java.util.Collections.emptyList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -46,6 +48,7 @@ import static org.synyx.urlaubsverwaltung.TestDataCreator.createApplication;
 import static org.synyx.urlaubsverwaltung.TestDataCreator.createSickNote;
 import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.ALLOWED;
 import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.ALLOWED_CANCELLATION_REQUESTED;
+import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.CANCELLED;
 import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.TEMPORARY_ALLOWED;
 import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.WAITING;
 import static org.synyx.urlaubsverwaltung.period.DayLength.FULL;
@@ -74,6 +77,75 @@ class AbsenceServiceImplTest {
         sut = new AbsenceServiceImpl(applicationService, sickNoteService, settingsService, workingTimeService, publicHolidaysService);
     }
 
+    @Test
+    void getOpenAbsencesBySourceSince() {
+
+        final Settings settings = new Settings();
+        final TimeSettings timeSettings = new TimeSettings();
+        timeSettings.setTimeZoneId("Etc/UTC");
+        settings.setTimeSettings(timeSettings);
+        when(settingsService.getSettings()).thenReturn(settings);
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        final LocalDate since = LocalDate.of(2019, 10, 1);
+
+        final Application application = createApplication(person, LocalDate.of(2019, 12, 10), LocalDate.of(2019, 12, 23), FULL);
+        application.setId(1);
+        when(applicationService.getForStatesSince(List.of(ALLOWED, WAITING, TEMPORARY_ALLOWED, ALLOWED_CANCELLATION_REQUESTED), since)).thenReturn(List.of(application));
+
+        final SickNote sickNote = createSickNote(person, LocalDate.of(2019, 10, 10), LocalDate.of(2019, 10, 23), FULL);
+        sickNote.setId(1);
+        when(sickNoteService.getForStatesSince(List.of(ACTIVE), since)).thenReturn(List.of(sickNote));
+
+        final Map<AbsenceSource, Absence> openAbsences = sut.getOpenAbsencesBySourceSince(since);
+        assertThat(openAbsences).containsOnlyKeys(AbsenceSource.application(1), AbsenceSource.sickNote(1));
+        assertThat(openAbsences.get(AbsenceSource.application(1)).getStartDate()).isEqualTo(ZonedDateTime.parse("2019-12-10T00:00Z[Etc/UTC]"));
+        assertThat(openAbsences.get(AbsenceSource.sickNote(1)).getStartDate()).isEqualTo(ZonedDateTime.parse("2019-10-10T00:00Z[Etc/UTC]"));
+    }
+
+    @Test
+    void getOpenAbsenceOfOpenApplication() {
+
+        final Settings settings = new Settings();
+        final TimeSettings timeSettings = new TimeSettings();
+        timeSettings.setTimeZoneId("Etc/UTC");
+        settings.setTimeSettings(timeSettings);
+        when(settingsService.getSettings()).thenReturn(settings);
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        final Application application = createApplication(person, LocalDate.of(2019, 12, 10), LocalDate.of(2019, 12, 23), FULL);
+        when(applicationService.getApplicationById(1)).thenReturn(Optional.of(application));
+
+        final Optional<Absence> openAbsence = sut.getOpenAbsence(AbsenceSource.application(1));
+        assertThat(openAbsence).hasValueSatisfying(absence -> {
+            assertThat(absence.getPerson()).isEqualTo(person);
+            assertThat(absence.getStartDate()).isEqualTo(ZonedDateTime.parse("2019-12-10T00:00Z[Etc/UTC]"));
+            assertThat(absence.getEndDate()).isEqualTo(ZonedDateTime.parse("2019-12-24T00:00Z[Etc/UTC]"));
+        });
+    }
+
+    @Test
+    void getOpenAbsenceOfCancelledApplicationIsEmpty() {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        final Application application = createApplication(person, LocalDate.of(2019, 12, 10), LocalDate.of(2019, 12, 23), FULL);
+        application.setStatus(CANCELLED);
+        when(applicationService.getApplicationById(1)).thenReturn(Optional.of(application));
+
+        assertThat(sut.getOpenAbsence(AbsenceSource.application(1))).isEmpty();
+    }
+
+    @Test
+    void getOpenAbsenceOfCancelledSickNoteIsEmpty() {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        final SickNote sickNote = createSickNote(person, LocalDate.of(2019, 10, 10), LocalDate.of(2019, 10, 23), FULL);
+        sickNote.setStatus(SickNoteStatus.CANCELLED);
+        when(sickNoteService.getById(1)).thenReturn(Optional.of(sickNote));
+
+        assertThat(sut.getOpenAbsence(AbsenceSource.sickNote(1))).isEmpty();
+    }
+
     @Test
     void getOpenAbsencesSinceForPersons() {
 
@@ -154,7 +226,7 @@ class AbsenceServiceImplTest {
 
         sut.getOpenAbsences(List.of(batman, superman), start, end);
 
-        verify(workingTimeService).getByPersons(List.of(batman, superman));
+        verify(workingTimeService).getTimelines(List.of(batman, superman));
     }
 
     @Test
@@ -192,7 +264,7 @@ class AbsenceServiceImplTest {
     }
 
     @Test
-    void ensureOpenAbsencesCallsPublicHolidaysServiceGetDayLengthForEachDateOfApplicationInterval() {
+    void ensureOpenAbsencesCallsPublicHolidaysServiceOncePerFederalStateForAskedDateRange() {
 
         final Person person = new Person();
         final LocalDate start = LocalDate.of(2021, MAY, 1);
@@ -200,7 +272,7 @@ class AbsenceServiceImplTest {
 
         final WorkingTime workingTime = new WorkingTime(person, start.minusDays(1), GERMANY_BADEN_WUERTTEMBERG, false);
 
-        when(workingTimeService.getByPersons(any())).thenReturn(List.of(workingTime));
+        when(workingTimeService.getTimelines(any())).thenReturn(WorkingTimeTimeline.byPerson(List.of(workingTime)));
         when(workingTimeService.getSystemDefaultFederalState()).thenReturn(GERMANY_BADEN_WUERTTEMBERG);
 
         final Application application = new Application();
@@ -208,15 +280,14 @@ class AbsenceServiceImplTest {
         application.setEndDate(LocalDate.of(2021, MAY, 12));
         application.setDayLength(FULL);
         application.setStatus(ALLOWED);
+        application.setVacationType(anyVacationTypeEntity());
 
         when(applicationService.getForStatesAndPerson(any(), any(), any(), any())).thenReturn(List.of(application));
-        when(publicHolidaysService.getPublicHoliday(any(), any())).thenReturn(Optional.empty());
+        when(publicHolidaysService.getPublicHolidays(any(), any(), any())).thenReturn(List.of());
 
         sut.getOpenAbsences(List.of(person), start, end);
 
-        verify(publicHolidaysService).getPublicHoliday(LocalDate.of(2021, MAY, 10), GERMANY_BADEN_WUERTTEMBERG);
-        verify(publicHolidaysService).getPublicHoliday(LocalDate.of(2021, MAY, 11), GERMANY_BADEN_WUERTTEMBERG);
-        verify(publicHolidaysService).getPublicHoliday(LocalDate.of(2021, MAY, 12), GERMANY_BADEN_WUERTTEMBERG);
+        verify(publicHolidaysService).getPublicHolidays(start, end, GERMANY_BADEN_WUERTTEMBERG);
 
         verifyNoMoreInteractions(publicHolidaysService);
     }
@@ -232,7 +303,7 @@ class AbsenceServiceImplTest {
 
         final WorkingTime workingTime = new WorkingTime(batman, start, GERMANY_BADEN_WUERTTEMBERG, false);
         workingTime.setWorkingDays(List.of(MONDAY, TUESDAY, WEDNESDAY, THURSDAY, FRIDAY, SATURDAY, SUNDAY), FULL);
-        when(workingTimeService.getByPersons(any())).thenReturn(List.of(workingTime));
+        when(workingTimeService.getTimelines(any())).thenReturn(WorkingTimeTimeline.byPerson(List.of(workingTime)));
 
         final VacationTypeEntity vacationTypeEntity = new VacationTypeEntity();
         vacationTypeEntity.setId(1);
@@ -249,7 +320,7 @@ class AbsenceServiceImplTest {
 
         when(applicationService.getForStatesAndPerson(any(), any(), any(), any())).thenReturn(List.of(application));
 
-        when(publicHolidaysService.getPublicHoliday(any(), any())).thenReturn(Optional.empty());
+        when(publicHolidaysService.getPublicHolidays(any(), any(), any())).thenReturn(List.of());
 
         final List<AbsencePeriod> actualAbsences = sut.getOpenAbsences(List.of(batman), start, end);
         assertThat(actualAbsences).hasSize(1);
@@ -275,7 +346,7 @@ class AbsenceServiceImplTest {
 
         final WorkingTime workingTime = new WorkingTime(batman, start.minusDays(1), GERMANY_BADEN_WUERTTEMBERG, false);
         workingTime.setWorkingDays(List.of(MONDAY, TUESDAY, WEDNESDAY, THURSDAY, FRIDAY, SATURDAY, SUNDAY), FULL);
-        when(workingTimeService.getByPersons(any())).thenReturn(List.of(workingTime));
+        when(workingTimeService.getTimelines(any())).thenReturn(WorkingTimeTimeline.byPerson(List.of(workingTime)));
 
         final VacationTypeEntity vacationTypeEntity = new VacationTypeEntity();
         vacationTypeEntity.setId(1);
@@ -291,7 +362,7 @@ class AbsenceServiceImplTest {
         application.setVacationType(vacationTypeEntity);
 
         when(applicationService.getForStatesAndPerson(any(), any(), any(), any())).thenReturn(List.of(application));
-        when(publicHolidaysService.getPublicHoliday(any(), any())).thenReturn(Optional.empty());
+        when(publicHolidaysService.getPublicHolidays(any(), any(), any())).thenReturn(List.of());
 
         final List<AbsencePeriod> actualAbsences = sut.getOpenAbsences(List.of(batman), start, end);
         assertThat(actualAbsences).hasSize(1);
@@ -317,7 +388,7 @@ class AbsenceServiceImplTest {
 
         final WorkingTime workingTime = new WorkingTime(batman, start.minusDays(1), GERMANY_BADEN_WUERTTEMBERG, false);
         workingTime.setWorkingDays(List.of(MONDAY, TUESDAY, WEDNESDAY, THURSDAY, FRIDAY, SATURDAY, SUNDAY), FULL);
-        when(workingTimeService.getByPersons(any())).thenReturn(List.of(workingTime));
+        when(workingTimeService.getTimelines(any())).thenReturn(WorkingTimeTimeline.byPerson(List.of(workingTime)));
 
         final VacationTypeEntity vacationTypeEntity = new VacationTypeEntity();
         vacationTypeEntity.setId(1);
@@ -333,7 +404,7 @@ class AbsenceServiceImplTest {
         application.setVacationType(vacationTypeEntity);
 
         when(applicationService.getForStatesAndPerson(any(), any(), any(), any())).thenReturn(List.of(application));
-        when(publicHolidaysService.getPublicHoliday(any(), any())).thenReturn(Optional.empty());
+        when(publicHolidaysService.getPublicHolidays(any(), any(), any())).thenReturn(List.of());
 
         final List<AbsencePeriod> actualAbsences = sut.getOpenAbsences(List.of(batman), start, end);
         assertThat(actualAbsences).hasSize(1);
@@ -362,7 +433,7 @@ class AbsenceServiceImplTest {
         final Person batman = new Person();
         batman.setId(1);
 
-        when(workingTimeService.getByPersons(any())).thenReturn(emptyList());
+        when(workingTimeService.getTimelines(any())).thenReturn(Map.of());
         when(workingTimeService.getSystemDefaultFederalState()).thenReturn(GERMANY_BERLIN);
 
         final Application application = new Application();
@@ -373,7 +444,7 @@ class AbsenceServiceImplTest {
         application.setStatus(ALLOWED);
 
         when(applicationService.getForStatesAndPerson(any(), any(), any(), any())).thenReturn(List.of(application));
-        when(publicHolidaysService.getPublicHoliday(any(), eq(GERMANY_BERLIN))).thenReturn(Optional.empty());
+        when(publicHolidaysService.getPublicHolidays(any(), any(), eq(GERMANY_BERLIN))).thenReturn(List.of());
 
         final List<AbsencePeriod> actualAbsences = sut.getOpenAbsences(List.of(batman), start, end);
         assertThat(actualAbsences).hasSize(1);
@@ -393,7 +464,7 @@ class AbsenceServiceImplTest {
         final WorkingTime workingTimeFuture = new WorkingTime(batman, start.plusDays(10), GERMANY_BADEN_WUERTTEMBERG, false);
         workingTimeFuture.setWorkingDays(List.of(WEDNESDAY, THURSDAY, FRIDAY), FULL);
 
-        when(workingTimeService.getByPersons(any())).thenReturn(List.of(workingTimePastToNow, workingTimeFuture));
+        when(workingTimeService.getTimelines(any())).thenReturn(WorkingTimeTimeline.byPerson(List.of(workingTimePastToNow, workingTimeFuture)));
 
         final Application application = new Application();
         application.setId(42);
@@ -405,7 +476,7 @@ class AbsenceServiceImplTest {
         application.setVacationType(anyVacationTypeEntity());
 
         when(applicationService.getForStatesAndPerson(any(), any(), any(), any())).thenReturn(List.of(application));
-        when(publicHolidaysService.getPublicHoliday(any(), eq(GERMANY_BADEN_WUERTTEMBERG))).thenReturn(Optional.empty());
+        when(publicHolidaysService.getPublicHolidays(any(), any(), eq(GERMANY_BADEN_WUERTTEMBERG))).thenReturn(List.of());
 
         final List<AbsencePeriod> actualAbsences = sut.getOpenAbsences(List.of(batman), start, end);
 
@@ -426,7 +497,7 @@ class AbsenceServiceImplTest {
         batman.setId(1);
 
         final WorkingTime workingTime = new WorkingTime(batman, start.minusDays(1), GERMANY_BADEN_WUERTTEMBERG, false);
-        when(workingTimeService.getByPersons(any())).thenReturn(List.of(workingTime));
+        when(workingTimeService.getTimelines(any())).thenReturn(WorkingTimeTimeline.byPerson(List.of(workingTime)));
 
         final SickNote sickNote = new SickNote();
         sickNote.setId(42);
@@ -436,7 +507,7 @@ class AbsenceServiceImplTest {
         sickNote.setDayLength(DayLength.MORNING);
 
         when(sickNoteService.getForStatesAndPerson(any(), any(), any(), any())).thenReturn(List.of(sickNote));
-        when(publicHolidaysService.getPublicHoliday(any(), any())).thenReturn(Optional.empty());
+        when(publicHolidaysService.getPublicHolidays(any(), any(), any())).thenReturn(List.of());
 
         final List<AbsencePeriod> actualAbsences = sut.getOpenAbsences(List.of(batman), start, end);
         assertThat(actualAbsences).hasSize(1);
@@ -459,7 +530,7 @@ class AbsenceServiceImplTest {
         batman.setId(1);
 
         final WorkingTime workingTime = new WorkingTime(batman, start.minusDays(1), GERMANY_BADEN_WUERTTEMBERG, false);
-        when(workingTimeService.getByPersons(any())).thenReturn(List.of(workingTime));
+        when(workingTimeService.getTimelines(any())).thenReturn(WorkingTimeTimeline.byPerson(List.of(workingTime)));
 
         final SickNote sickNote = new SickNote();
         sickNote.setId(42);
@@ -469,7 +540,7 @@ class AbsenceServiceImplTest {
         sickNote.setDayLength(DayLength.NOON);
 
         when(sickNoteService.getForStatesAndPerson(any(), any(), any(), any())).thenReturn(List.of(sickNote));
-        when(publicHolidaysService.getPublicHoliday(any(), any())).thenReturn(Optional.empty());
+        when(publicHolidaysService.getPublicHolidays(any(), any(), any())).thenReturn(List.of());
 
         final List<AbsencePeriod> actualAbsences = sut.getOpenAbsences(List.of(batman), start, end);
         assertThat(actualAbsences).hasSize(1);
@@ -491,9 +562,9 @@ class AbsenceServiceImplTest {
         final Person batman = new Person();
         batman.setId(1);
 
-        when(workingTimeService.getByPersons(any())).thenReturn(emptyList());
+        when(workingTimeService.getTimelines(any())).thenReturn(Map.of());
         when(workingTimeService.getSystemDefaultFederalState()).thenReturn(GERMANY_BERLIN);
-        when(publicHolidaysService.getPublicHoliday(any(), eq(GERMANY_BERLIN))).thenReturn(Optional.empty());
+        when(publicHolidaysService.getPublicHolidays(any(), any(), eq(GERMANY_BERLIN))).thenReturn(List.of());
 
         final SickNote sickNote = new SickNote();
         sickNote.setId(42);
@@ -518,7 +589,7 @@ class AbsenceServiceImplTest {
 
         final WorkingTime workingTime = new WorkingTime(batman, start.minusDays(1), GERMANY_BADEN_WUERTTEMBERG, false);
         workingTime.setWorkingDays(List.of(MONDAY, TUESDAY, WEDNESDAY, THURSDAY, FRIDAY, SATURDAY, SUNDAY), FULL);
-        when(workingTimeService.getByPersons(any())).thenReturn(List.of(workingTime));
+        when(workingTimeService.getTimelines(any())).thenReturn(WorkingTimeTimeline.byPerson(List.of(workingTime)));
 
         final Application application = new Application();
         application.setId(42);
@@ -540,7 +611,7 @@ class AbsenceServiceImplTest {
 
         when(sickNoteService.getForStatesAndPerson(any(), any(), any(), any())).thenReturn(List.of(sickNote));
 
-        when(publicHolidaysService.getPublicHoliday(any(), any())).thenReturn(Optional.empty());
+        when(publicHolidaysService.getPublicHolidays(any(), any(), any())).thenReturn(List.of());
 
         final List<AbsencePeriod> actualAbsences = sut.getOpenAbsences(List.of(batman), start, end);
         assertThat(actualAbsences).hasSize(2);
@@ -572,7 +643,7 @@ class AbsenceServiceImplTest {
 
         final WorkingTime workingTime = new WorkingTime(batman, start.minusDays(1), GERMANY_BADEN_WUERTTEMBERG, false);
         workingTime.setWorkingDays(List.of(MONDAY, TUESDAY, WEDNESDAY, THURSDAY, FRIDAY, SATURDAY, SUNDAY), FULL);
-        when(workingTimeService.getByPersons(any())).thenReturn(List.of(workingTime));
+        when(workingTimeService.getTimelines(any())).thenReturn(WorkingTimeTimeline.byPerson(List.of(workingTime)));
 
         final Application application = new Application();
         application.setId(42);
@@ -584,7 +655,7 @@ class AbsenceServiceImplTest {
         application.setVacationType(anyVacationTypeEntity());
 
         when(applicationService.getForStatesAndPerson(any(), any(), any(), any())).thenReturn(List.of(application));
-        when(publicHolidaysService.getPublicHoliday(any(), any())).thenReturn(Optional.empty());
+        when(publicHolidaysService.getPublicHolidays(any(), any(), any())).thenReturn(List.of());
 
         final List<AbsencePeriod> actualAbsences = sut.getOpenAbsences(List.of(batman), start, end);
 
@@ -607,7 +678,7 @@ class AbsenceServiceImplTest {
         batman.setId(1);
 
         final WorkingTime workingTime = new WorkingTime(batman, start.minusDays(1), GERMANY_BADEN_WUERTTEMBERG, false);
-        when(workingTimeService.getByPersons(any())).thenReturn(List.of(workingTime));
+        when(workingTimeService.getTimelines(any())).thenReturn(WorkingTimeTimeline.byPerson(List.of(workingTime)));
 
         final SickNote sickNote = new SickNote();
         sickNote.setId(42);
@@ -617,7 +688,7 @@ class AbsenceServiceImplTest {
         sickNote.setDayLength(FULL);
 
         when(sickNoteService.getForStatesAndPerson(any(), any(), any(), any())).thenReturn(List.of(sickNote));
-        when(publicHolidaysService.getPublicHoliday(any(), any())).thenReturn(Optional.empty());
+        when(publicHolidaysService.getPublicHolidays(any(), any(), any())).thenReturn(List.of());
 
         final List<AbsencePeriod> actualAbsences = sut.getOpenAbsences(List.of(batman), start, end);
 
@@ -641,7 +712,7 @@ class AbsenceServiceImplTest {
 
         final WorkingTime workingTime = new WorkingTime(batman, start.minusDays(1), GERMANY_BADEN_WUERTTEMBERG, false);
         workingTime.setWorkingDays(List.of(MONDAY, TUESDAY, WEDNESDAY, THURSDAY, FRIDAY, SATURDAY, SUNDAY), FULL);
-        when(workingTimeService.getByPersons(any())).thenReturn(List.of(workingTime));
+        when(workingTimeService.getTimelines(any())).thenReturn(WorkingTimeTimeline.byPerson(List.of(workingTime)));
 
         final Application application = new Application();
         application.setId(42);
@@ -653,8 +724,7 @@ class AbsenceServiceImplTest {
         application.setVacationType(anyVacationTypeEntity());
 
         when(applicationService.getForStatesAndPerson(any(), any(), any(), any())).thenReturn(List.of(application));
-        when(publicHolidaysService.getPublicHoliday(any(), any())).thenReturn(Optional.empty());
-        when(publicHolidaysService.getPublicHoliday(eq(LocalDate.of(2021, MAY, 20)), any())).thenReturn(Optional.of(new PublicHoliday(start, FULL, "")));
+        when(publicHolidaysService.getPublicHolidays(any(), any(), any())).thenReturn(List.of(new PublicHoliday(LocalDate.of(2021, MAY, 20), FULL, "")));
 
         final List<AbsencePeriod> actualAbsences = sut.getOpenAbsences(List.of(batman), start, end);
 
@@ -693,7 +763,7 @@ class AbsenceServiceImplTest {
 
         final WorkingTime workingTime = new WorkingTime(batman, start.minusDays(1), GERMANY_BADEN_WUERTTEMBERG, false);
         workingTime.setWorkingDays(List.of(MONDAY, TUESDAY, WEDNESDAY, THURSDAY, FRIDAY, SATURDAY, SUNDAY), FULL);
-        when(workingTimeService.getByPersons(any())).thenReturn(List.of(workingTime));
+        when(workingTimeService.getTimelines(any())).thenReturn(WorkingTimeTimeline.byPerson(List.of(workingTime)));
 
         final Application application = new Application();
         application.setId(42);
@@ -706,8 +776,7 @@ class AbsenceServiceImplTest {
 
         when(applicationService.getForStatesAndPerson(any(), any(), any(), any())).thenReturn(List.of(application));
 
-        when(publicHolidaysService.getPublicHoliday(any(), any())).thenReturn(Optional.empty());
-        when(publicHolidaysService.getPublicHoliday(eq(LocalDate.of(2021, DECEMBER, 24)), any())).thenReturn(Optional.of(new PublicHoliday(start, DayLength.NOON, "")));
+        when(publicHolidaysService.getPublicHolidays(any(), any(), any())).thenReturn(List.of(new PublicHoliday(LocalDate.of(2021, DECEMBER, 24), DayLength.NOON, "")));
 
         final List<AbsencePeriod> actualAbsences = sut.getOpenAbsences(List.of(batman), start, end);
 
@@ -749,7 +818,7 @@ class AbsenceServiceImplTest {
 
         final WorkingTime workingTime = new WorkingTime(batman, start.minusDays(1), GERMANY_BADEN_WUERTTEMBERG, false);
         workingTime.setWorkingDays(List.of(MONDAY, TUESDAY, WEDNESDAY, THURSDAY, FRIDAY, SATURDAY, SUNDAY), FULL);
-        when(workingTimeService.getByPersons(any())).thenReturn(List.of(workingTime));
+        when(workingTimeService.getTimelines(any())).thenReturn(WorkingTimeTimeline.byPerson(List.of(workingTime)));
 
         final Application application = new Application();
         application.setId(42);
@@ -762,8 +831,7 @@ class AbsenceServiceImplTest {
 
         when(applicationService.getForStatesAndPerson(any(), any(), any(), any())).thenReturn(List.of(application));
 
-        when(publicHolidaysService.getPublicHoliday(any(), any())).thenReturn(Optional.empty());
-        when(publicHolidaysService.getPublicHoliday(eq(LocalDate.of(2021, DECEMBER, 24)), any())).thenReturn(Optional.of(new PublicHoliday(start, DayLength.MORNING, "")));
+        when(publicHolidaysService.getPublicHolidays(any(), any(), any())).thenReturn(List.of(new PublicHoliday(LocalDate.of(2021, DECEMBER, 24), DayLength.MORNING, "")));
 
         final List<AbsencePeriod> actualAbsences = sut.getOpenAbsences(List.of(batman), start, end);
 
@@ -795,6 +863,46 @@ class AbsenceServiceImplTest {
         });
     }
 
+    @Test
+    void ensurePublicHolidaysAreResolvedOncePerFederalStateOfWorkingTimes() {
+        final LocalDate start = LocalDate.of(2021, MAY, 1);
+        final LocalDate end = LocalDate.of(2021, JUNE, 30);
+
+        final Person batman = new Person();
+        batman.setId(1);
+        final Person robin = new Person();
+        robin.setId(2);
+
+        final WorkingTime workingTimeBatman = new WorkingTime(batman, start.minusDays(1), GERMANY_BADEN_WUERTTEMBERG, false);
+        workingTimeBatman.setWorkingDays(List.of(MONDAY, TUESDAY, WEDNESDAY, THURSDAY, FRIDAY, SATURDAY, SUNDAY), FULL);
+        final WorkingTime workingTimeBatmanMoved = new WorkingTime(batman, LocalDate.of(2021, JUNE, 1), GERMANY_BERLIN, false);
+        workingTimeBatmanMoved.setWorkingDays(List.of(MONDAY, TUESDAY, WEDNESDAY, THURSDAY, FRIDAY, SATURDAY, SUNDAY), FULL);
+        final WorkingTime workingTimeRobin = new WorkingTime(robin, start.minusDays(1), GERMANY_BADEN_WUERTTEMBERG, false);
+        workingTimeRobin.setWorkingDays(List.of(MONDAY, TUESDAY, WEDNESDAY, THURSDAY, FRIDAY, SATURDAY, SUNDAY), FULL);
+        when(workingTimeService.getTimelines(List.of(batman, robin)))
+            .thenReturn(WorkingTimeTimeline.byPerson(List.of(workingTimeBatman, workingTimeBatmanMoved, workingTimeRobin)));
+
+        final Application applicationBatman = createApplication(batman, LocalDate.of(2021, MAY, 31), LocalDate.of(2021, JUNE, 3), FULL);
+        final Application applicationRobin = createApplication(robin, LocalDate.of(2021, JUNE, 2), LocalDate.of(2021, JUNE, 3), FULL);
+        when(applicationService.getForStatesAndPerson(any(), any(), any(), any())).thenReturn(List.of(applicationBatman, applicationRobin));
+
+        // corpus christi is a public holiday in Baden-Wuerttemberg only
+        when(publicHolidaysService.getPublicHolidays(start, end, GERMANY_BADEN_WUERTTEMBERG)).thenReturn(List.of(new PublicHoliday(LocalDate.of(2021, JUNE, 3), FULL, "")));
+        when(publicHolidaysService.getPublicHolidays(start, end, GERMANY_BERLIN)).thenReturn(List.of());
+
+        final List<AbsencePeriod> actualAbsences = sut.getOpenAbsences(List.of(batman, robin), start, end);
+
+        assertThat(actualAbsences).hasSize(2);
+        assertThat(actualAbsences.get(0).getAbsenceRecords()).extracting(AbsencePeriod.Record::getDate)
+            .containsExactly(LocalDate.of(2021, MAY, 31), LocalDate.of(2021, JUNE, 1), LocalDate.of(2021, JUNE, 2), LocalDate.of(2021, JUNE, 3));
+        assertThat(actualAbsences.get(1).getAbsenceRecords()).extracting(AbsencePeriod.Record::getDate)
+            .containsExactly(LocalDate.of(2021, JUNE, 2));
+
+        verify(publicHolidaysService).getPublicHolidays(start, end, GERMANY_BADEN_WUERTTEMBERG);
+        verify(publicHolidaysService).getPublicHolidays(start, end, GERMANY_BERLIN);
+        verifyNoMoreInteractions(publicHolidaysService);
+    }
+
     private static VacationTypeEntity anyVacationTypeEntity() {
 
         final VacationTypeEntity vacationTypeEntity = new VacationTypeEntity();
@@ -0,0 +1,160 @@
+package org.synyx.urlaubsverwaltung.absence.web;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.synyx.urlaubsverwaltung.absence.AbsencePeriod;
+import org.synyx.urlaubsverwaltung.absence.DateRange;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.publicholiday.PublicHoliday;
+import org.synyx.urlaubsverwaltung.publicholiday.PublicHolidaysService;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTime;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeService;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeTimeline;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static java.time.DayOfWeek.MONDAY;
+import static java.time.DayOfWeek.TUESDAY;
+import static java.time.Month.DECEMBER;
+import static java.time.Month.FEBRUARY;
+import static java.time.Month.JANUARY;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.synyx.urlaubsverwaltung.period.DayLength.FULL;
+import static org.synyx.urlaubsverwaltung.period.DayLength.MORNING;
+import static org.synyx.urlaubsverwaltung.period.DayLength.NOON;
+import static org.synyx.urlaubsverwaltung.period.DayLength.ZERO;
+import static org.synyx.urlaubsverwaltung.workingtime.FederalState.GERMANY_BADEN_WUERTTEMBERG;
+import static org.synyx.urlaubsverwaltung.workingtime.FederalState.GERMANY_BERLIN;
+
+@ExtendWith(MockitoExtension.class)
+class AbsenceOverviewDayMatrixTest {
+
+    @Mock
+    private WorkingTimeService workingTimeService;
+    @Mock
+    private PublicHolidaysService publicHolidaysService;
+
+    @Test
+    void ensureWorkdaysUseTheWorkingTimeValidAtTheGivenDate() {
+
+        final Person person = person(1);
+        final LocalDate start = LocalDate.of(2022, JANUARY, 3);
+        final LocalDate end = LocalDate.of(2022, JANUARY, 11);
+        final DateRange dateRange = new DateRange(start, end);
+
+        final WorkingTime mondays = new WorkingTime(person, LocalDate.of(2021, DECEMBER, 1), GERMANY_BADEN_WUERTTEMBERG, false);
+        mondays.setWorkingDays(List.of(MONDAY), FULL);
+        final WorkingTime tuesdays = new WorkingTime(person, LocalDate.of(2022, JANUARY, 5), GERMANY_BADEN_WUERTTEMBERG, false);
+        tuesdays.setWorkingDays(List.of(TUESDAY), FULL);
+        when(workingTimeService.getTimelines(List.of(person))).thenReturn(Map.of(person, WorkingTimeTimeline.of(List.of(tuesdays, mondays))));
+
+        final AbsenceOverviewDayMatrix sut = AbsenceOverviewDayMatrix.build(dateRange, List.of(person), GERMANY_BADEN_WUERTTEMBERG,
+            workingTimeService, publicHolidaysService, List.of());
+
+        assertThat(sut.getNumberOfDays()).isEqualTo(9);
+        // monday 2022-01-03 is covered by the first working time
+        assertThat(sut.isWorkday(0, sut.dayOffset(start))).isTrue();
+        assertThat(sut.isWorkday(0, sut.dayOffset(LocalDate.of(2022, JANUARY, 4)))).isFalse();
+        // monday 2022-01-10 and tuesday 2022-01-11 are covered by the second working time
+        assertThat(sut.isWorkday(0, sut.dayOffset(LocalDate.of(2022, JANUARY, 10)))).isFalse();
+        assertThat(sut.isWorkday(0, sut.dayOffset(end))).isTrue();
+    }
+
+    @Test
+    void ensureNoWorkdayBeforeFirstWorkingTime() {
+
+        final Person person = person(1);
+        final DateRange dateRange = new DateRange(LocalDate.of(2022, JANUARY, 3), LocalDate.of(2022, JANUARY, 4));
+
+        final WorkingTime workingTime = new WorkingTime(person, LocalDate.of(2022, JANUARY, 4), GERMANY_BADEN_WUERTTEMBERG, false);
+        workingTime.setWorkingDays(List.of(MONDAY, TUESDAY), FULL);
+        when(workingTimeService.getTimelines(List.of(person))).thenReturn(Map.of(person, WorkingTimeTimeline.of(List.of(workingTime))));
+
+        final AbsenceOverviewDayMatrix sut = AbsenceOverviewDayMatrix.build(dateRange, List.of(person), GERMANY_BADEN_WUERTTEMBERG,
+            workingTimeService, publicHolidaysService, List.of());
+
+        assertThat(sut.isWorkday(0, 0)).isFalse();
+        assertThat(sut.isWorkday(0, 1)).isTrue();
+    }
+
+    @Test
+    void ensurePublicHolidaysAreFetchedOncePerDateRangeAndFederalState() {
+
+        final Person batman = person(1);
+        final Person robin = person(2);
+        final LocalDate start = LocalDate.of(2022, DECEMBER, 1);
+        final LocalDate end = LocalDate.of(2022, DECEMBER, 31);
+        final DateRange dateRange = new DateRange(start, end);
+
+        when(workingTimeService.getFederalStatesByPersonAndDateRange(batman, dateRange)).thenReturn(Map.of(dateRange, GERMANY_BADEN_WUERTTEMBERG));
+        when(workingTimeService.getFederalStatesByPersonAndDateRange(robin, dateRange)).thenReturn(Map.of(dateRange, GERMANY_BADEN_WUERTTEMBERG));
+        when(publicHolidaysService.getPublicHolidays(start, end, GERMANY_BADEN_WUERTTEMBERG)).thenReturn(List.of(
+            new PublicHoliday(LocalDate.of(2022, DECEMBER, 24), NOON, "Heiligabend"),
+            new PublicHoliday(LocalDate.of(2022, DECEMBER, 25), FULL, "Weihnachten")
+        ));
+        when(publicHolidaysService.getPublicHolidays(start, end, GERMANY_BERLIN)).thenReturn(List.of(
+            new PublicHoliday(LocalDate.of(2022, DECEMBER, 31), MORNING, "Silvester")
+        ));
+
+        final AbsenceOverviewDayMatrix sut = AbsenceOverviewDayMatrix.build(dateRange, List.of(batman, robin), GERMANY_BERLIN,
+            workingTimeService, publicHolidaysService, List.of());
+
+        final int christmasEve = sut.dayOffset(LocalDate.of(2022, DECEMBER, 24));
+        final int christmas = sut.dayOffset(LocalDate.of(2022, DECEMBER, 25));
+        final int newYearsEve = sut.dayOffset(end);
+
+        assertThat(sut.getPublicHolidayDayLength(0, christmasEve)).isEqualTo(NOON);
+        assertThat(sut.getPublicHolidayDayLength(1, christmasEve)).isEqualTo(NOON);
+        assertThat(sut.getPublicHolidayDayLength(0, christmas)).isEqualTo(FULL);
+        assertThat(sut.getPublicHolidayDayLength(0, newYearsEve)).isEqualTo(ZERO);
+        assertThat(sut.getDefaultPublicHolidayDayLength(christmas)).isEqualTo(ZERO);
+        assertThat(sut.getDefaultPublicHolidayDayLength(newYearsEve)).isEqualTo(MORNING);
+
+        verify(publicHolidaysService, times(1)).getPublicHolidays(start, end, GERMANY_BADEN_WUERTTEMBERG);
+    }
+
+    @Test
+    void ensureAbsenceRecordsAreGroupedByPersonAndDayInGivenOrder() {
+
+        final Person batman = person(1);
+        final Person robin = person(2);
+        final LocalDate start = LocalDate.of(2022, JANUARY, 1);
+        final LocalDate end = LocalDate.of(2022, JANUARY, 31);
+
+        final AbsencePeriod.Record morning = new AbsencePeriod.Record(LocalDate.of(2022, JANUARY, 10), batman,
+            new AbsencePeriod.RecordMorningVacation(batman, 1, AbsencePeriod.AbsenceStatus.ALLOWED, 1, false));
+        final AbsencePeriod.Record noon = new AbsencePeriod.Record(LocalDate.of(2022, JANUARY, 10), batman,
+            new AbsencePeriod.RecordNoonSick(batman, 2));
+        final AbsencePeriod.Record robinsRecord = new AbsencePeriod.Record(LocalDate.of(2022, JANUARY, 11), robin,
+            new AbsencePeriod.RecordMorningSick(robin, 3));
+        final AbsencePeriod.Record outOfRange = new AbsencePeriod.Record(LocalDate.of(2022, FEBRUARY, 1), batman,
+            new AbsencePeriod.RecordMorningSick(batman, 4));
+
+        final List<AbsencePeriod> absences = List.of(
+            new AbsencePeriod(List.of(morning, outOfRange)),
+            new AbsencePeriod(List.of(robinsRecord)),
+            new AbsencePeriod(List.of(noon))
+        );
+
+        final AbsenceOverviewDayMatrix sut = AbsenceOverviewDayMatrix.build(new DateRange(start, end), List.of(batman, robin), GERMANY_BADEN_WUERTTEMBERG,
+            workingTimeService, publicHolidaysService, absences);
+
+        assertThat(sut.getAbsenceRecords(0, sut.dayOffset(LocalDate.of(2022, JANUARY, 10)))).containsExactly(morning, noon);
+        assertThat(sut.getAbsenceRecords(0, sut.dayOffset(LocalDate.of(2022, JANUARY, 11)))).isEmpty();
+        assertThat(sut.getAbsenceRecords(1, sut.dayOffset(LocalDate.of(2022, JANUARY, 11)))).containsExactly(robinsRecord);
+        assertThat(sut.getAbsenceRecords(1, sut.dayOffset(end))).isEmpty();
+    }
+
+    private static Person person(int id) {
+        final Person person = new Person();
+        person.setId(id);
+        return person;
+    }
+}
@@ -11,11 +11,13 @@ import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonService;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import static java.math.BigDecimal.TEN;
 import static java.time.Month.APRIL;
 import static java.time.Month.DECEMBER;
 import static java.time.Month.JANUARY;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @SpringBootTest
@@ -47,4 +49,23 @@ class AccountRepositoryIT extends TestContainersBase {
         assertThatThrownBy(() -> sut.save(account2))
             .isInstanceOf(DataIntegrityViolationException.class);
     }
+
+    @Test
+    void ensureFindsHolidaysAccountsByFirstDayWithinYear() {
+
+        final Person person = personService.save(new Person("muster", "Muster", "Marlene", "muster@example.org"));
+        final Person other = personService.save(new Person("other", "Other", "Otto", "other@example.org"));
+
+        final Account account2013 = sut.save(new Account(person, LocalDate.of(2013, JANUARY, 1), LocalDate.of(2013, DECEMBER, 31), LocalDate.of(2013, APRIL, 1), TEN, TEN, TEN, "comment"));
+        final Account account2014 = sut.save(new Account(person, LocalDate.of(2014, JANUARY, 1), LocalDate.of(2014, DECEMBER, 31), LocalDate.of(2014, APRIL, 1), TEN, TEN, TEN, "comment"));
+        final Account otherAccount2014 = sut.save(new Account(other, LocalDate.of(2014, JANUARY, 1), LocalDate.of(2014, DECEMBER, 31), LocalDate.of(2014, APRIL, 1), TEN, TEN, TEN, "comment"));
+
+        final LocalDate firstDayOf2014 = LocalDate.of(2014, JANUARY, 1);
+        final LocalDate lastDayOf2014 = LocalDate.of(2014, DECEMBER, 31);
+        assertThat(sut.getHolidaysAccountByValidFromAndPerson(firstDayOf2014, lastDayOf2014, person)).isEqualTo(account2014);
+        assertThat(sut.getHolidaysAccountByValidFromAndPerson(LocalDate.of(2013, JANUARY, 1), LocalDate.of(2013, DECEMBER, 31), person)).isEqualTo(account2013);
+        assertThat(sut.getHolidaysAccountByValidFromAndPerson(LocalDate.of(2015, JANUARY, 1), LocalDate.of(2015, DECEMBER, 31), person)).isNull();
+        assertThat(sut.getHolidaysAccountsByValidFromAndPersons(firstDayOf2014, lastDayOf2014, List.of(person, other)))
+            .containsExactlyInAnyOrder(account2014, otherAccount2014);
+    }
 }
@@ -1,18 +1,28 @@
 package org.synyx.urlaubsverwaltung.account;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 import org.synyx.urlaubsverwaltung.person.Person;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.synyx.urlaubsverwaltung.TestDataCreator.createHolidaysAccount;
 
@@ -27,10 +37,17 @@ class AccountServiceImplTest {
 
     @Mock
     private AccountRepository accountRepository;
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
 
     @BeforeEach
     void setUp() {
-        accountService = new AccountServiceImpl(accountRepository);
+        accountService = new AccountServiceImpl(accountRepository, applicationEventPublisher);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
     }
 
     @Test
@@ -38,7 +55,7 @@ class AccountServiceImplTest {
 
         final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
         final Account account = createHolidaysAccount(person, 2012);
-        when(accountRepository.getHolidaysAccountByYearAndPerson(2012, person)).thenReturn(account);
+        when(accountRepository.getHolidaysAccountByValidFromAndPerson(LocalDate.of(2012, 1, 1), LocalDate.of(2012, 12, 31), person)).thenReturn(account);
 
         Optional<Account> optionalHolidaysAccount = accountService.getHolidaysAccount(2012, person);
         assertThat(optionalHolidaysAccount).contains(account);
@@ -47,9 +64,84 @@ class AccountServiceImplTest {
     @Test
     void ensureReturnsAbsentOptionalIfNoHolidaysAccountExists() {
 
-        when(accountRepository.getHolidaysAccountByYearAndPerson(anyInt(), any(Person.class))).thenReturn(null);
+        when(accountRepository.getHolidaysAccountByValidFromAndPerson(any(LocalDate.class), any(LocalDate.class), any(Person.class))).thenReturn(null);
 
         Optional<Account> optionalHolidaysAccount = accountService.getHolidaysAccount(2012, mock(Person.class));
         assertThat(optionalHolidaysAccount).isEmpty();
     }
+
+    @Test
+    void ensureReturnsHolidaysAccountsOfPersons() {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        final Person other = new Person("other", "Other", "Otto", "other@example.org");
+        final Account account = createHolidaysAccount(person, 2012);
+        when(accountRepository.getHolidaysAccountsByValidFromAndPersons(LocalDate.of(2012, 1, 1), LocalDate.of(2012, 12, 31), List.of(person, other))).thenReturn(List.of(account));
+
+        final List<Account> holidaysAccounts = accountService.getHolidaysAccounts(2012, List.of(person, other));
+        assertThat(holidaysAccounts).containsExactly(account);
+    }
+
+    @Test
+    void ensureReturnsNoHolidaysAccountsWithoutPersons() {
+
+        final List<Account> holidaysAccounts = accountService.getHolidaysAccounts(2012, List.of());
+        assertThat(holidaysAccounts).isEmpty();
+
+        verifyNoInteractions(accountRepository);
+    }
+
+    @Test
+    void ensureRemembersHolidaysAccountsDuringRequest() {
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        person.setId(1);
+        final Person other = new Person("other", "Other", "Otto", "other@example.org");
+        other.setId(2);
+        final Account account = createHolidaysAccount(person, 2012);
+        when(accountRepository.getHolidaysAccountsByValidFromAndPersons(LocalDate.of(2012, 1, 1), LocalDate.of(2012, 12, 31), List.of(person, other))).thenReturn(List.of(account));
+
+        assertThat(accountService.getHolidaysAccounts(2012, List.of(person, other))).containsExactly(account);
+        assertThat(accountService.getHolidaysAccount(2012, person)).contains(account);
+        assertThat(accountService.getHolidaysAccount(2012, other)).isEmpty();
+        assertThat(accountService.getHolidaysAccounts(2012, List.of(other, person))).containsExactly(account);
+
+        verify(accountRepository).getHolidaysAccountsByValidFromAndPersons(LocalDate.of(2012, 1, 1), LocalDate.of(2012, 12, 31), List.of(person, other));
+        verifyNoMoreInteractions(accountRepository);
+    }
+
+    @Test
+    void ensureRemembersSavedHolidaysAccountDuringRequest() {
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        person.setId(1);
+        final Account account = createHolidaysAccount(person, 2012);
+        when(accountRepository.save(account)).thenReturn(account);
+
+        accountService.save(account);
+
+        assertThat(accountService.getHolidaysAccount(2012, person)).contains(account);
+        verify(accountRepository).save(account);
+        verifyNoMoreInteractions(accountRepository);
+    }
+
+    @Test
+    void ensurePublishesEventWhenHolidaysAccountIsSaved() {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        person.setId(1);
+        final Account account = createHolidaysAccount(person, 2012);
+        when(accountRepository.save(account)).thenReturn(account);
+
+        accountService.save(account);
+
+        final ArgumentCaptor<AccountUpdatedEvent> eventCaptor = ArgumentCaptor.forClass(AccountUpdatedEvent.class);
+        verify(applicationEventPublisher).publishEvent(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().getPersonId()).isEqualTo(1);
+        assertThat(eventCaptor.getValue().getYear()).isEqualTo(2012);
+    }
 }
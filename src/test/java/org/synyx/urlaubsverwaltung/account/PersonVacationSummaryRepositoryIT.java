@@ -0,0 +1,53 @@
+package org.synyx.urlaubsverwaltung.account;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import org.synyx.urlaubsverwaltung.TestContainersBase;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.person.PersonService;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class PersonVacationSummaryRepositoryIT extends TestContainersBase {
+
+    @Autowired
+    private PersonVacationSummaryRepository sut;
+
+    @Autowired
+    private PersonService personService;
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void ensureUpsertReplacesSummaryOfSamePersonAndYear() {
+
+        final Person person = personService.save(new Person("muster", "Muster", "Marlene", "muster@example.org"));
+
+        final PersonVacationSummaryEntity summary = new PersonVacationSummaryEntity(person, 2021);
+        summary.update(LocalDate.of(2021, 3, 14), null, null);
+        sut.upsert(summary);
+
+        final PersonVacationSummaryEntity recalculatedSummary = new PersonVacationSummaryEntity(person, 2021);
+        recalculatedSummary.update(LocalDate.of(2021, 3, 15), null, null);
+        sut.upsert(recalculatedSummary);
+
+        final PersonVacationSummaryEntity summaryOfOtherYear = new PersonVacationSummaryEntity(person, 2022);
+        summaryOfOtherYear.update(LocalDate.of(2021, 3, 15), null, null);
+        sut.upsert(summaryOfOtherYear);
+
+        entityManager.clear();
+
+        final List<PersonVacationSummaryEntity> summaries = sut.findByYearAndPersonIn(2021, List.of(person));
+        assertThat(summaries).hasSize(1);
+        assertThat(summaries.get(0).getCalculatedOn()).isEqualTo(LocalDate.of(2021, 3, 15));
+        assertThat(sut.findByYearAndPersonIn(2022, List.of(person))).hasSize(1);
+    }
+}
@@ -0,0 +1,217 @@
+package org.synyx.urlaubsverwaltung.account;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.synyx.urlaubsverwaltung.application.application.Application;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationService;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationUpdatedEvent;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeUpdatedEvent;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static java.math.BigDecimal.ZERO;
+import static java.time.ZoneOffset.UTC;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.synyx.urlaubsverwaltung.TestDataCreator.createApplication;
+import static org.synyx.urlaubsverwaltung.TestDataCreator.createHolidaysAccount;
+import static org.synyx.urlaubsverwaltung.TestDataCreator.createVacationTypeEntity;
+import static org.synyx.urlaubsverwaltung.application.vacationtype.VacationCategory.HOLIDAY;
+import static org.synyx.urlaubsverwaltung.period.DayLength.FULL;
+
+@ExtendWith(MockitoExtension.class)
+class PersonVacationSummaryServiceTest {
+
+    private PersonVacationSummaryService sut;
+
+    @Mock
+    private PersonVacationSummaryRepository personVacationSummaryRepository;
+    @Mock
+    private AccountService accountService;
+    @Mock
+    private VacationDaysService vacationDaysService;
+    @Mock
+    private ApplicationService applicationService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Captor
+    private ArgumentCaptor<PersonVacationSummaryEntity> summaryCaptor;
+
+    private static final LocalDate TODAY = LocalDate.of(2021, 3, 15);
+
+    private final Person person = person(1);
+    private final Person personWithoutAccount = person(2);
+
+    @BeforeEach
+    void setUp() {
+        final Clock clock = Clock.fixed(Instant.parse("2021-03-15T10:15:30.00Z"), UTC);
+        sut = new PersonVacationSummaryService(personVacationSummaryRepository, accountService, vacationDaysService, applicationService,
+            transactionManager, clock);
+    }
+
+    @Test
+    void ensureMissingSummariesAreCalculatedInBatchAndStored() {
+
+        final List<Person> persons = List.of(person, personWithoutAccount);
+        final Account account = createHolidaysAccount(person, 2021);
+        when(accountService.getHolidaysAccounts(2021, persons)).thenReturn(List.of(account));
+        when(accountService.getHolidaysAccounts(2022, persons)).thenReturn(List.of());
+        when(vacationDaysService.getVacationDaysLeft(List.of(account), List.of()))
+            .thenReturn(Map.of(account, vacationDaysLeft(new BigDecimal("20"), new BigDecimal("3"), BigDecimal.ONE)));
+
+        final Map<Person, PersonVacationSummary> summaries = sut.getSummaries(2021, persons);
+
+        assertThat(summaries).containsOnlyKeys(person, personWithoutAccount);
+
+        final PersonVacationSummary summary = summaries.get(person);
+        assertThat(summary.hasAccount()).isTrue();
+        assertThat(summary.getAnnualVacationDays()).contains(new BigDecimal("30"));
+        assertThat(summary.getRemainingVacationDays()).contains(new BigDecimal("3"));
+        assertThat(summary.getVacationDaysLeft()).contains(new BigDecimal("20"));
+        assertThat(summary.getRemainingVacationDaysLeft(TODAY)).contains(new BigDecimal("3"));
+        assertThat(summary.getRemainingVacationDaysLeft(LocalDate.of(2021, 4, 1))).contains(BigDecimal.ONE);
+
+        final PersonVacationSummary summaryWithoutAccount = summaries.get(personWithoutAccount);
+        assertThat(summaryWithoutAccount.hasAccount()).isFalse();
+        assertThat(summaryWithoutAccount.getVacationDaysLeft()).isEmpty();
+        assertThat(summaryWithoutAccount.getRemainingVacationDaysLeft(TODAY)).isEmpty();
+
+        verify(personVacationSummaryRepository, times(2)).upsert(summaryCaptor.capture());
+        assertThat(summaryCaptor.getAllValues())
+            .extracting(PersonVacationSummaryEntity::getPerson, PersonVacationSummaryEntity::getYear, PersonVacationSummaryEntity::getCalculatedOn)
+            .containsExactly(
+                tuple(person, 2021, TODAY),
+                tuple(personWithoutAccount, 2021, TODAY));
+    }
+
+    @Test
+    void ensureSummariesCalculatedTodayAreNotCalculatedAgain() {
+
+        final PersonVacationSummaryEntity summary = summary(person, TODAY);
+        when(personVacationSummaryRepository.findByYearAndPersonIn(2021, List.of(person))).thenReturn(List.of(summary));
+
+        final Map<Person, PersonVacationSummary> summaries = sut.getSummaries(2021, List.of(person));
+
+        assertThat(summaries.get(person).getVacationDaysLeft()).contains(new BigDecimal("20"));
+        verifyNoInteractions(accountService, vacationDaysService);
+        verify(personVacationSummaryRepository, never()).upsert(any());
+    }
+
+    @Test
+    void ensureSummariesCalculatedOnEarlierDayAreCalculatedAgain() {
+
+        final PersonVacationSummaryEntity summary = summary(person, TODAY.minusDays(1));
+        when(personVacationSummaryRepository.findByYearAndPersonIn(2021, List.of(person))).thenReturn(List.of(summary));
+
+        final Account account = createHolidaysAccount(person, 2021);
+        when(accountService.getHolidaysAccounts(2021, List.of(person))).thenReturn(List.of(account));
+        when(accountService.getHolidaysAccounts(2022, List.of(person))).thenReturn(List.of());
+        when(vacationDaysService.getVacationDaysLeft(List.of(account), List.of()))
+            .thenReturn(Map.of(account, vacationDaysLeft(new BigDecimal("18"), ZERO, ZERO)));
+
+        final Map<Person, PersonVacationSummary> summaries = sut.getSummaries(2021, List.of(person));
+
+        assertThat(summaries.get(person).getVacationDaysLeft()).contains(new BigDecimal("18"));
+        verify(personVacationSummaryRepository).upsert(summaryCaptor.capture());
+        assertThat(summaryCaptor.getValue().getCalculatedOn()).isEqualTo(TODAY);
+        assertThat(summaryCaptor.getValue().getVacationDaysLeft()).isEqualByComparingTo("18");
+    }
+
+    @Test
+    void ensureSummariesAreEmptyWithoutPersons() {
+
+        assertThat(sut.getSummaries(2021, List.of())).isEmpty();
+        verifyNoInteractions(personVacationSummaryRepository);
+    }
+
+    @Test
+    void ensureAllSummariesOfPersonAreRemovedWhenApplicationIsUpdated() {
+
+        final Application application = createApplication(person, createVacationTypeEntity(HOLIDAY),
+            LocalDate.of(2021, 12, 27), LocalDate.of(2022, 1, 7), FULL);
+        when(applicationService.getApplicationById(42)).thenReturn(Optional.of(application));
+
+        sut.handleApplicationUpdated(new ApplicationUpdatedEvent(this, 42));
+
+        verify(personVacationSummaryRepository).deleteByPersonId(1);
+    }
+
+    @Test
+    void ensureSummariesAreRemovedOnceMoreAfterCommit() {
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            sut.handleWorkingTimeUpdated(new WorkingTimeUpdatedEvent(this, 1));
+            verify(personVacationSummaryRepository).deleteByPersonId(1);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(personVacationSummaryRepository, times(2)).deleteByPersonId(1);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void ensureSummariesOfYearAndYearBeforeAreRemovedWhenAccountIsUpdated() {
+
+        sut.handleAccountUpdated(new AccountUpdatedEvent(this, 1, 2022));
+
+        verify(personVacationSummaryRepository).deleteByPersonIdAndYearIn(1, Set.of(2021, 2022));
+    }
+
+    @Test
+    void ensureAllSummariesOfPersonAreRemovedWhenWorkingTimeIsUpdated() {
+
+        sut.handleWorkingTimeUpdated(new WorkingTimeUpdatedEvent(this, 1));
+
+        verify(personVacationSummaryRepository).deleteByPersonId(1);
+    }
+
+    private PersonVacationSummaryEntity summary(Person person, LocalDate calculatedOn) {
+        final Account account = createHolidaysAccount(person, 2021);
+        final PersonVacationSummaryEntity summary = new PersonVacationSummaryEntity(person, 2021);
+        summary.update(calculatedOn, account, vacationDaysLeft(new BigDecimal("20"), ZERO, ZERO));
+        return summary;
+    }
+
+    private static VacationDaysLeft vacationDaysLeft(BigDecimal vacationDays, BigDecimal remainingVacationDays,
+                                                     BigDecimal remainingVacationDaysNotExpiring) {
+        return VacationDaysLeft.builder()
+            .withAnnualVacation(vacationDays)
+            .withRemainingVacation(remainingVacationDays)
+            .notExpiring(remainingVacationDaysNotExpiring)
+            .forUsedVacationDaysBeforeExpiry(ZERO)
+            .forUsedVacationDaysAfterExpiry(ZERO)
+            .withVacationDaysUsedNextYear(ZERO)
+            .build();
+    }
+
+    private static Person person(int id) {
+        final Person person = new Person("muster" + id, "Muster", "Marlene", "muster" + id + "@example.org");
+        person.setId(id);
+        return person;
+    }
+}
@@ -6,6 +6,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.scheduling.config.CronTask;
+import org.springframework.scheduling.config.IntervalTask;
 import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 import org.synyx.urlaubsverwaltung.config.ScheduleLocking;
 
@@ -51,4 +52,28 @@ class TurnOfTheYearAccountUpdaterConfigurationTest {
         cronTask.getRunnable().run();
         verify(service).updateAccountsForNextPeriod();
     }
+
+    @Test
+    void resumesUnfinishedUpdateWithGivenInterval() {
+
+        when(scheduleLocking.withLock(eq("UpdateAccountsForNextPeriod"), any(Runnable.class))).thenAnswer(returnsSecondArg());
+
+        final AccountProperties properties = new AccountProperties();
+        final TurnOfTheYearAccountUpdaterService service = mock(TurnOfTheYearAccountUpdaterService.class);
+        final TurnOfTheYearAccountUpdaterConfiguration sut = new TurnOfTheYearAccountUpdaterConfiguration(properties, service, scheduleLocking, taskScheduler);
+
+        final ScheduledTaskRegistrar taskRegistrar = new ScheduledTaskRegistrar();
+        sut.configureTasks(taskRegistrar);
+
+        final List<IntervalTask> fixedDelayTaskList = taskRegistrar.getFixedDelayTaskList();
+        assertThat(fixedDelayTaskList).hasSize(1);
+
+        final IntervalTask intervalTask = fixedDelayTaskList.get(0);
+        assertThat(intervalTask.getInterval()).isEqualTo(900000);
+
+        verifyNoInteractions(service);
+
+        intervalTask.getRunnable().run();
+        verify(service).resumeUnfinishedUpdate();
+    }
 }
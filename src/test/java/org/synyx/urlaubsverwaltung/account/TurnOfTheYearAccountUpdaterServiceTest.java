@@ -1,29 +1,39 @@
 package org.synyx.urlaubsverwaltung.account;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.synyx.urlaubsverwaltung.mail.Mail;
 import org.synyx.urlaubsverwaltung.mail.MailService;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonService;
 
-import java.math.BigDecimal;
 import java.time.Clock;
-import java.time.Year;
+import java.time.Instant;
+import java.time.ZoneId;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
-import static java.util.Arrays.asList;
+import static java.math.BigDecimal.TEN;
+import static java.math.BigDecimal.ZERO;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyInt;
-import static org.mockito.Mockito.mock;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.synyx.urlaubsverwaltung.TestDataCreator.createHolidaysAccount;
 import static org.synyx.urlaubsverwaltung.person.MailNotification.NOTIFICATION_OFFICE;
@@ -31,9 +41,9 @@ import static org.synyx.urlaubsverwaltung.person.MailNotification.NOTIFICATION_O
 @ExtendWith(MockitoExtension.class)
 class TurnOfTheYearAccountUpdaterServiceTest {
 
-    private static final Clock clock = Clock.systemUTC();
-    private static final int CURRENT_YEAR = Year.now(clock.getZone()).getValue();
-    private static final int LAST_YEAR = CURRENT_YEAR - 1;
+    private static final Clock clock = Clock.fixed(Instant.parse("2022-01-01T05:00:00Z"), ZoneId.of("UTC"));
+    private static final int CURRENT_YEAR = 2022;
+    private static final int LAST_YEAR = 2021;
 
     private TurnOfTheYearAccountUpdaterService sut;
 
@@ -44,53 +54,78 @@ class TurnOfTheYearAccountUpdaterServiceTest {
     @Mock
     private AccountInteractionService accountInteractionService;
     @Mock
+    private VacationDaysService vacationDaysService;
+    @Mock
     private MailService mailService;
     @Mock
     private VacationDaysReminderService vacationDaysReminderService;
+    @Mock
+    private AccountRolloverRepository accountRolloverRepository;
+    @Mock
+    private AccountRolloverChunkRepository accountRolloverChunkRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final Person user1 = person(1);
+    private final Person user2 = person(2);
+    private final Person user3 = person(3);
+
+    private final Account account1 = createHolidaysAccount(user1, LAST_YEAR);
+    private final Account account2 = createHolidaysAccount(user2, LAST_YEAR);
+    private final Account account3 = createHolidaysAccount(user3, LAST_YEAR);
+
+    private final Account newAccount1 = createHolidaysAccount(user1, CURRENT_YEAR);
+    private final Account newAccount2 = createHolidaysAccount(user2, CURRENT_YEAR);
+    private final Account newAccount3 = createHolidaysAccount(user3, CURRENT_YEAR);
 
     @BeforeEach
     void setUp() {
-        sut = new TurnOfTheYearAccountUpdaterService(personService, accountService, accountInteractionService, vacationDaysReminderService, mailService, clock);
+        final AccountProperties accountProperties = new AccountProperties();
+        accountProperties.getUpdate().setChunkSize(2);
+        accountProperties.getUpdate().setWorkers(2);
+
+        sut = new TurnOfTheYearAccountUpdaterService(personService, accountService, accountInteractionService, vacationDaysService,
+            vacationDaysReminderService, mailService, accountRolloverRepository, accountRolloverChunkRepository, accountProperties,
+            transactionManager, clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sut.shutdown();
     }
 
     @Test
-    void ensureUpdatesHolidaysAccountsOfAllActivePersons() {
+    void ensureUpdatesHolidaysAccountsOfAllActivePersonsInChunks() {
 
-        Person user1 = new Person("muster", "Muster", "Marlene", "muster@example.org");
-        Person user2 = new Person("muster", "Muster", "Marlene", "muster@example.org");
-        Person user3 = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        when(accountRolloverRepository.findByYear(CURRENT_YEAR)).thenReturn(Optional.empty());
+        when(accountRolloverRepository.save(any(AccountRollover.class))).then(returnsFirstArg());
+        when(personService.getActivePersons()).thenReturn(List.of(user3, user1, user2));
 
-        Account account1 = createHolidaysAccount(user1, LAST_YEAR);
-        Account account2 = createHolidaysAccount(user2, LAST_YEAR);
-        Account account3 = createHolidaysAccount(user3, LAST_YEAR);
+        when(accountService.getHolidaysAccounts(LAST_YEAR, List.of(user1, user2))).thenReturn(List.of(account1, account2));
+        when(accountService.getHolidaysAccounts(LAST_YEAR, List.of(user3))).thenReturn(List.of(account3));
+        when(vacationDaysService.getVacationDaysLeft(List.of(account1, account2), List.of()))
+            .thenReturn(Map.of(account1, tenVacationDaysLeft(), account2, tenVacationDaysLeft()));
+        when(vacationDaysService.getVacationDaysLeft(List.of(account3), List.of()))
+            .thenReturn(Map.of(account3, tenVacationDaysLeft()));
 
-        when(personService.getActivePersons()).thenReturn(asList(user1, user2, user3));
-        when(accountService.getHolidaysAccount(LAST_YEAR, user1)).thenReturn(Optional.of(account1));
-        when(accountService.getHolidaysAccount(LAST_YEAR, user2)).thenReturn(Optional.of(account2));
-        when(accountService.getHolidaysAccount(LAST_YEAR, user3)).thenReturn(Optional.of(account3));
+        when(accountInteractionService.autoCreateOrUpdateNextYearsHolidaysAccount(account1, TEN)).thenReturn(newAccount1);
+        when(accountInteractionService.autoCreateOrUpdateNextYearsHolidaysAccount(account2, TEN)).thenReturn(newAccount2);
+        when(accountInteractionService.autoCreateOrUpdateNextYearsHolidaysAccount(account3, TEN)).thenReturn(newAccount3);
+        when(accountService.getHolidaysAccounts(CURRENT_YEAR, List.of())).thenReturn(List.of());
 
-        Account newAccount = mock(Account.class);
-        when(newAccount.getRemainingVacationDays()).thenReturn(BigDecimal.TEN);
-        when(accountInteractionService.autoCreateOrUpdateNextYearsHolidaysAccount(any(Account.class)))
-            .thenReturn(newAccount);
+        when(accountService.getHolidaysAccounts(LAST_YEAR, List.of(user1, user2, user3))).thenReturn(List.of(account1, account2, account3));
+        when(accountService.getHolidaysAccounts(CURRENT_YEAR, List.of(user1, user2, user3))).thenReturn(List.of(newAccount1, newAccount2, newAccount3));
 
         sut.updateAccountsForNextPeriod();
 
-        verify(personService).getActivePersons();
-
-        verify(accountService, times(3))
-            .getHolidaysAccount(anyInt(), any(Person.class));
-        verify(accountService).getHolidaysAccount(LAST_YEAR, user1);
-        verify(accountService).getHolidaysAccount(LAST_YEAR, user2);
-        verify(accountService).getHolidaysAccount(LAST_YEAR, user3);
-
-        verify(accountInteractionService, times(3))
-            .autoCreateOrUpdateNextYearsHolidaysAccount(any(Account.class));
-        verify(accountInteractionService).autoCreateOrUpdateNextYearsHolidaysAccount(account1);
-        verify(accountInteractionService).autoCreateOrUpdateNextYearsHolidaysAccount(account2);
-        verify(accountInteractionService).autoCreateOrUpdateNextYearsHolidaysAccount(account3);
+        verify(vacationDaysReminderService).remindForRemainingVacationDays(List.of(newAccount1, newAccount2));
+        verify(vacationDaysReminderService).remindForRemainingVacationDays(List.of(newAccount3));
 
-        verify(vacationDaysReminderService).remindForRemainingVacationDays();
+        final ArgumentCaptor<AccountRolloverChunk> chunkCaptor = ArgumentCaptor.forClass(AccountRolloverChunk.class);
+        verify(accountRolloverChunkRepository, times(2)).save(chunkCaptor.capture());
+        assertThat(chunkCaptor.getAllValues())
+            .extracting(AccountRolloverChunk::getFirstPersonId, AccountRolloverChunk::getLastPersonId, AccountRolloverChunk::getPersonIds)
+            .containsExactlyInAnyOrder(tuple(1, 2, Set.of(1, 2)), tuple(3, 3, Set.of(3)));
 
         final ArgumentCaptor<Mail> argument = ArgumentCaptor.forClass(Mail.class);
         verify(mailService, times(2)).send(argument.capture());
@@ -98,8 +133,150 @@ class TurnOfTheYearAccountUpdaterServiceTest {
         assertThat(mails.get(0).getMailNotificationRecipients()).hasValue(NOTIFICATION_OFFICE);
         assertThat(mails.get(0).getSubjectMessageKey()).isEqualTo("subject.account.updatedRemainingDays");
         assertThat(mails.get(0).getTemplateName()).isEqualTo("updated_accounts");
+        assertThat(mails.get(0).getTemplateModel()).containsEntry("accounts", List.of(newAccount1, newAccount2, newAccount3));
         assertThat(mails.get(1).isSendToTechnicalMail()).isTrue();
         assertThat(mails.get(1).getSubjectMessageKey()).isEqualTo("subject.account.updatedRemainingDays");
         assertThat(mails.get(1).getTemplateName()).isEqualTo("updated_accounts");
+
+        final ArgumentCaptor<AccountRollover> rolloverCaptor = ArgumentCaptor.forClass(AccountRollover.class);
+        verify(accountRolloverRepository, times(2)).save(rolloverCaptor.capture());
+        assertThat(rolloverCaptor.getValue().getYear()).isEqualTo(CURRENT_YEAR);
+        assertThat(rolloverCaptor.getValue().getFinishedAt()).isEqualTo(Instant.now(clock));
+    }
+
+    @Test
+    void ensureRemindsPersonsWithoutAccountOfLastYearWithAccountOfCurrentYear() {
+
+        when(accountRolloverRepository.findByYear(CURRENT_YEAR)).thenReturn(Optional.empty());
+        when(accountRolloverRepository.save(any(AccountRollover.class))).then(returnsFirstArg());
+        when(personService.getActivePersons()).thenReturn(List.of(user1));
+
+        when(accountService.getHolidaysAccounts(LAST_YEAR, List.of(user1))).thenReturn(List.of());
+        when(accountService.getHolidaysAccounts(CURRENT_YEAR, List.of(user1))).thenReturn(List.of(newAccount1));
+        when(accountService.getHolidaysAccounts(CURRENT_YEAR, List.of())).thenReturn(List.of());
+
+        sut.updateAccountsForNextPeriod();
+
+        verifyNoInteractions(accountInteractionService);
+        verify(vacationDaysReminderService).remindForRemainingVacationDays(List.of(newAccount1));
+    }
+
+    @Test
+    void ensureResumesUnfinishedUpdateAfterCompletedChunks() {
+
+        final AccountRollover accountRollover = new AccountRollover(CURRENT_YEAR, Instant.now(clock));
+        when(accountRolloverRepository.findByYear(CURRENT_YEAR)).thenReturn(Optional.of(accountRollover));
+        when(personService.getActivePersons()).thenReturn(List.of(user1, user2, user3));
+        when(accountRolloverChunkRepository.findByYear(CURRENT_YEAR)).thenReturn(List.of(new AccountRolloverChunk(CURRENT_YEAR, List.of(1, 2), Instant.now(clock))));
+
+        when(accountService.getHolidaysAccounts(LAST_YEAR, List.of(user3))).thenReturn(List.of(account3));
+        when(vacationDaysService.getVacationDaysLeft(List.of(account3), List.of()))
+            .thenReturn(Map.of(account3, tenVacationDaysLeft()));
+        when(accountInteractionService.autoCreateOrUpdateNextYearsHolidaysAccount(account3, TEN)).thenReturn(newAccount3);
+        when(accountService.getHolidaysAccounts(CURRENT_YEAR, List.of())).thenReturn(List.of());
+
+        when(accountService.getHolidaysAccounts(LAST_YEAR, List.of(user1, user2, user3))).thenReturn(List.of(account1, account2, account3));
+        when(accountService.getHolidaysAccounts(CURRENT_YEAR, List.of(user1, user2, user3))).thenReturn(List.of(newAccount1, newAccount2, newAccount3));
+
+        sut.resumeUnfinishedUpdate();
+
+        verify(accountInteractionService, never()).autoCreateOrUpdateNextYearsHolidaysAccount(eq(account1), any());
+        verify(accountInteractionService, never()).autoCreateOrUpdateNextYearsHolidaysAccount(eq(account2), any());
+        verify(vacationDaysReminderService).remindForRemainingVacationDays(List.of(newAccount3));
+        verify(mailService, times(2)).send(any(Mail.class));
+        verify(accountRolloverRepository).save(accountRollover);
+        assertThat(accountRollover.isFinished()).isTrue();
+    }
+
+    @Test
+    void ensureResumesPersonsActivatedAfterUpdateWasStartedWithIdWithinCompletedChunk() {
+
+        final AccountRollover accountRollover = new AccountRollover(CURRENT_YEAR, Instant.now(clock));
+        when(accountRolloverRepository.findByYear(CURRENT_YEAR)).thenReturn(Optional.of(accountRollover));
+        when(personService.getActivePersons()).thenReturn(List.of(user1, user2, user3));
+        when(accountRolloverChunkRepository.findByYear(CURRENT_YEAR)).thenReturn(List.of(new AccountRolloverChunk(CURRENT_YEAR, List.of(1, 3), Instant.now(clock))));
+
+        when(accountService.getHolidaysAccounts(LAST_YEAR, List.of(user2))).thenReturn(List.of(account2));
+        when(vacationDaysService.getVacationDaysLeft(List.of(account2), List.of()))
+            .thenReturn(Map.of(account2, tenVacationDaysLeft()));
+        when(accountInteractionService.autoCreateOrUpdateNextYearsHolidaysAccount(account2, TEN)).thenReturn(newAccount2);
+        when(accountService.getHolidaysAccounts(CURRENT_YEAR, List.of())).thenReturn(List.of());
+
+        when(accountService.getHolidaysAccounts(LAST_YEAR, List.of(user1, user2, user3))).thenReturn(List.of(account1, account2, account3));
+        when(accountService.getHolidaysAccounts(CURRENT_YEAR, List.of(user1, user2, user3))).thenReturn(List.of(newAccount1, newAccount2, newAccount3));
+
+        sut.resumeUnfinishedUpdate();
+
+        verify(accountInteractionService).autoCreateOrUpdateNextYearsHolidaysAccount(account2, TEN);
+        verify(vacationDaysReminderService).remindForRemainingVacationDays(List.of(newAccount2));
+        assertThat(accountRollover.isFinished()).isTrue();
+    }
+
+    @Test
+    void ensureRemindsPersonsAfterChunkIsCommitted() {
+
+        when(accountRolloverRepository.findByYear(CURRENT_YEAR)).thenReturn(Optional.empty());
+        when(accountRolloverRepository.save(any(AccountRollover.class))).then(returnsFirstArg());
+        when(personService.getActivePersons()).thenReturn(List.of(user1));
+
+        when(accountService.getHolidaysAccounts(LAST_YEAR, List.of(user1))).thenReturn(List.of());
+        when(accountService.getHolidaysAccounts(CURRENT_YEAR, List.of(user1))).thenReturn(List.of(newAccount1));
+        when(accountService.getHolidaysAccounts(CURRENT_YEAR, List.of())).thenReturn(List.of());
+
+        sut.updateAccountsForNextPeriod();
+
+        final InOrder inOrder = inOrder(accountRolloverChunkRepository, transactionManager, vacationDaysReminderService);
+        inOrder.verify(accountRolloverChunkRepository).save(any(AccountRolloverChunk.class));
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(vacationDaysReminderService).remindForRemainingVacationDays(List.of(newAccount1));
+    }
+
+    @Test
+    void ensureDoesNotResumeFinishedUpdate() {
+
+        final AccountRollover accountRollover = new AccountRollover(CURRENT_YEAR, Instant.now(clock));
+        accountRollover.finished(Instant.now(clock));
+        when(accountRolloverRepository.findByYear(CURRENT_YEAR)).thenReturn(Optional.of(accountRollover));
+
+        sut.resumeUnfinishedUpdate();
+        sut.updateAccountsForNextPeriod();
+
+        verifyNoInteractions(personService, accountInteractionService, vacationDaysReminderService, mailService);
+    }
+
+    @Test
+    void ensureUpdateIsNotFinishedIfChunkFails() {
+
+        when(accountRolloverRepository.findByYear(CURRENT_YEAR)).thenReturn(Optional.empty());
+        when(accountRolloverRepository.save(any(AccountRollover.class))).then(returnsFirstArg());
+        when(personService.getActivePersons()).thenReturn(List.of(user1));
+
+        when(accountService.getHolidaysAccounts(LAST_YEAR, List.of(user1))).thenReturn(List.of(account1));
+        when(vacationDaysService.getVacationDaysLeft(List.of(account1), List.of()))
+            .thenReturn(Map.of(account1, tenVacationDaysLeft()));
+        when(accountInteractionService.autoCreateOrUpdateNextYearsHolidaysAccount(account1, TEN)).thenThrow(new IllegalStateException());
+
+        sut.updateAccountsForNextPeriod();
+
+        verify(accountRolloverChunkRepository, never()).save(any(AccountRolloverChunk.class));
+        verify(accountRolloverRepository).save(any(AccountRollover.class));
+        verifyNoInteractions(mailService);
+    }
+
+    private static VacationDaysLeft tenVacationDaysLeft() {
+        return VacationDaysLeft.builder()
+            .withAnnualVacation(TEN)
+            .withRemainingVacation(ZERO)
+            .notExpiring(ZERO)
+            .forUsedVacationDaysBeforeExpiry(ZERO)
+            .forUsedVacationDaysAfterExpiry(ZERO)
+            .withVacationDaysUsedNextYear(ZERO)
+            .build();
+    }
+
+    private static Person person(int id) {
+        final Person person = new Person("muster" + id, "Muster", "Marlene", "muster" + id + "@example.org");
+        person.setId(id);
+        return person;
     }
 }
@@ -22,6 +22,7 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static com.icegreen.greenmail.util.ServerSetupTest.SMTP_IMAP;
@@ -60,9 +61,19 @@ class VacationDaysReminderServiceIT extends TestContainersBase {
         when(personService.getActivePersons()).thenReturn(List.of(person));
 
         final Account account = new Account();
+        account.setPerson(person);
         account.setExpiryDate(LocalDate.of(2022, 4, 1));
-        when(accountService.getHolidaysAccount(2022, person)).thenReturn(Optional.of(account));
-        when(vacationDaysService.calculateTotalLeftVacationDays(account)).thenReturn(TEN);
+        when(accountService.getHolidaysAccounts(2022, List.of(person))).thenReturn(List.of(account));
+
+        final VacationDaysLeft vacationDaysLeft = VacationDaysLeft.builder()
+            .withAnnualVacation(TEN)
+            .withRemainingVacation(ZERO)
+            .notExpiring(ZERO)
+            .forUsedVacationDaysBeforeExpiry(ZERO)
+            .forUsedVacationDaysAfterExpiry(ZERO)
+            .withVacationDaysUsedNextYear(ZERO)
+            .build();
+        when(vacationDaysService.getVacationDaysLeft(List.of(account), List.of())).thenReturn(Map.of(account, vacationDaysLeft));
 
         sut.remindForCurrentlyLeftVacationDays();
 
@@ -91,15 +102,15 @@ class VacationDaysReminderServiceIT extends TestContainersBase {
 
         final Person person = new Person("user", "Müller", "Lieschen", "lieschen@example.org");
         person.setId(42);
-        when(personService.getActivePersons()).thenReturn(List.of(person));
 
         final Account account2022 = new Account();
+        account2022.setPerson(person);
         account2022.setExpiryDate(LocalDate.of(2022,4,1));
-        when(accountService.getHolidaysAccount(2022, person)).thenReturn(Optional.of(account2022));
 
         final Account account2023 = new Account();
+        account2023.setPerson(person);
         account2023.setExpiryDate(LocalDate.of(2023, 4, 1));
-        when(accountService.getHolidaysAccount(2023, person)).thenReturn(Optional.of(account2023));
+        when(accountService.getHolidaysAccounts(2023, List.of(person))).thenReturn(List.of(account2023));
 
         final VacationDaysLeft vacationDaysLeft = VacationDaysLeft.builder()
             .withAnnualVacation(ZERO)
@@ -108,9 +119,9 @@ class VacationDaysReminderServiceIT extends TestContainersBase {
             .forUsedVacationDaysBeforeExpiry(ZERO)
             .forUsedVacationDaysAfterExpiry(ZERO)
             .build();
-        when(vacationDaysService.getVacationDaysLeft(account2022, Optional.of(account2023))).thenReturn(vacationDaysLeft);
+        when(vacationDaysService.getVacationDaysLeft(List.of(account2022), List.of(account2023))).thenReturn(Map.of(account2022, vacationDaysLeft));
 
-        sut.remindForRemainingVacationDays();
+        sut.remindForRemainingVacationDays(List.of(account2022));
 
         // was email sent?
         final MimeMessage[] inbox = greenMail.getReceivedMessagesForDomain(person.getEmail());
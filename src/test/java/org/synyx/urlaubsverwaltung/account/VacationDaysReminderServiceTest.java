@@ -16,6 +16,7 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static java.math.BigDecimal.ONE;
@@ -51,9 +52,19 @@ class VacationDaysReminderServiceTest {
         when(personService.getActivePersons()).thenReturn(List.of(person));
 
         final Account account = new Account();
+        account.setPerson(person);
         account.setExpiryDate(LocalDate.of(2022, 4, 1));
-        when(accountService.getHolidaysAccount(2022, person)).thenReturn(Optional.of(account));
-        when(vacationDaysService.calculateTotalLeftVacationDays(account)).thenReturn(ZERO);
+        when(accountService.getHolidaysAccounts(2022, List.of(person))).thenReturn(List.of(account));
+
+        final VacationDaysLeft vacationDaysLeft = VacationDaysLeft.builder()
+            .withAnnualVacation(ZERO)
+            .withRemainingVacation(ZERO)
+            .notExpiring(ZERO)
+            .forUsedVacationDaysBeforeExpiry(ZERO)
+            .forUsedVacationDaysAfterExpiry(ZERO)
+            .withVacationDaysUsedNextYear(ZERO)
+            .build();
+        when(vacationDaysService.getVacationDaysLeft(List.of(account), List.of())).thenReturn(Map.of(account, vacationDaysLeft));
 
         sut.remindForCurrentlyLeftVacationDays();
 
@@ -70,9 +81,19 @@ class VacationDaysReminderServiceTest {
         when(personService.getActivePersons()).thenReturn(List.of(person));
 
         final Account account = new Account();
+        account.setPerson(person);
         account.setExpiryDate(LocalDate.of(2022, 4, 1));
-        when(accountService.getHolidaysAccount(2022, person)).thenReturn(Optional.of(account));
-        when(vacationDaysService.calculateTotalLeftVacationDays(account)).thenReturn(TEN);
+        when(accountService.getHolidaysAccounts(2022, List.of(person))).thenReturn(List.of(account));
+
+        final VacationDaysLeft vacationDaysLeft = VacationDaysLeft.builder()
+            .withAnnualVacation(TEN)
+            .withRemainingVacation(ZERO)
+            .notExpiring(ZERO)
+            .forUsedVacationDaysBeforeExpiry(ZERO)
+            .forUsedVacationDaysAfterExpiry(ZERO)
+            .withVacationDaysUsedNextYear(ZERO)
+            .build();
+        when(vacationDaysService.getVacationDaysLeft(List.of(account), List.of())).thenReturn(Map.of(account, vacationDaysLeft));
 
         sut.remindForCurrentlyLeftVacationDays();
 
@@ -97,15 +118,15 @@ class VacationDaysReminderServiceTest {
         final VacationDaysReminderService sut = new VacationDaysReminderService(personService, accountService, vacationDaysService, mailService, clock);
 
         final Person person = person();
-        when(personService.getActivePersons()).thenReturn(List.of(person));
 
         final Account account2022 = new Account();
+        account2022.setPerson(person);
         account2022.setExpiryDate(LocalDate.of(2022, 4, 1));
-        when(accountService.getHolidaysAccount(2022, person)).thenReturn(Optional.of(account2022));
 
         final Account account2023 = new Account();
+        account2023.setPerson(person);
         account2023.setExpiryDate(LocalDate.of(2023, 4, 1));
-        when(accountService.getHolidaysAccount(2023, person)).thenReturn(Optional.of(account2023));
+        when(accountService.getHolidaysAccounts(2023, List.of(person))).thenReturn(List.of(account2023));
 
         final VacationDaysLeft vacationDaysLeft = VacationDaysLeft.builder()
             .withAnnualVacation(ZERO)
@@ -113,9 +134,9 @@ class VacationDaysReminderServiceTest {
             .forUsedVacationDaysBeforeExpiry(ZERO)
             .forUsedVacationDaysAfterExpiry(ZERO)
             .build();
-        when(vacationDaysService.getVacationDaysLeft(account2022, Optional.of(account2023))).thenReturn(vacationDaysLeft);
+        when(vacationDaysService.getVacationDaysLeft(List.of(account2022), List.of(account2023))).thenReturn(Map.of(account2022, vacationDaysLeft));
 
-        sut.remindForRemainingVacationDays();
+        sut.remindForRemainingVacationDays(List.of(account2022));
 
         verifyNoInteractions(mailService);
     }
@@ -127,15 +148,15 @@ class VacationDaysReminderServiceTest {
         final VacationDaysReminderService sut = new VacationDaysReminderService(personService, accountService, vacationDaysService, mailService, clock);
 
         final Person person = person();
-        when(personService.getActivePersons()).thenReturn(List.of(person));
 
         final Account account2022 = new Account();
+        account2022.setPerson(person);
         account2022.setExpiryDate(LocalDate.of(2022,4,1));
-        when(accountService.getHolidaysAccount(2022, person)).thenReturn(Optional.of(account2022));
 
         final Account account2023 = new Account();
+        account2023.setPerson(person);
         account2023.setExpiryDate(LocalDate.of(2023, 4, 1));
-        when(accountService.getHolidaysAccount(2023, person)).thenReturn(Optional.of(account2023));
+        when(accountService.getHolidaysAccounts(2023, List.of(person))).thenReturn(List.of(account2023));
 
         final VacationDaysLeft vacationDaysLeft = VacationDaysLeft.builder()
             .withAnnualVacation(ZERO)
@@ -144,9 +165,9 @@ class VacationDaysReminderServiceTest {
             .forUsedVacationDaysBeforeExpiry(ZERO)
             .forUsedVacationDaysAfterExpiry(ZERO)
             .build();
-        when(vacationDaysService.getVacationDaysLeft(account2022, Optional.of(account2023))).thenReturn(vacationDaysLeft);
+        when(vacationDaysService.getVacationDaysLeft(List.of(account2022), List.of(account2023))).thenReturn(Map.of(account2022, vacationDaysLeft));
 
-        sut.remindForRemainingVacationDays();
+        sut.remindForRemainingVacationDays(List.of(account2022));
 
         verify(mailService).send(mailArgumentCaptor.capture());
 
@@ -162,6 +183,50 @@ class VacationDaysReminderServiceTest {
         );
     }
 
+    @Test
+    void ensureReminderForRemainingVacationDaysOfManyAccounts() {
+
+        final Clock clock = Clock.fixed(Instant.parse("2022-01-01T06:00:00Z"), ZoneId.of("UTC"));
+        final VacationDaysReminderService sut = new VacationDaysReminderService(personService, accountService, vacationDaysService, mailService, clock);
+
+        final Person person = person();
+        final Person other = new Person("other", "Other", "Olivia", "other@example.org");
+        other.setId(1337);
+
+        final Account account = new Account();
+        account.setPerson(person);
+        account.setExpiryDate(LocalDate.of(2022, 4, 1));
+
+        final Account accountOfOther = new Account();
+        accountOfOther.setPerson(other);
+        accountOfOther.setExpiryDate(LocalDate.of(2022, 4, 1));
+
+        when(accountService.getHolidaysAccounts(2023, List.of(person, other))).thenReturn(List.of());
+
+        final VacationDaysLeft remainingVacationDaysLeft = VacationDaysLeft.builder()
+            .withAnnualVacation(ZERO)
+            .withRemainingVacation(TEN)
+            .notExpiring(ZERO)
+            .forUsedVacationDaysBeforeExpiry(ZERO)
+            .forUsedVacationDaysAfterExpiry(ZERO)
+            .build();
+        final VacationDaysLeft noRemainingVacationDaysLeft = VacationDaysLeft.builder()
+            .withAnnualVacation(ZERO)
+            .withRemainingVacation(ZERO)
+            .notExpiring(ZERO)
+            .forUsedVacationDaysBeforeExpiry(ZERO)
+            .forUsedVacationDaysAfterExpiry(ZERO)
+            .build();
+        when(vacationDaysService.getVacationDaysLeft(List.of(account, accountOfOther), List.of()))
+            .thenReturn(Map.of(account, remainingVacationDaysLeft, accountOfOther, noRemainingVacationDaysLeft));
+
+        sut.remindForRemainingVacationDays(List.of(account, accountOfOther));
+
+        verify(mailService).send(mailArgumentCaptor.capture());
+        assertThat(mailArgumentCaptor.getValue().getMailAddressRecipients()).contains(List.of(person));
+        assertThat(mailArgumentCaptor.getValue().getTemplateModel()).contains(entry("remainingVacationDays", TEN));
+    }
+
     @Test
     void ensureNoNotificationWhenExpireDateNotEqualOfAfter() {
 
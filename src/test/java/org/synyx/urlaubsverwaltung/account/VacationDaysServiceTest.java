@@ -9,6 +9,7 @@ import org.synyx.urlaubsverwaltung.application.application.Application;
 import org.synyx.urlaubsverwaltung.application.application.ApplicationService;
 import org.synyx.urlaubsverwaltung.application.application.ApplicationStatus;
 import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.workingtime.WorkDaysCountRequest;
 import org.synyx.urlaubsverwaltung.workingtime.WorkDaysCountService;
 
 import java.math.BigDecimal;
@@ -16,6 +17,7 @@ import java.time.Clock;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static java.math.BigDecimal.TEN;
@@ -560,4 +562,110 @@ class VacationDaysServiceTest {
 
         assertThat(sut.getUsedRemainingVacationDays(start, end, Optional.of(account))).isEqualTo(ZERO);
     }
+
+    @Test
+    void ensureVacationDaysLeftOfManyAccountsUsesOneQueryAndOneWorkDaysCount() {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        person.setId(1);
+        final Person other = new Person("other", "Other", "Otto", "other@example.org");
+        other.setId(2);
+
+        final LocalDate start = LocalDate.of(2012, JANUARY, 1);
+        final LocalDate end = LocalDate.of(2012, DECEMBER, 31);
+        final LocalDate expiryDate = LocalDate.of(2012, APRIL, 1);
+
+        final Account account = new Account(person, start, end, expiryDate, BigDecimal.valueOf(30), BigDecimal.valueOf(5), ZERO, null);
+        account.setActualVacationDays(BigDecimal.valueOf(30));
+        final Account otherAccount = new Account(other, start, end, expiryDate, BigDecimal.valueOf(30), ZERO, ZERO, null);
+        otherAccount.setActualVacationDays(BigDecimal.valueOf(30));
+
+        final Application overExpiryDate = new Application();
+        overExpiryDate.setStartDate(LocalDate.of(2012, MARCH, 29));
+        overExpiryDate.setEndDate(LocalDate.of(2012, APRIL, 5));
+        overExpiryDate.setDayLength(FULL);
+        overExpiryDate.setPerson(person);
+
+        final Application beforeExpiryDate = new Application();
+        beforeExpiryDate.setStartDate(LocalDate.of(2012, FEBRUARY, 6));
+        beforeExpiryDate.setEndDate(LocalDate.of(2012, FEBRUARY, 7));
+        beforeExpiryDate.setDayLength(FULL);
+        beforeExpiryDate.setPerson(other);
+
+        final List<ApplicationStatus> statuses = List.of(WAITING, TEMPORARY_ALLOWED, ALLOWED, ALLOWED_CANCELLATION_REQUESTED);
+        when(applicationService.getForStatesAndPersonAndVacationCategory(statuses, List.of(person, other), start, end, HOLIDAY))
+            .thenReturn(List.of(overExpiryDate, beforeExpiryDate));
+
+        final WorkDaysCountRequest beforeExpiry = new WorkDaysCountRequest(person, FULL, LocalDate.of(2012, MARCH, 29), LocalDate.of(2012, MARCH, 31));
+        final WorkDaysCountRequest afterExpiry = new WorkDaysCountRequest(person, FULL, expiryDate, LocalDate.of(2012, APRIL, 5));
+        final WorkDaysCountRequest otherBeforeExpiry = new WorkDaysCountRequest(other, FULL, LocalDate.of(2012, FEBRUARY, 6), LocalDate.of(2012, FEBRUARY, 7));
+        when(workDaysCountService.getWorkDaysCount(List.of(beforeExpiry, afterExpiry, otherBeforeExpiry)))
+            .thenReturn(Map.of(beforeExpiry, BigDecimal.valueOf(2), afterExpiry, BigDecimal.valueOf(4), otherBeforeExpiry, BigDecimal.valueOf(2)));
+
+        final Map<Account, VacationDaysLeft> vacationDaysLeft = sut.getVacationDaysLeft(start, end, List.of(account, otherAccount));
+
+        // 5 remaining vacation days - 2 used before expiry date, 30 vacation days - 4 used after expiry date
+        assertThat(vacationDaysLeft.get(account).getRemainingVacationDays()).isEqualByComparingTo(BigDecimal.valueOf(3));
+        assertThat(vacationDaysLeft.get(account).getVacationDays()).isEqualByComparingTo(BigDecimal.valueOf(26));
+        // no remaining vacation days, 30 vacation days - 2 used before expiry date
+        assertThat(vacationDaysLeft.get(otherAccount).getRemainingVacationDays()).isEqualByComparingTo(ZERO);
+        assertThat(vacationDaysLeft.get(otherAccount).getVacationDays()).isEqualByComparingTo(BigDecimal.valueOf(28));
+    }
+
+    @Test
+    void ensureVacationDaysLeftOfManyAccountsConsidersAccountOfNextYear() {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        person.setId(1);
+
+        final Application application4Days = new Application();
+        application4Days.setStartDate(LocalDate.of(2022, JANUARY, 3));
+        application4Days.setEndDate(LocalDate.of(2022, JANUARY, 7));
+        application4Days.setDayLength(FULL);
+        application4Days.setPerson(person);
+
+        final Application application20Days = new Application();
+        application20Days.setStartDate(LocalDate.of(2022, APRIL, 2));
+        application20Days.setEndDate(LocalDate.of(2022, MAY, 3));
+        application20Days.setDayLength(FULL);
+        application20Days.setPerson(person);
+
+        final List<ApplicationStatus> statuses = List.of(WAITING, TEMPORARY_ALLOWED, ALLOWED, ALLOWED_CANCELLATION_REQUESTED);
+        when(applicationService.getForStatesAndPersonAndVacationCategory(statuses, List.of(person), LocalDate.of(2022, 1, 1), LocalDate.of(2022, 12, 31), HOLIDAY))
+            .thenReturn(List.of(application4Days, application20Days));
+
+        final WorkDaysCountRequest fourDays = new WorkDaysCountRequest(person, FULL, LocalDate.of(2022, JANUARY, 3), LocalDate.of(2022, JANUARY, 7));
+        final WorkDaysCountRequest twentyDays = new WorkDaysCountRequest(person, FULL, LocalDate.of(2022, APRIL, 2), LocalDate.of(2022, MAY, 3));
+        when(workDaysCountService.getWorkDaysCount(List.of(fourDays, twentyDays, fourDays, twentyDays)))
+            .thenReturn(Map.of(fourDays, BigDecimal.valueOf(4L), twentyDays, BigDecimal.valueOf(20L)));
+
+        // 36 Total, using 24, so 12 left
+        final Account account = new Account();
+        account.setPerson(person);
+        account.setValidFrom(LocalDate.of(2022, 1, 1));
+        account.setExpiryDate(LocalDate.of(2022, 4, 1));
+        account.setAnnualVacationDays(new BigDecimal("30"));
+        account.setActualVacationDays(new BigDecimal("30"));
+        account.setRemainingVacationDays(new BigDecimal("6"));
+        account.setRemainingVacationDaysNotExpiring(new BigDecimal("2"));
+
+        // next year has only 12 new days, but using 24, i.e. all 12 from this year
+        final Account nextYear = new Account();
+        nextYear.setPerson(person);
+        nextYear.setValidFrom(LocalDate.of(2023, 1, 1));
+        nextYear.setExpiryDate(LocalDate.of(2023, 4, 1));
+        nextYear.setAnnualVacationDays(new BigDecimal("12"));
+        nextYear.setActualVacationDays(new BigDecimal("12"));
+        nextYear.setRemainingVacationDays(new BigDecimal("20"));
+        nextYear.setRemainingVacationDaysNotExpiring(new BigDecimal("2"));
+
+        final Map<Account, VacationDaysLeft> vacationDaysLeftByAccount = sut.getVacationDaysLeft(List.of(account), List.of(nextYear));
+
+        // same as the calculation of the single account
+        final VacationDaysLeft vacationDaysLeft = vacationDaysLeftByAccount.get(account);
+        assertThat(vacationDaysLeft.getVacationDaysUsedNextYear()).isEqualByComparingTo(new BigDecimal("12"));
+        assertThat(vacationDaysLeft.getVacationDays()).isEqualByComparingTo(ZERO);
+        assertThat(vacationDaysLeft.getRemainingVacationDays()).isEqualByComparingTo(ZERO);
+        assertThat(vacationDaysLeft.getRemainingVacationDaysNotExpiring()).isEqualByComparingTo(ZERO);
+    }
 }
@@ -63,4 +63,19 @@ class ApplicationForLeaveTest {
         assertThat(sut.getWeekDayOfStartDate()).isEqualTo(TUESDAY);
         assertThat(sut.getWeekDayOfEndDate()).isEqualTo(FRIDAY);
     }
+
+    @Test
+    void ensureCreatesApplicationForLeaveWithGivenWorkDays() {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+
+        final Application application = createApplication(person, of(2015, 3, 3), of(2015, 3, 6), FULL);
+        application.setId(42);
+
+        final ApplicationForLeave sut = new ApplicationForLeave(application, TEN);
+        assertThat(sut.getId()).isEqualTo(42);
+        assertThat(sut.getStartDate()).isEqualTo(application.getStartDate());
+        assertThat(sut.getPerson()).isEqualTo(person);
+        assertThat(sut.getWorkDays()).isEqualTo(TEN);
+    }
 }
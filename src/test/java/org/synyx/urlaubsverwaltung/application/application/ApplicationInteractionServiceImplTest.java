@@ -6,22 +6,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.synyx.urlaubsverwaltung.TestDataCreator;
-import org.synyx.urlaubsverwaltung.absence.Absence;
-import org.synyx.urlaubsverwaltung.absence.TimeSettings;
 import org.synyx.urlaubsverwaltung.account.AccountInteractionService;
 import org.synyx.urlaubsverwaltung.application.comment.ApplicationComment;
 import org.synyx.urlaubsverwaltung.application.comment.ApplicationCommentAction;
 import org.synyx.urlaubsverwaltung.application.comment.ApplicationCommentService;
 import org.synyx.urlaubsverwaltung.application.vacationtype.VacationType;
-import org.synyx.urlaubsverwaltung.calendarintegration.AbsenceMapping;
-import org.synyx.urlaubsverwaltung.calendarintegration.AbsenceMappingService;
-import org.synyx.urlaubsverwaltung.calendarintegration.CalendarSyncService;
+import org.synyx.urlaubsverwaltung.calendarintegration.CalendarSyncDispatcher;
 import org.synyx.urlaubsverwaltung.department.DepartmentService;
 import org.synyx.urlaubsverwaltung.period.DayLength;
+import org.synyx.urlaubsverwaltung.period.Period;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.Role;
-import org.synyx.urlaubsverwaltung.settings.Settings;
-import org.synyx.urlaubsverwaltung.settings.SettingsService;
 
 import java.time.Clock;
 import java.time.LocalDate;
@@ -38,7 +33,6 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
@@ -47,7 +41,6 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
-import static org.synyx.urlaubsverwaltung.TestDataCreator.anyAbsenceMapping;
 import static org.synyx.urlaubsverwaltung.TestDataCreator.createApplication;
 import static org.synyx.urlaubsverwaltung.TestDataCreator.createPerson;
 import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.ALLOWED;
@@ -83,11 +76,7 @@ class ApplicationInteractionServiceImplTest {
     @Mock
     private ApplicationMailService applicationMailService;
     @Mock
-    private CalendarSyncService calendarSyncService;
-    @Mock
-    private AbsenceMappingService absenceMappingService;
-    @Mock
-    private SettingsService settingsService;
+    private CalendarSyncDispatcher calendarSyncDispatcher;
     @Mock
     private DepartmentService departmentService;
 
@@ -95,22 +84,14 @@ class ApplicationInteractionServiceImplTest {
 
     @BeforeEach
     void setUp() {
-
-        final Settings settings = new Settings();
-        settings.setTimeSettings(new TimeSettings());
-        when(settingsService.getSettings()).thenReturn(settings);
-
         sut = new ApplicationInteractionServiceImpl(applicationService, commentService, accountInteractionService,
-            applicationMailService, calendarSyncService, absenceMappingService, settingsService, departmentService, clock);
+            applicationMailService, calendarSyncDispatcher, departmentService, clock);
     }
 
     // APPLY FOR LEAVE -------------------------------------------------------------------------------------------------
     @Test
     void ensureApplyForLeaveChangesStateAndOtherAttributesAndSavesTheApplicationForLeave() {
 
-        when(calendarSyncService.isRealProviderConfigured()).thenReturn(true);
-        when(calendarSyncService.addAbsence(any(Absence.class))).thenReturn(of("42"));
-
         Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
         Person applier = new Person("muster", "Muster", "Marlene", "muster@example.org");
         Optional<String> comment = of("Foo");
@@ -132,9 +113,6 @@ class ApplicationInteractionServiceImplTest {
     @Test
     void ensureApplyingForLeaveAddsCalendarEvent() {
 
-        when(calendarSyncService.isRealProviderConfigured()).thenReturn(true);
-        when(calendarSyncService.addAbsence(any(Absence.class))).thenReturn(of("42"));
-
         Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
         Person applier = new Person("muster", "Muster", "Marlene", "muster@example.org");
         Optional<String> comment = of("Foo");
@@ -144,16 +122,12 @@ class ApplicationInteractionServiceImplTest {
 
         sut.apply(applicationForLeave, applier, comment);
 
-        verify(calendarSyncService).addAbsence(any(Absence.class));
-        verify(absenceMappingService).create(isNull(), eq(VACATION), anyString());
+        verify(calendarSyncDispatcher).dispatchSync(isNull(), eq(VACATION), eq(person), any(Period.class));
     }
 
     @Test
     void ensureSendsConfirmationEmailToPersonAndNotificationEmailToBossesWhenApplyingForOneself() {
 
-        when(calendarSyncService.isRealProviderConfigured()).thenReturn(true);
-        when(calendarSyncService.addAbsence(any(Absence.class))).thenReturn(of("42"));
-
         Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
 
         final Application applicationForLeave = getDummyApplication(person);
@@ -172,9 +146,6 @@ class ApplicationInteractionServiceImplTest {
     @Test
     void ensureSendsNotificationToPersonIfApplicationForLeaveNotAppliedByOneself() {
 
-        when(calendarSyncService.isRealProviderConfigured()).thenReturn(true);
-        when(calendarSyncService.addAbsence(any(Absence.class))).thenReturn(of("42"));
-
         final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
         final Person applier = new Person("muster", "Muster", "Marlene", "muster@example.org");
         applier.setPermissions(List.of(OFFICE));
@@ -195,9 +166,6 @@ class ApplicationInteractionServiceImplTest {
     @Test
     void ensureApplyingForLeaveUpdatesTheRemainingVacationDays() {
 
-        when(calendarSyncService.isRealProviderConfigured()).thenReturn(true);
-        when(calendarSyncService.addAbsence(any(Absence.class))).thenReturn(of("42"));
-
         final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
         final Person applier = new Person("muster", "Muster", "Marlene", "muster@example.org");
         final Optional<String> comment = of("Foo");
@@ -230,8 +198,7 @@ class ApplicationInteractionServiceImplTest {
 
         assertApplicationForLeaveAndCommentAreSaved(applicationForLeave, ApplicationCommentAction.ALLOWED_DIRECTLY, comment, person);
 
-        verify(calendarSyncService, never()).addAbsence(any(Absence.class));
-        verifyNoInteractions(absenceMappingService);
+        verify(calendarSyncDispatcher).dispatchSync(isNull(), eq(VACATION), eq(person), any(Period.class));
 
         verify(applicationMailService).sendConfirmationAllowedDirectly(eq(applicationForLeave), any(ApplicationComment.class));
         verify(applicationMailService, never()).sendConfirmationAllowedDirectlyByOffice(any(Application.class), any(ApplicationComment.class));
@@ -239,35 +206,6 @@ class ApplicationInteractionServiceImplTest {
         verify(applicationMailService).notifyHolidayReplacementAboutDirectlyAllowedApplication(any(HolidayReplacementEntity.class), any(Application.class));
     }
 
-    @Test
-    void ensureApplicationForLeaveCanBeAllowedDirectlyWithCalendarSync() {
-
-        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
-        final Optional<String> comment = of("Foo");
-
-        final VacationType holidayType = new VacationType(1000, true, HOLIDAY, "application.data.vacationType.holiday", false, YELLOW, false);
-
-        final Application applicationForLeave = getDummyApplication(person);
-        applicationForLeave.setVacationType(convert(holidayType));
-        applicationForLeave.setStatus(ALLOWED);
-        when(applicationService.save(applicationForLeave)).thenReturn(applicationForLeave);
-
-        when(commentService.create(applicationForLeave, ApplicationCommentAction.ALLOWED_DIRECTLY, comment, person)).thenReturn(new ApplicationComment(person, clock));
-
-        when(calendarSyncService.isRealProviderConfigured()).thenReturn(true);
-        when(calendarSyncService.addAbsence(any(Absence.class))).thenReturn(Optional.of("eventId"));
-
-        sut.directAllow(applicationForLeave, person, comment);
-
-        assertApplicationForLeaveAndCommentAreSaved(applicationForLeave, ApplicationCommentAction.ALLOWED_DIRECTLY, comment, person);
-
-        verify(applicationMailService).sendConfirmationAllowedDirectly(eq(applicationForLeave), any(ApplicationComment.class));
-        verify(applicationMailService, never()).sendConfirmationAllowedDirectlyByOffice(any(Application.class), any(ApplicationComment.class));
-        verify(applicationMailService).sendNewDirectlyAllowedApplicationNotification(any(Application.class), any(ApplicationComment.class));
-        verify(applicationMailService).notifyHolidayReplacementAboutDirectlyAllowedApplication(any(HolidayReplacementEntity.class), any(Application.class));
-    }
-
-
     @Test
     void ensureApplicationForLeaveCanBeAllowedDirectlyByOffice() {
 
@@ -289,8 +227,7 @@ class ApplicationInteractionServiceImplTest {
 
         assertApplicationForLeaveAndCommentAreSaved(applicationForLeave, ApplicationCommentAction.ALLOWED_DIRECTLY, comment, office);
 
-        verify(calendarSyncService, never()).addAbsence(any(Absence.class));
-        verifyNoInteractions(absenceMappingService);
+        verify(calendarSyncDispatcher).dispatchSync(isNull(), eq(VACATION), eq(person), any(Period.class));
 
         verify(applicationMailService, never()).sendConfirmationAllowedDirectly(eq(applicationForLeave), any(ApplicationComment.class));
         verify(applicationMailService).sendConfirmationAllowedDirectlyByOffice(any(Application.class), any(ApplicationComment.class));
@@ -383,8 +320,7 @@ class ApplicationInteractionServiceImplTest {
         verifyNoInteractions(applicationService);
         verifyNoInteractions(commentService);
         verifyNoInteractions(applicationMailService);
-        verifyNoInteractions(calendarSyncService);
-        verifyNoInteractions(absenceMappingService);
+        verifyNoInteractions(calendarSyncDispatcher);
     }
 
     // ALLOWING - DEPARTMENT HEAD
@@ -470,8 +406,7 @@ class ApplicationInteractionServiceImplTest {
         verifyNoInteractions(applicationService);
         verifyNoInteractions(commentService);
         verifyNoInteractions(applicationMailService);
-        verifyNoInteractions(calendarSyncService);
-        verifyNoInteractions(absenceMappingService);
+        verifyNoInteractions(calendarSyncDispatcher);
     }
 
     @Test
@@ -568,7 +503,7 @@ class ApplicationInteractionServiceImplTest {
         assertApplicationForLeaveHasChangedStatus(applicationForLeave, ALLOWED, person, secondStage);
         assertApplicationForLeaveAndCommentAreSaved(applicationForLeave, ApplicationCommentAction.ALLOWED, comment, secondStage);
         assertAllowedNotificationIsSent(applicationForLeave);
-        verifyNoInteractions(calendarSyncService);
+        verifyNoInteractions(calendarSyncDispatcher);
     }
 
     @Test
@@ -594,7 +529,7 @@ class ApplicationInteractionServiceImplTest {
         assertApplicationForLeaveHasChangedStatus(applicationForLeave, ALLOWED, departmentHead, secondStageAuthority);
         assertApplicationForLeaveAndCommentAreSaved(applicationForLeave, ApplicationCommentAction.ALLOWED, comment, secondStageAuthority);
         assertAllowedNotificationIsSent(applicationForLeave);
-        verifyNoInteractions(calendarSyncService);
+        verifyNoInteractions(calendarSyncDispatcher);
     }
 
     @Test
@@ -770,14 +705,9 @@ class ApplicationInteractionServiceImplTest {
         applicationForLeave.setStatus(WAITING);
         when(applicationService.save(applicationForLeave)).thenReturn(applicationForLeave);
 
-        final AbsenceMapping absenceMapping = anyAbsenceMapping();
-        final Optional<AbsenceMapping> absenceByIdAndType = absenceMappingService.getAbsenceByIdAndType(isNull(), eq(VACATION));
-        when(absenceByIdAndType).thenReturn(of(absenceMapping));
-
         sut.reject(applicationForLeave, boss, comment);
 
-        verify(calendarSyncService).deleteAbsence(absenceMapping.getEventId());
-        verify(absenceMappingService).delete(absenceMapping);
+        verify(calendarSyncDispatcher).dispatchDelete(null, VACATION);
     }
 
     @Test
@@ -835,13 +765,9 @@ class ApplicationInteractionServiceImplTest {
         applicationForLeave.setStatus(WAITING);
         when(applicationService.save(applicationForLeave)).thenReturn(applicationForLeave);
 
-        final AbsenceMapping absenceMapping = anyAbsenceMapping();
-        when(absenceMappingService.getAbsenceByIdAndType(null, VACATION)).thenReturn(of(absenceMapping));
-
         sut.cancel(applicationForLeave, canceller, comment);
 
-        verify(calendarSyncService).deleteAbsence(anyString());
-        verify(absenceMappingService).delete(any(AbsenceMapping.class));
+        verify(calendarSyncDispatcher).dispatchDelete(null, VACATION);
     }
 
     @Test
@@ -1440,8 +1366,7 @@ class ApplicationInteractionServiceImplTest {
     }
 
     private void assertNoCalendarSyncIsExecuted() {
-        verifyNoInteractions(calendarSyncService);
-        verifyNoInteractions(absenceMappingService);
+        verifyNoInteractions(calendarSyncDispatcher);
     }
 
     private void assertAllowedNotificationIsSent(Application applicationForLeave) {
@@ -1450,8 +1375,7 @@ class ApplicationInteractionServiceImplTest {
     }
 
     private void assertNoCalendarSyncOccurs() {
-        verifyNoInteractions(calendarSyncService);
-        verifyNoInteractions(absenceMappingService);
+        verifyNoInteractions(calendarSyncDispatcher);
     }
 
     private void assertTemporaryAllowedNotificationIsSent(Application applicationForLeave) {
@@ -12,7 +12,6 @@ import org.synyx.urlaubsverwaltung.application.vacationtype.VacationTypeServiceI
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonService;
 
-import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
@@ -112,16 +111,6 @@ class ApplicationRepositoryIT extends TestContainersBase {
         assertThat(actualApplications).contains(application);
     }
 
-    @Test
-    void ensureReturnsNullAsTotalOvertimeReductionIfPersonHasNoApplicationsForLeaveYet() {
-
-        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
-        final Person savedPerson = personService.save(person);
-
-        BigDecimal totalHours = sut.calculateTotalOvertimeReductionOfPerson(savedPerson);
-        assertThat(totalHours).isNull();
-    }
-
     @Test
     void findByStatusIn() {
 
@@ -358,144 +347,6 @@ class ApplicationRepositoryIT extends TestContainersBase {
             .isEmpty();
     }
 
-    @Test
-    void ensureCountsTotalOvertimeReductionCorrectly() {
-
-        final Person person = new Person("sam", "smith", "sam", "smith@example.org");
-        final Person savedPerson = personService.save(person);
-
-        final Person otherPerson = new Person("freddy", "Gwin", "freddy", "gwin@example.org");
-        final Person savedOtherPerson = personService.save(otherPerson);
-
-        final LocalDate now = LocalDate.now(UTC);
-
-        // Waiting overtime reduction (2.5 hours) ----------------------------------------------------------------------
-        final Application halfDayOvertimeReduction = createApplication(savedPerson, getVacationType(OVERTIME), now.plusDays(5), now.plusDays(10), MORNING);
-        halfDayOvertimeReduction.setHours(Duration.ofMinutes(150));
-        halfDayOvertimeReduction.setStatus(WAITING);
-        sut.save(halfDayOvertimeReduction);
-
-        // Temporary Allowed overtime reduction (8 hours) ------------------------------------------------------------------------
-        Application fullDayTemporaryAllowedOvertimeReduction = createApplication(savedPerson, getVacationType(OVERTIME), now, now.plusDays(2), FULL);
-        fullDayTemporaryAllowedOvertimeReduction.setHours(Duration.ofHours(8));
-        fullDayTemporaryAllowedOvertimeReduction.setStatus(TEMPORARY_ALLOWED);
-        sut.save(fullDayTemporaryAllowedOvertimeReduction);
-
-        // Allowed overtime reduction (8 hours) ------------------------------------------------------------------------
-        Application fullDayAllowedOvertimeReduction = createApplication(savedPerson, getVacationType(OVERTIME), now, now.plusDays(2), FULL);
-        fullDayAllowedOvertimeReduction.setHours(Duration.ofHours(8));
-        fullDayAllowedOvertimeReduction.setStatus(ALLOWED);
-        sut.save(fullDayAllowedOvertimeReduction);
-
-        // Allowed overtime reduction (8 hours) ------------------------------------------------------------------------
-        Application fullDayAllowedCancellationRequestedOvertimeReduction = createApplication(savedPerson, getVacationType(OVERTIME), now, now.plusDays(2), FULL);
-        fullDayAllowedCancellationRequestedOvertimeReduction.setHours(Duration.ofHours(8));
-        fullDayAllowedCancellationRequestedOvertimeReduction.setStatus(ALLOWED_CANCELLATION_REQUESTED);
-        sut.save(fullDayAllowedCancellationRequestedOvertimeReduction);
-
-        // Cancelled overtime reduction (1 hour) ----------------------------------------------------------------------
-        final Application cancelledOvertimeReduction = createApplication(savedPerson, getVacationType(OVERTIME), now, now.plusDays(2), FULL);
-        cancelledOvertimeReduction.setHours(Duration.ofHours(1));
-        cancelledOvertimeReduction.setStatus(CANCELLED);
-        sut.save(cancelledOvertimeReduction);
-
-        // Rejected overtime reduction (1 hour) -----------------------------------------------------------------------
-        final Application rejectedOvertimeReduction = createApplication(savedPerson, getVacationType(OVERTIME), now, now.plusDays(2), FULL);
-        rejectedOvertimeReduction.setHours(Duration.ofHours(1));
-        rejectedOvertimeReduction.setStatus(REJECTED);
-        sut.save(rejectedOvertimeReduction);
-
-        // Revoked overtime reduction (1 hour) ------------------------------------------------------------------------
-        final Application revokedOvertimeReduction = createApplication(savedPerson, getVacationType(OVERTIME), now, now.plusDays(2), FULL);
-        revokedOvertimeReduction.setHours(Duration.ofHours(1));
-        revokedOvertimeReduction.setStatus(REVOKED);
-        sut.save(revokedOvertimeReduction);
-
-        // Holiday with hours set accidentally (1 hour) ---------------------------------------------------------------
-        final Application holiday = createApplication(savedPerson, getVacationType(HOLIDAY), now.minusDays(8), now.minusDays(4), FULL);
-
-        // NOTE: Holiday should not have hours set, but who knows....
-        // More than once heard: "this should never happen" ;)
-        holiday.setHours(Duration.ofHours(1));
-        sut.save(holiday);
-
-        // Overtime reduction for other person -------------------------------------------------------------------------
-        final Application overtimeReduction = createApplication(savedOtherPerson, getVacationType(OVERTIME), now.plusDays(5), now.plusDays(10), NOON);
-        overtimeReduction.setHours(Duration.ofMinutes(150));
-        sut.save(overtimeReduction);
-
-        // Let's calculate! --------------------------------------------------------------------------------------------
-
-        BigDecimal totalHours = sut.calculateTotalOvertimeReductionOfPerson(person);
-        assertThat(totalHours).isEqualTo(BigDecimal.valueOf(26.5));
-    }
-
-    @Test
-    void ensureCountsTotalOvertimeReductionBeforeDateCorrectly() {
-
-        final Person person = new Person("sam", "smith", "sam", "smith@example.org");
-        final Person savedPerson = personService.save(person);
-
-        final Person otherPerson = new Person("freddy", "Gwin", "freddy", "gwin@example.org");
-        final Person savedOtherPerson = personService.save(otherPerson);
-
-        final LocalDate now = LocalDate.now(UTC);
-
-        // Should be in the calculation
-        final Application halfDayWaitingOvertimeReduction = createApplication(savedPerson, getVacationType(OVERTIME), LocalDate.of(2021, 12, 31), now.plusDays(10), MORNING);
-        halfDayWaitingOvertimeReduction.setHours(Duration.ofMinutes(150));
-        halfDayWaitingOvertimeReduction.setStatus(WAITING);
-        sut.save(halfDayWaitingOvertimeReduction);
-
-        Application fullDayTemporaryAllowedOvertimeReduction = createApplication(savedPerson, getVacationType(OVERTIME), LocalDate.of(2021, 12, 31), now.plusDays(2), FULL);
-        fullDayTemporaryAllowedOvertimeReduction.setHours(Duration.ofHours(8));
-        fullDayTemporaryAllowedOvertimeReduction.setStatus(TEMPORARY_ALLOWED);
-        sut.save(fullDayTemporaryAllowedOvertimeReduction);
-
-        Application fullDayAllowedOvertimeReduction = createApplication(savedPerson, getVacationType(OVERTIME), LocalDate.of(2021, 12, 31), now.plusDays(2), FULL);
-        fullDayAllowedOvertimeReduction.setHours(Duration.ofHours(8));
-        fullDayAllowedOvertimeReduction.setStatus(ALLOWED);
-        sut.save(fullDayAllowedOvertimeReduction);
-
-        Application fullDayAllowedCancellationRequestedOvertimeReduction = createApplication(savedPerson, getVacationType(OVERTIME), LocalDate.of(2021, 12, 31), now.plusDays(2), FULL);
-        fullDayAllowedCancellationRequestedOvertimeReduction.setHours(Duration.ofHours(8));
-        fullDayAllowedCancellationRequestedOvertimeReduction.setStatus(ALLOWED_CANCELLATION_REQUESTED);
-        sut.save(fullDayAllowedCancellationRequestedOvertimeReduction);
-
-        // Should NOT be in the calculation
-        final Application cancelledOvertimeReduction = createApplication(savedPerson, getVacationType(OVERTIME), LocalDate.of(2021, 12, 31), now.plusDays(2), FULL);
-        cancelledOvertimeReduction.setHours(Duration.ofHours(1));
-        cancelledOvertimeReduction.setStatus(CANCELLED);
-        sut.save(cancelledOvertimeReduction);
-
-        final Application rejectedOvertimeReduction = createApplication(savedPerson, getVacationType(OVERTIME), LocalDate.of(2021, 12, 31), now.plusDays(2), FULL);
-        rejectedOvertimeReduction.setHours(Duration.ofHours(1));
-        rejectedOvertimeReduction.setStatus(REJECTED);
-        sut.save(rejectedOvertimeReduction);
-
-        final Application revokedOvertimeReduction = createApplication(savedPerson, getVacationType(OVERTIME), LocalDate.of(2021, 12, 31), now.plusDays(2), FULL);
-        revokedOvertimeReduction.setHours(Duration.ofHours(1));
-        revokedOvertimeReduction.setStatus(REVOKED);
-        sut.save(revokedOvertimeReduction);
-
-        // NOTE: Holiday should not have hours set, but who knows....More than once heard: "this should never happen" ;)
-        final Application holiday = createApplication(savedPerson, getVacationType(HOLIDAY), LocalDate.of(2021, 12, 31), now.minusDays(4), FULL);
-        holiday.setHours(Duration.ofHours(1));
-        sut.save(holiday);
-
-        final Application overtimeReduction = createApplication(savedOtherPerson, getVacationType(OVERTIME), LocalDate.of(2021, 12, 31), now.plusDays(10), NOON);
-        overtimeReduction.setHours(Duration.ofMinutes(150));
-        sut.save(overtimeReduction);
-
-        final Application overtimeReductionAfterDate = createApplication(savedPerson, getVacationType(OVERTIME), LocalDate.of(2022, 1, 1), now.plusDays(10), NOON);
-        overtimeReductionAfterDate.setHours(Duration.ofMinutes(150));
-        sut.save(overtimeReductionAfterDate);
-
-        // Let's calculate! --------------------------------------------------------------------------------------------
-        final BigDecimal totalHours = sut.calculateTotalOvertimeReductionOfPersonBefore(person, LocalDate.of(2022, 1, 1));
-        assertThat(totalHours).isEqualTo(BigDecimal.valueOf(26.5));
-    }
-
     @Test
     void findByHolidayReplacementAndEndDateIsGreaterThanEqualAndStatusIn() {
 
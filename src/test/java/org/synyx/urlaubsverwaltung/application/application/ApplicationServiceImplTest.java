@@ -3,15 +3,17 @@ package org.synyx.urlaubsverwaltung.application.application;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.synyx.urlaubsverwaltung.application.vacationtype.VacationTypeEntity;
 import org.synyx.urlaubsverwaltung.person.Person;
 
-import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -31,10 +33,12 @@ class ApplicationServiceImplTest {
 
     @Mock
     private ApplicationRepository applicationRepository;
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
 
     @BeforeEach
     void setUp() {
-        sut = new ApplicationServiceImpl(applicationRepository);
+        sut = new ApplicationServiceImpl(applicationRepository, applicationEventPublisher);
     }
 
     // Get application by ID -------------------------------------------------------------------------------------------
@@ -55,37 +59,25 @@ class ApplicationServiceImplTest {
     void ensureSaveCallsCorrectDaoMethod() {
 
         final Application application = new Application();
+        when(applicationRepository.save(application)).thenReturn(application);
+
         sut.save(application);
         verify(applicationRepository).save(application);
     }
 
-    // Get total overtime reduction ------------------------------------------------------------------------------------
     @Test
-    void ensureReturnsZeroIfPersonHasNoApplicationsForLeaveYet() {
-
-        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+    void ensureSavePublishesApplicationUpdatedEvent() {
 
-        when(applicationRepository.calculateTotalOvertimeReductionOfPerson(person)).thenReturn(null);
-
-        final Duration totalHours = sut.getTotalOvertimeReductionOfPerson(person);
-
-        verify(applicationRepository).calculateTotalOvertimeReductionOfPerson(person);
-
-        assertThat(totalHours).isEqualTo(Duration.ZERO);
-    }
-
-    @Test
-    void ensureReturnsZeroIfPersonHasNoApplicationsForLeaveBeforeDate() {
-
-        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
-        final LocalDate date = LocalDate.of(2022, 1, 1);
-        when(applicationRepository.calculateTotalOvertimeReductionOfPersonBefore(person, date)).thenReturn(null);
-
-        final Duration totalHours = sut.getTotalOvertimeReductionOfPersonBefore(person, date);
+        final Application application = new Application();
+        final Application savedApplication = new Application();
+        savedApplication.setId(42);
+        when(applicationRepository.save(application)).thenReturn(savedApplication);
 
-        verify(applicationRepository).calculateTotalOvertimeReductionOfPersonBefore(person, date);
+        sut.save(application);
 
-        assertThat(totalHours).isEqualTo(Duration.ZERO);
+        final ArgumentCaptor<ApplicationUpdatedEvent> captor = ArgumentCaptor.forClass(ApplicationUpdatedEvent.class);
+        verify(applicationEventPublisher).publishEvent(captor.capture());
+        assertThat(captor.getValue().getApplicationId()).isEqualTo(42);
     }
 
     @Test
@@ -115,20 +107,6 @@ class ApplicationServiceImplTest {
     }
 
 
-    @Test
-    void ensureReturnsCorrectTotalOvertimeReductionForPerson() {
-
-        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
-
-        when(applicationRepository.calculateTotalOvertimeReductionOfPerson(person)).thenReturn(BigDecimal.ONE);
-
-        final Duration totalHours = sut.getTotalOvertimeReductionOfPerson(person);
-
-        verify(applicationRepository).calculateTotalOvertimeReductionOfPerson(person);
-
-        assertThat(totalHours).isEqualTo(Duration.ofHours(1));
-    }
-
     @Test
     void ensureTotalOvertimeReductionOfPersonIsZeroIfNoApplicationIsFound() {
 
@@ -214,21 +192,6 @@ class ApplicationServiceImplTest {
         assertThat(totalOvertimeReduction).isEqualTo(Duration.parse("PT4H"));
     }
 
-    @Test
-    void ensureReturnsCorrectTotalOvertimeReductionForPersonBeforeDate() {
-
-        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
-        final LocalDate date = LocalDate.of(2022, 1, 1);
-
-        when(applicationRepository.calculateTotalOvertimeReductionOfPersonBefore(person, date)).thenReturn(BigDecimal.ONE);
-
-        final Duration totalHours = sut.getTotalOvertimeReductionOfPersonBefore(person, date);
-
-        verify(applicationRepository).calculateTotalOvertimeReductionOfPersonBefore(person, date);
-
-        assertThat(totalHours).isEqualTo(Duration.ofHours(1));
-    }
-
     @Test
     void getForHolidayReplacement() {
 
@@ -298,4 +261,62 @@ class ApplicationServiceImplTest {
         final List<Application> holidayReplacementApplications = sut.getApplicationsForACertainPeriodAndPersonAndVacationCategory(from, to, person, statuses, HOLIDAY);
         assertThat(holidayReplacementApplications).hasSize(1).contains(application);
     }
+
+    @Test
+    void getForStatesAndPersonAndVacationCategory() {
+        final Person person = new Person();
+        final LocalDate from = LocalDate.of(2020, 10, 1);
+        final LocalDate to = LocalDate.of(2020, 10, 3);
+
+        final Application application = new Application();
+        final List<ApplicationStatus> statuses = List.of(TEMPORARY_ALLOWED, ALLOWED, ALLOWED_CANCELLATION_REQUESTED);
+        when(applicationRepository.findByStatusInAndPersonInAndEndDateIsGreaterThanEqualAndStartDateIsLessThanEqualAndVacationTypeCategory(statuses, List.of(person), from, to, HOLIDAY)).thenReturn(List.of(application));
+
+        final List<Application> applications = sut.getForStatesAndPersonAndVacationCategory(statuses, List.of(person), from, to, HOLIDAY);
+        assertThat(applications).containsExactly(application);
+    }
+
+    @Test
+    void getForStatesAndPersonAndVacationCategoryOfAllTime() {
+        final Person person = new Person();
+
+        final Application application = new Application();
+        final List<ApplicationStatus> statuses = List.of(WAITING, ALLOWED);
+        when(applicationRepository.findByPersonAndVacationTypeCategoryAndStatusIn(person, OVERTIME, statuses)).thenReturn(List.of(application));
+
+        final List<Application> applications = sut.getForStatesAndPersonAndVacationCategory(statuses, person, OVERTIME);
+        assertThat(applications).containsExactly(application);
+    }
+
+    @Test
+    void ensureTotalOvertimeReductionOfPersonsWithApplicationsInRange() {
+
+        final List<ApplicationStatus> waitingAndAllowedStatus = List.of(WAITING, TEMPORARY_ALLOWED, ALLOWED, ALLOWED_CANCELLATION_REQUESTED);
+
+        final Person person = new Person();
+        final Person personWithoutApplication = new Person();
+        final LocalDate start = LocalDate.of(2022, 10, 10);
+        final LocalDate end = LocalDate.of(2022, 10, 20);
+
+        final Application applicationInRange = new Application();
+        applicationInRange.setPerson(person);
+        applicationInRange.setStartDate(LocalDate.of(2022, 10, 10));
+        applicationInRange.setEndDate(LocalDate.of(2022, 10, 12));
+        applicationInRange.setHours(Duration.ofHours(10));
+
+        final Application applicationStartOfRange = new Application();
+        applicationStartOfRange.setPerson(person);
+        applicationStartOfRange.setStartDate(LocalDate.of(2022, 10, 9));
+        applicationStartOfRange.setEndDate(LocalDate.of(2022, 10, 10));
+        applicationStartOfRange.setHours(Duration.ofHours(4));
+
+        final List<Person> persons = List.of(person, personWithoutApplication);
+        when(applicationRepository.findByStatusInAndPersonInAndEndDateIsGreaterThanEqualAndStartDateIsLessThanEqualAndVacationTypeCategory(waitingAndAllowedStatus, persons, start, end, OVERTIME))
+            .thenReturn(List.of(applicationInRange, applicationStartOfRange));
+
+        final Map<Person, Duration> totalOvertimeReduction = sut.getTotalOvertimeReductionOfPersons(persons, start, end);
+        assertThat(totalOvertimeReduction)
+            .containsEntry(person, Duration.ofHours(12))
+            .containsEntry(personWithoutApplication, Duration.ZERO);
+    }
 }
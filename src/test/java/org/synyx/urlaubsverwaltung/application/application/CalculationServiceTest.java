@@ -186,7 +186,7 @@ class CalculationServiceTest {
         final Account account = new Account(person, validFrom, validTo, expiryDate, TEN, TEN, TEN, "comment");
         when(accountService.getHolidaysAccount(2012, person)).thenReturn(Optional.of(account));
 
-        when(vacationDaysService.getVacationDaysLeft(any(), any())).thenReturn(
+        when(vacationDaysService.getVacationDaysLeft(any(Account.class), any())).thenReturn(
             VacationDaysLeft.builder()
                 .withAnnualVacation(TEN)
                 .withRemainingVacation(BigDecimal.valueOf(20))
@@ -627,7 +627,7 @@ class CalculationServiceTest {
         when(accountService.getHolidaysAccount(2011, person)).thenReturn(Optional.of(account));
         when(accountInteractionService.autoCreateOrUpdateNextYearsHolidaysAccount(account)).thenReturn(account);
 
-        when(vacationDaysService.getVacationDaysLeft(any(), any()))
+        when(vacationDaysService.getVacationDaysLeft(any(Account.class), any()))
             .thenReturn(VacationDaysLeft.builder()
                 .withAnnualVacation(ONE)
                 .withRemainingVacation(ZERO)
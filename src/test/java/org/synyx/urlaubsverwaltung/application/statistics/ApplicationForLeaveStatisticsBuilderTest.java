@@ -14,8 +14,8 @@ import org.synyx.urlaubsverwaltung.application.application.ApplicationService;
 import org.synyx.urlaubsverwaltung.application.vacationtype.VacationType;
 import org.synyx.urlaubsverwaltung.application.vacationtype.VacationTypeEntity;
 import org.synyx.urlaubsverwaltung.overtime.OvertimeService;
-import org.synyx.urlaubsverwaltung.period.DayLength;
 import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.workingtime.WorkDaysCountRequest;
 import org.synyx.urlaubsverwaltung.workingtime.WorkDaysCountService;
 
 import java.math.BigDecimal;
@@ -25,7 +25,7 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
 import static java.math.BigDecimal.ONE;
 import static java.math.BigDecimal.TEN;
@@ -34,16 +34,15 @@ import static java.time.LocalDate.of;
 import static java.time.Month.APRIL;
 import static java.time.Month.DECEMBER;
 import static java.time.Month.JANUARY;
-import static java.util.Optional.empty;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.when;
 import static org.synyx.urlaubsverwaltung.TestDataCreator.createVacationTypesEntities;
 import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.ALLOWED;
 import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.ALLOWED_CANCELLATION_REQUESTED;
-import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.REJECTED;
 import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.TEMPORARY_ALLOWED;
 import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.WAITING;
 import static org.synyx.urlaubsverwaltung.application.vacationtype.VacationCategory.HOLIDAY;
@@ -75,7 +74,7 @@ class ApplicationForLeaveStatisticsBuilderTest {
     @Test
     void ensureThrowsIfTheGivenFromAndToDatesAreNotInTheSameYear() {
         final VacationType type = new VacationType(1, true, HOLIDAY, "application.data.vacationType.holiday", true, YELLOW, false);
-        assertThatIllegalArgumentException().isThrownBy(() -> sut.build(new Person(), null, of(2014, 1, 1), of(2015, 1, 1), List.of(type)));
+        assertThatIllegalArgumentException().isThrownBy(() -> sut.build(List.of(new Person()), of(2014, 1, 1), of(2015, 1, 1), List.of(type)));
     }
 
     @Test
@@ -93,8 +92,8 @@ class ApplicationForLeaveStatisticsBuilderTest {
         final LocalDate expiryDate = of(2014, APRIL, 1);
         final Account account = new Account(person, validFrom, validTo, expiryDate, TEN, TEN, TEN, null);
 
-        when(accountService.getHolidaysAccount(2014, person)).thenReturn(Optional.of(account));
-        when(overtimeService.getLeftOvertimeForPerson(person)).thenReturn(Duration.ofHours(9));
+        when(accountService.getHolidaysAccounts(2014, List.of(person))).thenReturn(List.of(account));
+        when(overtimeService.getLeftOvertimeForPersons(List.of(person))).thenReturn(Map.of(person, Duration.ofHours(9)));
 
         final Application holidayWaiting = new Application();
         holidayWaiting.setPerson(person);
@@ -128,14 +127,6 @@ class ApplicationForLeaveStatisticsBuilderTest {
         holidayAllowedCancellationRequested.setEndDate(of(2014, 10, 15));
         holidayAllowedCancellationRequested.setStatus(ALLOWED_CANCELLATION_REQUESTED);
 
-        final Application holidayRejected = new Application();
-        holidayRejected.setPerson(person);
-        holidayRejected.setDayLength(FULL);
-        holidayRejected.setVacationType(vacationTypes.get(0));
-        holidayRejected.setStartDate(of(2014, 11, 6));
-        holidayRejected.setEndDate(of(2014, 11, 6));
-        holidayRejected.setStatus(REJECTED);
-
         final Application specialLeaveWaiting = new Application();
         specialLeaveWaiting.setPerson(person);
         specialLeaveWaiting.setDayLength(FULL);
@@ -161,14 +152,17 @@ class ApplicationForLeaveStatisticsBuilderTest {
         overTimeWaiting.setStatus(WAITING);
 
         final List<Application> applications = List.of(holidayWaiting, holidayTemporaryAllowed, holidayAllowed,
-            holidayAllowedCancellationRequested, holidayRejected, specialLeaveWaiting, unpaidLeaveAllowed, overTimeWaiting);
+            holidayAllowedCancellationRequested, specialLeaveWaiting, unpaidLeaveAllowed, overTimeWaiting);
         final LocalDate from = of(2014, 1, 1);
         final LocalDate to = of(2014, 12, 31);
-        when(applicationService.getApplicationsForACertainPeriodAndPerson(from, to, person)).thenReturn(applications);
+        when(applicationService.getForStatesAndPerson(List.of(WAITING, TEMPORARY_ALLOWED, ALLOWED, ALLOWED_CANCELLATION_REQUESTED), List.of(person), from, to))
+            .thenReturn(applications);
 
         // just return 1 day for each application for leave
-        when(workDaysCountService.getWorkDaysCount(any(DayLength.class), any(LocalDate.class), any(LocalDate.class), eq(person)))
-            .thenReturn(ONE);
+        when(workDaysCountService.getWorkDaysCount(anyList())).thenAnswer(invocation -> {
+            final List<WorkDaysCountRequest> requests = invocation.getArgument(0);
+            return requests.stream().collect(toMap(identity(), request -> ONE, (one, other) -> one));
+        });
 
         final VacationType type = new VacationType(1, true, HOLIDAY, "application.data.vacationType.holiday", true, YELLOW, false);
 
@@ -179,9 +173,12 @@ class ApplicationForLeaveStatisticsBuilderTest {
             .forUsedVacationDaysBeforeExpiry(ZERO)
             .forUsedVacationDaysAfterExpiry(ZERO)
             .build();
-        when(vacationDaysService.getVacationDaysLeft(validFrom, validTo, account, empty())).thenReturn(vacationDaysLeftYear);
+        when(vacationDaysService.getVacationDaysLeft(validFrom, validTo, List.of(account))).thenReturn(Map.of(account, vacationDaysLeftYear));
+
+        final List<ApplicationForLeaveStatistics> statisticsOfPersons = sut.build(List.of(person), from, to, List.of(type));
+        assertThat(statisticsOfPersons).hasSize(1);
 
-        final ApplicationForLeaveStatistics statistics = sut.build(person, null, from, to, List.of(type));
+        final ApplicationForLeaveStatistics statistics = statisticsOfPersons.get(0);
         assertThat(statistics.getPerson()).isEqualTo(person);
         assertThat(statistics.getTotalWaitingVacationDays()).isEqualTo(BigDecimal.valueOf(4));
         assertThat(statistics.getTotalAllowedVacationDays()).isEqualTo(BigDecimal.valueOf(3));
@@ -199,9 +196,9 @@ class ApplicationForLeaveStatisticsBuilderTest {
         final LocalDate expiryDate = of(2021, APRIL, 1);
         // 20 vacation days (10 anual, 10 remaining, not exp. vacation days)
         final Account account = new Account(person, validFrom, validTo, expiryDate, TEN, TEN, TEN, null);
-        when(accountService.getHolidaysAccount(2021, person)).thenReturn(Optional.of(account));
+        when(accountService.getHolidaysAccounts(2021, List.of(person))).thenReturn(List.of(account));
 
-        when(overtimeService.getLeftOvertimeForPerson(person)).thenReturn(Duration.ofHours(9));
+        when(overtimeService.getLeftOvertimeForPersons(List.of(person))).thenReturn(Map.of(person, Duration.ofHours(9)));
 
         // application (25.04.2021-30.04.2021) with 3 work days
         final Application applicationSpanningIntoPeriod = new Application();
@@ -211,8 +208,6 @@ class ApplicationForLeaveStatisticsBuilderTest {
         applicationSpanningIntoPeriod.setVacationType(vacationTypes.get(0));
         applicationSpanningIntoPeriod.setStartDate(of(2021, 4, 25));
         applicationSpanningIntoPeriod.setEndDate(of(2021, 4, 30));
-        when(workDaysCountService.getWorkDaysCount(FULL, of(2021, 4, 28), of(2021, 4, 30), person))
-            .thenReturn(BigDecimal.valueOf(3));
 
         // application (21.05.2021-10.06.2021) with 8 work days
         final Application applicationSpanningOutOfPeriod = new Application();
@@ -222,8 +217,6 @@ class ApplicationForLeaveStatisticsBuilderTest {
         applicationSpanningOutOfPeriod.setVacationType(vacationTypes.get(0));
         applicationSpanningOutOfPeriod.setStartDate(of(2021, 5, 21));
         applicationSpanningOutOfPeriod.setEndDate(of(2021, 6, 10));
-        when(workDaysCountService.getWorkDaysCount(FULL, of(2021, 5, 21), of(2021, 5, 28), person))
-            .thenReturn(BigDecimal.valueOf(8));
 
         // application (28.04.2021-05.05.2021) with 8 work days
         final Application applicationInPeriod = new Application();
@@ -233,12 +226,20 @@ class ApplicationForLeaveStatisticsBuilderTest {
         applicationInPeriod.setVacationType(vacationTypes.get(0));
         applicationInPeriod.setStartDate(of(2021, 4, 28));
         applicationInPeriod.setEndDate(of(2021, 5, 5));
-        when(workDaysCountService.getWorkDaysCount(FULL, of(2021, 4, 28), of(2021, 5, 5), person))
-            .thenReturn(BigDecimal.valueOf(8));
 
         final LocalDate periodFrom = of(2021, 4, 28);
         final LocalDate periodTo = of(2021, 5, 28);
-        when(applicationService.getApplicationsForACertainPeriodAndPerson(periodFrom, periodTo, person)).thenReturn(List.of(applicationSpanningIntoPeriod, applicationInPeriod, applicationSpanningOutOfPeriod));
+        when(applicationService.getForStatesAndPerson(List.of(WAITING, TEMPORARY_ALLOWED, ALLOWED, ALLOWED_CANCELLATION_REQUESTED), List.of(person), periodFrom, periodTo))
+            .thenReturn(List.of(applicationSpanningIntoPeriod, applicationInPeriod, applicationSpanningOutOfPeriod));
+        when(workDaysCountService.getWorkDaysCount(List.of(
+            new WorkDaysCountRequest(person, FULL, of(2021, 4, 28), of(2021, 4, 30)),
+            new WorkDaysCountRequest(person, FULL, of(2021, 4, 28), of(2021, 5, 5)),
+            new WorkDaysCountRequest(person, FULL, of(2021, 5, 21), of(2021, 5, 28))
+        ))).thenReturn(Map.of(
+            new WorkDaysCountRequest(person, FULL, of(2021, 4, 28), of(2021, 4, 30)), BigDecimal.valueOf(3),
+            new WorkDaysCountRequest(person, FULL, of(2021, 4, 28), of(2021, 5, 5)), BigDecimal.valueOf(8),
+            new WorkDaysCountRequest(person, FULL, of(2021, 5, 21), of(2021, 5, 28)), BigDecimal.valueOf(8)
+        ));
 
         final VacationDaysLeft vacationDaysLeftYear = VacationDaysLeft.builder()
             .withAnnualVacation(TEN)
@@ -247,12 +248,15 @@ class ApplicationForLeaveStatisticsBuilderTest {
             .forUsedVacationDaysBeforeExpiry(ZERO)
             .forUsedVacationDaysAfterExpiry(BigDecimal.valueOf(19))
             .build();
-        when(vacationDaysService.getVacationDaysLeft(validFrom, validTo, account, empty())).thenReturn(vacationDaysLeftYear);
-        when(vacationDaysService.getVacationDaysLeft(periodFrom, periodTo, account, empty())).thenReturn(vacationDaysLeftYear);
+        when(vacationDaysService.getVacationDaysLeft(validFrom, validTo, List.of(account))).thenReturn(Map.of(account, vacationDaysLeftYear));
+        when(vacationDaysService.getVacationDaysLeft(periodFrom, periodTo, List.of(account))).thenReturn(Map.of(account, vacationDaysLeftYear));
 
         final VacationType type = new VacationType(1, true, HOLIDAY, "application.data.vacationType.holiday", true, YELLOW, false);
 
-        final ApplicationForLeaveStatistics statistics = sut.build(person, null, periodFrom, periodTo, List.of(type));
+        final List<ApplicationForLeaveStatistics> statisticsOfPersons = sut.build(List.of(person), periodFrom, periodTo, List.of(type));
+        assertThat(statisticsOfPersons).hasSize(1);
+
+        final ApplicationForLeaveStatistics statistics = statisticsOfPersons.get(0);
         assertThat(statistics.getTotalWaitingVacationDays()).isEqualByComparingTo(BigDecimal.valueOf(16));
         assertThat(statistics.getTotalAllowedVacationDays()).isEqualByComparingTo(BigDecimal.valueOf(3));
         assertThat(statistics.getLeftVacationDaysForYear()).isEqualByComparingTo(ONE);
@@ -270,8 +274,8 @@ class ApplicationForLeaveStatisticsBuilderTest {
         final LocalDate expiryDate = of(2015, APRIL, 1);
         final Account account = new Account(person, validFrom, validTo, expiryDate, TEN, TEN, TEN, null);
 
-        when(accountService.getHolidaysAccount(2015, person)).thenReturn(Optional.of(account));
-        when(overtimeService.getLeftOvertimeForPerson(person)).thenReturn(Duration.ofMinutes(390));
+        when(accountService.getHolidaysAccounts(2015, List.of(person))).thenReturn(List.of(account));
+        when(overtimeService.getLeftOvertimeForPersons(List.of(person))).thenReturn(Map.of(person, Duration.ofMinutes(390)));
 
         final VacationDaysLeft vacationDaysLeftYear = VacationDaysLeft.builder()
             .withAnnualVacation(TEN)
@@ -280,11 +284,14 @@ class ApplicationForLeaveStatisticsBuilderTest {
             .forUsedVacationDaysBeforeExpiry(ZERO)
             .forUsedVacationDaysAfterExpiry(BigDecimal.valueOf(1.5))
             .build();
-        when(vacationDaysService.getVacationDaysLeft(validFrom, validTo, account, empty())).thenReturn(vacationDaysLeftYear);
+        when(vacationDaysService.getVacationDaysLeft(validFrom, validTo, List.of(account))).thenReturn(Map.of(account, vacationDaysLeftYear));
 
         final VacationType type = new VacationType(1, true, HOLIDAY, "application.data.vacationType.holiday", true, YELLOW, false);
 
-        final ApplicationForLeaveStatistics statistics = sut.build(person, null, periodFrom, periodTo, List.of(type));
+        final List<ApplicationForLeaveStatistics> statisticsOfPersons = sut.build(List.of(person), periodFrom, periodTo, List.of(type));
+        assertThat(statisticsOfPersons).hasSize(1);
+
+        final ApplicationForLeaveStatistics statistics = statisticsOfPersons.get(0);
         assertThat(statistics.getLeftOvertimeForYear()).isEqualTo(Duration.ofMinutes(390));
         assertThat(statistics.getLeftVacationDaysForYear()).isEqualTo(BigDecimal.valueOf(8.5));
     }
@@ -304,7 +311,7 @@ class ApplicationForLeaveStatisticsBuilderTest {
         final LocalDate expiryDate = of(2015, APRIL, 1);
         final Account account = new Account(person, validFrom, validTo, expiryDate, TEN, TEN, TEN, null);
 
-        when(accountService.getHolidaysAccount(2015, person)).thenReturn(Optional.of(account));
+        when(accountService.getHolidaysAccounts(2015, List.of(person))).thenReturn(List.of(account));
 
         final VacationDaysLeft vacationDaysLeftYear = VacationDaysLeft.builder()
             .withAnnualVacation(TEN)
@@ -313,11 +320,14 @@ class ApplicationForLeaveStatisticsBuilderTest {
             .forUsedVacationDaysBeforeExpiry(BigDecimal.valueOf(1.5))
             .forUsedVacationDaysAfterExpiry(ZERO)
             .build();
-        when(vacationDaysService.getVacationDaysLeft(periodFrom, periodTo, account, empty())).thenReturn(vacationDaysLeftYear);
+        when(vacationDaysService.getVacationDaysLeft(periodFrom, periodTo, List.of(account))).thenReturn(Map.of(account, vacationDaysLeftYear));
 
         final VacationType type = new VacationType(1, true, HOLIDAY, "application.data.vacationType.holiday", true, YELLOW, false);
 
-        final ApplicationForLeaveStatistics statistics = sut.build(person, null, periodFrom, periodTo, List.of(type));
+        final List<ApplicationForLeaveStatistics> statisticsOfPersons = sut.build(List.of(person), periodFrom, periodTo, List.of(type));
+        assertThat(statisticsOfPersons).hasSize(1);
+
+        final ApplicationForLeaveStatistics statistics = statisticsOfPersons.get(0);
         assertThat(statistics.getLeftVacationDaysForPeriod()).isEqualTo(BigDecimal.valueOf(8.5));
     }
 
@@ -333,7 +343,7 @@ class ApplicationForLeaveStatisticsBuilderTest {
         final LocalDate expiryDate = of(2022, APRIL, 1);
         final Account account = new Account(person, firstDayOfYear, lastDayOfYear, expiryDate, TEN, TEN, TEN, null);
 
-        when(accountService.getHolidaysAccount(2022, person)).thenReturn(Optional.of(account));
+        when(accountService.getHolidaysAccounts(2022, List.of(person))).thenReturn(List.of(account));
 
         final LocalDate periodFrom = of(2022, 7, 1);
         final LocalDate periodTo = of(2022, 12, 31);
@@ -352,12 +362,15 @@ class ApplicationForLeaveStatisticsBuilderTest {
             .forUsedVacationDaysBeforeExpiry(ZERO)
             .forUsedVacationDaysAfterExpiry(ONE)
             .build();
-        when(vacationDaysService.getVacationDaysLeft(firstDayOfYear, lastDayOfYear, account, empty())).thenReturn(vacationDaysLeftYear);
-        when(vacationDaysService.getVacationDaysLeft(periodFrom, periodTo, account, empty())).thenReturn(vacationDaysLeftPeriod);
+        when(vacationDaysService.getVacationDaysLeft(firstDayOfYear, lastDayOfYear, List.of(account))).thenReturn(Map.of(account, vacationDaysLeftYear));
+        when(vacationDaysService.getVacationDaysLeft(periodFrom, periodTo, List.of(account))).thenReturn(Map.of(account, vacationDaysLeftPeriod));
 
         final VacationType type = new VacationType(1, true, HOLIDAY, "application.data.vacationType.holiday", true, YELLOW, false);
 
-        final ApplicationForLeaveStatistics statistics = sut.build(person, null, periodFrom, periodTo, List.of(type));
+        final List<ApplicationForLeaveStatistics> statisticsOfPersons = sut.build(List.of(person), periodFrom, periodTo, List.of(type));
+        assertThat(statisticsOfPersons).hasSize(1);
+
+        final ApplicationForLeaveStatistics statistics = statisticsOfPersons.get(0);
         // for the hole year:
         // 10 remaining - 1 used day before april = 4
         // 4 remaining, not expiring - 3 used days after april = 1
@@ -380,7 +393,7 @@ class ApplicationForLeaveStatisticsBuilderTest {
         final LocalDate expiryDate = of(2022, APRIL, 1);
         final Account account = new Account(person, firstDayOfYear, lastDayOfYear, expiryDate, TEN, TEN, TEN, null);
 
-        when(accountService.getHolidaysAccount(2022, person)).thenReturn(Optional.of(account));
+        when(accountService.getHolidaysAccounts(2022, List.of(person))).thenReturn(List.of(account));
 
         final LocalDate periodFrom = of(2022, 1, 1);
         final LocalDate periodTo = of(2022, 3, 31);
@@ -392,12 +405,15 @@ class ApplicationForLeaveStatisticsBuilderTest {
             .forUsedVacationDaysBeforeExpiry(BigDecimal.valueOf(4))
             .forUsedVacationDaysAfterExpiry(ZERO)
             .build();
-        when(vacationDaysService.getVacationDaysLeft(of(2022, 1, 1), of(2022, 12, 31), account, empty())).thenReturn(VacationDaysLeft.builder().build());
-        when(vacationDaysService.getVacationDaysLeft(periodFrom, periodTo, account, empty())).thenReturn(vacationDaysLeftPeriod);
+        when(vacationDaysService.getVacationDaysLeft(of(2022, 1, 1), of(2022, 12, 31), List.of(account))).thenReturn(Map.of(account, VacationDaysLeft.builder().build()));
+        when(vacationDaysService.getVacationDaysLeft(periodFrom, periodTo, List.of(account))).thenReturn(Map.of(account, vacationDaysLeftPeriod));
 
         final VacationType type = new VacationType(1, true, HOLIDAY, "application.data.vacationType.holiday", true, YELLOW, false);
 
-        final ApplicationForLeaveStatistics statistics = sut.build(person, null, periodFrom, periodTo, List.of(type));
+        final List<ApplicationForLeaveStatistics> statisticsOfPersons = sut.build(List.of(person), periodFrom, periodTo, List.of(type));
+        assertThat(statisticsOfPersons).hasSize(1);
+
+        final ApplicationForLeaveStatistics statistics = statisticsOfPersons.get(0);
         // for the period (01.01.-31.03.2022):
         // 10 remaining - 4 used day before april = 6
         assertThat(statistics.getLeftRemainingVacationDaysForPeriod()).isEqualTo(BigDecimal.valueOf(6));
@@ -16,9 +16,12 @@ import org.synyx.urlaubsverwaltung.person.basedata.PersonBasedataService;
 import org.synyx.urlaubsverwaltung.web.FilterPeriod;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.stream.IntStream;
 
+import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -96,7 +99,7 @@ class ApplicationForLeaveStatisticsServiceTest {
         final List<VacationType> vacationTypes = List.of(vacationType);
         when(vacationTypeService.getActiveVacationTypes()).thenReturn(vacationTypes);
 
-        when(applicationForLeaveStatisticsBuilder.build(anyPerson, startDate, endDate, vacationTypes)).thenReturn(new ApplicationForLeaveStatistics(anyPerson));
+        when(applicationForLeaveStatisticsBuilder.build(List.of(anyPerson), startDate, endDate, vacationTypes)).thenReturn(List.of(new ApplicationForLeaveStatistics(anyPerson)));
 
         final List<ApplicationForLeaveStatistics> statistics = sut.getStatistics(filterPeriod);
         assertThat(statistics).hasSize(1);
@@ -120,16 +123,13 @@ class ApplicationForLeaveStatisticsServiceTest {
         when(personService.getActivePersons()).thenReturn(List.of(person));
 
         final PersonBasedata personBasedata = new PersonBasedata(1, "42", "additional information");
-        when(personBasedataService.getBasedataByPersonId(1)).thenReturn(Optional.of(personBasedata));
+        when(personBasedataService.getBasedataByPersonIds(List.of(1))).thenReturn(Map.of(1, personBasedata));
 
         final VacationType vacationType = new VacationType(1, true, HOLIDAY, "message_key", true, YELLOW, false);
         final List<VacationType> vacationTypes = List.of(vacationType);
         when(vacationTypeService.getActiveVacationTypes()).thenReturn(vacationTypes);
 
-        final ApplicationForLeaveStatistics applicationForLeaveStatistics = new ApplicationForLeaveStatistics(person);
-        applicationForLeaveStatistics.setPersonBasedata(personBasedata);
-
-        when(applicationForLeaveStatisticsBuilder.build(person, personBasedata, startDate, endDate, vacationTypes)).thenReturn(applicationForLeaveStatistics);
+        when(applicationForLeaveStatisticsBuilder.build(List.of(person), startDate, endDate, vacationTypes)).thenReturn(List.of(new ApplicationForLeaveStatistics(person)));
 
         final List<ApplicationForLeaveStatistics> statistics = sut.getStatistics(filterPeriod);
         assertThat(statistics).hasSize(1);
@@ -158,7 +158,7 @@ class ApplicationForLeaveStatisticsServiceTest {
         final List<VacationType> vacationTypes = List.of(vacationType);
         when(vacationTypeService.getActiveVacationTypes()).thenReturn(vacationTypes);
 
-        when(applicationForLeaveStatisticsBuilder.build(anyPerson, startDate, endDate, vacationTypes)).thenReturn(new ApplicationForLeaveStatistics(anyPerson));
+        when(applicationForLeaveStatisticsBuilder.build(List.of(anyPerson), startDate, endDate, vacationTypes)).thenReturn(List.of(new ApplicationForLeaveStatistics(anyPerson)));
 
         final List<ApplicationForLeaveStatistics> statistics = sut.getStatistics(filterPeriod);
         assertThat(statistics).hasSize(1);
@@ -185,7 +185,7 @@ class ApplicationForLeaveStatisticsServiceTest {
         final List<VacationType> vacationTypes = List.of(vacationType);
         when(vacationTypeService.getActiveVacationTypes()).thenReturn(vacationTypes);
 
-        when(applicationForLeaveStatisticsBuilder.build(departmentMember, startDate, endDate, vacationTypes)).thenReturn(new ApplicationForLeaveStatistics(departmentMember));
+        when(applicationForLeaveStatisticsBuilder.build(List.of(departmentMember), startDate, endDate, vacationTypes)).thenReturn(List.of(new ApplicationForLeaveStatistics(departmentMember)));
 
         final List<ApplicationForLeaveStatistics> statistics = sut.getStatistics(filterPeriod);
         assertThat(statistics).hasSize(1);
@@ -240,7 +240,7 @@ class ApplicationForLeaveStatisticsServiceTest {
         final List<VacationType> vacationTypes = List.of(vacationType);
         when(vacationTypeService.getActiveVacationTypes()).thenReturn(vacationTypes);
 
-        when(applicationForLeaveStatisticsBuilder.build(departmentMember, startDate, endDate, vacationTypes)).thenReturn(new ApplicationForLeaveStatistics(departmentMember));
+        when(applicationForLeaveStatisticsBuilder.build(List.of(departmentMember), startDate, endDate, vacationTypes)).thenReturn(List.of(new ApplicationForLeaveStatistics(departmentMember)));
 
         final List<ApplicationForLeaveStatistics> statistics = sut.getStatistics(filterPeriod);
         assertThat(statistics).hasSize(1);
@@ -303,9 +303,8 @@ class ApplicationForLeaveStatisticsServiceTest {
         final List<VacationType> vacationTypes = List.of(vacationType);
         when(vacationTypeService.getActiveVacationTypes()).thenReturn(vacationTypes);
 
-        when(applicationForLeaveStatisticsBuilder.build(departmentMember, startDate, endDate, vacationTypes)).thenReturn(new ApplicationForLeaveStatistics(departmentMember));
-        when(applicationForLeaveStatisticsBuilder.build(departmentMemberTwo, startDate, endDate, vacationTypes)).thenReturn(new ApplicationForLeaveStatistics(departmentMemberTwo));
-        when(applicationForLeaveStatisticsBuilder.build(departmentMemberThree, startDate, endDate, vacationTypes)).thenReturn(new ApplicationForLeaveStatistics(departmentMemberThree));
+        when(applicationForLeaveStatisticsBuilder.build(List.of(departmentMember, departmentMemberTwo, departmentMemberThree), startDate, endDate, vacationTypes))
+            .thenReturn(List.of(new ApplicationForLeaveStatistics(departmentMember), new ApplicationForLeaveStatistics(departmentMemberTwo), new ApplicationForLeaveStatistics(departmentMemberThree)));
 
         final List<ApplicationForLeaveStatistics> statistics = sut.getStatistics(filterPeriod);
         assertThat(statistics).hasSize(3);
@@ -340,8 +339,8 @@ class ApplicationForLeaveStatisticsServiceTest {
         final List<VacationType> vacationTypes = List.of(vacationType);
         when(vacationTypeService.getActiveVacationTypes()).thenReturn(vacationTypes);
 
-        when(applicationForLeaveStatisticsBuilder.build(departmentMember, startDate, endDate, vacationTypes)).thenReturn(new ApplicationForLeaveStatistics(departmentMember));
-        when(applicationForLeaveStatisticsBuilder.build(departmentMemberTwo, startDate, endDate, vacationTypes)).thenReturn(new ApplicationForLeaveStatistics(departmentMemberTwo));
+        when(applicationForLeaveStatisticsBuilder.build(List.of(departmentMember, departmentMemberTwo), startDate, endDate, vacationTypes))
+            .thenReturn(List.of(new ApplicationForLeaveStatistics(departmentMember), new ApplicationForLeaveStatistics(departmentMemberTwo)));
 
         final List<ApplicationForLeaveStatistics> statistics = sut.getStatistics(filterPeriod);
         assertThat(statistics).hasSize(2);
@@ -381,4 +380,36 @@ class ApplicationForLeaveStatisticsServiceTest {
 
         verifyNoInteractions(applicationForLeaveStatisticsBuilder);
     }
+
+    @Test
+    void forEachStatisticsChunkHandsOverStatisticsOfAtMostFiveHundredPersonsAtOnce() {
+
+        final LocalDate startDate = LocalDate.parse("2018-01-01");
+        final LocalDate endDate = LocalDate.parse("2018-12-31");
+        final FilterPeriod filterPeriod = new FilterPeriod(startDate, endDate);
+
+        final Person office = new Person();
+        office.setPermissions(List.of(USER, OFFICE));
+        when(personService.getSignedInUser()).thenReturn(office);
+
+        final List<Person> persons = IntStream.rangeClosed(1, 501).mapToObj(id -> {
+            final Person person = new Person();
+            person.setId(id);
+            return person;
+        }).collect(toList());
+        when(personService.getActivePersons()).thenReturn(persons);
+
+        final List<VacationType> vacationTypes = List.of(new VacationType(1, true, HOLIDAY, "message_key", true, YELLOW, false));
+        when(vacationTypeService.getActiveVacationTypes()).thenReturn(vacationTypes);
+
+        final List<ApplicationForLeaveStatistics> firstChunk = persons.subList(0, 500).stream().map(ApplicationForLeaveStatistics::new).collect(toList());
+        final List<ApplicationForLeaveStatistics> secondChunk = List.of(new ApplicationForLeaveStatistics(persons.get(500)));
+        when(applicationForLeaveStatisticsBuilder.build(persons.subList(0, 500), startDate, endDate, vacationTypes)).thenReturn(firstChunk);
+        when(applicationForLeaveStatisticsBuilder.build(List.of(persons.get(500)), startDate, endDate, vacationTypes)).thenReturn(secondChunk);
+
+        final List<List<ApplicationForLeaveStatistics>> chunks = new ArrayList<>();
+        sut.forEachStatisticsChunk(filterPeriod, chunks::add);
+
+        assertThat(chunks).containsExactly(firstChunk, secondChunk);
+    }
 }
@@ -8,6 +8,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.MessageSource;
@@ -26,9 +27,9 @@ import java.time.Duration;
 import java.time.LocalDate;
 import java.time.Year;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
-import static java.util.Collections.emptyList;
 import static java.util.Locale.ENGLISH;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.aMapWithSize;
@@ -42,7 +43,8 @@ import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.refEq;
-import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -256,26 +258,28 @@ class ApplicationForLeaveStatisticsViewControllerTest {
         final LocalDate endDate = LocalDate.parse("2019-08-01");
         final FilterPeriod filterPeriod = new FilterPeriod(startDate, endDate);
 
-        final List<ApplicationForLeaveStatistics> statistics = emptyList();
-        when(applicationForLeaveStatisticsService.getStatistics(any(FilterPeriod.class))).thenReturn(statistics);
+        final List<ApplicationForLeaveStatistics> firstChunk = List.of(new ApplicationForLeaveStatistics(new Person()));
+        final List<ApplicationForLeaveStatistics> secondChunk = List.of(new ApplicationForLeaveStatistics(new Person()));
+        doAnswer(invocation -> {
+            final Consumer<List<ApplicationForLeaveStatistics>> chunkConsumer = invocation.getArgument(1);
+            chunkConsumer.accept(firstChunk);
+            chunkConsumer.accept(secondChunk);
+            return null;
+        }).when(applicationForLeaveStatisticsService).forEachStatisticsChunk(any(FilterPeriod.class), any());
 
         perform(get("/web/application/statistics/download")
             .param("from", "01.01.2019")
             .param("to", "01.08.2019"));
 
-        verify(applicationForLeaveStatisticsCsvExportService)
-            .writeStatistics(refEq(filterPeriod), eq(statistics), any(CSVWriter.class));
+        final InOrder inOrder = inOrder(applicationForLeaveStatisticsCsvExportService);
+        inOrder.verify(applicationForLeaveStatisticsCsvExportService).writeHeader(refEq(filterPeriod), any(CSVWriter.class));
+        inOrder.verify(applicationForLeaveStatisticsCsvExportService).writeRows(eq(firstChunk), any(CSVWriter.class));
+        inOrder.verify(applicationForLeaveStatisticsCsvExportService).writeRows(eq(secondChunk), any(CSVWriter.class));
     }
 
     @Test
     void downloadCSVContainsUTF8BOM() throws Exception {
 
-        final LocalDate startDate = LocalDate.parse("2019-01-01");
-        final LocalDate endDate = LocalDate.parse("2019-08-01");
-        final FilterPeriod filterPeriod = new FilterPeriod(startDate, endDate);
-
-        when(applicationForLeaveStatisticsService.getStatistics(filterPeriod)).thenReturn(emptyList());
-
         byte[] response = perform(get("/web/application/statistics/download")
             .param("from", "01.01.2019")
             .param("to", "01.08.2019"))
@@ -15,10 +15,12 @@ import org.synyx.urlaubsverwaltung.person.PersonService;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 import java.util.Optional;
 
 import static java.util.Collections.emptyList;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -122,7 +124,7 @@ class AvailabilityApiControllerSecurityIT extends TestContainersBase {
 
         final Person testPerson = new Person("muster", "Muster", "Marlene", "muster@example.org");
         when(personService.getPersonByID(5)).thenReturn(Optional.of(testPerson));
-        when(availabilityService.getPersonsAvailabilities(any(), any(), any())).thenReturn(new AvailabilityListDto(emptyList(), testPerson.getId()));
+        when(availabilityService.getPersonsAvailabilities(any(), any(), any(Person.class))).thenReturn(new AvailabilityListDto(emptyList(), testPerson.getId()));
 
         final LocalDateTime now = LocalDateTime.now();
         final ResultActions resultActions = perform(get("/api/persons/5/availabilities")
@@ -133,6 +135,39 @@ class AvailabilityApiControllerSecurityIT extends TestContainersBase {
         resultActions.andExpect(status().isOk());
     }
 
+    @Test
+    @WithMockUser(authorities = "USER")
+    void getAvailabilitiesOfMultiplePersonsAsAuthenticatedUserIsForbidden() throws Exception {
+
+        final LocalDateTime now = LocalDateTime.now();
+        final ResultActions resultActions = perform(get("/api/availabilities")
+            .param("personIds", "5", "6")
+            .param("from", dtf.format(now))
+            .param("to", dtf.format(now.plusDays(5)))
+        );
+
+        resultActions.andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(authorities = "OFFICE")
+    void getAvailabilitiesOfMultiplePersonsHasOfficeRole() throws Exception {
+
+        final Person testPerson = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        testPerson.setId(5);
+        when(personService.getPersonsByIds(List.of(5))).thenReturn(List.of(testPerson));
+        when(availabilityService.getPersonsAvailabilities(any(), any(), anyList())).thenReturn(List.of(new AvailabilityListDto(emptyList(), 5)));
+
+        final LocalDateTime now = LocalDateTime.now();
+        final ResultActions resultActions = perform(get("/api/availabilities")
+            .param("personIds", "5")
+            .param("from", dtf.format(now))
+            .param("to", dtf.format(now.plusDays(5)))
+        );
+
+        resultActions.andExpect(status().isOk());
+    }
+
     private ResultActions perform(MockHttpServletRequestBuilder builder) throws Exception {
         return MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build().perform(builder);
     }
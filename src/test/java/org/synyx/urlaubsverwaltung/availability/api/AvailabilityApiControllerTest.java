@@ -12,13 +12,18 @@ import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonService;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.IntStream;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.setup.MockMvcBuilders.standaloneSetup;
 
@@ -123,6 +128,95 @@ class AvailabilityApiControllerTest {
             .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void ensureFetchesAvailabilitiesForMultiplePersons() throws Exception {
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        person.setId(1);
+        final Person other = new Person("dick", "Dick", "Robin", "dick@example.org");
+        other.setId(2);
+        when(personService.getPersonsByIds(List.of(2, 1))).thenReturn(List.of(person, other));
+        when(availabilityService.getPersonsAvailabilities(LocalDate.of(2016, 1, 1), LocalDate.of(2016, 1, 31), List.of(other, person)))
+            .thenReturn(List.of(new AvailabilityListDto(List.of(), 2), new AvailabilityListDto(List.of(), 1)));
+
+        perform(get("/api/availabilities")
+            .param("personIds", "2", "1", "2")
+            .param("from", "2016-01-01")
+            .param("to", "2016-01-31"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.availabilities[0].personId").value(2))
+            .andExpect(jsonPath("$.availabilities[1].personId").value(1));
+    }
+
+    @Test
+    void ensureAvailabilitiesForMultiplePersonsWithUnknownPersonResultsInBadRequest() throws Exception {
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        person.setId(1);
+        when(personService.getPersonsByIds(List.of(1, 2))).thenReturn(List.of(person));
+
+        perform(get("/api/availabilities")
+            .param("personIds", "1,2")
+            .param("from", "2016-01-01")
+            .param("to", "2016-01-31"))
+            .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(availabilityService);
+    }
+
+    @Test
+    void ensureNoContentAvailabilitiesForMultiplePersonsIfOneHasNoConfiguredWorkingTime() throws Exception {
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        person.setId(1);
+        when(personService.getPersonsByIds(List.of(1))).thenReturn(List.of(person));
+        when(availabilityService.getPersonsAvailabilities(any(LocalDate.class), any(LocalDate.class), anyList())).thenThrow(FreeTimeAbsenceException.class);
+
+        perform(get("/api/availabilities")
+            .param("personIds", "1")
+            .param("from", "2016-01-01")
+            .param("to", "2016-01-31"))
+            .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void ensureBadRequestForMissingPersonIdsParameter() throws Exception {
+        perform(get("/api/availabilities")
+            .param("from", "2016-01-01")
+            .param("to", "2016-01-31"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void ensureBadRequestForInvalidPeriodOfMultiplePersons() throws Exception {
+        perform(get("/api/availabilities")
+            .param("personIds", "1")
+            .param("from", "2016-01-01")
+            .param("to", "2015-01-01"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void ensureBadRequestForPeriodOfMultiplePersonsLongerThanOneMonth() throws Exception {
+        perform(get("/api/availabilities")
+            .param("personIds", "1")
+            .param("from", "2016-01-01")
+            .param("to", "2016-02-01"))
+            .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(personService, availabilityService);
+    }
+
+    @Test
+    void ensureBadRequestForTooManyPersonIds() throws Exception {
+        final String[] personIds = IntStream.rangeClosed(1, 101).mapToObj(String::valueOf).toArray(String[]::new);
+
+        perform(get("/api/availabilities")
+            .param("personIds", personIds)
+            .param("from", "2016-01-01")
+            .param("to", "2016-01-31"))
+            .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(personService, availabilityService);
+    }
+
     private ResultActions perform(MockHttpServletRequestBuilder builder) throws Exception {
         return standaloneSetup(sut).setControllerAdvice(new RestControllerAdviceExceptionHandler()).build().perform(builder);
     }
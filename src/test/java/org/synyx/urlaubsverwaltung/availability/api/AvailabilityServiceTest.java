@@ -5,62 +5,235 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.synyx.urlaubsverwaltung.application.application.Application;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationService;
+import org.synyx.urlaubsverwaltung.period.DayLength;
 import org.synyx.urlaubsverwaltung.person.Person;
-
+import org.synyx.urlaubsverwaltung.publicholiday.PublicHoliday;
+import org.synyx.urlaubsverwaltung.publicholiday.PublicHolidaysService;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNote;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteService;
+import org.synyx.urlaubsverwaltung.workingtime.FederalState;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTime;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeService;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeTimeline;
+
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static java.math.BigDecimal.ONE;
+import static java.math.BigDecimal.ZERO;
+import static java.time.DayOfWeek.FRIDAY;
+import static java.time.DayOfWeek.MONDAY;
+import static java.time.DayOfWeek.THURSDAY;
+import static java.time.DayOfWeek.TUESDAY;
+import static java.time.DayOfWeek.WEDNESDAY;
+import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.times;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
+import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.ALLOWED;
+import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.ALLOWED_CANCELLATION_REQUESTED;
+import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.TEMPORARY_ALLOWED;
+import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.WAITING;
+import static org.synyx.urlaubsverwaltung.period.DayLength.FULL;
+import static org.synyx.urlaubsverwaltung.period.DayLength.MORNING;
+import static org.synyx.urlaubsverwaltung.period.DayLength.NOON;
+import static org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteStatus.ACTIVE;
+import static org.synyx.urlaubsverwaltung.workingtime.FederalState.GERMANY_BADEN_WUERTTEMBERG;
+import static org.synyx.urlaubsverwaltung.workingtime.FederalState.GERMANY_BERLIN;
 
 @ExtendWith(MockitoExtension.class)
 class AvailabilityServiceTest {
 
-    private static final int DAYS_IN_TEST_DATE_RANGE = 8;
-
     private AvailabilityService sut;
 
     @Mock
-    private FreeTimeAbsenceProvider freeTimeAbsenceProvider;
+    private ApplicationService applicationService;
+    @Mock
+    private SickNoteService sickNoteService;
     @Mock
-    private TimedAbsenceSpans timedAbsenceSpans;
+    private WorkingTimeService workingTimeService;
+    @Mock
+    private PublicHolidaysService publicHolidaysService;
+
+    // monday to sunday
+    private final LocalDate startDate = LocalDate.of(2021, 12, 20);
+    private final LocalDate endDate = LocalDate.of(2021, 12, 26);
 
     @BeforeEach
     void setUp() {
-        sut = new AvailabilityService(freeTimeAbsenceProvider);
+        sut = new AvailabilityService(applicationService, sickNoteService, workingTimeService, publicHolidaysService);
     }
 
     @Test
     void ensureFetchesAvailabilityListForEachDayInDateRange() {
 
-        when(freeTimeAbsenceProvider.checkForAbsence(any(Person.class), any(LocalDate.class))).thenReturn(timedAbsenceSpans);
+        final Person person = person(1);
+        mockTimelines(List.of(person), timeline(person, GERMANY_BADEN_WUERTTEMBERG));
+
+        final AvailabilityListDto availabilities = sut.getPersonsAvailabilities(startDate, endDate, person);
+
+        assertThat(availabilities.getPersonId()).isEqualTo(1);
+        assertThat(availabilities.getAvailabilities())
+            .extracting(DayAvailability::getDate)
+            .containsExactly("2021-12-20", "2021-12-21", "2021-12-22", "2021-12-23", "2021-12-24", "2021-12-25", "2021-12-26");
+        assertThat(availabilities.getAvailabilities())
+            .extracting(DayAvailability::getAvailabilityRatio)
+            .usingElementComparator(BigDecimal::compareTo)
+            .containsExactly(ONE, ONE, ONE, ONE, ONE, ZERO, ZERO);
+        assertThat(partsOfDay(availabilities.getAvailabilities().get(5))).containsExactly(FULL.name());
+    }
+
+    @Test
+    void ensurePersonIsNotAvailableOnPublicHolidaysOfFederalState() {
+
+        final Person person = person(1);
+        mockTimelines(List.of(person), timeline(person, GERMANY_BERLIN));
+        when(publicHolidaysService.getPublicHolidays(startDate, endDate, GERMANY_BERLIN)).thenReturn(List.of(
+            new PublicHoliday(LocalDate.of(2021, 12, 24), NOON, "christmas eve"),
+            new PublicHoliday(LocalDate.of(2021, 12, 25), FULL, "christmas")));
 
-        final LocalDate startDate = LocalDate.of(2016, 1, 1);
-        final LocalDate endDate = LocalDate.of(2016, 1, DAYS_IN_TEST_DATE_RANGE);
-        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
-        sut.getPersonsAvailabilities(startDate, endDate, person);
+        final List<DayAvailability> availabilities = sut.getPersonsAvailabilities(startDate, endDate, person).getAvailabilities();
 
-        verify(freeTimeAbsenceProvider, times(DAYS_IN_TEST_DATE_RANGE)).checkForAbsence(eq(person), any(LocalDate.class));
+        assertThat(availabilities.get(4).getAvailabilityRatio()).isEqualByComparingTo(BigDecimal.valueOf(0.5));
+        assertThat(partsOfDay(availabilities.get(4))).containsExactly(NOON.name());
+        assertThat(availabilities.get(3).getAvailabilityRatio()).isEqualByComparingTo(ONE);
     }
 
     @Test
-    void ensureReturnsDayAvailabilityWithCalculatedPresenceRatio() {
+    void ensurePersonIsNotAvailableOnSickDaysAndVacation() {
+
+        final Person person = person(1);
+        mockTimelines(List.of(person), timeline(person, GERMANY_BADEN_WUERTTEMBERG));
+        when(sickNoteService.getForStatesAndPerson(List.of(ACTIVE), List.of(person), startDate, endDate))
+            .thenReturn(List.of(sickNote(person, LocalDate.of(2021, 12, 19), LocalDate.of(2021, 12, 20), FULL)));
+        when(applicationService.getForStatesAndPerson(List.of(WAITING, TEMPORARY_ALLOWED, ALLOWED, ALLOWED_CANCELLATION_REQUESTED), List.of(person), startDate, endDate))
+            .thenReturn(List.of(
+                application(person, LocalDate.of(2021, 12, 22), LocalDate.of(2021, 12, 22), MORNING),
+                application(person, LocalDate.of(2021, 12, 22), LocalDate.of(2021, 12, 22), NOON),
+                application(person, LocalDate.of(2021, 12, 23), LocalDate.of(2022, 1, 3), FULL)));
+
+        final List<DayAvailability> availabilities = sut.getPersonsAvailabilities(startDate, endDate, person).getAvailabilities();
+
+        assertThat(availabilities)
+            .extracting(DayAvailability::getAvailabilityRatio)
+            .usingElementComparator(BigDecimal::compareTo)
+            .containsExactly(ZERO, ONE, ZERO, ZERO, ZERO, ZERO, ZERO);
+        assertThat(partsOfDay(availabilities.get(0))).containsExactly(FULL.name());
+        assertThat(partsOfDay(availabilities.get(2))).containsExactly(MORNING.name(), NOON.name());
+        assertThat(partsOfDay(availabilities.get(3))).containsExactly(FULL.name());
+    }
 
-        when(freeTimeAbsenceProvider.checkForAbsence(any(Person.class), any(LocalDate.class))).thenReturn(timedAbsenceSpans);
-        when(timedAbsenceSpans.calculatePresenceRatio()).thenReturn(ONE);
+    @Test
+    void ensureAbsencesOfLowerPriorityAreOmittedIfPersonIsAbsentForWholeDay() {
+
+        final Person person = person(1);
+        mockTimelines(List.of(person), timeline(person, GERMANY_BADEN_WUERTTEMBERG));
+        when(publicHolidaysService.getPublicHolidays(startDate, endDate, GERMANY_BADEN_WUERTTEMBERG))
+            .thenReturn(List.of(new PublicHoliday(LocalDate.of(2021, 12, 24), NOON, "christmas eve")));
+        when(sickNoteService.getForStatesAndPerson(List.of(ACTIVE), List.of(person), startDate, endDate))
+            .thenReturn(List.of(sickNote(person, LocalDate.of(2021, 12, 24), LocalDate.of(2021, 12, 24), MORNING)));
+        when(applicationService.getForStatesAndPerson(List.of(WAITING, TEMPORARY_ALLOWED, ALLOWED, ALLOWED_CANCELLATION_REQUESTED), List.of(person), startDate, endDate))
+            .thenReturn(List.of(application(person, LocalDate.of(2021, 12, 20), LocalDate.of(2021, 12, 26), FULL)));
+
+        final List<DayAvailability> availabilities = sut.getPersonsAvailabilities(startDate, endDate, person).getAvailabilities();
+
+        assertThat(partsOfDay(availabilities.get(3))).containsExactly(FULL.name());
+        assertThat(partsOfDay(availabilities.get(4))).containsExactly(NOON.name(), MORNING.name());
+        assertThat(partsOfDay(availabilities.get(5))).containsExactly(FULL.name());
+    }
 
-        final LocalDate dayToTest = LocalDate.of(2016, 1, 1);
-        final AvailabilityListDto personsAvailabilities = sut.getPersonsAvailabilities(dayToTest, dayToTest, new Person("muster", "Muster", "Marlene", "muster@example.org"));
+    @Test
+    void ensureFetchesAvailabilitiesOfMultiplePersonsAtOnce() {
+
+        final Person person = person(1);
+        final Person other = person(2);
+        final Person third = person(3);
+        mockTimelines(List.of(person, other, third),
+            timeline(person, GERMANY_BADEN_WUERTTEMBERG), timeline(other, GERMANY_BADEN_WUERTTEMBERG), timeline(third, GERMANY_BERLIN));
+        when(sickNoteService.getForStatesAndPerson(List.of(ACTIVE), List.of(person, other, third), startDate, endDate))
+            .thenReturn(List.of(sickNote(other, LocalDate.of(2021, 12, 20), LocalDate.of(2021, 12, 20), FULL)));
+        when(applicationService.getForStatesAndPerson(List.of(WAITING, TEMPORARY_ALLOWED, ALLOWED, ALLOWED_CANCELLATION_REQUESTED), List.of(person, other, third), startDate, endDate))
+            .thenReturn(List.of(application(third, LocalDate.of(2021, 12, 21), LocalDate.of(2021, 12, 21), FULL)));
+
+        final List<AvailabilityListDto> availabilities = sut.getPersonsAvailabilities(startDate, endDate, List.of(person, other, third));
+
+        assertThat(availabilities).extracting(AvailabilityListDto::getPersonId).containsExactly(1, 2, 3);
+        assertThat(availabilities.get(0).getAvailabilities().get(0).getAvailabilityRatio()).isEqualByComparingTo(ONE);
+        assertThat(availabilities.get(1).getAvailabilities().get(0).getAvailabilityRatio()).isEqualByComparingTo(ZERO);
+        assertThat(availabilities.get(2).getAvailabilities().get(1).getAvailabilityRatio()).isEqualByComparingTo(ZERO);
+
+        verify(publicHolidaysService).getPublicHolidays(startDate, endDate, GERMANY_BADEN_WUERTTEMBERG);
+        verify(publicHolidaysService).getPublicHolidays(startDate, endDate, GERMANY_BERLIN);
+        verifyNoMoreInteractions(publicHolidaysService);
+    }
+
+    @Test
+    void ensureThrowsIfPersonHasNoWorkingTime() {
+
+        final Person person = person(1);
+        final WorkingTime workingTime = new WorkingTime(person, LocalDate.of(2021, 12, 22), GERMANY_BADEN_WUERTTEMBERG, false);
+        mockTimelines(List.of(person), WorkingTimeTimeline.of(List.of(workingTime)));
+
+        assertThatThrownBy(() -> sut.getPersonsAvailabilities(startDate, endDate, person))
+            .isInstanceOf(FreeTimeAbsenceException.class);
+    }
+
+    @Test
+    void ensureEmptyAvailabilitiesWithoutPersons() {
+
+        assertThat(sut.getPersonsAvailabilities(startDate, endDate, List.of())).isEmpty();
+    }
+
+    private void mockTimelines(List<Person> persons, WorkingTimeTimeline... timelines) {
+        final Map<Person, WorkingTimeTimeline> timelinesByPerson = new HashMap<>();
+        for (int index = 0; index < persons.size(); index++) {
+            timelinesByPerson.put(persons.get(index), timelines[index]);
+        }
+        when(workingTimeService.getTimelines(persons)).thenReturn(timelinesByPerson);
+    }
+
+    private static List<String> partsOfDay(DayAvailability dayAvailability) {
+        return dayAvailability.getTimedAbsenceSpans().getAbsencesList().stream()
+            .map(TimedAbsence::getPartOfDay)
+            .collect(toList());
+    }
+
+    private static WorkingTimeTimeline timeline(Person person, FederalState federalState) {
+        final WorkingTime workingTime = new WorkingTime(person, LocalDate.of(2021, 1, 1), federalState, false);
+        workingTime.setWorkingDays(List.of(MONDAY, TUESDAY, WEDNESDAY, THURSDAY, FRIDAY), FULL);
+        return WorkingTimeTimeline.of(List.of(workingTime));
+    }
+
+    private static SickNote sickNote(Person person, LocalDate startDate, LocalDate endDate, DayLength dayLength) {
+        final SickNote sickNote = new SickNote();
+        sickNote.setPerson(person);
+        sickNote.setStartDate(startDate);
+        sickNote.setEndDate(endDate);
+        sickNote.setDayLength(dayLength);
+        sickNote.setStatus(ACTIVE);
+        return sickNote;
+    }
+
+    private static Application application(Person person, LocalDate startDate, LocalDate endDate, DayLength dayLength) {
+        final Application application = new Application();
+        application.setPerson(person);
+        application.setStartDate(startDate);
+        application.setEndDate(endDate);
+        application.setDayLength(dayLength);
+        application.setStatus(ALLOWED);
+        return application;
+    }
 
-        verify(timedAbsenceSpans, times(1)).calculatePresenceRatio();
-        final List<DayAvailability> availabilityList = personsAvailabilities.getAvailabilities();
-        assertThat(availabilityList).hasSize(1);
-        assertThat(availabilityList.get(0).getTimedAbsenceSpans()).isEqualTo(timedAbsenceSpans);
-        assertThat(availabilityList.get(0).getAvailabilityRatio()).isEqualTo(ONE);
+    private static Person person(int id) {
+        final Person person = new Person("muster" + id, "Muster", "Marlene", "muster" + id + "@example.org");
+        person.setId(id);
+        return person;
     }
 }
@@ -0,0 +1,203 @@
+package org.synyx.urlaubsverwaltung.calendar;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.synyx.urlaubsverwaltung.absence.Absence;
+import org.synyx.urlaubsverwaltung.absence.AbsenceService;
+import org.synyx.urlaubsverwaltung.absence.AbsenceSource;
+import org.synyx.urlaubsverwaltung.absence.AbsenceTimeConfiguration;
+import org.synyx.urlaubsverwaltung.absence.TimeSettings;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationUpdatedEvent;
+import org.synyx.urlaubsverwaltung.period.Period;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.person.PersonService;
+import org.synyx.urlaubsverwaltung.person.PersonUpdatedEvent;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteUpdatedEvent;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.time.ZoneOffset.UTC;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import static org.synyx.urlaubsverwaltung.period.DayLength.FULL;
+import static org.synyx.urlaubsverwaltung.period.DayLength.MORNING;
+
+@ExtendWith(MockitoExtension.class)
+class CalendarAbsenceIndexTest {
+
+    private CalendarAbsenceIndex sut;
+
+    @Mock
+    private AbsenceService absenceService;
+    @Mock
+    private PersonService personService;
+
+    private final LocalDate since = LocalDate.of(2021, 5, 1);
+    private final Person person = person(1, "Marlene");
+    private final Person other = person(2, "Robin");
+
+    @BeforeEach
+    void setUp() {
+        final Clock clock = Clock.fixed(Instant.parse("2021-11-02T10:15:30.00Z"), UTC);
+        sut = new CalendarAbsenceIndex(absenceService, personService, new CalendarProperties(), clock);
+    }
+
+    @Test
+    void ensureAbsencesAreLoadedOnce() {
+
+        final Absence absence = absence(person, LocalDate.of(2021, 6, 1), LocalDate.of(2021, 6, 4));
+        final Absence absenceOfOther = absence(other, LocalDate.of(2021, 7, 1), LocalDate.of(2021, 7, 1));
+        when(absenceService.getOpenAbsencesBySourceSince(since)).thenReturn(absencesBySource(
+            AbsenceSource.application(1), absence,
+            AbsenceSource.sickNote(1), absenceOfOther));
+
+        assertThat(sut.getOpenAbsencesSince(since)).containsExactly(absence, absenceOfOther);
+        assertThat(sut.getOpenAbsencesSince(List.of(other), since)).containsExactly(absenceOfOther);
+        assertThat(sut.getOpenAbsencesSince(LocalDate.of(2021, 6, 5))).containsExactly(absenceOfOther);
+
+        verify(absenceService).getOpenAbsencesBySourceSince(since);
+        verifyNoMoreInteractions(absenceService);
+    }
+
+    @Test
+    void ensureAbsencesAreLoadedAgainForEarlierDate() {
+
+        final Absence absence = absence(person, LocalDate.of(2021, 6, 1), LocalDate.of(2021, 6, 4));
+        final Absence earlierAbsence = absence(person, LocalDate.of(2021, 4, 1), LocalDate.of(2021, 4, 1));
+        when(absenceService.getOpenAbsencesBySourceSince(since)).thenReturn(absencesBySource(AbsenceSource.application(1), absence));
+        when(absenceService.getOpenAbsencesBySourceSince(LocalDate.of(2021, 3, 1))).thenReturn(absencesBySource(
+            AbsenceSource.application(2), earlierAbsence,
+            AbsenceSource.application(1), absence));
+
+        assertThat(sut.getOpenAbsencesSince(since)).containsExactly(absence);
+        assertThat(sut.getOpenAbsencesSince(LocalDate.of(2021, 3, 1))).containsExactly(absence, earlierAbsence);
+    }
+
+    @Test
+    void ensureOnlyChangedApplicationsAndSickNotesAreLoadedAgain() {
+
+        final Absence absence = absence(person, LocalDate.of(2021, 6, 1), LocalDate.of(2021, 6, 4));
+        final Absence sickNoteAbsence = absence(other, LocalDate.of(2021, 7, 1), LocalDate.of(2021, 7, 1));
+        when(absenceService.getOpenAbsencesBySourceSince(since)).thenReturn(absencesBySource(
+            AbsenceSource.application(1), absence,
+            AbsenceSource.sickNote(1), sickNoteAbsence));
+
+        assertThat(sut.getOpenAbsencesSince(since)).containsExactly(absence, sickNoteAbsence);
+
+        final Absence changedAbsence = absence(person, LocalDate.of(2021, 6, 2), LocalDate.of(2021, 6, 4));
+        final Absence newAbsence = absence(other, LocalDate.of(2021, 8, 2), LocalDate.of(2021, 8, 2));
+        when(absenceService.getOpenAbsence(AbsenceSource.application(1))).thenReturn(Optional.of(changedAbsence));
+        when(absenceService.getOpenAbsence(AbsenceSource.application(2))).thenReturn(Optional.of(newAbsence));
+        when(absenceService.getOpenAbsence(AbsenceSource.sickNote(1))).thenReturn(Optional.empty());
+
+        sut.handleApplicationUpdated(new ApplicationUpdatedEvent(this, 1));
+        sut.handleApplicationUpdated(new ApplicationUpdatedEvent(this, 2));
+        sut.handleSickNoteUpdated(new SickNoteUpdatedEvent(this, 1));
+
+        assertThat(sut.getOpenAbsencesSince(since)).containsExactlyInAnyOrder(changedAbsence, newAbsence);
+        assertThat(sut.getOpenAbsencesSince(List.of(person), since)).containsExactly(changedAbsence);
+        assertThat(sut.getOpenAbsencesSince(List.of(other), since)).containsExactly(newAbsence);
+
+        verify(absenceService).getOpenAbsencesBySourceSince(since);
+        verify(absenceService).getOpenAbsence(AbsenceSource.application(1));
+        verify(absenceService).getOpenAbsence(AbsenceSource.application(2));
+        verify(absenceService).getOpenAbsence(AbsenceSource.sickNote(1));
+        verifyNoMoreInteractions(absenceService);
+    }
+
+    @Test
+    void ensureAbsencesAreOrderedByTypeAndIdOfSource() {
+
+        final Absence sickNoteAbsence = absence(person, LocalDate.of(2021, 5, 3), LocalDate.of(2021, 5, 3));
+        final Absence secondAbsence = absence(other, LocalDate.of(2021, 6, 1), LocalDate.of(2021, 6, 1));
+        final Absence tenthAbsence = absence(person, LocalDate.of(2021, 7, 1), LocalDate.of(2021, 7, 1));
+        when(absenceService.getOpenAbsencesBySourceSince(since)).thenReturn(absencesBySource(
+            AbsenceSource.sickNote(1), sickNoteAbsence,
+            AbsenceSource.application(10), tenthAbsence,
+            AbsenceSource.application(2), secondAbsence));
+
+        assertThat(sut.getOpenAbsencesSince(since)).containsExactly(secondAbsence, tenthAbsence, sickNoteAbsence);
+
+        final Absence changedAbsence = absence(other, LocalDate.of(2021, 6, 2), LocalDate.of(2021, 6, 2));
+        when(absenceService.getOpenAbsence(AbsenceSource.application(2))).thenReturn(Optional.of(changedAbsence));
+
+        sut.handleApplicationUpdated(new ApplicationUpdatedEvent(this, 2));
+
+        assertThat(sut.getOpenAbsencesSince(since)).containsExactly(changedAbsence, tenthAbsence, sickNoteAbsence);
+        assertThat(sut.getOpenAbsencesSince(List.of(person), since)).containsExactly(tenthAbsence, sickNoteAbsence);
+    }
+
+    @Test
+    void ensureChangeWhileLoadingIsAppliedOnNextRequest() {
+
+        final Absence absence = absence(person, LocalDate.of(2021, 6, 1), LocalDate.of(2021, 6, 4));
+        when(absenceService.getOpenAbsencesBySourceSince(since)).thenAnswer(invocation -> {
+            sut.handleApplicationUpdated(new ApplicationUpdatedEvent(this, 1));
+            return absencesBySource(AbsenceSource.application(1), absence);
+        });
+
+        assertThat(sut.getOpenAbsencesSince(since)).containsExactly(absence);
+
+        final Absence changedAbsence = absence(person, LocalDate.of(2021, 6, 2), LocalDate.of(2021, 6, 4));
+        when(absenceService.getOpenAbsence(AbsenceSource.application(1))).thenReturn(Optional.of(changedAbsence));
+
+        assertThat(sut.getOpenAbsencesSince(since)).containsExactly(changedAbsence);
+        assertThat(sut.getOpenAbsencesSince(since)).containsExactly(changedAbsence);
+
+        verify(absenceService).getOpenAbsencesBySourceSince(since);
+        verify(absenceService).getOpenAbsence(AbsenceSource.application(1));
+        verifyNoMoreInteractions(absenceService);
+    }
+
+    @Test
+    void ensureAbsencesOfUpdatedPersonAreLoadedAgain() {
+
+        final Absence absence = absence(person, LocalDate.of(2021, 6, 1), LocalDate.of(2021, 6, 4));
+        when(absenceService.getOpenAbsencesBySourceSince(since)).thenReturn(absencesBySource(AbsenceSource.application(1), absence));
+
+        assertThat(sut.getOpenAbsencesSince(since)).containsExactly(absence);
+
+        final Person renamedPerson = person(1, "Marlena");
+        final Absence absenceOfRenamedPerson = absence(renamedPerson, LocalDate.of(2021, 6, 1), LocalDate.of(2021, 6, 4));
+        when(personService.getPersonByID(1)).thenReturn(Optional.of(renamedPerson));
+        when(absenceService.getOpenAbsencesBySourceSince(List.of(renamedPerson), since))
+            .thenReturn(absencesBySource(AbsenceSource.application(1), absenceOfRenamedPerson));
+
+        sut.handlePersonUpdated(new PersonUpdatedEvent(this, 1));
+
+        assertThat(sut.getOpenAbsencesSince(since)).containsExactly(absenceOfRenamedPerson);
+        assertThat(sut.getOpenAbsencesSince(List.of(person), since).get(0).getEventSubject()).contains("Marlena");
+    }
+
+    private static Map<AbsenceSource, Absence> absencesBySource(Object... sourcesAndAbsences) {
+        final Map<AbsenceSource, Absence> absencesBySource = new LinkedHashMap<>();
+        for (int i = 0; i < sourcesAndAbsences.length; i += 2) {
+            absencesBySource.put((AbsenceSource) sourcesAndAbsences[i], (Absence) sourcesAndAbsences[i + 1]);
+        }
+        return absencesBySource;
+    }
+
+    private static Absence absence(Person person, LocalDate start, LocalDate end) {
+        final TimeSettings timeSettings = new TimeSettings();
+        timeSettings.setTimeZoneId("Etc/UTC");
+        final AbsenceTimeConfiguration timeConfig = new AbsenceTimeConfiguration(timeSettings);
+        return new Absence(person, new Period(start, end, start.equals(end) ? MORNING : FULL), timeConfig);
+    }
+
+    private static Person person(int id, String firstName) {
+        final Person person = new Person("muster" + id, "Muster", firstName, "muster" + id + "@example.org");
+        person.setId(id);
+        return person;
+    }
+}
@@ -6,9 +6,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.MessageSource;
-import org.springframework.core.io.ByteArrayResource;
 import org.synyx.urlaubsverwaltung.absence.Absence;
-import org.synyx.urlaubsverwaltung.absence.AbsenceService;
 import org.synyx.urlaubsverwaltung.absence.AbsenceTimeConfiguration;
 import org.synyx.urlaubsverwaltung.absence.TimeSettings;
 import org.synyx.urlaubsverwaltung.period.DayLength;
@@ -16,6 +14,7 @@ import org.synyx.urlaubsverwaltung.period.Period;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonService;
 
+import java.io.ByteArrayOutputStream;
 import java.time.Clock;
 import java.time.LocalDate;
 import java.util.List;
@@ -43,12 +42,14 @@ class CompanyCalendarServiceTest {
     private CompanyCalendarService sut;
 
     @Mock
-    private AbsenceService absenceService;
+    private CalendarAbsenceIndex calendarAbsenceIndex;
     @Mock
     private CompanyCalendarRepository companyCalendarRepository;
     @Mock
     private ICalService iCalService;
     @Mock
+    private ICalFeedCache iCalFeedCache;
+    @Mock
     private PersonService personService;
     @Mock
     private MessageSource messageSource;
@@ -60,14 +61,14 @@ class CompanyCalendarServiceTest {
     @BeforeEach
     void setUp() {
 
-        sut = new CompanyCalendarService(absenceService, companyCalendarRepository, iCalService, personService, messageSource, Clock.systemUTC());
+        sut = new CompanyCalendarService(calendarAbsenceIndex, companyCalendarRepository, iCalService, iCalFeedCache, personService, messageSource, Clock.systemUTC());
     }
 
     @Test
     void getCalendarForAllForOneFullDay() {
 
         final List<Absence> absences = List.of(absence(new Person("muster", "Muster", "Marlene", "muster@example.org"), toDateTime("2019-03-26"), toDateTime("2019-03-26"), FULL));
-        when(absenceService.getOpenAbsencesSince(any(LocalDate.class))).thenReturn(absences);
+        when(calendarAbsenceIndex.getOpenAbsencesSince(any(LocalDate.class))).thenReturn(absences);
 
         final Person person = new Person();
         person.setId(10);
@@ -79,11 +80,10 @@ class CompanyCalendarServiceTest {
         when(companyCalendarRepository.findBySecretAndPerson("secret", person)).thenReturn(Optional.of(companyCalendar));
 
         when(messageSource.getMessage(eq("calendar.company.title"), any(), eq(GERMAN))).thenReturn("Abwesenheitskalender der Firma");
-        final ByteArrayResource iCal = new ByteArrayResource(new byte[]{}, "calendar.ics");
-        when(iCalService.getCalendar("Abwesenheitskalender der Firma", absences)).thenReturn(iCal);
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        sut.getCalendarForAll(10, "secret", GERMAN).renderTo(outputStream);
 
-        final ByteArrayResource calendar = sut.getCalendarForAll(10, "secret", GERMAN);
-        assertThat(calendar).isEqualTo(iCal);
+        verify(iCalService).writeCalendar("Abwesenheitskalender der Firma", absences, outputStream);
     }
 
     @Test
@@ -134,6 +134,7 @@ class CompanyCalendarServiceTest {
         sut.deleteCalendarForPerson(1);
 
         verify(companyCalendarRepository).deleteByPerson(person);
+        verify(iCalFeedCache).evictAll();
     }
 
     @Test
@@ -6,9 +6,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.MessageSource;
-import org.springframework.core.io.ByteArrayResource;
 import org.synyx.urlaubsverwaltung.absence.Absence;
-import org.synyx.urlaubsverwaltung.absence.AbsenceService;
 import org.synyx.urlaubsverwaltung.absence.AbsenceTimeConfiguration;
 import org.synyx.urlaubsverwaltung.absence.TimeSettings;
 import org.synyx.urlaubsverwaltung.department.Department;
@@ -18,6 +16,7 @@ import org.synyx.urlaubsverwaltung.period.Period;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonService;
 
+import java.io.ByteArrayOutputStream;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.LocalDate;
@@ -46,7 +45,7 @@ class DepartmentCalendarServiceTest {
     private DepartmentCalendarService sut;
 
     @Mock
-    private AbsenceService absenceService;
+    private CalendarAbsenceIndex calendarAbsenceIndex;
     @Mock
     private DepartmentService departmentService;
     @Mock
@@ -56,13 +55,15 @@ class DepartmentCalendarServiceTest {
     @Mock
     private ICalService iCalService;
     @Mock
+    private ICalFeedCache iCalFeedCache;
+    @Mock
     private MessageSource messageSource;
 
     @BeforeEach
     void setUp() {
 
-        sut = new DepartmentCalendarService(absenceService, departmentService, personService,
-            departmentCalendarRepository, iCalService, messageSource, Clock.systemUTC());
+        sut = new DepartmentCalendarService(calendarAbsenceIndex, departmentService, personService,
+            departmentCalendarRepository, iCalService, iCalFeedCache, messageSource, Clock.systemUTC());
     }
 
     @Test
@@ -75,6 +76,7 @@ class DepartmentCalendarServiceTest {
         sut.deleteCalendarForDepartmentAndPerson(1, 10);
 
         verify(departmentCalendarRepository).deleteByDepartmentIdAndPerson(1, person);
+        verify(iCalFeedCache).evictAll();
     }
 
     @Test
@@ -112,14 +114,13 @@ class DepartmentCalendarServiceTest {
         when(departmentCalendarRepository.findBySecretAndPerson("secret", person)).thenReturn(Optional.of(departmentCalendar));
 
         final List<Absence> fullDayAbsences = List.of(absence(person, parse("2019-03-26", ofPattern("yyyy-MM-dd")), parse("2019-03-26", ofPattern("yyyy-MM-dd")), FULL));
-        when(absenceService.getOpenAbsencesSince(eq(List.of(person)), any(LocalDate.class))).thenReturn(fullDayAbsences);
+        when(calendarAbsenceIndex.getOpenAbsencesSince(eq(List.of(person)), any(LocalDate.class))).thenReturn(fullDayAbsences);
 
         when(messageSource.getMessage(eq("calendar.department.title"), any(), eq(GERMAN))).thenReturn("Abwesenheitskalender der Abteilung DepartmentName");
-        final ByteArrayResource iCal = new ByteArrayResource(new byte[]{}, "calendar");
-        when(iCalService.getCalendar("Abwesenheitskalender der Abteilung DepartmentName", fullDayAbsences)).thenReturn(iCal);
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        sut.getCalendarForDepartment(1, 10, "secret", GERMAN).renderTo(outputStream);
 
-        final ByteArrayResource calendar = sut.getCalendarForDepartment(1, 10, "secret", GERMAN);
-        assertThat(calendar).isEqualTo(iCal);
+        verify(iCalService).writeCalendar("Abwesenheitskalender der Abteilung DepartmentName", fullDayAbsences, outputStream);
     }
 
     @Test
@@ -259,8 +260,8 @@ class DepartmentCalendarServiceTest {
     void getCalendarForDepartmentAndCreatedAtIsAfterChosenPeriodSinceDate() {
 
         final Clock clock = Clock.fixed(Instant.parse("2019-04-15T10:00:00.00Z"), ZoneId.of("UTC"));
-        final DepartmentCalendarService sut = new DepartmentCalendarService(absenceService, departmentService, personService,
-            departmentCalendarRepository, iCalService, messageSource, clock);
+        final DepartmentCalendarService sut = new DepartmentCalendarService(calendarAbsenceIndex, departmentService, personService,
+            departmentCalendarRepository, iCalService, iCalFeedCache, messageSource, clock);
 
         final Department department = createDepartment("DepartmentName");
         department.setId(1);
@@ -281,18 +282,18 @@ class DepartmentCalendarServiceTest {
         when(departmentCalendarRepository.findBySecretAndPerson("secret", person)).thenReturn(Optional.of(departmentCalendar));
 
         final List<Absence> fullDayAbsences = List.of(absence(person, parse("2018-03-26", ofPattern("yyyy-MM-dd")), parse("2018-03-26", ofPattern("yyyy-MM-dd")), FULL));
-        when(absenceService.getOpenAbsencesSince(List.of(person), createdAt)).thenReturn(fullDayAbsences);
+        when(calendarAbsenceIndex.getOpenAbsencesSince(List.of(person), createdAt)).thenReturn(fullDayAbsences);
 
         sut.getCalendarForDepartment(1, 10, "secret", GERMAN);
-        verify(absenceService).getOpenAbsencesSince(List.of(person), createdAt);
+        verify(calendarAbsenceIndex).getOpenAbsencesSince(List.of(person), createdAt);
     }
 
     @Test
     void getCalendarForDepartmentAndCreatedAtIsBeforeChosenPeriodSinceDate() {
 
         final Clock clock = Clock.fixed(Instant.parse("2019-06-15T10:00:00.00Z"), ZoneId.of("UTC"));
-        final DepartmentCalendarService sut = new DepartmentCalendarService(absenceService, departmentService, personService,
-            departmentCalendarRepository, iCalService, messageSource, clock);
+        final DepartmentCalendarService sut = new DepartmentCalendarService(calendarAbsenceIndex, departmentService, personService,
+            departmentCalendarRepository, iCalService, iCalFeedCache, messageSource, clock);
 
         final Department department = createDepartment("DepartmentName");
         department.setId(1);
@@ -313,10 +314,10 @@ class DepartmentCalendarServiceTest {
         when(departmentCalendarRepository.findBySecretAndPerson("secret", person)).thenReturn(Optional.of(departmentCalendar));
 
         final List<Absence> fullDayAbsences = List.of(absence(person, parse("2018-03-26", ofPattern("yyyy-MM-dd")), parse("2018-03-26", ofPattern("yyyy-MM-dd")), FULL));
-        when(absenceService.getOpenAbsencesSince(List.of(person), LocalDate.of(2018, 6, 15))).thenReturn(fullDayAbsences);
+        when(calendarAbsenceIndex.getOpenAbsencesSince(List.of(person), LocalDate.of(2018, 6, 15))).thenReturn(fullDayAbsences);
 
         sut.getCalendarForDepartment(1, 10, "secret", GERMAN);
-        verify(absenceService).getOpenAbsencesSince(List.of(person), LocalDate.of(2018, 6, 15));
+        verify(calendarAbsenceIndex).getOpenAbsencesSince(List.of(person), LocalDate.of(2018, 6, 15));
     }
 
     private Absence absence(Person person, LocalDate start, LocalDate end, DayLength length) {
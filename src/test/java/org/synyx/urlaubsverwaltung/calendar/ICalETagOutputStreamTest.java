@@ -0,0 +1,76 @@
+package org.synyx.urlaubsverwaltung.calendar;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.util.DigestUtils.md5DigestAsHex;
+
+class ICalETagOutputStreamTest {
+
+    @Test
+    void ensureETagIsMd5OfContentWithoutDtStampLines() throws IOException {
+
+        final String content = "BEGIN:VEVENT\r\nDTSTAMP:20211102T101530Z\r\nSUMMARY:DTSTAMP:\r\nEND:VEVENT\r\n";
+
+        assertThat(eTagOf(content.getBytes(UTF_8)))
+            .isEqualTo("\"" + md5DigestAsHex("BEGIN:VEVENT\r\nSUMMARY:DTSTAMP:\r\nEND:VEVENT\r\n".getBytes(UTF_8)) + "\"");
+    }
+
+    @Test
+    void ensureETagDoesNotDependOnRenderingTime() throws IOException {
+
+        final String renderedBefore = "BEGIN:VEVENT\r\nDTSTAMP:20211102T101530Z\r\nDTSTART;VALUE=DATE:20211103\r\nEND:VEVENT\r\n";
+        final String renderedAfter = "BEGIN:VEVENT\r\nDTSTAMP:20211102T104530Z\r\nDTSTART;VALUE=DATE:20211103\r\nEND:VEVENT\r\n";
+
+        assertThat(eTagOf(renderedAfter.getBytes(UTF_8)))
+            .isEqualTo(eTagOf(renderedBefore.getBytes(UTF_8)));
+    }
+
+    @Test
+    void ensureETagDependsOnEvents() throws IOException {
+
+        final String content = "BEGIN:VEVENT\r\nDTSTAMP:20211102T101530Z\r\nDTSTART;VALUE=DATE:20211103\r\nEND:VEVENT\r\n";
+        final String changedContent = "BEGIN:VEVENT\r\nDTSTAMP:20211102T101530Z\r\nDTSTART;VALUE=DATE:20211104\r\nEND:VEVENT\r\n";
+
+        assertThat(eTagOf(changedContent.getBytes(UTF_8)))
+            .isNotEqualTo(eTagOf(content.getBytes(UTF_8)));
+    }
+
+    @Test
+    void ensureETagIsTheSameIfContentIsWrittenInParts() throws IOException {
+
+        final byte[] content = "BEGIN:VEVENT\r\nDTSTAMP:20211102T101530Z\r\nDTS".getBytes(UTF_8);
+
+        final ICalETagOutputStream sut = new ICalETagOutputStream();
+        sut.write(content, 0, 20);
+        sut.write(content, 20, content.length - 20);
+
+        assertThat(sut.getETag()).isEqualTo("\"" + md5DigestAsHex("BEGIN:VEVENT\r\nDTS".getBytes(UTF_8)) + "\"");
+    }
+
+    @Test
+    void ensureContentIsWrittenUnchangedIntoOutputStreams() throws IOException {
+
+        final byte[] content = "BEGIN:VEVENT\r\nDTSTAMP:20211102T101530Z\r\nEND:VEVENT\r\n".getBytes(UTF_8);
+
+        final ByteArrayOutputStream response = new ByteArrayOutputStream();
+        final ByteArrayOutputStream cache = new ByteArrayOutputStream();
+        final ICalETagOutputStream sut = new ICalETagOutputStream(response, cache);
+        sut.write(content, 0, 20);
+        sut.write(content[20]);
+        sut.write(content, 21, content.length - 21);
+
+        assertThat(response.toByteArray()).isEqualTo(content);
+        assertThat(cache.toByteArray()).isEqualTo(content);
+    }
+
+    private static String eTagOf(byte[] content) throws IOException {
+        final ICalETagOutputStream eTagOutputStream = new ICalETagOutputStream();
+        eTagOutputStream.write(content);
+        return eTagOutputStream.getETag();
+    }
+}
@@ -0,0 +1,241 @@
+package org.synyx.urlaubsverwaltung.calendar;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationUpdatedEvent;
+import org.synyx.urlaubsverwaltung.person.PersonUpdatedEvent;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteUpdatedEvent;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.time.ZoneOffset.UTC;
+import static java.util.Locale.ENGLISH;
+import static java.util.Locale.GERMAN;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.synyx.urlaubsverwaltung.calendar.ICalFeedCache.CalendarType.COMPANY;
+import static org.synyx.urlaubsverwaltung.calendar.ICalFeedCache.CalendarType.DEPARTMENT;
+import static org.synyx.urlaubsverwaltung.calendar.ICalFeedCache.CalendarType.PERSON;
+
+class ICalFeedCacheTest {
+
+    private final AtomicInteger renderings = new AtomicInteger();
+    private final Supplier<ICalFeedRenderer> renderer = () -> renderer("calendar " + renderings.incrementAndGet());
+
+    private MutableClock clock;
+    private ICalFeedCache sut;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2021-11-02T10:15:30.00Z"));
+
+        final CalendarProperties calendarProperties = new CalendarProperties();
+        calendarProperties.setFeedCacheTimeToLive(Duration.ofMinutes(15));
+
+        sut = new ICalFeedCache(calendarProperties, clock);
+    }
+
+    @Test
+    void ensureFeedIsRenderedOnce() {
+
+        final ICalFeed feed = sut.getFeed(COMPANY, null, 1, "secret", GERMAN, renderer);
+        final ICalFeed cachedFeed = sut.getFeed(COMPANY, null, 1, "secret", GERMAN, renderer);
+
+        assertThat(cachedFeed).isSameAs(feed);
+        assertThat(new String(feed.getContent())).isEqualTo("calendar 1");
+        assertThat(feed.getETag()).startsWith("\"").endsWith("\"");
+        assertThat(feed.getLastModified()).isEqualTo(Instant.parse("2021-11-02T10:15:30.00Z"));
+        assertThat(renderings).hasValue(1);
+    }
+
+    @Test
+    void ensureFeedsAreCachedPerCalendarTypeDepartmentPersonSecretAndLocale() {
+
+        sut.getFeed(PERSON, null, 1, "secret", GERMAN, renderer);
+        sut.getFeed(COMPANY, null, 1, "secret", GERMAN, renderer);
+        sut.getFeed(DEPARTMENT, 1, 1, "secret", GERMAN, renderer);
+        sut.getFeed(DEPARTMENT, 2, 1, "secret", GERMAN, renderer);
+        sut.getFeed(PERSON, null, 2, "secret", GERMAN, renderer);
+        sut.getFeed(PERSON, null, 1, "other", GERMAN, renderer);
+        sut.getFeed(PERSON, null, 1, "secret", ENGLISH, renderer);
+
+        assertThat(renderings).hasValue(7);
+    }
+
+    @Test
+    void ensureFeedIsRenderedAgainAfterChanges() {
+
+        sut.getFeed(COMPANY, null, 1, "secret", GERMAN, renderer);
+
+        sut.handleApplicationUpdated(new ApplicationUpdatedEvent(this, 1));
+        sut.getFeed(COMPANY, null, 1, "secret", GERMAN, renderer);
+
+        sut.handleSickNoteUpdated(new SickNoteUpdatedEvent(this, 1));
+        sut.getFeed(COMPANY, null, 1, "secret", GERMAN, renderer);
+
+        sut.handlePersonUpdated(new PersonUpdatedEvent(this, 1));
+        final ICalFeed feed = sut.getFeed(COMPANY, null, 1, "secret", GERMAN, renderer);
+
+        assertThat(renderings).hasValue(4);
+        assertThat(new String(feed.getContent())).isEqualTo("calendar 4");
+    }
+
+    @Test
+    void ensureFeedIsRenderedAgainAfterTimeToLive() {
+
+        sut.getFeed(PERSON, null, 1, "secret", GERMAN, renderer);
+
+        clock.advance(Duration.ofMinutes(14));
+        sut.getFeed(PERSON, null, 1, "secret", GERMAN, renderer);
+        assertThat(renderings).hasValue(1);
+
+        clock.advance(Duration.ofMinutes(1));
+        sut.getFeed(PERSON, null, 1, "secret", GERMAN, renderer);
+        assertThat(renderings).hasValue(2);
+    }
+
+    @Test
+    void ensureFeedIsRenderedAgainOnNextDay() {
+
+        clock.advance(Duration.ofHours(13).plusMinutes(40));
+        sut.getFeed(PERSON, null, 1, "secret", GERMAN, renderer);
+
+        clock.advance(Duration.ofMinutes(10));
+        sut.getFeed(PERSON, null, 1, "secret", GERMAN, renderer);
+
+        assertThat(renderings).hasValue(2);
+    }
+
+    @Test
+    void ensureFeedRenderedAgainWithSameEventsKeepsETagAndLastModified() {
+
+        final Supplier<ICalFeedRenderer> dtStampRenderer = () ->
+            renderer("BEGIN:VEVENT\r\nDTSTAMP:" + clock.instant() + "\r\nEND:VEVENT\r\n");
+
+        final ICalFeed feed = sut.getFeed(PERSON, null, 1, "secret", GERMAN, dtStampRenderer);
+
+        clock.advance(Duration.ofMinutes(15));
+        final ICalFeed renderedAgain = sut.getFeed(PERSON, null, 1, "secret", GERMAN, dtStampRenderer);
+
+        assertThat(renderedAgain).isNotSameAs(feed);
+        assertThat(renderedAgain.getContent()).isNotEqualTo(feed.getContent());
+        assertThat(renderedAgain.getETag()).isEqualTo(feed.getETag());
+        assertThat(renderedAgain.getLastModified()).isEqualTo(Instant.parse("2021-11-02T10:15:30.00Z"));
+    }
+
+    @Test
+    void ensureChangedFeedGetsNewETagAndLastModified() {
+
+        final ICalFeed feed = sut.getFeed(PERSON, null, 1, "secret", GERMAN, renderer);
+
+        clock.advance(Duration.ofMinutes(15));
+        final ICalFeed changedFeed = sut.getFeed(PERSON, null, 1, "secret", GERMAN, renderer);
+
+        assertThat(changedFeed.getETag()).isNotEqualTo(feed.getETag());
+        assertThat(changedFeed.getLastModified()).isEqualTo(Instant.parse("2021-11-02T10:30:30.00Z"));
+    }
+
+    @Test
+    void ensureFailedRenderingIsNotCached() {
+
+        final Supplier<ICalFeedRenderer> failingRenderer = () -> {
+            throw new IllegalArgumentException("No calendar found for secret=secret");
+        };
+
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> sut.getFeed(PERSON, null, 1, "secret", GERMAN, failingRenderer));
+
+        sut.getFeed(PERSON, null, 1, "secret", GERMAN, renderer);
+        assertThat(renderings).hasValue(1);
+    }
+
+    @Test
+    void ensureFeedIsRenderedIntoOutputAndCached() throws IOException {
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final AtomicInteger openings = new AtomicInteger();
+
+        final Optional<ICalFeed> renderedFeed = sut.getFeedOrRender(COMPANY, null, 1, "secret", GERMAN, renderer, lastModified -> {
+            assertThat(lastModified).isEqualTo(Instant.parse("2021-11-02T10:15:30.00Z"));
+            openings.incrementAndGet();
+            return output;
+        });
+
+        assertThat(renderedFeed).isEmpty();
+        assertThat(output.toString(UTF_8)).isEqualTo("calendar 1");
+
+        final Optional<ICalFeed> cachedFeed = sut.getFeedOrRender(COMPANY, null, 1, "secret", GERMAN, renderer, lastModified -> {
+            openings.incrementAndGet();
+            return output;
+        });
+
+        assertThat(cachedFeed).hasValueSatisfying(feed -> {
+            assertThat(new String(feed.getContent(), UTF_8)).isEqualTo("calendar 1");
+            assertThat(feed.getLastModified()).isEqualTo(Instant.parse("2021-11-02T10:15:30.00Z"));
+        });
+        assertThat(cachedFeed.get()).isSameAs(sut.getFeed(COMPANY, null, 1, "secret", GERMAN, renderer));
+        assertThat(openings).hasValue(1);
+        assertThat(renderings).hasValue(1);
+    }
+
+    @Test
+    void ensureOutputIsNotOpenedIfRendererCanNotBeProvided() {
+
+        final Supplier<ICalFeedRenderer> failingRenderer = () -> {
+            throw new IllegalArgumentException("No calendar found for secret=secret");
+        };
+
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> sut.getFeedOrRender(PERSON, null, 1, "secret", GERMAN, failingRenderer, lastModified -> {
+                throw new IllegalStateException("output must not be opened");
+            }));
+    }
+
+    private static ICalFeedRenderer renderer(String content) {
+        return outputStream -> {
+            try {
+                outputStream.write(content.getBytes(UTF_8));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package org.synyx.urlaubsverwaltung.calendar;
+
+import net.fortuna.ical4j.data.CalendarOutputter;
+import net.fortuna.ical4j.validate.ValidationException;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.synyx.urlaubsverwaltung.absence.Absence;
+import org.synyx.urlaubsverwaltung.absence.AbsenceTimeConfiguration;
+import org.synyx.urlaubsverwaltung.absence.AbsenceType;
+import org.synyx.urlaubsverwaltung.absence.TimeSettings;
+import org.synyx.urlaubsverwaltung.period.DayLength;
+import org.synyx.urlaubsverwaltung.period.Period;
+import org.synyx.urlaubsverwaltung.person.Person;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.time.ZoneOffset.UTC;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.synyx.urlaubsverwaltung.calendar.ICalType.PUBLISHED;
+
+/**
+ * Repeatable timing comparison of the streaming {@link ICalWriter} and the ical4j object model for a company
+ * calendar with many absences.
+ * <p>
+ * It is not part of the regular test run, since the name does not match the surefire includes. Run it with
+ * {@code ./mvnw test -Dtest=ICalFeedRenderingBenchmark} and compare the logged medians.
+ */
+class ICalFeedRenderingBenchmark {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    private static final int ABSENCES = 5000;
+    private static final int WARM_UP_ROUNDS = 10;
+    private static final int MEASURED_ROUNDS = 20;
+
+    private final Clock clock = Clock.fixed(Instant.parse("2021-11-02T10:15:30.00Z"), UTC);
+
+    @Test
+    void compareStreamingWriterWithObjectModel() throws Exception {
+
+        final CalendarProperties calendarProperties = new CalendarProperties();
+        calendarProperties.setOrganizer("no-reply@example.org");
+        final ICalService iCalService = new ICalService(calendarProperties, clock);
+
+        final List<Absence> absences = absences();
+
+        final long streamingNanos = medianNanos(() -> {
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            iCalService.writeCalendar("Firmenkalender", absences, outputStream);
+            return outputStream.toByteArray();
+        });
+
+        final long objectModelNanos = medianNanos(() -> {
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            new CalendarOutputter().output(iCalService.prepareCalendar(absences, PUBLISHED), outputStream);
+            return outputStream.toByteArray();
+        });
+
+        LOG.info("Rendered {} absences in {} ms with the ICalWriter and in {} ms with the ical4j object model (median of {} rounds)",
+            ABSENCES, streamingNanos / 1_000_000.0, objectModelNanos / 1_000_000.0, MEASURED_ROUNDS);
+    }
+
+    private long medianNanos(Rendering rendering) throws IOException, ValidationException {
+
+        for (int round = 0; round < WARM_UP_ROUNDS; round++) {
+            assertEvents(rendering.render());
+        }
+
+        final long[] nanos = new long[MEASURED_ROUNDS];
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            final long start = System.nanoTime();
+            final byte[] calendar = rendering.render();
+            nanos[round] = System.nanoTime() - start;
+            assertEvents(calendar);
+        }
+
+        Arrays.sort(nanos);
+        return nanos[MEASURED_ROUNDS / 2];
+    }
+
+    private static void assertEvents(byte[] calendar) {
+        final String content = new String(calendar, UTF_8);
+        assertThat(content.split("BEGIN:VEVENT", -1)).hasSize(ABSENCES + 1);
+    }
+
+    private static List<Absence> absences() {
+
+        final TimeSettings timeSettings = new TimeSettings();
+        timeSettings.setTimeZoneId("Etc/UTC");
+        final AbsenceTimeConfiguration timeConfig = new AbsenceTimeConfiguration(timeSettings);
+
+        final DayLength[] dayLengths = {DayLength.FULL, DayLength.MORNING, DayLength.NOON};
+        final LocalDate firstDay = LocalDate.of(2021, 1, 4);
+
+        final List<Absence> absences = new ArrayList<>(ABSENCES);
+        for (int i = 0; i < ABSENCES; i++) {
+            final Person person = new Person("muster" + i % 200, "Muster", "Marlene", "muster" + i % 200 + "@example.org");
+            final DayLength dayLength = dayLengths[i % dayLengths.length];
+            final LocalDate start = firstDay.plusDays(i % 365);
+            final LocalDate end = dayLength == DayLength.FULL ? start.plusDays(i % 5) : start;
+            absences.add(new Absence(person, new Period(start, end, dayLength), timeConfig, AbsenceType.DEFAULT));
+        }
+        return absences;
+    }
+
+    @FunctionalInterface
+    private interface Rendering {
+        byte[] render() throws IOException, ValidationException;
+    }
+}
@@ -2,6 +2,8 @@ package org.synyx.urlaubsverwaltung.calendar;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.springframework.core.io.ByteArrayResource;
 import org.synyx.urlaubsverwaltung.absence.Absence;
 import org.synyx.urlaubsverwaltung.absence.AbsenceTimeConfiguration;
@@ -11,11 +13,16 @@ import org.synyx.urlaubsverwaltung.period.DayLength;
 import org.synyx.urlaubsverwaltung.period.Period;
 import org.synyx.urlaubsverwaltung.person.Person;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.time.ZoneOffset.UTC;
 import static java.time.format.DateTimeFormatter.ofPattern;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.synyx.urlaubsverwaltung.calendar.ICalType.CANCELLED;
@@ -28,6 +35,8 @@ class ICalServiceTest {
 
     private ICalService sut;
 
+    private final Clock clock = Clock.fixed(Instant.parse("2021-11-02T10:15:30.00Z"), UTC);
+
     private static LocalDate toDateTime(String input) {
         return LocalDate.parse(input, ofPattern("yyyy-MM-dd"));
     }
@@ -36,13 +45,13 @@ class ICalServiceTest {
     void setUp() {
         final CalendarProperties calendarProperties = new CalendarProperties();
         calendarProperties.setOrganizer("no-reply@example.org");
-        sut = new ICalService(calendarProperties);
+        sut = new ICalService(calendarProperties, clock);
     }
 
     @Test
     void getCalendarForPersonAndNoAbsenceFound() {
 
-        final ByteArrayResource calendar = sut.getCalendar("Abwesenheitskalender", List.of());
+        final ByteArrayResource calendar = getCalendar("Abwesenheitskalender", List.of());
         assertThat(convertCalendar(calendar))
             .contains("VERSION:2.0")
             .contains("CALSCALE:GREGORIAN")
@@ -57,7 +66,7 @@ class ICalServiceTest {
 
         final Absence fullDayAbsence = absence(new Person("muster", "Muster", "Marlene", "muster@example.org"), toDateTime("2019-03-26"), toDateTime("2019-03-26"), FULL);
 
-        final ByteArrayResource calendar = sut.getCalendar("Abwesenheitskalender", List.of(fullDayAbsence));
+        final ByteArrayResource calendar = getCalendar("Abwesenheitskalender", List.of(fullDayAbsence));
         assertThat(convertCalendar(calendar))
             .contains("VERSION:2.0")
             .contains("CALSCALE:GREGORIAN")
@@ -78,7 +87,7 @@ class ICalServiceTest {
 
         final Absence morningAbsence = absence(new Person("muster", "Muster", "Marlene", "muster@example.org"), toDateTime("2019-04-26"), toDateTime("2019-04-26"), MORNING);
 
-        final ByteArrayResource calendar = sut.getCalendar("Abwesenheitskalender", List.of(morningAbsence));
+        final ByteArrayResource calendar = getCalendar("Abwesenheitskalender", List.of(morningAbsence));
         assertThat(convertCalendar(calendar))
             .contains("VERSION:2.0")
             .contains("CALSCALE:GREGORIAN")
@@ -99,7 +108,7 @@ class ICalServiceTest {
 
         final Absence manyFullDayAbsence = absence(new Person("muster", "Muster", "Marlene", "muster@example.org"), toDateTime("2019-03-26"), toDateTime("2019-04-01"), FULL);
 
-        final ByteArrayResource calendar = sut.getCalendar("Abwesenheitskalender", List.of(manyFullDayAbsence));
+        final ByteArrayResource calendar = getCalendar("Abwesenheitskalender", List.of(manyFullDayAbsence));
 
         assertThat(convertCalendar(calendar))
             .contains("VERSION:2.0")
@@ -122,7 +131,7 @@ class ICalServiceTest {
 
         final Absence noonAbsence = absence(new Person("muster", "Muster", "Marlene", "muster@example.org"), toDateTime("2019-05-26"), toDateTime("2019-05-26"), NOON);
 
-        final ByteArrayResource calendar = sut.getCalendar("Abwesenheitskalender", List.of(noonAbsence));
+        final ByteArrayResource calendar = getCalendar("Abwesenheitskalender", List.of(noonAbsence));
         assertThat(convertCalendar(calendar))
             .contains("VERSION:2.0")
             .contains("CALSCALE:GREGORIAN")
@@ -146,8 +155,8 @@ class ICalServiceTest {
 
         final CalendarProperties calendarProperties = new CalendarProperties();
         calendarProperties.setOrganizer("no-reply@example.org");
-        final ICalService sut = new ICalService(calendarProperties);
-        final ByteArrayResource calendar = sut.getCalendar("Abwesenheitskalender", List.of(noonAbsence));
+        final ICalService sut = new ICalService(calendarProperties, clock);
+        final ByteArrayResource calendar = getCalendar("Abwesenheitskalender", List.of(noonAbsence));
         assertThat(convertCalendar(calendar))
             .contains("VERSION:2.0")
             .contains("CALSCALE:GREGORIAN")
@@ -172,7 +181,7 @@ class ICalServiceTest {
 
         final CalendarProperties calendarProperties = new CalendarProperties();
         calendarProperties.setOrganizer("no-reply@example.org");
-        final ICalService sut = new ICalService(calendarProperties);
+        final ICalService sut = new ICalService(calendarProperties, clock);
 
         final ByteArrayResource calendar = sut.getSingleAppointment(noonAbsence, CANCELLED);
         assertThat(convertCalendar(calendar))
@@ -200,7 +209,7 @@ class ICalServiceTest {
 
         final CalendarProperties calendarProperties = new CalendarProperties();
         calendarProperties.setOrganizer("no-reply@example.org");
-        final ICalService sut = new ICalService(calendarProperties);
+        final ICalService sut = new ICalService(calendarProperties, clock);
 
         final ByteArrayResource calendar = sut.getSingleAppointment(noonAbsence, PUBLISHED);
         assertThat(convertCalendar(calendar))
@@ -227,7 +236,7 @@ class ICalServiceTest {
 
         final CalendarProperties calendarProperties = new CalendarProperties();
         calendarProperties.setOrganizer("no-reply@example.org");
-        final ICalService sut = new ICalService(calendarProperties);
+        final ICalService sut = new ICalService(calendarProperties, clock);
 
         final ByteArrayResource calendar = sut.getSingleAppointment(holidayReplacement, PUBLISHED);
         assertThat(convertCalendar(calendar))
@@ -246,6 +255,54 @@ class ICalServiceTest {
             .contains("ATTENDEE;ROLE=REQ-PARTICIPANT;CN=Marlene Muster:mailto:muster@example.org");
     }
 
+    @Test
+    void getCalendarWritesDtStampOfNow() {
+
+        final Absence fullDayAbsence = absence(new Person("muster", "Muster", "Marlene", "muster@example.org"), toDateTime("2019-03-26"), toDateTime("2019-03-26"), FULL);
+
+        final ByteArrayResource calendar = getCalendar("Abwesenheitskalender", List.of(fullDayAbsence));
+        assertThat(convertCalendar(calendar))
+            .startsWith("BEGIN:VCALENDAR\r\n")
+            .contains("BEGIN:VEVENT\r\nDTSTAMP:20211102T101530Z\r\nDTSTART;VALUE=DATE:20190326\r\n")
+            .endsWith("END:VEVENT\r\nEND:VCALENDAR\r\n");
+    }
+
+    @ParameterizedTest
+    @EnumSource(ICalType.class)
+    void ensureWriterWritesSameEventsAsObjectModel(ICalType method) throws IOException {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        final Person personWithSpecialName = new Person("mueller", "Müller-Lüdenscheidt, Freiherr von", "Jürgen; \"Jü\"", "mueller@example.org");
+
+        final List<Absence> absences = List.of(
+            absence(person, toDateTime("2019-03-26"), toDateTime("2019-03-26"), FULL),
+            absence(person, toDateTime("2019-03-26"), toDateTime("2019-04-01"), FULL),
+            absence(person, toDateTime("2019-04-26"), toDateTime("2019-04-26"), MORNING),
+            absence(person, toDateTime("2019-05-26"), toDateTime("2019-05-26"), NOON),
+            holidayReplacement(person, toDateTime("2019-05-26"), toDateTime("2019-05-28"), FULL),
+            absence(personWithSpecialName, toDateTime("2019-06-03"), toDateTime("2019-06-03"), FULL),
+            absence(personWithSpecialName, toDateTime("2019-06-04"), toDateTime("2019-06-04"), NOON)
+        );
+
+        for (Absence absence : absences) {
+            final String objectModel = convertCalendar(sut.getSingleAppointment(absence, method));
+
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            try (final ICalWriter writer = new ICalWriter(outputStream, method, "no-reply@example.org", clock.instant())) {
+                writer.writeBeginCalendar(null, null);
+                writer.writeEvent(absence);
+                writer.writeEndCalendar();
+            }
+            final String written = outputStream.toString(UTF_8);
+
+            assertThat(withoutDtStamp(written)).isEqualTo(withoutDtStamp(objectModel));
+        }
+    }
+
+    private static String withoutDtStamp(String calendar) {
+        return calendar.replaceAll("DTSTAMP:\\d{8}T\\d{6}Z", "DTSTAMP:");
+    }
+
     private Absence absence(Person person, LocalDate start, LocalDate end, DayLength length) {
         return absence(person, start, end, length, AbsenceType.DEFAULT);
     }
@@ -263,6 +320,12 @@ class ICalServiceTest {
         return new Absence(person, period, timeConfig, absenceType);
     }
 
+    private ByteArrayResource getCalendar(String title, List<Absence> absences) {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        sut.writeCalendar(title, absences, outputStream);
+        return new ByteArrayResource(outputStream.toByteArray());
+    }
+
     private String convertCalendar(ByteArrayResource calendar) {
         return new String(calendar.getByteArray(), UTF_8);
     }
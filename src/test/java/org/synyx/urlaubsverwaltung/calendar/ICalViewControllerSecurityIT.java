@@ -4,7 +4,6 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.web.context.WebApplicationContext;
@@ -34,7 +33,7 @@ class ICalViewControllerSecurityIT extends TestContainersBase {
     void getPersonCalendarUnauthorized() throws Exception {
 
         final String secret = "eid5ae0zooKu";
-        when(personCalendarService.getCalendarForPerson(1, secret, GERMAN)).thenReturn(new ByteArrayResource("calendar".getBytes()));
+        when(personCalendarService.getCalendarForPerson(1, secret, GERMAN)).thenReturn(outputStream -> {});
 
         perform(get("/web/persons/1/calendar")
             .locale(GERMAN).param("secret", secret))
@@ -45,7 +44,7 @@ class ICalViewControllerSecurityIT extends TestContainersBase {
     void getDepartmentCalendarUnauthorized() throws Exception {
 
         final String secret = "eid5ae0zooKu";
-        when(departmentCalendarService.getCalendarForDepartment(1, 2, secret, GERMAN)).thenReturn(new ByteArrayResource("calendar".getBytes()));
+        when(departmentCalendarService.getCalendarForDepartment(1, 2, secret, GERMAN)).thenReturn(outputStream -> {});
 
         perform(get("/web/departments/1/persons/2/calendar")
             .locale(GERMAN).param("secret", secret))
@@ -56,7 +55,7 @@ class ICalViewControllerSecurityIT extends TestContainersBase {
     void getCompanyCalendarUnauthorized() throws Exception {
 
         final String secret = "eid5ae0zooKu";
-        when(companyCalendarService.getCalendarForAll(1, secret, GERMAN)).thenReturn(new ByteArrayResource("calendar".getBytes()));
+        when(companyCalendarService.getCalendarForAll(1, secret, GERMAN)).thenReturn(outputStream -> {});
 
         perform(get("/web/company/persons/1/calendar")
             .locale(GERMAN).param("secret", secret))
@@ -6,21 +6,26 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.Instant;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.time.ZoneOffset.UTC;
 import static java.util.Arrays.asList;
 import static java.util.Locale.GERMAN;
 import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.util.DigestUtils.md5DigestAsHex;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
@@ -42,13 +47,15 @@ class ICalViewControllerTest {
 
     @BeforeEach
     void setUp() {
-        sut = new ICalViewController(personCalendarService, departmentCalendarService, companyCalendarService);
+        final Clock clock = Clock.fixed(Instant.parse("2021-11-02T10:15:30.00Z"), UTC);
+        final ICalFeedCache iCalFeedCache = new ICalFeedCache(new CalendarProperties(), clock);
+        sut = new ICalViewController(personCalendarService, departmentCalendarService, companyCalendarService, iCalFeedCache);
     }
 
     @Test
     void getCalendarForPerson() throws Exception {
 
-        when(personCalendarService.getCalendarForPerson(1, "secret", GERMAN)).thenReturn(new ByteArrayResource("iCal string".getBytes()));
+        when(personCalendarService.getCalendarForPerson(1, "secret", GERMAN)).thenReturn(renderer("iCal string"));
 
         perform(get("/web/persons/1/calendar")
             .locale(GERMAN)
@@ -84,7 +91,7 @@ class ICalViewControllerTest {
     @Test
     void getCalendarForDepartment() throws Exception {
 
-        when(departmentCalendarService.getCalendarForDepartment(1, 2, "secret", GERMAN)).thenReturn(new ByteArrayResource("calendar department".getBytes()));
+        when(departmentCalendarService.getCalendarForDepartment(1, 2, "secret", GERMAN)).thenReturn(renderer("calendar department"));
 
         perform(get("/web/departments/1/persons/2/calendar")
             .locale(GERMAN)
@@ -120,7 +127,7 @@ class ICalViewControllerTest {
     @Test
     void getCalendarForAll() throws Exception {
 
-        when(companyCalendarService.getCalendarForAll(2, "secret", GERMAN)).thenReturn(new ByteArrayResource("calendar all".getBytes()));
+        when(companyCalendarService.getCalendarForAll(2, "secret", GERMAN)).thenReturn(renderer("calendar all"));
 
         perform(get("/web/company/persons/2/calendar")
             .locale(GERMAN)
@@ -153,6 +160,111 @@ class ICalViewControllerTest {
             .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void getCalendarForAllIsRenderedIntoResponseOnceAndAnsweredWithValidatorsFromCache() throws Exception {
+
+        when(companyCalendarService.getCalendarForAll(2, "secret", GERMAN)).thenReturn(renderer("calendar all"));
+
+        final String eTag = "\"" + md5DigestAsHex("calendar all".getBytes()) + "\"";
+
+        perform(get("/web/company/persons/2/calendar")
+            .locale(GERMAN)
+            .param("secret", "secret"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Type", "text/calendar;charset=UTF-8"))
+            .andExpect(header().doesNotExist("ETag"))
+            .andExpect(header().string("Last-Modified", "Tue, 02 Nov 2021 10:15:30 GMT"))
+            .andExpect(content().string("calendar all"));
+
+        perform(get("/web/company/persons/2/calendar")
+            .locale(GERMAN)
+            .param("secret", "secret"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", eTag))
+            .andExpect(header().string("Last-Modified", "Tue, 02 Nov 2021 10:15:30 GMT"))
+            .andExpect(content().string("calendar all"));
+
+        verify(companyCalendarService).getCalendarForAll(2, "secret", GERMAN);
+    }
+
+    @Test
+    void getCalendarForPersonWithETagIsRenderedIntoMemoryAndCached() throws Exception {
+
+        when(personCalendarService.getCalendarForPerson(1, "secret", GERMAN)).thenReturn(renderer("iCal string"));
+
+        final String eTag = "\"" + md5DigestAsHex("iCal string".getBytes()) + "\"";
+
+        perform(get("/web/persons/1/calendar")
+            .locale(GERMAN)
+            .param("secret", "secret")
+            .header("If-None-Match", "\"outdated\""))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", eTag))
+            .andExpect(content().string("iCal string"));
+
+        perform(get("/web/persons/1/calendar")
+            .locale(GERMAN)
+            .param("secret", "secret")
+            .header("If-None-Match", eTag))
+            .andExpect(status().isNotModified());
+
+        verify(personCalendarService).getCalendarForPerson(1, "secret", GERMAN);
+    }
+
+    @Test
+    void getCalendarForPersonIsNotModifiedIfETagMatches() throws Exception {
+
+        when(personCalendarService.getCalendarForPerson(1, "secret", GERMAN)).thenReturn(renderer("iCal string"));
+
+        final String eTag = "\"" + md5DigestAsHex("iCal string".getBytes()) + "\"";
+
+        perform(get("/web/persons/1/calendar")
+            .locale(GERMAN)
+            .param("secret", "secret")
+            .header("If-None-Match", eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+    }
+
+    @Test
+    void getCalendarForDepartmentIsNotModifiedSinceLastModified() throws Exception {
+
+        when(departmentCalendarService.getCalendarForDepartment(1, 2, "secret", GERMAN)).thenReturn(renderer("calendar department"));
+
+        perform(get("/web/departments/1/persons/2/calendar")
+            .locale(GERMAN)
+            .param("secret", "secret")
+            .header("If-Modified-Since", "Tue, 02 Nov 2021 10:15:30 GMT"))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getCalendarForPersonWithOtherSecretIsNotServedFromCache() throws Exception {
+
+        when(personCalendarService.getCalendarForPerson(1, "secret", GERMAN)).thenReturn(renderer("iCal string"));
+        when(personCalendarService.getCalendarForPerson(1, "other", GERMAN)).thenThrow(new IllegalArgumentException());
+
+        perform(get("/web/persons/1/calendar")
+            .locale(GERMAN)
+            .param("secret", "secret"))
+            .andExpect(status().isOk());
+
+        perform(get("/web/persons/1/calendar")
+            .locale(GERMAN)
+            .param("secret", "other"))
+            .andExpect(status().isBadRequest());
+    }
+
+    private static ICalFeedRenderer renderer(String content) {
+        return outputStream -> {
+            try {
+                outputStream.write(content.getBytes(UTF_8));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
     private ResultActions perform(MockHttpServletRequestBuilder builder) throws Exception {
         return standaloneSetup(sut).build().perform(builder);
     }
@@ -6,9 +6,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.MessageSource;
-import org.springframework.core.io.ByteArrayResource;
 import org.synyx.urlaubsverwaltung.absence.Absence;
-import org.synyx.urlaubsverwaltung.absence.AbsenceService;
 import org.synyx.urlaubsverwaltung.absence.AbsenceTimeConfiguration;
 import org.synyx.urlaubsverwaltung.absence.TimeSettings;
 import org.synyx.urlaubsverwaltung.period.DayLength;
@@ -16,6 +14,7 @@ import org.synyx.urlaubsverwaltung.period.Period;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonService;
 
+import java.io.ByteArrayOutputStream;
 import java.time.Clock;
 import java.time.LocalDate;
 import java.util.List;
@@ -41,7 +40,7 @@ class PersonCalendarServiceTest {
     private PersonCalendarService sut;
 
     @Mock
-    private AbsenceService absenceService;
+    private CalendarAbsenceIndex calendarAbsenceIndex;
     @Mock
     private PersonService personService;
     @Mock
@@ -49,6 +48,8 @@ class PersonCalendarServiceTest {
     @Mock
     private ICalService iCalService;
     @Mock
+    private ICalFeedCache iCalFeedCache;
+    @Mock
     private MessageSource messageSource;
 
     private static LocalDate toDateTime(String input) {
@@ -58,7 +59,7 @@ class PersonCalendarServiceTest {
     @BeforeEach
     void setUp() {
 
-        sut = new PersonCalendarService(absenceService, personService, personCalendarRepository, iCalService, messageSource, Clock.systemUTC());
+        sut = new PersonCalendarService(calendarAbsenceIndex, personService, personCalendarRepository, iCalService, iCalFeedCache, messageSource, Clock.systemUTC());
     }
 
     @Test
@@ -74,14 +75,13 @@ class PersonCalendarServiceTest {
         when(personCalendarRepository.findBySecret("secret")).thenReturn(Optional.of(personCalendar));
 
         final List<Absence> fullDayAbsences = List.of(absence(person, toDateTime("2019-03-26"), toDateTime("2019-03-26"), FULL));
-        when(absenceService.getOpenAbsencesSince(eq(List.of(person)), any(LocalDate.class))).thenReturn(fullDayAbsences);
+        when(calendarAbsenceIndex.getOpenAbsencesSince(eq(List.of(person)), any(LocalDate.class))).thenReturn(fullDayAbsences);
 
         when(messageSource.getMessage(eq("calendar.person.title"), any(), eq(GERMAN))).thenReturn("Abwesenheitskalender von Marlene Muster");
-        final ByteArrayResource iCal = new ByteArrayResource(new byte[]{}, "calendar.ics");
-        when(iCalService.getCalendar("Abwesenheitskalender von Marlene Muster", fullDayAbsences)).thenReturn(iCal);
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        sut.getCalendarForPerson(1, "secret", GERMAN).renderTo(outputStream);
 
-        final ByteArrayResource calendar = sut.getCalendarForPerson(1, "secret", GERMAN);
-        assertThat(calendar).isEqualTo(iCal);
+        verify(iCalService).writeCalendar("Abwesenheitskalender von Marlene Muster", fullDayAbsences, outputStream);
     }
 
     @Test
@@ -97,14 +97,13 @@ class PersonCalendarServiceTest {
         when(personCalendarRepository.findBySecret("secret")).thenReturn(Optional.of(personCalendar));
 
         final List<Absence> morningAbsences = List.of(absence(person, toDateTime("2019-04-26"), toDateTime("2019-04-26"), MORNING));
-        when(absenceService.getOpenAbsencesSince(eq(List.of(person)), any(LocalDate.class))).thenReturn(morningAbsences);
+        when(calendarAbsenceIndex.getOpenAbsencesSince(eq(List.of(person)), any(LocalDate.class))).thenReturn(morningAbsences);
 
         when(messageSource.getMessage(eq("calendar.person.title"), any(), eq(GERMAN))).thenReturn("Abwesenheitskalender von Marlene Muster");
-        final ByteArrayResource iCal = new ByteArrayResource(new byte[]{}, "calendar.ics");
-        when(iCalService.getCalendar("Abwesenheitskalender von Marlene Muster", morningAbsences)).thenReturn(iCal);
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        sut.getCalendarForPerson(1, "secret", GERMAN).renderTo(outputStream);
 
-        final ByteArrayResource calendar = sut.getCalendarForPerson(1, "secret", GERMAN);
-        assertThat(calendar).isEqualTo(iCal);
+        verify(iCalService).writeCalendar("Abwesenheitskalender von Marlene Muster", morningAbsences, outputStream);
     }
 
     @Test
@@ -120,14 +119,13 @@ class PersonCalendarServiceTest {
         when(personCalendarRepository.findBySecret("secret")).thenReturn(Optional.of(personCalendar));
 
         final List<Absence> manyFullDayAbsences = List.of(absence(person, toDateTime("2019-03-26"), toDateTime("2019-04-01"), FULL));
-        when(absenceService.getOpenAbsencesSince(eq(List.of(person)), any(LocalDate.class))).thenReturn(manyFullDayAbsences);
+        when(calendarAbsenceIndex.getOpenAbsencesSince(eq(List.of(person)), any(LocalDate.class))).thenReturn(manyFullDayAbsences);
 
         when(messageSource.getMessage(eq("calendar.person.title"), any(), eq(GERMAN))).thenReturn("Abwesenheitskalender von Marlene Muster");
-        final ByteArrayResource iCal = new ByteArrayResource(new byte[]{}, "calendar.ics");
-        when(iCalService.getCalendar("Abwesenheitskalender von Marlene Muster", manyFullDayAbsences)).thenReturn(iCal);
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        sut.getCalendarForPerson(1, "secret", GERMAN).renderTo(outputStream);
 
-        final ByteArrayResource calendar = sut.getCalendarForPerson(1, "secret", GERMAN);
-        assertThat(calendar).isEqualTo(iCal);
+        verify(iCalService).writeCalendar("Abwesenheitskalender von Marlene Muster", manyFullDayAbsences, outputStream);
     }
 
     @Test
@@ -143,14 +141,13 @@ class PersonCalendarServiceTest {
         when(personCalendarRepository.findBySecret("secret")).thenReturn(Optional.of(personCalendar));
 
         final List<Absence> noonAbsences = List.of(absence(person, toDateTime("2019-05-26"), toDateTime("2019-05-26"), NOON));
-        when(absenceService.getOpenAbsencesSince(eq(List.of(person)), any(LocalDate.class))).thenReturn(noonAbsences);
+        when(calendarAbsenceIndex.getOpenAbsencesSince(eq(List.of(person)), any(LocalDate.class))).thenReturn(noonAbsences);
 
         when(messageSource.getMessage(eq("calendar.person.title"), any(), eq(GERMAN))).thenReturn("Abwesenheitskalender von Marlene Muster");
-        final ByteArrayResource iCal = new ByteArrayResource(new byte[]{}, "calendar.ics");
-        when(iCalService.getCalendar("Abwesenheitskalender von Marlene Muster", noonAbsences)).thenReturn(iCal);
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        sut.getCalendarForPerson(1, "secret", GERMAN).renderTo(outputStream);
 
-        final ByteArrayResource calendar = sut.getCalendarForPerson(1, "secret", GERMAN);
-        assertThat(calendar).isEqualTo(iCal);
+        verify(iCalService).writeCalendar("Abwesenheitskalender von Marlene Muster", noonAbsences, outputStream);
     }
 
     @Test
@@ -298,6 +295,7 @@ class PersonCalendarServiceTest {
         sut.deletePersonalCalendarForPerson(1);
 
         verify(personCalendarRepository).deleteByPerson(person);
+        verify(iCalFeedCache).evictAll();
     }
 
     private Absence absence(Person person, LocalDate start, LocalDate end, DayLength length) {
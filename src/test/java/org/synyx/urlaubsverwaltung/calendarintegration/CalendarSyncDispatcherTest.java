@@ -0,0 +1,249 @@
+package org.synyx.urlaubsverwaltung.calendarintegration;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.synyx.urlaubsverwaltung.absence.Absence;
+import org.synyx.urlaubsverwaltung.period.Period;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.settings.Settings;
+import org.synyx.urlaubsverwaltung.settings.SettingsService;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static java.time.ZoneOffset.UTC;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.synyx.urlaubsverwaltung.calendarintegration.AbsenceMappingType.SICKNOTE;
+import static org.synyx.urlaubsverwaltung.calendarintegration.AbsenceMappingType.VACATION;
+import static org.synyx.urlaubsverwaltung.calendarintegration.CalendarSyncJob.Operation.DELETE;
+import static org.synyx.urlaubsverwaltung.calendarintegration.CalendarSyncJob.Operation.SYNC;
+import static org.synyx.urlaubsverwaltung.period.DayLength.FULL;
+
+@ExtendWith(MockitoExtension.class)
+class CalendarSyncDispatcherTest {
+
+    private CalendarSyncDispatcher sut;
+
+    @Mock
+    private CalendarSyncJobRepository calendarSyncJobRepository;
+    @Mock
+    private CalendarSyncService calendarSyncService;
+    @Mock
+    private AbsenceMappingService absenceMappingService;
+    @Mock
+    private SettingsService settingsService;
+
+    @Captor
+    private ArgumentCaptor<CalendarSyncJob> calendarSyncJobCaptor;
+
+    private CalendarSyncProperties calendarSyncProperties;
+    private SimpleMeterRegistry meterRegistry;
+
+    private final Instant now = Instant.parse("2022-08-01T10:00:00.00Z");
+    private final Clock clock = Clock.fixed(now, UTC);
+
+    private final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+    private final Period period = new Period(LocalDate.of(2022, 8, 8), LocalDate.of(2022, 8, 12), FULL);
+
+    @BeforeEach
+    void setUp() {
+        calendarSyncProperties = new CalendarSyncProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        sut = new CalendarSyncDispatcher(calendarSyncJobRepository, calendarSyncService, absenceMappingService,
+            settingsService, calendarSyncProperties, clock, meterRegistry);
+    }
+
+    @Test
+    void ensureDispatchSyncStoresJob() {
+
+        when(calendarSyncService.isRealProviderConfigured()).thenReturn(true);
+        when(calendarSyncJobRepository.findByAbsenceIdAndAbsenceMappingType(1, VACATION)).thenReturn(Optional.empty());
+
+        sut.dispatchSync(1, VACATION, person, period);
+
+        verify(calendarSyncJobRepository).save(calendarSyncJobCaptor.capture());
+        final CalendarSyncJob calendarSyncJob = calendarSyncJobCaptor.getValue();
+        assertThat(calendarSyncJob.getAbsenceId()).isEqualTo(1);
+        assertThat(calendarSyncJob.getAbsenceMappingType()).isEqualTo(VACATION);
+        assertThat(calendarSyncJob.getOperation()).isEqualTo(SYNC);
+        assertThat(calendarSyncJob.getPerson()).isEqualTo(person);
+        assertThat(calendarSyncJob.getPeriod().getStartDate()).isEqualTo(period.getStartDate());
+        assertThat(calendarSyncJob.getCreatedAt()).isEqualTo(now);
+        assertThat(calendarSyncJob.getNextAttemptAt()).isEqualTo(now);
+    }
+
+    @Test
+    void ensureDispatchSyncDoesNothingWithoutCalendarProvider() {
+
+        when(calendarSyncService.isRealProviderConfigured()).thenReturn(false);
+
+        sut.dispatchSync(1, VACATION, person, period);
+
+        verifyNoInteractions(calendarSyncJobRepository);
+    }
+
+    @Test
+    void ensureDispatchDeleteReplacesPendingSync() {
+
+        final CalendarSyncJob pendingJob = new CalendarSyncJob(1, VACATION, now.minusSeconds(5));
+        pendingJob.sync(person, period, now.minusSeconds(5));
+        pendingJob.failed("timeout", now.plusSeconds(60));
+        when(calendarSyncJobRepository.findByAbsenceIdAndAbsenceMappingType(1, VACATION)).thenReturn(Optional.of(pendingJob));
+
+        sut.dispatchDelete(1, VACATION);
+
+        verify(calendarSyncJobRepository).save(pendingJob);
+        assertThat(pendingJob.getOperation()).isEqualTo(DELETE);
+        assertThat(pendingJob.getNextAttemptAt()).isEqualTo(now);
+        assertThat(pendingJob.getAttempts()).isZero();
+        assertThat(pendingJob.getCreatedAt()).isEqualTo(now.minusSeconds(5));
+    }
+
+    @Test
+    void ensureDispatchDeleteDoesNothingForAbsenceThatIsNotSynced() {
+
+        when(calendarSyncJobRepository.findByAbsenceIdAndAbsenceMappingType(1, VACATION)).thenReturn(Optional.empty());
+        when(absenceMappingService.getAbsenceByIdAndType(1, VACATION)).thenReturn(Optional.empty());
+
+        sut.dispatchDelete(1, VACATION);
+
+        verify(calendarSyncJobRepository, never()).save(any());
+    }
+
+    @Test
+    void ensureDispatchMoveMovesEventToReplacingAbsence() {
+
+        when(calendarSyncService.isRealProviderConfigured()).thenReturn(true);
+        when(calendarSyncJobRepository.findByAbsenceIdAndAbsenceMappingType(42, SICKNOTE)).thenReturn(Optional.empty());
+        when(calendarSyncJobRepository.findByAbsenceIdAndAbsenceMappingType(1, VACATION)).thenReturn(Optional.empty());
+        final AbsenceMapping absenceMapping = new AbsenceMapping(42, SICKNOTE, "eventId");
+        when(absenceMappingService.getAbsenceByIdAndType(42, SICKNOTE)).thenReturn(Optional.of(absenceMapping));
+
+        sut.dispatchMove(42, SICKNOTE, 1, VACATION, person, period);
+
+        verify(absenceMappingService).delete(absenceMapping);
+        verify(absenceMappingService).create(1, VACATION, "eventId");
+        verify(calendarSyncJobRepository).save(calendarSyncJobCaptor.capture());
+        assertThat(calendarSyncJobCaptor.getValue().getAbsenceId()).isEqualTo(1);
+        assertThat(calendarSyncJobCaptor.getValue().getOperation()).isEqualTo(SYNC);
+    }
+
+    @Test
+    void ensureSyncAddsEventAndMapping() {
+
+        final CalendarSyncJob calendarSyncJob = syncJob(now.minusSeconds(30));
+        when(calendarSyncJobRepository.findByNextAttemptAtLessThanEqualOrderByIdAsc(now, PageRequest.of(0, 50))).thenReturn(List.of(calendarSyncJob));
+        when(calendarSyncService.isRealProviderConfigured()).thenReturn(true);
+        when(settingsService.getSettings()).thenReturn(new Settings());
+        when(absenceMappingService.getAbsenceByIdAndType(1, VACATION)).thenReturn(Optional.empty());
+        when(calendarSyncService.addAbsence(any(Absence.class))).thenReturn(Optional.of("eventId"));
+
+        sut.syncDueAbsences();
+
+        verify(absenceMappingService).create(1, VACATION, "eventId");
+        verify(calendarSyncJobRepository).delete(calendarSyncJob);
+
+        assertThat(meterRegistry.get("calendar.sync.lag").tag("operation", "SYNC").timer().totalTime(SECONDS)).isEqualTo(30);
+    }
+
+    @Test
+    void ensureSyncUpdatesEventOfSyncedAbsence() {
+
+        final CalendarSyncJob calendarSyncJob = syncJob(now);
+        when(calendarSyncJobRepository.findByNextAttemptAtLessThanEqualOrderByIdAsc(now, PageRequest.of(0, 50))).thenReturn(List.of(calendarSyncJob));
+        when(calendarSyncService.isRealProviderConfigured()).thenReturn(true);
+        when(settingsService.getSettings()).thenReturn(new Settings());
+        when(absenceMappingService.getAbsenceByIdAndType(1, VACATION)).thenReturn(Optional.of(new AbsenceMapping(1, VACATION, "eventId")));
+
+        sut.syncDueAbsences();
+
+        verify(calendarSyncService).update(any(Absence.class), any());
+        verify(calendarSyncService, never()).addAbsence(any());
+        verify(calendarSyncJobRepository).delete(calendarSyncJob);
+    }
+
+    @Test
+    void ensureSyncDeletesEventAndMapping() {
+
+        final CalendarSyncJob calendarSyncJob = new CalendarSyncJob(1, VACATION, now);
+        calendarSyncJob.delete(now);
+        when(calendarSyncJobRepository.findByNextAttemptAtLessThanEqualOrderByIdAsc(now, PageRequest.of(0, 50))).thenReturn(List.of(calendarSyncJob));
+        when(settingsService.getSettings()).thenReturn(new Settings());
+        final AbsenceMapping absenceMapping = new AbsenceMapping(1, VACATION, "eventId");
+        when(absenceMappingService.getAbsenceByIdAndType(1, VACATION)).thenReturn(Optional.of(absenceMapping));
+
+        sut.syncDueAbsences();
+
+        verify(calendarSyncService).deleteAbsence("eventId");
+        verify(absenceMappingService).delete(absenceMapping);
+        verify(calendarSyncJobRepository).delete(calendarSyncJob);
+    }
+
+    @Test
+    void ensureFailedSyncIsRetriedWithExponentialBackoff() {
+
+        final CalendarSyncJob calendarSyncJob = syncJob(now);
+        calendarSyncJob.failed("first failure", now);
+        calendarSyncJob.failed("second failure", now);
+        when(calendarSyncJobRepository.findByNextAttemptAtLessThanEqualOrderByIdAsc(now, PageRequest.of(0, 50))).thenReturn(List.of(calendarSyncJob));
+        when(calendarSyncJobRepository.count()).thenReturn(1L);
+        when(calendarSyncService.isRealProviderConfigured()).thenReturn(true);
+        when(settingsService.getSettings()).thenReturn(new Settings());
+        when(absenceMappingService.getAbsenceByIdAndType(1, VACATION)).thenReturn(Optional.empty());
+        when(calendarSyncService.addAbsence(any(Absence.class))).thenReturn(Optional.empty());
+
+        sut.syncDueAbsences();
+
+        verify(calendarSyncJobRepository).save(calendarSyncJob);
+        verify(calendarSyncJobRepository, never()).delete(calendarSyncJob);
+        assertThat(calendarSyncJob.getAttempts()).isEqualTo(3);
+        assertThat(calendarSyncJob.getNextAttemptAt()).isEqualTo(now.plus(Duration.ofMinutes(4)));
+
+        assertThat(meterRegistry.get("calendar.sync.failures").tag("outcome", "retry").counter().count()).isOne();
+        assertThat(meterRegistry.get("calendar.sync.size").gauge().value()).isOne();
+    }
+
+    @Test
+    void ensureSyncIsDroppedAfterMaxAttempts() {
+
+        calendarSyncProperties.setMaxAttempts(3);
+
+        final CalendarSyncJob calendarSyncJob = syncJob(now);
+        calendarSyncJob.failed("first failure", now);
+        calendarSyncJob.failed("second failure", now);
+        when(calendarSyncJobRepository.findByNextAttemptAtLessThanEqualOrderByIdAsc(now, PageRequest.of(0, 50))).thenReturn(List.of(calendarSyncJob));
+        when(calendarSyncService.isRealProviderConfigured()).thenReturn(true);
+        when(settingsService.getSettings()).thenReturn(new Settings());
+        when(absenceMappingService.getAbsenceByIdAndType(1, VACATION)).thenReturn(Optional.empty());
+        when(calendarSyncService.addAbsence(any(Absence.class))).thenThrow(new IllegalStateException("unexpected"));
+
+        sut.syncDueAbsences();
+
+        verify(calendarSyncJobRepository).delete(calendarSyncJob);
+        verify(calendarSyncJobRepository, never()).save(calendarSyncJob);
+        assertThat(meterRegistry.get("calendar.sync.failures").tag("outcome", "dropped").counter().count()).isOne();
+    }
+
+    private CalendarSyncJob syncJob(Instant createdAt) {
+        final CalendarSyncJob calendarSyncJob = new CalendarSyncJob(1, VACATION, createdAt);
+        calendarSyncJob.sync(person, period, createdAt);
+        return calendarSyncJob;
+    }
+}
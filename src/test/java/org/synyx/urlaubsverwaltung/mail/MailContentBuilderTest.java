@@ -0,0 +1,85 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import freemarker.cache.StringTemplateLoader;
+import freemarker.template.Configuration;
+import freemarker.template.TemplateScalarModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.synyx.urlaubsverwaltung.person.Person;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MailContentBuilderTest {
+
+    private MailContentBuilder sut;
+
+    private StringTemplateLoader templateLoader;
+
+    private final Person hans = new Person("hans", "Dampf", "Hans", "hans@example.org");
+    private final Person franz = new Person("franz", "Meier", "Franz", "franz@example.org");
+
+    @BeforeEach
+    void setUp() {
+        templateLoader = new StringTemplateLoader();
+
+        final Configuration configuration = new Configuration(Configuration.VERSION_2_3_30);
+        configuration.setTemplateLoader(templateLoader);
+
+        sut = new MailContentBuilder(configuration);
+    }
+
+    @Test
+    void ensureTemplateIsRenderedOnceForAllRecipients() {
+
+        templateLoader.putTemplate("greeting.ftl", "Hallo ${recipient.niceName},\n${text}\n${recipient.email}");
+
+        final AtomicInteger renderings = new AtomicInteger();
+        final Map<String, Object> model = new HashMap<>();
+        model.put("text", (TemplateScalarModel) () -> "es gibt Neuigkeiten #" + renderings.incrementAndGet());
+
+        final List<String> bodies = sut.buildMailBodies("greeting", model, List.of(hans, franz), Locale.GERMAN);
+        assertThat(bodies).containsExactly(
+            "Hallo Hans Dampf,\nes gibt Neuigkeiten #1\nhans@example.org",
+            "Hallo Franz Meier,\nes gibt Neuigkeiten #1\nfranz@example.org"
+        );
+        assertThat(renderings).hasValue(1);
+    }
+
+    @Test
+    void ensureTemplateIsRenderedForEveryRecipientIfRecipientIsUsedInCondition() {
+
+        templateLoader.putTemplate("condition.ftl", "<#if recipient.username == \"hans\">Moin<#else>Hallo</#if> ${recipient.firstName}");
+
+        final List<String> bodies = sut.buildMailBodies("condition", new HashMap<>(), List.of(hans, franz), Locale.GERMAN);
+        assertThat(bodies).containsExactly("Moin Hans", "Hallo Franz");
+    }
+
+    @Test
+    void ensureTemplateIsRenderedForEveryRecipientIfRecipientPropertyIsTransformed() {
+
+        templateLoader.putTemplate("transformed.ftl", "Hallo ${recipient.lastName?upper_case}");
+
+        final List<String> bodies = sut.buildMailBodies("transformed", new HashMap<>(), List.of(hans, franz), Locale.GERMAN);
+        assertThat(bodies).containsExactly("Hallo DAMPF", "Hallo MEIER");
+    }
+
+    @Test
+    void ensureMailBodiesAreEqualToMailBodyForSingleRecipient() {
+
+        templateLoader.putTemplate("greeting.ftl", "Hallo ${recipient.niceName},\n${text}");
+
+        final Map<String, Object> model = new HashMap<>();
+        model.put("text", "es gibt Neuigkeiten");
+
+        final List<String> bodies = sut.buildMailBodies("greeting", model, List.of(hans), Locale.GERMAN);
+
+        model.put("recipient", hans);
+        assertThat(bodies).containsExactly(sut.buildMailBody("greeting", model, Locale.GERMAN));
+    }
+}
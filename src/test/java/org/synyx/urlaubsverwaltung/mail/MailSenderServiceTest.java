@@ -4,18 +4,28 @@ package org.synyx.urlaubsverwaltung.mail;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.internet.InternetAddress;
+import javax.mail.internet.MimeMessage;
+import javax.mail.internet.MimeMultipart;
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
+import java.util.Properties;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentCaptor.forClass;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
 
 @ExtendWith(MockitoExtension.class)
@@ -32,29 +42,102 @@ class MailSenderServiceTest {
     }
 
     @Test
-    void sendEmail() {
-        final ArgumentCaptor<SimpleMailMessage> mailMessageArgumentCaptor = forClass(SimpleMailMessage.class);
+    void sendsAllMailsThroughOneConnection() throws MessagingException, IOException {
 
-        final String[] recipients = {"hans@dampf.com"};
-        final String subject = "subject";
-        final String body = "text";
-        final String from = "from@example.org";
+        final MimeMessage hansMessage = mimeMessage();
+        final MimeMessage franzMessage = mimeMessage();
+        when(javaMailSender.createMimeMessage()).thenReturn(hansMessage, franzMessage);
 
-        sut.sendEmail(from, List.of(recipients), subject, body);
+        final OutboundMail hansMail = new OutboundMail("from@example.org", "hans@dampf.com", "subject", "text", List.of());
+        final OutboundMail franzMail = new OutboundMail("from@example.org", "franz@dampf.com", "subject", "text", List.of());
 
-        verify(javaMailSender).send(mailMessageArgumentCaptor.capture());
-        SimpleMailMessage mailMessage = mailMessageArgumentCaptor.getValue();
-        assertThat(mailMessage.getFrom()).contains(from);
-        assertThat(mailMessage.getTo()).isEqualTo(recipients);
-        assertThat(mailMessage.getSubject()).isEqualTo(subject);
-        assertThat(mailMessage.getText()).isEqualTo(body);
+        final Map<OutboundMail, Exception> failedMails = sut.send(List.of(hansMail, franzMail));
+        assertThat(failedMails).isEmpty();
+
+        verify(javaMailSender).send(hansMessage, franzMessage);
+        assertThat(hansMessage.getFrom()).containsExactly(new InternetAddress("from@example.org"));
+        assertThat(hansMessage.getAllRecipients()).containsExactly(new InternetAddress("hans@dampf.com"));
+        assertThat(hansMessage.getSubject()).isEqualTo("subject");
+        assertThat(hansMessage.getContent()).isEqualTo("text");
+        assertThat(franzMessage.getAllRecipients()).containsExactly(new InternetAddress("franz@dampf.com"));
+    }
+
+    @Test
+    void sendsMailWithAttachment() throws MessagingException, IOException {
+
+        final MimeMessage message = mimeMessage();
+        when(javaMailSender.createMimeMessage()).thenReturn(message);
+
+        final OutboundMailAttachment attachment = new OutboundMailAttachment("calendar.ics", new byte[]{1, 2, 3});
+        final OutboundMail mail = new OutboundMail("from@example.org", "hans@dampf.com", "subject", "text", List.of(attachment));
+
+        sut.send(List.of(mail));
+
+        verify(javaMailSender).send(message);
+        assertThat(message.getContent()).isInstanceOf(MimeMultipart.class);
     }
 
     @Test
-    void doesNotSendMailForZeroRecipients() {
+    void returnsMailsThatCouldNotBeSent() {
+
+        final MimeMessage hansMessage = mimeMessage();
+        final MimeMessage franzMessage = mimeMessage();
+        when(javaMailSender.createMimeMessage()).thenReturn(hansMessage, franzMessage);
+
+        final MessagingException failure = new MessagingException("invalid address");
+        doThrow(new MailSendException(Map.<Object, Exception>of(franzMessage, failure))).when(javaMailSender).send(hansMessage, franzMessage);
+
+        final OutboundMail hansMail = new OutboundMail("from@example.org", "hans@dampf.com", "subject", "text", List.of());
+        final OutboundMail franzMail = new OutboundMail("from@example.org", "franz@dampf.com", "subject", "text", List.of());
+
+        final Map<OutboundMail, Exception> failedMails = sut.send(List.of(hansMail, franzMail));
+        assertThat(failedMails).containsExactly(Map.entry(franzMail, failure));
+    }
+
+    @Test
+    void returnsAllMailsIfConnectionFailed() {
+
+        final MimeMessage hansMessage = mimeMessage();
+        final MimeMessage franzMessage = mimeMessage();
+        when(javaMailSender.createMimeMessage()).thenReturn(hansMessage, franzMessage);
 
-        sut.sendEmail("from@example.org", List.of(), "subject", "text");
+        final MailAuthenticationException failure = new MailAuthenticationException("wrong password");
+        doThrow(failure).when(javaMailSender).send(hansMessage, franzMessage);
+
+        final OutboundMail hansMail = new OutboundMail("from@example.org", "hans@dampf.com", "subject", "text", List.of());
+        final OutboundMail franzMail = new OutboundMail("from@example.org", "franz@dampf.com", "subject", "text", List.of());
+
+        final Map<OutboundMail, Exception> failedMails = sut.send(List.of(hansMail, franzMail));
+        assertThat(failedMails).containsOnly(Map.entry(hansMail, failure), Map.entry(franzMail, failure));
+    }
+
+    @Test
+    void returnsMailThatCouldNotBePreparedAndSendsTheOthers() {
+
+        final MimeMessage franzMessage = mimeMessage();
+        final IllegalStateException failure = new IllegalStateException("no session");
+        when(javaMailSender.createMimeMessage()).thenThrow(failure).thenReturn(franzMessage);
+
+        final OutboundMail hansMail = new OutboundMail("from@example.org", "hans@dampf.com", "subject", "text", List.of());
+        final OutboundMail franzMail = new OutboundMail("from@example.org", "franz@dampf.com", "subject", "text", List.of());
+
+        final Map<OutboundMail, Exception> failedMails = sut.send(List.of(hansMail, franzMail));
+        assertThat(failedMails).containsOnlyKeys(hansMail);
+        assertThat(failedMails.get(hansMail)).isInstanceOf(MailPreparationException.class).hasCause(failure);
+
+        verify(javaMailSender).send(franzMessage);
+    }
+
+    @Test
+    void doesNotConnectWithoutMails() {
+
+        final Map<OutboundMail, Exception> failedMails = sut.send(List.of());
+        assertThat(failedMails).isEmpty();
 
         verifyNoInteractions(javaMailSender);
     }
+
+    private static MimeMessage mimeMessage() {
+        return new MimeMessage(Session.getInstance(new Properties()));
+    }
 }
@@ -3,6 +3,8 @@ package org.synyx.urlaubsverwaltung.mail;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.MessageSource;
@@ -18,8 +20,12 @@ import java.util.List;
 import java.util.Map;
 
 import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.synyx.urlaubsverwaltung.person.MailNotification.NOTIFICATION_USER;
 import static org.synyx.urlaubsverwaltung.person.MailNotification.OVERTIME_NOTIFICATION_OFFICE;
@@ -36,20 +42,32 @@ class MailServiceImplTest {
     @Mock
     private MailSenderService mailSenderService;
     @Mock
+    private OutboundMailService outboundMailService;
+    @Mock
     private MailProperties mailProperties;
     @Mock
     private PersonService personService;
 
+    @Captor
+    private ArgumentCaptor<List<OutboundMail>> outboundMailsCaptor;
+
+    private MailProperties.Outbox outbox;
+
     @BeforeEach
     void setUp() {
 
         when(messageSource.getMessage(any(), any(), any())).thenReturn("subject");
-        when(mailContentBuilder.buildMailBody(any(), any(), any())).thenReturn("emailBody");
+        when(mailContentBuilder.buildMailBodies(any(), any(), any(), any()))
+            .thenAnswer(invocation -> invocation.<List<Person>>getArgument(2).stream().map(recipient -> "emailBody").collect(toList()));
         when(mailProperties.getSender()).thenReturn("no-reply@example.org");
         when(mailProperties.getSenderDisplayName()).thenReturn("Urlaubsverwaltung");
         when(mailProperties.getApplicationUrl()).thenReturn("http://localhost:8080");
 
-        sut = new MailServiceImpl(messageSource, mailContentBuilder, mailSenderService, mailProperties, personService);
+        outbox = new MailProperties.Outbox();
+        outbox.setEnabled(false);
+        when(mailProperties.getOutbox()).thenReturn(outbox);
+
+        sut = new MailServiceImpl(messageSource, mailContentBuilder, mailSenderService, outboundMailService, mailProperties, personService);
     }
 
     @Test
@@ -75,7 +93,12 @@ class MailServiceImplTest {
 
         sut.send(mail);
 
-        verify(mailSenderService).sendEmail("Urlaubsverwaltung <no-reply@example.org>", List.of("mail@example.org"), "subject", "emailBody");
+        final List<OutboundMail> sentMails = sentMails();
+        assertThat(sentMails)
+            .extracting(OutboundMail::getSender, OutboundMail::getRecipient, OutboundMail::getSubject, OutboundMail::getBody)
+            .containsExactlyInAnyOrder(
+                tuple("Urlaubsverwaltung <no-reply@example.org>", "mail@example.org", "subject", "emailBody")
+            );
     }
 
     @Test
@@ -97,7 +120,12 @@ class MailServiceImplTest {
 
         sut.send(mail);
 
-        verify(mailSenderService).sendEmail("Urlaubsverwaltung <no-reply@example.org>", List.of("hans@example.org"), "subject", "emailBody");
+        final List<OutboundMail> sentMails = sentMails();
+        assertThat(sentMails)
+            .extracting(OutboundMail::getSender, OutboundMail::getRecipient, OutboundMail::getSubject, OutboundMail::getBody)
+            .containsExactlyInAnyOrder(
+                tuple("Urlaubsverwaltung <no-reply@example.org>", "hans@example.org", "subject", "emailBody")
+            );
     }
 
     @Test
@@ -123,8 +151,13 @@ class MailServiceImplTest {
 
         sut.send(mail);
 
-        verify(mailSenderService).sendEmail("Urlaubsverwaltung <no-reply@example.org>", List.of("hans@example.org"), "subject", "emailBody");
-        verify(mailSenderService).sendEmail("Urlaubsverwaltung <no-reply@example.org>", List.of("franz@example.org"), "subject", "emailBody");
+        final List<OutboundMail> sentMails = sentMails();
+        assertThat(sentMails)
+            .extracting(OutboundMail::getSender, OutboundMail::getRecipient, OutboundMail::getSubject, OutboundMail::getBody)
+            .containsExactlyInAnyOrder(
+                tuple("Urlaubsverwaltung <no-reply@example.org>", "hans@example.org", "subject", "emailBody"),
+                tuple("Urlaubsverwaltung <no-reply@example.org>", "franz@example.org", "subject", "emailBody")
+            );
     }
 
     @Test
@@ -153,8 +186,14 @@ class MailServiceImplTest {
 
         sut.send(mail);
 
-        verify(mailSenderService).sendEmail("Urlaubsverwaltung <no-reply@example.org>", List.of("franz@example.org"), "subject", "emailBody", List.of(new MailAttachment("fileName", iCal)));
-        verify(mailSenderService).sendEmail("Urlaubsverwaltung <no-reply@example.org>", List.of("hans@example.org"), "subject", "emailBody", List.of(new MailAttachment("fileName", iCal)));
+        final List<OutboundMail> sentMails = sentMails();
+        assertThat(sentMails)
+            .extracting(OutboundMail::getSender, OutboundMail::getRecipient, OutboundMail::getSubject, OutboundMail::getBody)
+            .containsExactlyInAnyOrder(
+                tuple("Urlaubsverwaltung <no-reply@example.org>", "franz@example.org", "subject", "emailBody"),
+                tuple("Urlaubsverwaltung <no-reply@example.org>", "hans@example.org", "subject", "emailBody")
+            );
+        assertThat(sentMails).allSatisfy(sentMail -> assertThat(sentMail.getAttachments()).extracting(OutboundMailAttachment::getName).containsExactly("fileName"));
     }
 
     @Test
@@ -183,8 +222,14 @@ class MailServiceImplTest {
 
         sut.send(mail);
 
-        verify(mailSenderService).sendEmail("Urlaubsverwaltung <no-reply@example.org>", List.of("hans@example.org"), "subject", "emailBody", List.of(new MailAttachment("fileName", iCal)));
-        verify(mailSenderService).sendEmail("Urlaubsverwaltung <no-reply@example.org>", List.of("franz@example.org"), "subject", "emailBody", List.of(new MailAttachment("fileName", iCal)));
+        final List<OutboundMail> sentMails = sentMails();
+        assertThat(sentMails)
+            .extracting(OutboundMail::getSender, OutboundMail::getRecipient, OutboundMail::getSubject, OutboundMail::getBody)
+            .containsExactlyInAnyOrder(
+                tuple("Urlaubsverwaltung <no-reply@example.org>", "hans@example.org", "subject", "emailBody"),
+                tuple("Urlaubsverwaltung <no-reply@example.org>", "franz@example.org", "subject", "emailBody")
+            );
+        assertThat(sentMails).allSatisfy(sentMail -> assertThat(sentMail.getAttachments()).extracting(OutboundMailAttachment::getName).containsExactly("fileName"));
     }
 
     @Test
@@ -204,7 +249,12 @@ class MailServiceImplTest {
             .build();
         sut.send(mail);
 
-        verify(mailSenderService).sendEmail("Urlaubsverwaltung <no-reply@example.org>", List.of(to), "subject", "emailBody");
+        final List<OutboundMail> sentMails = sentMails();
+        assertThat(sentMails)
+            .extracting(OutboundMail::getSender, OutboundMail::getRecipient, OutboundMail::getSubject, OutboundMail::getBody)
+            .containsExactlyInAnyOrder(
+                tuple("Urlaubsverwaltung <no-reply@example.org>", to, "subject", "emailBody")
+            );
     }
 
     @Test
@@ -234,9 +284,73 @@ class MailServiceImplTest {
 
         sut.send(mail);
 
-        verify(mailSenderService).sendEmail("Urlaubsverwaltung <no-reply@example.org>", List.of("hans@example.org"), "subject", "emailBody");
-        verify(mailSenderService).sendEmail("Urlaubsverwaltung <no-reply@example.org>", List.of("franz@example.org"), "subject", "emailBody");
-        verify(mailSenderService).sendEmail("Urlaubsverwaltung <no-reply@example.org>", List.of("admin@example.org"), "subject", "emailBody");
+        final List<OutboundMail> sentMails = sentMails();
+        assertThat(sentMails)
+            .extracting(OutboundMail::getSender, OutboundMail::getRecipient, OutboundMail::getSubject, OutboundMail::getBody)
+            .containsExactlyInAnyOrder(
+                tuple("Urlaubsverwaltung <no-reply@example.org>", "hans@example.org", "subject", "emailBody"),
+                tuple("Urlaubsverwaltung <no-reply@example.org>", "franz@example.org", "subject", "emailBody"),
+                tuple("Urlaubsverwaltung <no-reply@example.org>", "admin@example.org", "subject", "emailBody")
+            );
+    }
+
+    @Test
+    void sendMailEnqueuesMailForEachPersonIfOutboxIsEnabled() {
+
+        outbox.setEnabled(true);
+
+        final Person hans = new Person();
+        hans.setEmail("hans@example.org");
+
+        final Person franz = new Person();
+        franz.setEmail("franz@example.org");
+
+        final Mail mail = Mail.builder()
+            .withRecipient(List.of(hans, franz))
+            .withSubject("subject.overtime.created")
+            .withTemplate("overtime_office", new HashMap<>())
+            .build();
+
+        sut.send(mail);
+
+        verify(outboundMailService).enqueue(outboundMailsCaptor.capture());
+        assertThat(outboundMailsCaptor.getValue())
+            .extracting(OutboundMail::getRecipient, OutboundMail::getSubject, OutboundMail::getBody)
+            .containsExactly(
+                tuple("hans@example.org", "subject", "emailBody"),
+                tuple("franz@example.org", "subject", "emailBody")
+            );
+        verifyNoInteractions(mailSenderService);
+    }
+
+    @Test
+    void sendMailWithAttachmentEnqueuesMailWithAttachmentIfOutboxIsEnabled() {
+
+        outbox.setEnabled(true);
+
+        final Person hans = new Person();
+        hans.setEmail("hans@example.org");
+
+        final ByteArrayResource iCal = new ByteArrayResource(new byte[]{}, "calendar.ics");
+
+        final Mail mail = Mail.builder()
+            .withRecipient(hans)
+            .withSubject("subject.overtime.created")
+            .withTemplate("overtime_office", new HashMap<>())
+            .withAttachment("fileName", iCal)
+            .build();
+
+        sut.send(mail);
+
+        verify(outboundMailService).enqueue(outboundMailsCaptor.capture());
+        assertThat(outboundMailsCaptor.getValue()).hasSize(1);
+        assertThat(outboundMailsCaptor.getValue().get(0).getAttachments()).extracting(OutboundMailAttachment::getName).containsExactly("fileName");
+        verifyNoInteractions(mailSenderService);
+    }
+
+    private List<OutboundMail> sentMails() {
+        verify(mailSenderService).send(outboundMailsCaptor.capture());
+        return outboundMailsCaptor.getValue();
     }
 
     private void setupMockServletRequest() {
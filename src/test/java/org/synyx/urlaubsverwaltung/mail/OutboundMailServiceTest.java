@@ -0,0 +1,201 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailSendException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static java.time.ZoneOffset.UTC;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboundMailServiceTest {
+
+    private OutboundMailService sut;
+
+    @Mock
+    private OutboundMailRepository outboundMailRepository;
+    @Mock
+    private MailSenderService mailSenderService;
+
+    private MailProperties mailProperties;
+    private SimpleMeterRegistry meterRegistry;
+
+    private final Instant now = Instant.parse("2022-08-01T10:00:00.00Z");
+    private final Clock clock = Clock.fixed(now, UTC);
+
+    @BeforeEach
+    void setUp() {
+        mailProperties = new MailProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        sut = new OutboundMailService(outboundMailRepository, mailSenderService, mailProperties, clock, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sut.shutdown();
+    }
+
+    @Test
+    void ensureEnqueueStoresMailsReadyForDelivery() {
+
+        final OutboundMail first = new OutboundMail("sender@example.org", "hans@example.org", "subject", "body", List.of());
+        final OutboundMail second = new OutboundMail("sender@example.org", "franz@example.org", "subject", "body", List.of());
+        sut.enqueue(List.of(first, second));
+
+        verify(outboundMailRepository).saveAll(List.of(first, second));
+        assertThat(first.getCreatedAt()).isEqualTo(now);
+        assertThat(first.getNextAttemptAt()).isEqualTo(now);
+        assertThat(first.getAttempts()).isZero();
+        assertThat(second.getNextAttemptAt()).isEqualTo(now);
+    }
+
+    @Test
+    void ensureDeliveredMailsAreRemovedFromQueue() {
+
+        final OutboundMail first = outboundMail("hans@example.org");
+        final OutboundMail second = outboundMail("franz@example.org");
+        when(outboundMailRepository.findByNextAttemptAtLessThanEqualOrderByIdAsc(now, PageRequest.of(0, 50))).thenReturn(List.of(first, second));
+        when(outboundMailRepository.count()).thenReturn(0L);
+
+        when(mailSenderService.send(List.of(first))).thenReturn(Map.of());
+        when(mailSenderService.send(List.of(second))).thenReturn(Map.of());
+
+        sut.deliverDueMails();
+
+        // every worker sends its share of the mails through one connection
+        verify(outboundMailRepository).delete(first);
+        verify(outboundMailRepository).delete(second);
+
+        assertThat(meterRegistry.get("mail.outbox.delivery").tag("result", "success").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("mail.outbox.lag").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("mail.outbox.size").gauge().value()).isZero();
+    }
+
+    @Test
+    void ensureDeliveryContinuesWithNextBatchIfBatchWasFull() {
+
+        mailProperties.getOutbox().setBatchSize(1);
+
+        final OutboundMail first = outboundMail("hans@example.org");
+        final OutboundMail second = outboundMail("franz@example.org");
+        when(outboundMailRepository.findByNextAttemptAtLessThanEqualOrderByIdAsc(now, PageRequest.of(0, 1)))
+            .thenReturn(List.of(first), List.of(second), List.of());
+        when(mailSenderService.send(List.of(first))).thenReturn(Map.of());
+        when(mailSenderService.send(List.of(second))).thenReturn(Map.of());
+
+        sut.deliverDueMails();
+
+        verify(outboundMailRepository).delete(first);
+        verify(outboundMailRepository).delete(second);
+    }
+
+    @Test
+    void ensureFailedDeliveryIsRetriedWithExponentialBackoff() {
+
+        final OutboundMail outboundMail = outboundMail("hans@example.org");
+        outboundMail.failed("first failure", now);
+        outboundMail.failed("second failure", now);
+        when(outboundMailRepository.findByNextAttemptAtLessThanEqualOrderByIdAsc(now, PageRequest.of(0, 50))).thenReturn(List.of(outboundMail));
+        when(outboundMailRepository.count()).thenReturn(1L);
+        when(mailSenderService.send(List.of(outboundMail))).thenReturn(Map.of(outboundMail, new MailSendException("smtp server not available")));
+
+        sut.deliverDueMails();
+
+        verify(outboundMailRepository).save(outboundMail);
+        verify(outboundMailRepository, never()).delete(outboundMail);
+        assertThat(outboundMail.getAttempts()).isEqualTo(3);
+        assertThat(outboundMail.getLastError()).isEqualTo("smtp server not available");
+        assertThat(outboundMail.getNextAttemptAt()).isEqualTo(now.plus(Duration.ofMinutes(4)));
+
+        assertThat(meterRegistry.get("mail.outbox.failures").tag("outcome", "retry").counter().count()).isOne();
+        assertThat(meterRegistry.get("mail.outbox.size").gauge().value()).isOne();
+    }
+
+    @Test
+    void ensureUnexpectedErrorWhileSendingIsCountedAsFailedAttempt() {
+
+        final OutboundMail outboundMail = outboundMail("hans@example.org");
+        when(outboundMailRepository.findByNextAttemptAtLessThanEqualOrderByIdAsc(now, PageRequest.of(0, 50))).thenReturn(List.of(outboundMail));
+        when(mailSenderService.send(List.of(outboundMail))).thenThrow(new IllegalStateException("unexpected"));
+
+        sut.deliverDueMails();
+
+        verify(outboundMailRepository).save(outboundMail);
+        assertThat(outboundMail.getAttempts()).isOne();
+        assertThat(outboundMail.getLastError()).isEqualTo("unexpected");
+        assertThat(outboundMail.getNextAttemptAt()).isEqualTo(now.plus(Duration.ofMinutes(1)));
+    }
+
+    @Test
+    void ensureOtherMailsAreRemovedFromQueueIfRemovingOneFails() {
+
+        mailProperties.getOutbox().setWorkers(1);
+
+        final OutboundMail first = outboundMail("hans@example.org");
+        final OutboundMail second = outboundMail("franz@example.org");
+        when(outboundMailRepository.findByNextAttemptAtLessThanEqualOrderByIdAsc(now, PageRequest.of(0, 50))).thenReturn(List.of(first, second));
+        when(mailSenderService.send(List.of(first, second))).thenReturn(Map.of());
+        doThrow(new IllegalStateException("database not available")).when(outboundMailRepository).delete(first);
+
+        sut.deliverDueMails();
+
+        verify(outboundMailRepository).delete(second);
+    }
+
+    @Test
+    void ensureBackoffIsLimitedByMaxBackoff() {
+
+        mailProperties.getOutbox().setMaxAttempts(20);
+
+        final OutboundMail outboundMail = outboundMail("hans@example.org");
+        for (int i = 0; i < 10; i++) {
+            outboundMail.failed("failure", now);
+        }
+        when(outboundMailRepository.findByNextAttemptAtLessThanEqualOrderByIdAsc(now, PageRequest.of(0, 50))).thenReturn(List.of(outboundMail));
+        when(mailSenderService.send(List.of(outboundMail))).thenReturn(Map.of(outboundMail, new MailSendException("smtp server not available")));
+
+        sut.deliverDueMails();
+
+        assertThat(outboundMail.getNextAttemptAt()).isEqualTo(now.plus(Duration.ofHours(1)));
+    }
+
+    @Test
+    void ensureMailIsDroppedAfterMaxAttempts() {
+
+        mailProperties.getOutbox().setMaxAttempts(3);
+
+        final OutboundMail outboundMail = outboundMail("hans@example.org");
+        outboundMail.failed("first failure", now);
+        outboundMail.failed("second failure", now);
+        when(outboundMailRepository.findByNextAttemptAtLessThanEqualOrderByIdAsc(now, PageRequest.of(0, 50))).thenReturn(List.of(outboundMail));
+        when(mailSenderService.send(List.of(outboundMail))).thenReturn(Map.of(outboundMail, new MailSendException("smtp server not available")));
+
+        sut.deliverDueMails();
+
+        verify(outboundMailRepository).delete(outboundMail);
+        verify(outboundMailRepository, never()).save(outboundMail);
+        assertThat(meterRegistry.get("mail.outbox.failures").tag("outcome", "dropped").counter().count()).isOne();
+    }
+
+    private OutboundMail outboundMail(String recipient) {
+        final OutboundMail outboundMail = new OutboundMail("sender@example.org", recipient, "subject", "body", List.of());
+        outboundMail.enqueued(now);
+        return outboundMail;
+    }
+}
@@ -0,0 +1,58 @@
+package org.synyx.urlaubsverwaltung.overtime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.synyx.urlaubsverwaltung.config.ScheduleLocking;
+
+import static org.mockito.AdditionalAnswers.returnsSecondArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OvertimeLedgerConfigurationTest {
+
+    private OvertimeLedgerConfiguration sut;
+
+    @Mock
+    private OvertimeLedgerService overtimeLedgerService;
+    @Mock
+    private ScheduleLocking scheduleLocking;
+    @Mock
+    private ThreadPoolTaskScheduler taskScheduler;
+
+    @BeforeEach
+    void setUp() {
+        sut = new OvertimeLedgerConfiguration(new OvertimeProperties(), overtimeLedgerService, scheduleLocking, taskScheduler);
+    }
+
+    @Test
+    void buildsLedgersOnStartupIfNotBuilt() {
+
+        when(overtimeLedgerService.isLedgerBuilt()).thenReturn(false);
+        when(scheduleLocking.withLock(eq("OvertimeLedgerCheck"), any(Runnable.class))).thenAnswer(returnsSecondArg());
+
+        sut.afterSingletonsInstantiated();
+
+        verify(overtimeLedgerService).buildLedgers();
+        verifyNoInteractions(taskScheduler);
+    }
+
+    @Test
+    void doesNotBuildBuiltLedgersOnStartup() {
+
+        when(overtimeLedgerService.isLedgerBuilt()).thenReturn(true);
+
+        sut.afterSingletonsInstantiated();
+
+        verify(overtimeLedgerService, never()).buildLedgers();
+        verifyNoInteractions(scheduleLocking);
+    }
+}
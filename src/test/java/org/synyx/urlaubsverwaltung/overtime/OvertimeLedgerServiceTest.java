@@ -0,0 +1,363 @@
+package org.synyx.urlaubsverwaltung.overtime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.synyx.urlaubsverwaltung.application.application.Application;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationService;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationUpdatedEvent;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.person.PersonService;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.synyx.urlaubsverwaltung.TestDataCreator.createApplication;
+import static org.synyx.urlaubsverwaltung.TestDataCreator.createVacationTypeEntity;
+import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.ALLOWED;
+import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.ALLOWED_CANCELLATION_REQUESTED;
+import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.TEMPORARY_ALLOWED;
+import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.WAITING;
+import static org.synyx.urlaubsverwaltung.application.vacationtype.VacationCategory.HOLIDAY;
+import static org.synyx.urlaubsverwaltung.application.vacationtype.VacationCategory.OVERTIME;
+import static org.synyx.urlaubsverwaltung.period.DayLength.FULL;
+
+@ExtendWith(MockitoExtension.class)
+class OvertimeLedgerServiceTest {
+
+    private OvertimeLedgerService sut;
+
+    @Mock
+    private OvertimeLedgerRepository overtimeLedgerRepository;
+    @Mock
+    private OvertimeRepository overtimeRepository;
+    @Mock
+    private ApplicationService applicationService;
+    @Mock
+    private PersonService personService;
+    @Mock
+    private OvertimeLedgerBuildRepository overtimeLedgerBuildRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Captor
+    private ArgumentCaptor<List<OvertimeLedgerEntry>> entriesCaptor;
+    @Captor
+    private ArgumentCaptor<OvertimeLedgerBuild> buildCaptor;
+
+    private final Person person = person(1);
+    private final OvertimeProperties overtimeProperties = new OvertimeProperties();
+    private final Clock clock = Clock.fixed(Instant.parse("2022-01-03T05:00:00Z"), ZoneOffset.UTC);
+
+    @BeforeEach
+    void setUp() {
+        sut = new OvertimeLedgerService(overtimeLedgerRepository, overtimeRepository, applicationService, personService,
+            overtimeLedgerBuildRepository, overtimeProperties, transactionManager, clock);
+    }
+
+    @Test
+    void ensureUpdateLedgerCreatesEntryWithOpeningBalanceForEveryYear() {
+
+        when(overtimeRepository.findByPerson(person)).thenReturn(List.of(
+            overtime(LocalDate.of(2019, 12, 30), Duration.ofHours(10)),
+            overtime(LocalDate.of(2019, 3, 1), Duration.ofMinutes(90)),
+            overtime(LocalDate.of(2021, 5, 1), Duration.ofHours(2))));
+        when(applicationService.getForStatesAndPersonAndVacationCategory(List.of(WAITING, TEMPORARY_ALLOWED, ALLOWED, ALLOWED_CANCELLATION_REQUESTED), person, OVERTIME))
+            .thenReturn(List.of(
+                overtimeReduction(LocalDate.of(2020, 2, 3), Duration.ofHours(4)),
+                overtimeReduction(LocalDate.of(2021, 1, 4), Duration.ofHours(1))));
+
+        assertThat(sut.updateLedger(person)).isTrue();
+
+        verify(overtimeLedgerRepository).saveAll(entriesCaptor.capture());
+        final List<OvertimeLedgerEntry> entries = entriesCaptor.getValue();
+        assertThat(entries).extracting(OvertimeLedgerEntry::getYear).containsExactly(2019, 2020, 2021);
+        assertThat(entries).extracting(OvertimeLedgerEntry::getOpeningBalance)
+            .containsExactly(Duration.ZERO, Duration.ofMinutes(690), Duration.ofMinutes(450));
+        assertThat(entries).extracting(OvertimeLedgerEntry::getClosingBalance)
+            .containsExactly(Duration.ofMinutes(690), Duration.ofMinutes(450), Duration.ofMinutes(510));
+    }
+
+    @Test
+    void ensureUpdateLedgerChangesOnlyDifferingEntries() {
+
+        final OvertimeLedgerEntry unchanged = new OvertimeLedgerEntry(person, 2019, Duration.ZERO, Duration.ofHours(10), Duration.ZERO);
+        final OvertimeLedgerEntry changed = new OvertimeLedgerEntry(person, 2020, Duration.ofHours(10), Duration.ofHours(1), Duration.ZERO);
+        final OvertimeLedgerEntry obsolete = new OvertimeLedgerEntry(person, 2021, Duration.ofHours(11), Duration.ofHours(3), Duration.ZERO);
+        when(overtimeLedgerRepository.findByPersonOrderByYear(person)).thenReturn(List.of(unchanged, changed, obsolete));
+
+        when(overtimeRepository.findByPerson(person)).thenReturn(List.of(
+            overtime(LocalDate.of(2019, 3, 1), Duration.ofHours(10)),
+            overtime(LocalDate.of(2020, 3, 1), Duration.ofHours(2))));
+
+        assertThat(sut.updateLedger(person)).isTrue();
+
+        verify(overtimeLedgerRepository).saveAll(List.of(changed));
+        verify(overtimeLedgerRepository).deleteAll(List.of(obsolete));
+        assertThat(changed.getOvertime()).isEqualTo(Duration.ofHours(2));
+        assertThat(changed.getClosingBalance()).isEqualTo(Duration.ofHours(12));
+    }
+
+    @Test
+    void ensureUpdateLedgerReturnsFalseIfLedgerIsConsistent() {
+
+        final OvertimeLedgerEntry entry = new OvertimeLedgerEntry(person, 2019, Duration.ZERO, Duration.ofHours(10), Duration.ofHours(4));
+        when(overtimeLedgerRepository.findByPersonOrderByYear(person)).thenReturn(List.of(entry));
+        when(overtimeRepository.findByPerson(person)).thenReturn(List.of(overtime(LocalDate.of(2019, 3, 1), Duration.ofHours(10))));
+        when(applicationService.getForStatesAndPersonAndVacationCategory(List.of(WAITING, TEMPORARY_ALLOWED, ALLOWED, ALLOWED_CANCELLATION_REQUESTED), person, OVERTIME))
+            .thenReturn(List.of(overtimeReduction(LocalDate.of(2019, 5, 2), Duration.ofHours(4))));
+
+        assertThat(sut.updateLedger(person)).isFalse();
+
+        verify(overtimeLedgerRepository).saveAll(List.of());
+        verify(overtimeLedgerRepository).deleteAll(List.of());
+    }
+
+    @Test
+    void ensureUpdateLedgerLocksPersonBeforeReadingOvertime() {
+
+        sut.updateLedger(person);
+
+        final InOrder inOrder = inOrder(overtimeLedgerRepository, overtimeRepository);
+        inOrder.verify(overtimeLedgerRepository).lockPersons(List.of(person));
+        inOrder.verify(overtimeRepository).findByPerson(person);
+    }
+
+    @Test
+    void ensureLedgerIsUpdatedAfterCommit() {
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            sut.updateLedgerAfterCommit(person);
+
+            verifyNoInteractions(overtimeRepository, overtimeLedgerRepository);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(overtimeLedgerRepository).lockPersons(List.of(person));
+        verify(overtimeRepository).findByPerson(person);
+    }
+
+    @Test
+    void ensureFailedLedgerUpdateAfterCommitIsNotPropagated() {
+
+        when(overtimeRepository.findByPerson(person)).thenThrow(new IllegalStateException("database is gone"));
+
+        sut.updateLedgerAfterCommit(person);
+
+        verify(overtimeLedgerRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void ensureOpeningBalanceIsReadFromEntryOfYear() {
+
+        final OvertimeLedgerEntry entry = new OvertimeLedgerEntry(person, 2021, Duration.ofHours(3), Duration.ofHours(2), Duration.ofHours(1));
+        when(overtimeLedgerRepository.findFirstByPersonAndYearLessThanEqualOrderByYearDesc(person, 2021)).thenReturn(Optional.of(entry));
+
+        assertThat(sut.getOpeningBalance(person, 2021)).isEqualTo(Duration.ofHours(3));
+    }
+
+    @Test
+    void ensureOpeningBalanceIsClosingBalanceOfEarlierYear() {
+
+        final OvertimeLedgerEntry entry = new OvertimeLedgerEntry(person, 2019, Duration.ofHours(3), Duration.ofHours(2), Duration.ofHours(1));
+        when(overtimeLedgerRepository.findFirstByPersonAndYearLessThanEqualOrderByYearDesc(person, 2021)).thenReturn(Optional.of(entry));
+
+        assertThat(sut.getOpeningBalance(person, 2021)).isEqualTo(Duration.ofHours(4));
+    }
+
+    @Test
+    void ensureOpeningBalanceIsZeroWithoutEntry() {
+
+        when(overtimeLedgerRepository.findFirstByPersonAndYearLessThanEqualOrderByYearDesc(person, 2021)).thenReturn(Optional.empty());
+
+        assertThat(sut.getOpeningBalance(person, 2021)).isZero();
+    }
+
+    @Test
+    void ensureBalanceIsClosingBalanceOfLatestEntry() {
+
+        final OvertimeLedgerEntry entry = new OvertimeLedgerEntry(person, 2022, Duration.ofHours(3), Duration.ofHours(2), Duration.ofHours(6));
+        when(overtimeLedgerRepository.findFirstByPersonOrderByYearDesc(person)).thenReturn(Optional.of(entry));
+
+        assertThat(sut.getBalance(person)).isEqualTo(Duration.ofHours(-1));
+    }
+
+    @Test
+    void ensureBalancesAndOpeningBalancesOfPersons() {
+
+        final Person other = person(2);
+        final Person personWithoutOvertime = person(3);
+        final List<Person> persons = List.of(person, other, personWithoutOvertime);
+
+        final OvertimeLedgerEntry entry2019 = new OvertimeLedgerEntry(person, 2019, Duration.ZERO, Duration.ofHours(2), Duration.ZERO);
+        final OvertimeLedgerEntry entry2021 = new OvertimeLedgerEntry(person, 2021, Duration.ofHours(2), Duration.ofHours(5), Duration.ofHours(1));
+        final OvertimeLedgerEntry entryOfOther = new OvertimeLedgerEntry(other, 2020, Duration.ZERO, Duration.ofHours(8), Duration.ZERO);
+        when(overtimeLedgerRepository.findByPersonIn(persons)).thenReturn(List.of(entry2021, entryOfOther, entry2019));
+        when(overtimeLedgerRepository.findByPersonInAndYearLessThanEqual(persons, 2021)).thenReturn(List.of(entry2019, entryOfOther, entry2021));
+
+        assertThat(sut.getBalances(persons)).containsOnly(
+            Map.entry(person, Duration.ofHours(6)),
+            Map.entry(other, Duration.ofHours(8)),
+            Map.entry(personWithoutOvertime, Duration.ZERO));
+        assertThat(sut.getOpeningBalances(persons, 2021)).containsOnly(
+            Map.entry(person, Duration.ofHours(2)),
+            Map.entry(other, Duration.ofHours(8)),
+            Map.entry(personWithoutOvertime, Duration.ZERO));
+    }
+
+    @Test
+    void ensureLedgerIsUpdatedWhenOvertimeReductionIsUpdated() {
+
+        final Application application = overtimeReduction(LocalDate.of(2021, 1, 4), Duration.ofHours(1));
+        when(applicationService.getApplicationById(42)).thenReturn(Optional.of(application));
+
+        sut.handleApplicationUpdated(new ApplicationUpdatedEvent(this, 42));
+
+        verify(overtimeRepository).findByPerson(person);
+        verify(overtimeLedgerRepository).saveAll(any());
+    }
+
+    @Test
+    void ensureLedgerIsUpdatedWhenOvertimeReductionIsChangedToHoliday() {
+
+        final Application application = createApplication(person, createVacationTypeEntity(HOLIDAY), LocalDate.of(2021, 1, 4), LocalDate.of(2021, 1, 4), FULL);
+        when(applicationService.getApplicationById(42)).thenReturn(Optional.of(application));
+
+        final OvertimeLedgerEntry entry = new OvertimeLedgerEntry(person, 2021, Duration.ZERO, Duration.ofHours(2), Duration.ofHours(1));
+        when(overtimeLedgerRepository.findByPersonOrderByYear(person)).thenReturn(List.of(entry));
+        when(overtimeRepository.findByPerson(person)).thenReturn(List.of(overtime(LocalDate.of(2021, 1, 1), Duration.ofHours(2))));
+
+        sut.handleApplicationUpdated(new ApplicationUpdatedEvent(this, 42));
+
+        verify(overtimeLedgerRepository).saveAll(List.of(entry));
+        assertThat(entry.getOvertimeReduction()).isZero();
+    }
+
+    @Test
+    void ensureLedgerIsNotUpdatedForUnknownApplication() {
+
+        when(applicationService.getApplicationById(42)).thenReturn(Optional.empty());
+
+        sut.handleApplicationUpdated(new ApplicationUpdatedEvent(this, 42));
+
+        verify(overtimeRepository, never()).findByPerson(any());
+    }
+
+    @Test
+    void ensureCheckLedgersUpdatesLedgersOfAllPersons() {
+
+        final Person inactive = person(2);
+        when(personService.getActivePersons()).thenReturn(List.of(person));
+        when(personService.getInactivePersons()).thenReturn(List.of(inactive));
+
+        assertThat(sut.checkLedgers()).isTrue();
+
+        verify(overtimeRepository).findByPerson(person);
+        verify(overtimeRepository).findByPerson(inactive);
+    }
+
+    @Test
+    void ensureCheckLedgersLocksAndChecksPersonsInChunks() {
+
+        overtimeProperties.getLedgerCheck().setChunkSize(2);
+
+        final Person second = person(2);
+        final Person third = person(3);
+        when(personService.getActivePersons()).thenReturn(List.of(third, person));
+        when(personService.getInactivePersons()).thenReturn(List.of(second));
+
+        assertThat(sut.checkLedgers()).isTrue();
+
+        verify(overtimeLedgerRepository).lockPersons(List.of(person, second));
+        verify(overtimeLedgerRepository).lockPersons(List.of(third));
+    }
+
+    @Test
+    void ensureCheckLedgersContinuesAfterFailedChunk() {
+
+        overtimeProperties.getLedgerCheck().setChunkSize(1);
+
+        final Person other = person(2);
+        when(personService.getActivePersons()).thenReturn(List.of(person, other));
+        when(overtimeLedgerRepository.lockPersons(List.of(person))).thenThrow(new IllegalStateException("lock wait timeout"));
+
+        assertThat(sut.checkLedgers()).isFalse();
+
+        verify(overtimeRepository, never()).findByPerson(person);
+        verify(overtimeRepository).findByPerson(other);
+    }
+
+    @Test
+    void ensureBuildLedgersMarksLedgersAsBuilt() {
+
+        when(personService.getActivePersons()).thenReturn(List.of(person));
+
+        sut.buildLedgers();
+
+        verify(overtimeRepository).findByPerson(person);
+        verify(overtimeLedgerBuildRepository).save(buildCaptor.capture());
+        assertThat(buildCaptor.getValue().getBuiltAt()).isEqualTo(Instant.now(clock));
+    }
+
+    @Test
+    void ensureBuildLedgersDoesNotMarkIncompleteLedgersAsBuilt() {
+
+        when(personService.getActivePersons()).thenReturn(List.of(person));
+        when(overtimeLedgerRepository.lockPersons(List.of(person))).thenThrow(new IllegalStateException("lock wait timeout"));
+
+        sut.buildLedgers();
+
+        verify(overtimeLedgerBuildRepository, never()).save(any());
+    }
+
+    @Test
+    void ensureLedgerIsBuiltIfMarkedAsBuilt() {
+
+        when(overtimeLedgerBuildRepository.count()).thenReturn(1L);
+        assertThat(sut.isLedgerBuilt()).isTrue();
+
+        when(overtimeLedgerBuildRepository.count()).thenReturn(0L);
+        assertThat(sut.isLedgerBuilt()).isFalse();
+    }
+
+    private Overtime overtime(LocalDate startDate, Duration duration) {
+        return new Overtime(person, startDate, startDate, duration);
+    }
+
+    private Application overtimeReduction(LocalDate startDate, Duration hours) {
+        final Application application = createApplication(person, createVacationTypeEntity(OVERTIME), startDate, startDate, FULL);
+        application.setHours(hours);
+        return application;
+    }
+
+    private static Person person(int id) {
+        final Person person = new Person("muster" + id, "Muster", "Marlene", "muster" + id + "@example.org");
+        person.setId(id);
+        return person;
+    }
+}
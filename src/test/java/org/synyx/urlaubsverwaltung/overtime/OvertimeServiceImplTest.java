@@ -24,6 +24,7 @@ import java.time.Duration;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -52,6 +53,8 @@ class OvertimeServiceImplTest {
     @Mock
     private OvertimeCommentRepository overtimeCommentRepository;
     @Mock
+    private OvertimeLedgerService overtimeLedgerService;
+    @Mock
     private ApplicationService applicationService;
     @Mock
     private OvertimeMailService overtimeMailService;
@@ -62,7 +65,7 @@ class OvertimeServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        sut = new OvertimeServiceImpl(overtimeRepository, overtimeCommentRepository, applicationService, overtimeMailService, settingsService, clock);
+        sut = new OvertimeServiceImpl(overtimeRepository, overtimeCommentRepository, overtimeLedgerService, applicationService, overtimeMailService, settingsService, clock);
     }
 
     // Record overtime -------------------------------------------------------------------------------------------------
@@ -76,6 +79,7 @@ class OvertimeServiceImplTest {
 
         verify(overtimeRepository).save(overtime);
         verify(overtimeCommentRepository).save(any(OvertimeComment.class));
+        verify(overtimeLedgerService).updateLedgerAfterCommit(overtime.getPerson());
     }
 
     @Test
@@ -266,69 +270,26 @@ class OvertimeServiceImplTest {
     }
 
     @Test
-    void ensureGetTotalOvertimeForPersonBeforeYear() {
+    void ensureGetTotalOvertimeForPersonBeforeYearIsOpeningBalanceOfLedger() {
 
         final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
-
-        final Overtime overtime = new Overtime(person, LocalDate.of(2016, 1, 5), LocalDate.of(2016, 1, 5), Duration.ofHours(10));
-        final Overtime overtime2 = new Overtime(person, LocalDate.of(2016, 2, 5), LocalDate.of(2016, 2, 5), Duration.ofHours(4));
-
-        final LocalDate firstDateOfYear = LocalDate.of(2016, 1, 1);
-        when(overtimeRepository.findByPersonAndStartDateIsBefore(person, firstDateOfYear))
-            .thenReturn(List.of(overtime, overtime2));
-
-        when(applicationService.getTotalOvertimeReductionOfPersonBefore(person, firstDateOfYear)).thenReturn(Duration.ofHours(1));
+        when(overtimeLedgerService.getOpeningBalance(person, 2016)).thenReturn(Duration.ofHours(13));
 
         final Duration totalHours = sut.getTotalOvertimeForPersonBeforeYear(person, 2016);
         assertThat(totalHours).isEqualTo(Duration.ofHours(13));
-
-        verify(overtimeRepository).findByPersonAndStartDateIsBefore(person, firstDateOfYear);
     }
 
     // Get left overtime -----------------------------------------------------------------------------------------------
     @Test
-    void ensureReturnsZeroAsLeftOvertimeIfPersonHasNoOvertimeRecordsYet() {
-
-        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
-
-        when(overtimeRepository.calculateTotalHoursForPerson(person)).thenReturn(Optional.empty());
-        when(applicationService.getTotalOvertimeReductionOfPerson(person)).thenReturn(Duration.ZERO);
-
-        final Duration totalHours = sut.getLeftOvertimeForPerson(person);
-        assertThat(totalHours).isEqualTo(Duration.ZERO);
-
-        verify(overtimeRepository).calculateTotalHoursForPerson(person);
-        verify(applicationService).getTotalOvertimeReductionOfPerson(person);
-    }
-
-    @Test
-    void ensureTheLeftOvertimeIsTheDifferenceBetweenTotalOvertimeAndOvertimeReduction() {
+    void ensureTheLeftOvertimeIsTheBalanceOfLedger() {
 
         final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
-
-        when(overtimeRepository.calculateTotalHoursForPerson(person)).thenReturn(Optional.of((double) Duration.ofHours(10L).toMinutes() / 60));
-        when(applicationService.getTotalOvertimeReductionOfPerson(person)).thenReturn(Duration.ofHours(1));
+        when(overtimeLedgerService.getBalance(person)).thenReturn(Duration.ofHours(9));
 
         final Duration leftOvertime = sut.getLeftOvertimeForPerson(person);
         assertThat(leftOvertime).isEqualTo(Duration.ofHours(9));
-
-        verify(overtimeRepository).calculateTotalHoursForPerson(person);
-        verify(applicationService).getTotalOvertimeReductionOfPerson(person);
-    }
-
-    @Test
-    void ensureTheLeftOvertimeIsZeroIfPersonHasNeitherOvertimeRecordsNorOvertimeReduction() {
-
-        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
-
-        when(overtimeRepository.calculateTotalHoursForPerson(person)).thenReturn(Optional.empty());
-        when(applicationService.getTotalOvertimeReductionOfPerson(person)).thenReturn(Duration.ZERO);
-
-        final Duration leftOvertime = sut.getLeftOvertimeForPerson(person);
-        assertThat(leftOvertime).isEqualTo(Duration.ZERO);
     }
 
-
     @Test
     void ensureLeftOvertimeOfPersonIsZeroIfNoOvertimeAndOvertimeReductionIsFound() {
 
@@ -386,6 +347,47 @@ class OvertimeServiceImplTest {
         assertThat(totalOvertimeReduction).isEqualTo(Duration.parse("PT4H"));
     }
 
+    @Test
+    void ensureTheLeftOvertimeOfPersonsIsTheBalanceOfLedger() {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        person.setId(1);
+        final Person personWithoutOvertime = new Person("other", "Other", "Otto", "other@example.org");
+        personWithoutOvertime.setId(2);
+        final List<Person> persons = List.of(person, personWithoutOvertime);
+
+        when(overtimeLedgerService.getBalances(persons)).thenReturn(Map.of(person, Duration.ofMinutes(570), personWithoutOvertime, Duration.ofHours(-2)));
+
+        final Map<Person, Duration> leftOvertime = sut.getLeftOvertimeForPersons(persons);
+        assertThat(leftOvertime)
+            .containsEntry(person, Duration.ofMinutes(570))
+            .containsEntry(personWithoutOvertime, Duration.ofHours(-2));
+    }
+
+    @Test
+    void ensureLeftOvertimeOfPersonsInPeriodEqualsLeftOvertimeOfEveryPerson() {
+
+        final Person person = new Person();
+        person.setId(1);
+        final Person personWithoutOvertime = new Person();
+        personWithoutOvertime.setId(2);
+        final List<Person> persons = List.of(person, personWithoutOvertime);
+
+        final LocalDate start = LocalDate.of(2022, 10, 10);
+        final LocalDate end = LocalDate.of(2022, 10, 20);
+
+        when(overtimeLedgerService.getOpeningBalances(persons, 2022)).thenReturn(Map.of(person, Duration.ofHours(2), personWithoutOvertime, Duration.ZERO));
+
+        final Overtime overtime = new Overtime(person, LocalDate.of(2022, 10, 9), LocalDate.of(2022, 10, 12), Duration.ofHours(12));
+        when(overtimeRepository.findByPersonInAndEndDateIsGreaterThanEqualAndStartDateIsLessThanEqual(persons, start, end)).thenReturn(List.of(overtime));
+        when(applicationService.getTotalOvertimeReductionOfPersons(persons, start, end)).thenReturn(Map.of(person, Duration.ofHours(4), personWithoutOvertime, Duration.ZERO));
+
+        final Map<Person, Duration> leftOvertime = sut.getLeftOvertimeForPersons(persons, start, end);
+        assertThat(leftOvertime)
+            .containsEntry(person, Duration.ofHours(7))
+            .containsEntry(personWithoutOvertime, Duration.ZERO);
+    }
+
     @ParameterizedTest
     @ValueSource(booleans = {true, false})
     void ensureOfficeIsAllowedToWriteOthersOvertime(boolean overtimeWritePrivilegedOnly) {
@@ -26,8 +26,9 @@ import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.synyx.urlaubsverwaltung.TestDataCreator.createPerson;
 import static org.synyx.urlaubsverwaltung.person.MailNotification.NOTIFICATION_BOSS_ALL;
@@ -122,7 +123,8 @@ class PersonServiceImplTest {
 
         final Person createdPerson = sut.create(person);
 
-        verify(applicationEventPublisher).publishEvent(personCreatedEventArgumentCaptor.capture());
+        verify(applicationEventPublisher).publishEvent(any(PersonUpdatedEvent.class));
+        verify(applicationEventPublisher, times(2)).publishEvent(personCreatedEventArgumentCaptor.capture());
 
         final PersonCreatedEvent personCreatedEvent = personCreatedEventArgumentCaptor.getValue();
         assertThat(personCreatedEvent.getSource()).isEqualTo(sut);
@@ -193,6 +195,15 @@ class PersonServiceImplTest {
         verify(personRepository).findById(123);
     }
 
+    @Test
+    void ensureGetPersonsByIdsCallsCorrectDaoMethod() {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        when(personRepository.findAllById(List.of(1, 2))).thenReturn(List.of(person));
+
+        assertThat(sut.getPersonsByIds(List.of(1, 2))).containsExactly(person);
+    }
+
     @Test
     void ensureGetPersonByLoginCallsCorrectDaoMethod() {
         final String username = "foo";
@@ -363,7 +374,21 @@ class PersonServiceImplTest {
         when(personRepository.save(activePerson)).thenReturn(activePerson);
 
         sut.save(activePerson);
-        verifyNoInteractions(applicationEventPublisher);
+        verify(applicationEventPublisher, never()).publishEvent(any(PersonDisabledEvent.class));
+    }
+
+    @Test
+    void ensurePersonUpdatedEventIsFiredAfterPersonSave() {
+
+        final Person activePerson = createPerson("active person", USER);
+        activePerson.setId(1);
+        when(personRepository.save(activePerson)).thenReturn(activePerson);
+
+        sut.save(activePerson);
+
+        final ArgumentCaptor<PersonUpdatedEvent> personUpdatedEventArgumentCaptor = ArgumentCaptor.forClass(PersonUpdatedEvent.class);
+        verify(applicationEventPublisher).publishEvent(personUpdatedEventArgumentCaptor.capture());
+        assertThat(personUpdatedEventArgumentCaptor.getValue().getPersonId()).isEqualTo(1);
     }
 
     @Test
@@ -8,6 +8,8 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -45,6 +47,21 @@ class PersonBasedataServiceImplTest {
         });
     }
 
+    @Test
+    void getBasedataByPersonIds() {
+
+        final PersonBasedataEntity personBasedataEntity = new PersonBasedataEntity();
+        personBasedataEntity.setPersonId(1);
+        personBasedataEntity.setPersonnelNumber("1337");
+        personBasedataEntity.setAdditionalInformation("Some additional Information");
+
+        when(personBasedataRepository.findAllById(List.of(1, 2))).thenReturn(List.of(personBasedataEntity));
+
+        final Map<Integer, PersonBasedata> basedataByPersonId = sut.getBasedataByPersonIds(List.of(1, 2));
+        assertThat(basedataByPersonId).containsOnlyKeys(1);
+        assertThat(basedataByPersonId.get(1).getPersonnelNumber()).isEqualTo("1337");
+    }
+
     @Test
     void update() {
 
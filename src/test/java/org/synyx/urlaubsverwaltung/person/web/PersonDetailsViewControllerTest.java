@@ -10,7 +10,7 @@ import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.synyx.urlaubsverwaltung.account.Account;
 import org.synyx.urlaubsverwaltung.account.AccountService;
-import org.synyx.urlaubsverwaltung.account.VacationDaysService;
+import org.synyx.urlaubsverwaltung.account.PersonVacationSummaryService;
 import org.synyx.urlaubsverwaltung.department.Department;
 import org.synyx.urlaubsverwaltung.department.DepartmentService;
 import org.synyx.urlaubsverwaltung.department.web.UnknownDepartmentException;
@@ -32,6 +32,7 @@ import java.time.LocalDate;
 import java.time.Year;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static java.math.BigDecimal.ONE;
@@ -83,7 +84,7 @@ class PersonDetailsViewControllerTest {
     @Mock
     private AccountService accountService;
     @Mock
-    private VacationDaysService vacationDaysService;
+    private PersonVacationSummaryService personVacationSummaryService;
     @Mock
     private DepartmentService departmentService;
     @Mock
@@ -99,7 +100,7 @@ class PersonDetailsViewControllerTest {
     void setUp() {
 
         clock = Clock.systemUTC();
-        sut = new PersonDetailsViewController(personService, accountService, vacationDaysService, departmentService,
+        sut = new PersonDetailsViewController(personService, accountService, personVacationSummaryService, departmentService,
             workingTimeService, settingsService, personBasedataService, clock);
 
         person = new Person();
@@ -672,7 +673,7 @@ class PersonDetailsViewControllerTest {
         wolf.setPermissions(List.of(USER));
 
         when(personService.getActivePersons()).thenReturn(List.of(wayne, wolf));
-        when(personBasedataService.getBasedataByPersonId(2)).thenReturn(Optional.of(new PersonBasedata(2, "42", null)));
+        when(personBasedataService.getBasedataByPersonIds(List.of(2, 3))).thenReturn(Map.of(2, new PersonBasedata(2, "42", null)));
 
         perform(get("/web/person").param("active", "true"))
             .andExpect(model().attribute("persons", hasSize(2)))
@@ -707,6 +708,81 @@ class PersonDetailsViewControllerTest {
             .andExpect(model().attribute("showPersonnelNumberColumn", false));
     }
 
+    @Test
+    void showPersonSortedAndPagedByGivenParameters() throws Exception {
+
+        final Person signedInUser = personWithRole(USER, OFFICE);
+        when(personService.getSignedInUser()).thenReturn(signedInUser);
+
+        final Person wayne = new Person("batman", "Wayne", "Bruce", "batman@example.org");
+        wayne.setId(2);
+        final Person kent = new Person("superman", "Kent", "Clark", "superman@example.org");
+        kent.setId(3);
+        final Person prince = new Person("wonderwoman", "Prince", "Diana", "wonderwoman@example.org");
+        prince.setId(4);
+        when(personService.getActivePersons()).thenReturn(List.of(wayne, kent, prince));
+
+        perform(get("/web/person")
+            .param("active", "true")
+            .param("sort", "lastName")
+            .param("direction", "desc")
+            .param("size", "2")
+            .param("page", "1"))
+            .andExpect(model().attribute("persons", contains(hasProperty("lastName", is("Kent")))))
+            .andExpect(model().attribute("personPage", hasProperty("totalPages", is(2))))
+            .andExpect(model().attribute("sort", "lastName"))
+            .andExpect(model().attribute("direction", "desc"));
+    }
+
+    @Test
+    void showPersonSortedByFirstNameIfSortIsUnknown() throws Exception {
+
+        final Person signedInUser = personWithRole(USER, OFFICE);
+        when(personService.getSignedInUser()).thenReturn(signedInUser);
+
+        final Person wayne = new Person("batman", "Wayne", "Bruce", "batman@example.org");
+        wayne.setId(2);
+        final Person kent = new Person("superman", "Kent", "Clark", "superman@example.org");
+        kent.setId(3);
+        when(personService.getActivePersons()).thenReturn(List.of(kent, wayne));
+
+        perform(get("/web/person").param("active", "true").param("sort", "password"))
+            .andExpect(model().attribute("persons", contains(
+                hasProperty("firstName", is("Bruce")),
+                hasProperty("firstName", is("Clark"))
+            )))
+            .andExpect(model().attribute("sort", "firstName"))
+            .andExpect(model().attribute("direction", "asc"));
+    }
+
+    @Test
+    void showPersonFilteredByQueryBeforePaging() throws Exception {
+
+        final Person signedInUser = personWithRole(USER, OFFICE);
+        when(personService.getSignedInUser()).thenReturn(signedInUser);
+
+        final Person wayne = new Person("batman", "Wayne", "Bruce", "batman@example.org");
+        wayne.setId(2);
+        final Person kent = new Person("superman", "Kent", "Clark", "superman@example.org");
+        kent.setId(3);
+        final Person prince = new Person("wonderwoman", "Prince", "Diana", "wonderwoman@example.org");
+        prince.setId(4);
+        when(personService.getActivePersons()).thenReturn(List.of(wayne, kent, prince));
+        when(personBasedataService.getBasedataByPersonIds(List.of(2, 3, 4))).thenReturn(Map.of(3, new PersonBasedata(3, "42", null)));
+
+        perform(get("/web/person")
+            .param("active", "true")
+            .param("size", "1")
+            .param("query", " diana "))
+            .andExpect(model().attribute("persons", contains(hasProperty("lastName", is("Prince")))))
+            .andExpect(model().attribute("personPage", hasProperty("totalElements", is(1L))))
+            .andExpect(model().attribute("query", "diana"))
+            .andExpect(model().attribute("showPersonnelNumberColumn", true));
+
+        perform(get("/web/person").param("active", "true").param("query", "42"))
+            .andExpect(model().attribute("persons", contains(hasProperty("lastName", is("Kent")))));
+    }
+
     private ResultActions perform(MockHttpServletRequestBuilder builder) throws Exception {
         return standaloneSetup(sut).build().perform(builder);
     }
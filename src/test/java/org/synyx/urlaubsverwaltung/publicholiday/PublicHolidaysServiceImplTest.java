@@ -24,6 +24,7 @@ import static java.math.BigDecimal.ZERO;
 import static java.time.LocalDate.of;
 import static java.time.Month.AUGUST;
 import static java.time.Month.DECEMBER;
+import static java.time.Month.JANUARY;
 import static java.time.Month.MAY;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
@@ -220,6 +221,40 @@ class PublicHolidaysServiceImplTest {
             .extracting(p -> p.getDayLength()).containsExactly(DayLength.NOON);
     }
 
+    @Test
+    void ensureGetPublicHolidaysReturnsPublicHolidaysOverTurnOfTheYearInAscendingOrder() {
+
+        when(settingsService.getSettings()).thenReturn(new Settings());
+
+        final List<PublicHoliday> publicHolidays = sut.getPublicHolidays(of(2019, DECEMBER, 20), of(2020, JANUARY, 10), GERMANY_BADEN_WUERTTEMBERG);
+        assertThat(publicHolidays)
+            .extracting(PublicHoliday::getDate)
+            .containsExactly(
+                of(2019, DECEMBER, 24),
+                of(2019, DECEMBER, 25),
+                of(2019, DECEMBER, 26),
+                of(2019, DECEMBER, 31),
+                of(2020, JANUARY, 1),
+                of(2020, JANUARY, 6)
+            );
+    }
+
+    @Test
+    void ensureChangedWorkingDurationForChristmasEveIsUsedForAlreadyCalculatedYear() {
+
+        final Settings settings = new Settings();
+        settings.getWorkingTimeSettings().setWorkingDurationForChristmasEve(DayLength.MORNING);
+        final Settings changedSettings = new Settings();
+        changedSettings.getWorkingTimeSettings().setWorkingDurationForChristmasEve(DayLength.ZERO);
+        when(settingsService.getSettings()).thenReturn(settings, changedSettings);
+
+        final Optional<PublicHoliday> beforeChange = sut.getPublicHoliday(of(2019, DECEMBER, 24), GERMANY_BADEN_WUERTTEMBERG);
+        assertThat(beforeChange).hasValueSatisfying(publicHoliday -> assertThat(publicHoliday.getDayLength()).isEqualTo(DayLength.NOON));
+
+        final Optional<PublicHoliday> afterChange = sut.getPublicHoliday(of(2019, DECEMBER, 24), GERMANY_BADEN_WUERTTEMBERG);
+        assertThat(afterChange).hasValueSatisfying(publicHoliday -> assertThat(publicHoliday.getDayLength()).isEqualTo(DayLength.FULL));
+    }
+
     private HolidayManager getHolidayManager() {
         final ClassLoader cl = Thread.currentThread().getContextClassLoader();
         final URL url = cl.getResource("Holidays_de.xml");
@@ -0,0 +1,165 @@
+package org.synyx.urlaubsverwaltung.settings;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.synyx.urlaubsverwaltung.period.DayLength;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeSettings;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static java.time.ZoneOffset.UTC;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SettingsServiceImplTest {
+
+    private SettingsServiceImpl sut;
+
+    @Mock
+    private SettingsRepository settingsRepository;
+
+    private SettingsProperties settingsProperties;
+    private SimpleMeterRegistry meterRegistry;
+
+    private final Clock clock = Clock.fixed(Instant.parse("2022-08-01T10:00:00.00Z"), UTC);
+
+    @BeforeEach
+    void setUp() {
+        settingsProperties = new SettingsProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        sut = new SettingsServiceImpl(settingsRepository, settingsProperties, clock, meterRegistry);
+    }
+
+    @Test
+    void ensureGetSettingsLoadsSettingsOnlyOnceWithinVersionCheckInterval() {
+
+        final Settings settings = settings(1L);
+        when(settingsRepository.findById(1)).thenReturn(Optional.of(settings));
+
+        assertThat(sut.getSettings()).usingRecursiveComparison().isEqualTo(settings);
+        assertThat(sut.getSettings()).usingRecursiveComparison().isEqualTo(settings);
+        assertThat(sut.getSettings()).usingRecursiveComparison().isEqualTo(settings);
+
+        verify(settingsRepository, times(1)).findById(1);
+        verify(settingsRepository, never()).findVersionById(1);
+
+        assertThat(meterRegistry.get("cache.gets").tag("result", "miss").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void ensureGetSettingsKeepsSnapshotIfVersionIsUnchanged() {
+
+        settingsProperties.setVersionCheckInterval(Duration.ZERO);
+
+        final Settings settings = settings(3L);
+        when(settingsRepository.findById(1)).thenReturn(Optional.of(settings));
+        when(settingsRepository.findVersionById(1)).thenReturn(Optional.of(3L));
+
+        assertThat(sut.getSettings()).usingRecursiveComparison().isEqualTo(settings);
+        assertThat(sut.getSettings()).usingRecursiveComparison().isEqualTo(settings);
+
+        verify(settingsRepository, times(1)).findById(1);
+        verify(settingsRepository).findVersionById(1);
+    }
+
+    @Test
+    void ensureGetSettingsReloadsSettingsIfVersionChangedOnAnotherNode() {
+
+        settingsProperties.setVersionCheckInterval(Duration.ZERO);
+
+        final Settings settings = settings(3L);
+        final Settings changedSettings = settings(4L);
+        when(settingsRepository.findById(1)).thenReturn(Optional.of(settings), Optional.of(changedSettings));
+        when(settingsRepository.findVersionById(1)).thenReturn(Optional.of(4L));
+
+        assertThat(sut.getSettings()).usingRecursiveComparison().isEqualTo(settings);
+        assertThat(sut.getSettings()).usingRecursiveComparison().isEqualTo(changedSettings);
+
+        verify(settingsRepository, times(2)).findById(1);
+    }
+
+    @Test
+    void ensureSaveIncrementsVersionAndInvalidatesSnapshot() {
+
+        final Settings settings = settings(3L);
+        final Settings savedSettings = settings(4L);
+        when(settingsRepository.findById(1)).thenReturn(Optional.of(settings), Optional.of(savedSettings));
+        when(settingsRepository.findVersionById(1)).thenReturn(Optional.of(3L));
+
+        assertThat(sut.getSettings()).usingRecursiveComparison().isEqualTo(settings);
+
+        final Settings settingsToSave = new Settings();
+        settingsToSave.setId(1);
+        sut.save(settingsToSave);
+
+        assertThat(settingsToSave.getVersion()).isEqualTo(4L);
+        verify(settingsRepository).save(settingsToSave);
+
+        assertThat(sut.getSettings()).usingRecursiveComparison().isEqualTo(savedSettings);
+    }
+
+    @Test
+    void ensureChangesOfSettingsDoNotChangeSettingsOfOtherCallers() {
+
+        final Settings settings = settings(1L);
+        settings.getTimeSettings().setTimeZoneId("Europe/Berlin");
+        settings.getCalendarSettings().getGoogleCalendarSettings().setRefreshToken("token");
+        when(settingsRepository.findById(1)).thenReturn(Optional.of(settings));
+
+        final Settings changedSettings = sut.getSettings();
+        changedSettings.getTimeSettings().setTimeZoneId("Europe/London");
+        changedSettings.getCalendarSettings().getGoogleCalendarSettings().setRefreshToken("other token");
+
+        final Settings otherSettings = sut.getSettings();
+        assertThat(otherSettings).isNotSameAs(changedSettings);
+        assertThat(otherSettings.getTimeSettings().getTimeZoneId()).isEqualTo("Europe/Berlin");
+        assertThat(otherSettings.getCalendarSettings().getGoogleCalendarSettings().getRefreshToken()).isEqualTo("token");
+
+        otherSettings.getTimeSettings().setTimeZoneId("Europe/Paris");
+        assertThat(sut.getSettings().getTimeSettings().getTimeZoneId()).isEqualTo("Europe/Berlin");
+    }
+
+    @Test
+    void ensureCopiesOfSettingsKeepHalfWorkingDays() {
+
+        final Settings settings = settings(1L);
+        settings.getWorkingTimeSettings().setSaturday(DayLength.MORNING);
+        when(settingsRepository.findById(1)).thenReturn(Optional.of(settings));
+
+        sut.getSettings();
+
+        final WorkingTimeSettings workingTimeSettings = sut.getSettings().getWorkingTimeSettings();
+        assertThat(workingTimeSettings.getSaturday()).isEqualTo(DayLength.MORNING);
+        assertThat(workingTimeSettings.getMonday()).isEqualTo(DayLength.FULL);
+        assertThat(workingTimeSettings.getSunday()).isEqualTo(DayLength.ZERO);
+    }
+
+    @Test
+    void ensureGetSettingsThrowsIfNoSettingsExist() {
+
+        when(settingsRepository.findById(1)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> sut.getSettings())
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static Settings settings(Long version) {
+        final Settings settings = new Settings();
+        settings.setId(1);
+        settings.setVersion(version);
+        return settings;
+    }
+}
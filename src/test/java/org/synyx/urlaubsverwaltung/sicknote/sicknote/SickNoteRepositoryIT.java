@@ -250,6 +250,29 @@ class SickNoteRepositoryIT extends TestContainersBase {
         assertThat(actualSickNotes).contains(noteStartingBeforePeriod, noteEndingAfterPeriod, noteInBetween, noteStartingAtPeriod, noteEndingAtPeriod);
     }
 
+    @Test
+    void findActiveSickNotesAndNumberOfPersonsOfYear() {
+
+        final Person max = personService.save(new Person("muster", "Mustermann", "Max", "mustermann@example.org"));
+        final Person marlene = personService.save(new Person("person2", "Musterfrau", "Marlene", "musterfrau@example.org"));
+        final Person robin = personService.save(new Person("person3", "Musterperson", "Robin", "musterperson@example.org"));
+
+        final LocalDate firstDayOfYear = LocalDate.of(2021, 1, 1);
+        final LocalDate lastDayOfYear = LocalDate.of(2021, 12, 31);
+
+        final SickNote noteOfPreviousYear = sickNoteRepository.save(createSickNote(max, LocalDate.of(2020, 12, 1), LocalDate.of(2020, 12, 31), ACTIVE));
+        final SickNote cancelledNoteStartingInYear = sickNoteRepository.save(createSickNote(robin, LocalDate.of(2021, 12, 30), LocalDate.of(2022, 1, 3), CANCELLED));
+
+        final SickNote noteStartingBeforeYear = sickNoteRepository.save(createSickNote(max, LocalDate.of(2020, 12, 28), LocalDate.of(2021, 1, 4), ACTIVE));
+        final SickNote noteInYear = sickNoteRepository.save(createSickNote(max, LocalDate.of(2021, 6, 1), LocalDate.of(2021, 6, 2), ACTIVE));
+        final SickNote noteSpanningYear = sickNoteRepository.save(createSickNote(marlene, LocalDate.of(2020, 11, 2), LocalDate.of(2022, 2, 1), ACTIVE));
+
+        assertThat(sickNoteRepository.findAllActiveByPeriod(firstDayOfYear, lastDayOfYear))
+            .containsExactlyInAnyOrder(noteStartingBeforeYear, noteInYear, noteSpanningYear)
+            .doesNotContain(noteOfPreviousYear, cancelledNoteStartingInYear);
+        assertThat(sickNoteRepository.findNumberOfPersonsWithMinimumOneSickNote(firstDayOfYear, lastDayOfYear)).isEqualTo(2L);
+    }
+
     private SickNote createSickNote(Person person, LocalDate startDate, LocalDate endDate, SickNoteStatus active) {
         final SickNote sickNote = new SickNote();
         sickNote.setPerson(person);
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.settings.Settings;
 import org.synyx.urlaubsverwaltung.settings.SettingsService;
@@ -32,12 +33,14 @@ class SickNoteServiceImplTest {
     private SickNoteRepository sickNoteRepository;
     @Mock
     private SettingsService settingsService;
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
 
     private final Clock fixedClock = Clock.fixed(Instant.parse("2021-06-28T00:00:00.00Z"), UTC);
 
     @BeforeEach
     void setUp() {
-        sut = new SickNoteServiceImpl(sickNoteRepository, settingsService, fixedClock);
+        sut = new SickNoteServiceImpl(sickNoteRepository, settingsService, applicationEventPublisher, fixedClock);
     }
 
     @Test
@@ -47,6 +50,18 @@ class SickNoteServiceImplTest {
         verify(sickNoteRepository).save(sickNote);
     }
 
+    @Test
+    void savePublishesSickNoteUpdatedEvent() {
+        final SickNote sickNote = new SickNote();
+        sickNote.setId(42);
+
+        sut.save(sickNote);
+
+        final ArgumentCaptor<SickNoteUpdatedEvent> captor = ArgumentCaptor.forClass(SickNoteUpdatedEvent.class);
+        verify(applicationEventPublisher).publishEvent(captor.capture());
+        assertThat(captor.getValue().getSickNoteId()).isEqualTo(42);
+    }
+
     @Test
     void getById() {
         final Optional<SickNote> sickNote = Optional.of(new SickNote());
@@ -70,7 +85,7 @@ class SickNoteServiceImplTest {
     @Test
     void getAllActiveByYear() {
         final SickNote sickNote = new SickNote();
-        when(sickNoteRepository.findAllActiveByYear(2017)).thenReturn(List.of(sickNote));
+        when(sickNoteRepository.findAllActiveByPeriod(LocalDate.of(2017, 1, 1), LocalDate.of(2017, 12, 31))).thenReturn(List.of(sickNote));
 
         final List<SickNote> sickNotes = sut.getAllActiveByYear(2017);
         assertThat(sickNotes).contains(sickNote);
@@ -78,7 +93,7 @@ class SickNoteServiceImplTest {
 
     @Test
     void getNumberOfPersonsWithMinimumOneSickNote() {
-        when(sickNoteRepository.findNumberOfPersonsWithMinimumOneSickNote(2017)).thenReturn(5L);
+        when(sickNoteRepository.findNumberOfPersonsWithMinimumOneSickNote(LocalDate.of(2017, 1, 1), LocalDate.of(2017, 12, 31))).thenReturn(5L);
 
         final Long numberOfPersonsWithMinimumOneSickNote = sut.getNumberOfPersonsWithMinimumOneSickNote(2017);
         assertThat(numberOfPersonsWithMinimumOneSickNote).isSameAs(5L);
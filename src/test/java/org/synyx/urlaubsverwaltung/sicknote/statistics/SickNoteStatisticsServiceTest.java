@@ -0,0 +1,170 @@
+package org.synyx.urlaubsverwaltung.sicknote.statistics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNote;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteProperties;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteService;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteUpdatedEvent;
+import org.synyx.urlaubsverwaltung.workingtime.WorkDaysCountRequest;
+import org.synyx.urlaubsverwaltung.workingtime.WorkDaysCountService;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.time.ZoneOffset.UTC;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.synyx.urlaubsverwaltung.TestDataCreator.createSickNote;
+import static org.synyx.urlaubsverwaltung.period.DayLength.FULL;
+
+@ExtendWith(MockitoExtension.class)
+class SickNoteStatisticsServiceTest {
+
+    private SickNoteStatisticsService sut;
+
+    @Mock
+    private SickNoteService sickNoteService;
+    @Mock
+    private WorkDaysCountService workDaysCountService;
+
+    private final SickNoteProperties sickNoteProperties = new SickNoteProperties();
+    private final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+
+    @BeforeEach
+    void setUp() {
+        final Clock clock = Clock.fixed(Instant.parse("2021-10-15T10:15:30.00Z"), UTC);
+        sut = new SickNoteStatisticsService(sickNoteService, workDaysCountService, sickNoteProperties, clock);
+    }
+
+    @Test
+    void ensureStatisticsCountWorkDaysOfSickNotesWithinYear() {
+
+        final SickNote sickNoteStartingBeforeYear = sickNote(1, LocalDate.of(2020, 12, 28), LocalDate.of(2021, 1, 8));
+        final SickNote sickNoteEndingAfterYear = sickNote(2, LocalDate.of(2021, 12, 20), LocalDate.of(2022, 1, 3));
+        when(sickNoteService.getAllActiveByYear(2021)).thenReturn(List.of(sickNoteStartingBeforeYear, sickNoteEndingAfterYear));
+        when(sickNoteService.getNumberOfPersonsWithMinimumOneSickNote(2021)).thenReturn(1L);
+
+        final WorkDaysCountRequest firstRequest = new WorkDaysCountRequest(person, FULL, LocalDate.of(2021, 1, 1), LocalDate.of(2021, 1, 8));
+        final WorkDaysCountRequest secondRequest = new WorkDaysCountRequest(person, FULL, LocalDate.of(2021, 12, 20), LocalDate.of(2021, 12, 31));
+        when(workDaysCountService.getWorkDaysCount(List.of(firstRequest, secondRequest)))
+            .thenReturn(Map.of(firstRequest, new BigDecimal("5.0"), secondRequest, new BigDecimal("8.5")));
+
+        final SickNoteStatistics statistics = sut.getStatistics(2021);
+        assertThat(statistics.getYear()).isEqualTo(2021);
+        assertThat(statistics.getCreated()).isEqualTo(LocalDate.of(2021, 10, 15));
+        assertThat(statistics.getTotalNumberOfSickNotes()).isEqualTo(2);
+        assertThat(statistics.getTotalNumberOfSickDays()).isEqualByComparingTo("13.5");
+        assertThat(statistics.getNumberOfPersonsWithMinimumOneSickNote()).isEqualTo(1L);
+    }
+
+    @Test
+    void ensureStatisticsOfCurrentYearAreCachedUntilSickNoteIsUpdated() {
+
+        final SickNote sickNote = sickNote(1, LocalDate.of(2021, 3, 1), LocalDate.of(2021, 3, 1));
+        when(sickNoteService.getAllActiveByYear(2021)).thenReturn(List.of(sickNote));
+        when(sickNoteService.getNumberOfPersonsWithMinimumOneSickNote(2021)).thenReturn(1L);
+        final WorkDaysCountRequest request = new WorkDaysCountRequest(person, FULL, LocalDate.of(2021, 3, 1), LocalDate.of(2021, 3, 1));
+        when(workDaysCountService.getWorkDaysCount(List.of(request))).thenReturn(Map.of(request, BigDecimal.ONE));
+
+        final SickNoteStatistics statistics = sut.getStatistics(2021);
+        assertThat(sut.getStatistics(2021)).isSameAs(statistics);
+        verify(sickNoteService).getAllActiveByYear(2021);
+
+        when(sickNoteService.getById(2)).thenReturn(Optional.of(sickNote(2, LocalDate.of(2019, 5, 6), LocalDate.of(2019, 5, 6))));
+        sut.handleSickNoteUpdated(new SickNoteUpdatedEvent(this, 2));
+
+        assertThat(sut.getStatistics(2021)).isNotSameAs(statistics);
+        verify(sickNoteService, times(2)).getAllActiveByYear(2021);
+    }
+
+    @Test
+    void ensureStatisticsOfPastYearAreOnlyCalculatedAgainIfSickNoteOfYearIsUpdated() {
+
+        final SickNote sickNote = sickNote(1, LocalDate.of(2019, 12, 30), LocalDate.of(2020, 1, 2));
+        when(sickNoteService.getAllActiveByYear(2019)).thenReturn(List.of(sickNote));
+        when(sickNoteService.getNumberOfPersonsWithMinimumOneSickNote(2019)).thenReturn(1L);
+        final WorkDaysCountRequest request = new WorkDaysCountRequest(person, FULL, LocalDate.of(2019, 12, 30), LocalDate.of(2019, 12, 31));
+        when(workDaysCountService.getWorkDaysCount(List.of(request))).thenReturn(Map.of(request, new BigDecimal("2.0")));
+
+        final SickNoteStatistics statistics = sut.getStatistics(2019);
+
+        when(sickNoteService.getById(2)).thenReturn(Optional.of(sickNote(2, LocalDate.of(2021, 5, 6), LocalDate.of(2021, 5, 6))));
+        sut.handleSickNoteUpdated(new SickNoteUpdatedEvent(this, 2));
+        assertThat(sut.getStatistics(2019)).isSameAs(statistics);
+
+        // sick note has been moved from 2019 to 2020
+        when(sickNoteService.getById(1)).thenReturn(Optional.of(sickNote(1, LocalDate.of(2020, 1, 2), LocalDate.of(2020, 1, 2))));
+        sut.handleSickNoteUpdated(new SickNoteUpdatedEvent(this, 1));
+        assertThat(sut.getStatistics(2019)).isNotSameAs(statistics);
+
+        verify(sickNoteService, times(2)).getAllActiveByYear(2019);
+    }
+
+    @Test
+    void ensureStatisticsOfPastYearAreCalculatedAgainAfterTimeToLive() {
+
+        sickNoteProperties.getStatistics().setCacheTimeToLive(Duration.ZERO);
+        when(sickNoteService.getNumberOfPersonsWithMinimumOneSickNote(2019)).thenReturn(0L);
+
+        final SickNoteStatistics statistics = sut.getStatistics(2019);
+        assertThat(sut.getStatistics(2019)).isNotSameAs(statistics);
+
+        verify(sickNoteService, times(2)).getAllActiveByYear(2019);
+    }
+
+    @Test
+    void ensureNumberOfCachedYearsIsBounded() {
+
+        final AtomicLong seconds = new AtomicLong();
+        final Clock tickingClock = mock(Clock.class);
+        when(tickingClock.instant()).thenAnswer(invocation -> Instant.parse("2021-10-15T10:15:30.00Z").plusSeconds(seconds.incrementAndGet()));
+        when(tickingClock.getZone()).thenReturn(UTC);
+        sut = new SickNoteStatisticsService(sickNoteService, workDaysCountService, sickNoteProperties, tickingClock);
+
+        when(sickNoteService.getNumberOfPersonsWithMinimumOneSickNote(anyInt())).thenReturn(0L);
+
+        final SickNoteStatistics statisticsOfCurrentYear = sut.getStatistics(2021);
+        for (int year = 1900; year < 1900 + SickNoteStatisticsService.MAX_CACHED_YEARS; year++) {
+            sut.getStatistics(year);
+        }
+
+        assertThat(sut.getStatistics(1900 + SickNoteStatisticsService.MAX_CACHED_YEARS - 1)).isNotNull();
+        verify(sickNoteService).getAllActiveByYear(1900 + SickNoteStatisticsService.MAX_CACHED_YEARS - 1);
+
+        assertThat(sut.getStatistics(2021)).isNotSameAs(statisticsOfCurrentYear);
+        verify(sickNoteService, times(2)).getAllActiveByYear(2021);
+    }
+
+    @Test
+    void ensureStatisticsWithoutSickNotes() {
+
+        when(sickNoteService.getNumberOfPersonsWithMinimumOneSickNote(2020)).thenReturn(0L);
+
+        final SickNoteStatistics statistics = sut.getStatistics(2020);
+        assertThat(statistics.getTotalNumberOfSickNotes()).isZero();
+        assertThat(statistics.getTotalNumberOfSickDays()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(statistics.getAverageDurationOfDiseasePerPerson()).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    private SickNote sickNote(int id, LocalDate startDate, LocalDate endDate) {
+        final SickNote sickNote = createSickNote(person, startDate, endDate, FULL);
+        sickNote.setId(id);
+        return sickNote;
+    }
+}
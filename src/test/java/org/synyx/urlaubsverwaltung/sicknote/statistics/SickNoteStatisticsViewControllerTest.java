@@ -7,13 +7,12 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
-import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteService;
-import org.synyx.urlaubsverwaltung.workingtime.WorkDaysCountService;
 
+import java.math.BigDecimal;
 import java.time.Clock;
+import java.time.LocalDate;
 import java.time.Year;
 
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
@@ -28,10 +27,6 @@ class SickNoteStatisticsViewControllerTest {
 
     @Mock
     private SickNoteStatisticsService statisticsService;
-    @Mock
-    private SickNoteService sickNoteService;
-    @Mock
-    private WorkDaysCountService workDaysCountService;
 
     private final Clock clock = Clock.systemUTC();
 
@@ -43,11 +38,11 @@ class SickNoteStatisticsViewControllerTest {
     @Test
     void sickNoteStatistics() throws Exception {
 
-        final SickNoteStatistics sickNoteStatistics = new SickNoteStatistics(clock, sickNoteService, workDaysCountService);
-        when(statisticsService.createStatistics(any(Clock.class))).thenReturn(sickNoteStatistics);
+        final SickNoteStatistics sickNoteStatistics = new SickNoteStatistics(2020, LocalDate.now(clock), 0, BigDecimal.ZERO, 0L);
+        when(statisticsService.getStatistics(2020)).thenReturn(sickNoteStatistics);
 
         final ResultActions resultActions = perform(get("/web/sicknote/statistics")
-            .param("year", String.valueOf(Year.now(clock).getValue())));
+            .param("year", "2020"));
         resultActions.andExpect(status().isOk());
         resultActions.andExpect(model().attribute("statistics", sickNoteStatistics));
         resultActions.andExpect(view().name("sicknote/sick_notes_statistics"));
@@ -56,8 +51,9 @@ class SickNoteStatisticsViewControllerTest {
     @Test
     void sickNoteStatisticsWithoutYear() throws Exception {
 
-        final SickNoteStatistics sickNoteStatistics = new SickNoteStatistics(clock, sickNoteService, workDaysCountService);
-        when(statisticsService.createStatistics(any(Clock.class))).thenReturn(sickNoteStatistics);
+        final int currentYear = Year.now(clock).getValue();
+        final SickNoteStatistics sickNoteStatistics = new SickNoteStatistics(currentYear, LocalDate.now(clock), 0, BigDecimal.ZERO, 0L);
+        when(statisticsService.getStatistics(currentYear)).thenReturn(sickNoteStatistics);
 
         final ResultActions resultActions = perform(get("/web/sicknote/statistics"));
         resultActions.andExpect(status().isOk());
@@ -31,8 +31,11 @@ import static java.time.Month.DECEMBER;
 import static java.time.Month.JANUARY;
 import static java.time.Month.NOVEMBER;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.synyx.urlaubsverwaltung.period.DayLength.FULL;
 import static org.synyx.urlaubsverwaltung.period.DayLength.MORNING;
@@ -426,6 +429,53 @@ class WorkDaysCountServiceTest {
     }
 
 
+    @Test
+    void ensureWorkDaysCountOfManyRequestsEqualsSingleWorkDaysCount() {
+
+        when(settingsService.getSettings()).thenReturn(new Settings());
+
+        final Person batman = new Person("batman", "Wayne", "Bruce", "batman@example.org");
+        batman.setId(1);
+        final Person robin = new Person("robin", "Grayson", "Dick", "robin@example.org");
+        robin.setId(2);
+
+        final WorkingTime batmansFullWeek = createWorkingTime(batman, LocalDate.of(2022, 1, 10), MONDAY, TUESDAY, WEDNESDAY, THURSDAY, FRIDAY);
+        final WorkingTime batmansHalfWeek = createWorkingTime(batman, LocalDate.of(2022, 1, 17), MONDAY, TUESDAY, WEDNESDAY);
+        final WorkingTime robinsFullWeek = createWorkingTime(robin, LocalDate.of(2010, 1, 1), MONDAY, TUESDAY, WEDNESDAY, THURSDAY, FRIDAY);
+        when(workingTimeService.getByPersons(List.of(batman, robin))).thenReturn(List.of(batmansHalfWeek, robinsFullWeek, batmansFullWeek));
+
+        final WorkDaysCountRequest overTwoWorkingTimes = new WorkDaysCountRequest(batman, FULL, LocalDate.of(2022, 1, 10), LocalDate.of(2022, 1, 23));
+        final WorkDaysCountRequest christmas = new WorkDaysCountRequest(robin, FULL, LocalDate.of(2010, 12, 17), LocalDate.of(2010, 12, 31));
+        final WorkDaysCountRequest overYears = new WorkDaysCountRequest(robin, MORNING, LocalDate.of(2013, DECEMBER, 23), LocalDate.of(2014, JANUARY, 2));
+        final WorkDaysCountRequest christmasEve = new WorkDaysCountRequest(robin, NOON, LocalDate.of(2013, DECEMBER, 24), LocalDate.of(2013, DECEMBER, 24));
+
+        final Map<WorkDaysCountRequest, BigDecimal> workDaysCount = sut.getWorkDaysCount(List.of(overTwoWorkingTimes, christmas, overYears, christmasEve));
+        assertThat(workDaysCount)
+            .containsEntry(overTwoWorkingTimes, new BigDecimal("8.0"))
+            .containsEntry(christmas, new BigDecimal("10.0"))
+            .containsEntry(overYears, new BigDecimal("2.5"))
+            .containsEntry(christmasEve, new BigDecimal("0.5"));
+
+        verify(workingTimeService).getByPersons(List.of(batman, robin));
+        verifyNoMoreInteractions(workingTimeService);
+    }
+
+    @Test
+    void ensureWorkDaysCountOfManyRequestsThrowsIfPeriodStartsBeforeFirstWorkingTime() {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        person.setId(1);
+
+        final WorkingTime workingTime = createWorkingTime(person, LocalDate.of(2022, 1, 17), MONDAY, TUESDAY, WEDNESDAY, THURSDAY, FRIDAY);
+        when(workingTimeService.getByPersons(List.of(person))).thenReturn(List.of(workingTime));
+
+        final List<WorkDaysCountRequest> requests = List.of(new WorkDaysCountRequest(person, FULL, LocalDate.of(2022, 1, 10), LocalDate.of(2022, 1, 23)));
+        assertThatThrownBy(() -> sut.getWorkDaysCount(requests))
+            .isInstanceOf(WorkDaysCountException.class)
+            .hasMessage("No working times found for user '1' in period 10.01.2022 - 23.01.2022");
+    }
+
+
     private HolidayManager getHolidayManager() {
         final ClassLoader cl = Thread.currentThread().getContextClassLoader();
         final URL url = cl.getResource("Holidays_de.xml");
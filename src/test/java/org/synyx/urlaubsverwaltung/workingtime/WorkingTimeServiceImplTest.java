@@ -9,6 +9,7 @@ import org.junit.jupiter.params.provider.NullSource;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.synyx.urlaubsverwaltung.absence.DateRange;
 import org.synyx.urlaubsverwaltung.period.DayLength;
 import org.synyx.urlaubsverwaltung.person.Person;
@@ -16,6 +17,7 @@ import org.synyx.urlaubsverwaltung.settings.Settings;
 import org.synyx.urlaubsverwaltung.settings.SettingsService;
 
 import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
@@ -29,6 +31,7 @@ import static java.util.Collections.emptyList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -49,12 +52,14 @@ class WorkingTimeServiceImplTest {
     private WorkingTimeRepository workingTimeRepository;
     @Mock
     private SettingsService settingsService;
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
 
     private final Clock fixedClock = Clock.fixed(Instant.parse("2019-08-13T00:00:00.00Z"), UTC);
 
     @BeforeEach
     void setUp() {
-        sut = new WorkingTimeServiceImpl(workingTimeProperties, workingTimeRepository, settingsService, fixedClock);
+        sut = new WorkingTimeServiceImpl(workingTimeProperties, workingTimeRepository, settingsService, applicationEventPublisher, fixedClock);
     }
 
     @Test
@@ -200,6 +205,18 @@ class WorkingTimeServiceImplTest {
         assertThat(persistedWorkingTimeEntity.getFederalStateOverride()).isEqualTo(federalState);
     }
 
+    @Test
+    void ensureTouchPublishesWorkingTimeUpdatedEvent() {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        person.setId(42);
+        sut.touch(List.of(1, 2), LocalDate.now(UTC), person);
+
+        final ArgumentCaptor<WorkingTimeUpdatedEvent> eventCaptor = ArgumentCaptor.forClass(WorkingTimeUpdatedEvent.class);
+        verify(applicationEventPublisher).publishEvent(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().getPersonId()).isEqualTo(42);
+    }
+
 
     @Test
     void getByPerson() {
@@ -581,4 +598,105 @@ class WorkingTimeServiceImplTest {
                 LocalDate.of(2021, 11, 1),
                 LocalDate.of(2021, 11, 30)))).isEmpty();
     }
+
+    @Test
+    void ensureTimelineIsKeptUntilWorkingTimeOfPersonIsTouched() {
+
+        final Person person = new Person();
+        person.setId(1);
+
+        final WorkingTimeEntity workingTimeEntity = new WorkingTimeEntity();
+        workingTimeEntity.setPerson(person);
+        workingTimeEntity.setValidFrom(LocalDate.of(2020, 1, 1));
+        workingTimeEntity.setFederalStateOverride(GERMANY_BADEN_WUERTTEMBERG);
+
+        when(workingTimeRepository.findByPersonOrderByValidFromDesc(person)).thenReturn(List.of(workingTimeEntity));
+        when(workingTimeProperties.getTimelineCacheTimeToLive()).thenReturn(Duration.ofMinutes(1));
+
+        final WorkingTimeTimeline timeline = sut.getTimeline(person);
+        assertThat(sut.getTimeline(person)).isSameAs(timeline);
+        assertThat(sut.getTimelines(List.of(person))).containsExactly(entry(person, timeline));
+        verify(workingTimeRepository, times(1)).findByPersonOrderByValidFromDesc(person);
+
+        when(workingTimeRepository.findByPersonAndValidityDate(person, LocalDate.of(2021, 1, 1))).thenReturn(null);
+        sut.touch(List.of(1, 2, 3, 4, 5), LocalDate.of(2021, 1, 1), person);
+
+        assertThat(sut.getTimeline(person)).isNotSameAs(timeline);
+        verify(workingTimeRepository, times(2)).findByPersonOrderByValidFromDesc(person);
+    }
+
+    @Test
+    void ensureTimelineIsReloadedAfterTimeToLive() {
+
+        final Person person = new Person();
+        person.setId(1);
+
+        final WorkingTimeEntity workingTimeEntity = new WorkingTimeEntity();
+        workingTimeEntity.setPerson(person);
+        workingTimeEntity.setValidFrom(LocalDate.of(2020, 1, 1));
+        workingTimeEntity.setFederalStateOverride(GERMANY_BADEN_WUERTTEMBERG);
+
+        when(workingTimeRepository.findByPersonOrderByValidFromDesc(person)).thenReturn(List.of(workingTimeEntity));
+        when(workingTimeProperties.getTimelineCacheTimeToLive()).thenReturn(Duration.ZERO);
+
+        final WorkingTimeTimeline timeline = sut.getTimeline(person);
+        assertThat(sut.getTimeline(person)).isNotSameAs(timeline);
+        verify(workingTimeRepository, times(2)).findByPersonOrderByValidFromDesc(person);
+    }
+
+    @Test
+    void ensureTimelinesAreLoadedAtOnceForPersonsWithoutKnownTimeline() {
+
+        final Person batman = new Person();
+        batman.setId(1);
+        final Person robin = new Person();
+        robin.setId(2);
+
+        final WorkingTimeEntity workingTimeEntityOfBatman = new WorkingTimeEntity();
+        workingTimeEntityOfBatman.setPerson(batman);
+        workingTimeEntityOfBatman.setValidFrom(LocalDate.of(2020, 1, 1));
+        workingTimeEntityOfBatman.setFederalStateOverride(GERMANY_BADEN_WUERTTEMBERG);
+
+        when(workingTimeRepository.findByPersonOrderByValidFromDesc(batman)).thenReturn(List.of(workingTimeEntityOfBatman));
+        final WorkingTimeTimeline timelineOfBatman = sut.getTimeline(batman);
+
+        when(workingTimeRepository.findByPersonIn(List.of(robin))).thenReturn(List.of());
+        when(workingTimeProperties.getTimelineCacheTimeToLive()).thenReturn(Duration.ofMinutes(1));
+
+        final Map<Person, WorkingTimeTimeline> timelines = sut.getTimelines(List.of(batman, robin));
+        assertThat(timelines).hasSize(2);
+        assertThat(timelines.get(batman)).isSameAs(timelineOfBatman);
+        assertThat(timelines.get(robin).isEmpty()).isTrue();
+        verify(workingTimeRepository).findByPersonIn(List.of(robin));
+    }
+
+    @Test
+    void ensureTimelineIsReloadedIfSystemDefaultFederalStateChanged() {
+
+        final Person person = new Person();
+        person.setId(1);
+
+        final WorkingTimeEntity workingTimeEntity = new WorkingTimeEntity();
+        workingTimeEntity.setPerson(person);
+        workingTimeEntity.setValidFrom(LocalDate.of(2020, 1, 1));
+        workingTimeEntity.setFederalStateOverride(null);
+
+        when(workingTimeRepository.findByPersonOrderByValidFromDesc(person)).thenReturn(List.of(workingTimeEntity));
+
+        final WorkingTimeSettings workingTimeSettingsBremen = new WorkingTimeSettings();
+        workingTimeSettingsBremen.setFederalState(GERMANY_BREMEN);
+        final Settings settingsBremen = new Settings();
+        settingsBremen.setWorkingTimeSettings(workingTimeSettingsBremen);
+
+        final WorkingTimeSettings workingTimeSettingsBayern = new WorkingTimeSettings();
+        workingTimeSettingsBayern.setFederalState(GERMANY_BAYERN);
+        final Settings settingsBayern = new Settings();
+        settingsBayern.setWorkingTimeSettings(workingTimeSettingsBayern);
+
+        when(settingsService.getSettings()).thenReturn(settingsBremen, settingsBayern);
+        when(workingTimeProperties.getTimelineCacheTimeToLive()).thenReturn(Duration.ofMinutes(1));
+
+        assertThat(sut.getTimeline(person).getFirstWorkingTime()).map(WorkingTime::getFederalState).hasValue(GERMANY_BREMEN);
+        assertThat(sut.getTimeline(person).getFirstWorkingTime()).map(WorkingTime::getFederalState).hasValue(GERMANY_BAYERN);
+    }
 }
@@ -0,0 +1,143 @@
+package org.synyx.urlaubsverwaltung.workingtime;
+
+import org.junit.jupiter.api.Test;
+import org.synyx.urlaubsverwaltung.absence.DateRange;
+import org.synyx.urlaubsverwaltung.person.Person;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static java.time.DayOfWeek.FRIDAY;
+import static java.time.DayOfWeek.MONDAY;
+import static java.time.DayOfWeek.THURSDAY;
+import static java.time.DayOfWeek.TUESDAY;
+import static java.time.DayOfWeek.WEDNESDAY;
+import static java.time.Month.JANUARY;
+import static java.time.Month.JUNE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.synyx.urlaubsverwaltung.period.DayLength.FULL;
+import static org.synyx.urlaubsverwaltung.workingtime.FederalState.GERMANY_BADEN_WUERTTEMBERG;
+import static org.synyx.urlaubsverwaltung.workingtime.FederalState.GERMANY_BERLIN;
+
+class WorkingTimeTimelineTest {
+
+    private final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+
+    @Test
+    void ensureWorkingTimeAtReturnsWorkingTimeValidAtDate() {
+
+        final WorkingTime mondays = workingTime(LocalDate.of(2021, JANUARY, 1), MONDAY);
+        final WorkingTime tuesdays = workingTime(LocalDate.of(2021, JUNE, 1), TUESDAY);
+
+        final WorkingTimeTimeline sut = WorkingTimeTimeline.of(List.of(tuesdays, mondays));
+
+        assertThat(sut.workingTimeAt(LocalDate.of(2020, 12, 31))).isEmpty();
+        assertThat(sut.workingTimeAt(LocalDate.of(2021, 1, 1))).hasValue(mondays);
+        assertThat(sut.workingTimeAt(LocalDate.of(2021, 5, 31))).hasValue(mondays);
+        assertThat(sut.workingTimeAt(LocalDate.of(2021, 6, 1))).hasValue(tuesdays);
+        assertThat(sut.workingTimeAt(LocalDate.of(2030, 1, 1))).hasValue(tuesdays);
+        assertThat(sut.getFirstWorkingTime()).hasValue(mondays);
+    }
+
+    @Test
+    void ensureIsWorkdayConsidersWorkingTimeValidAtDate() {
+
+        final WorkingTime mondays = workingTime(LocalDate.of(2021, JANUARY, 1), MONDAY);
+        final WorkingTime tuesdays = workingTime(LocalDate.of(2021, JUNE, 1), TUESDAY);
+
+        final WorkingTimeTimeline sut = WorkingTimeTimeline.of(List.of(mondays, tuesdays));
+
+        // monday before the first working time
+        assertThat(sut.isWorkday(LocalDate.of(2020, 12, 28))).isFalse();
+
+        assertThat(sut.isWorkday(LocalDate.of(2021, 5, 24))).isTrue();
+        assertThat(sut.isWorkday(LocalDate.of(2021, 5, 25))).isFalse();
+
+        assertThat(sut.isWorkday(LocalDate.of(2021, 6, 7))).isFalse();
+        assertThat(sut.isWorkday(LocalDate.of(2021, 6, 8))).isTrue();
+        assertThat(sut.isWorkday(LocalDate.of(2030, 1, 1))).isTrue();
+    }
+
+    @Test
+    void ensureIsWorkdayIsEqualToWorkingDayOfWorkingTimeValidAtDate() {
+
+        final WorkingTime fullWeek = workingTime(LocalDate.of(2019, JANUARY, 1), MONDAY, TUESDAY, WEDNESDAY, THURSDAY, FRIDAY);
+        final WorkingTime partTime = workingTime(LocalDate.of(2020, 2, 29), MONDAY, WEDNESDAY);
+        final WorkingTime fourDays = workingTime(LocalDate.of(2021, 7, 15), TUESDAY, WEDNESDAY, THURSDAY, FRIDAY);
+
+        final WorkingTimeTimeline sut = WorkingTimeTimeline.of(List.of(partTime, fourDays, fullWeek));
+
+        for (LocalDate date : new DateRange(LocalDate.of(2018, 12, 1), LocalDate.of(2022, 2, 1))) {
+            final boolean expected = sut.workingTimeAt(date)
+                .map(workingTime -> workingTime.isWorkingDay(date.getDayOfWeek()))
+                .orElse(false);
+            assertThat(sut.isWorkday(date)).as("workday %s", date).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void ensureEmptyTimeline() {
+
+        final WorkingTimeTimeline sut = WorkingTimeTimeline.of(List.of());
+
+        assertThat(sut.isEmpty()).isTrue();
+        assertThat(sut.workingTimeAt(LocalDate.of(2021, 1, 1))).isEmpty();
+        assertThat(sut.isWorkday(LocalDate.of(2021, 1, 4))).isFalse();
+        assertThat(sut.getWorkingTimesByDateRange(new DateRange(LocalDate.of(2021, 1, 1), LocalDate.of(2021, 1, 31)))).isEmpty();
+    }
+
+    @Test
+    void ensureWorkingTimesByDateRangeSplitsDateRange() {
+
+        final WorkingTime first = new WorkingTime(person, LocalDate.of(2020, 9, 1), GERMANY_BADEN_WUERTTEMBERG, false);
+        final WorkingTime changed = new WorkingTime(person, LocalDate.of(2021, 11, 15), GERMANY_BERLIN, false);
+        final WorkingTime future = new WorkingTime(person, LocalDate.of(2022, 1, 1), GERMANY_BERLIN, false);
+
+        final WorkingTimeTimeline sut = WorkingTimeTimeline.of(List.of(future, first, changed));
+
+        final Map<DateRange, WorkingTime> workingTimesByDateRange =
+            sut.getWorkingTimesByDateRange(new DateRange(LocalDate.of(2021, 11, 1), LocalDate.of(2021, 11, 30)));
+        assertThat(workingTimesByDateRange).containsOnly(
+            entry(new DateRange(LocalDate.of(2021, 11, 15), LocalDate.of(2021, 11, 30)), changed),
+            entry(new DateRange(LocalDate.of(2021, 11, 1), LocalDate.of(2021, 11, 14)), first)
+        );
+    }
+
+    @Test
+    void ensureWorkingTimesByDateRangeOmitsDaysBeforeFirstWorkingTime() {
+
+        final WorkingTime first = new WorkingTime(person, LocalDate.of(2021, 11, 10), GERMANY_BADEN_WUERTTEMBERG, false);
+
+        final WorkingTimeTimeline sut = WorkingTimeTimeline.of(List.of(first));
+
+        final Map<DateRange, WorkingTime> workingTimesByDateRange =
+            sut.getWorkingTimesByDateRange(new DateRange(LocalDate.of(2021, 11, 1), LocalDate.of(2021, 11, 30)));
+        assertThat(workingTimesByDateRange).containsOnly(
+            entry(new DateRange(LocalDate.of(2021, 11, 10), LocalDate.of(2021, 11, 30)), first)
+        );
+    }
+
+    @Test
+    void ensureTimelinesByPerson() {
+
+        final Person robin = new Person("robin", "Robin", "Dick", "robin@example.org");
+
+        final WorkingTime workingTimeOfPerson = workingTime(LocalDate.of(2021, JANUARY, 1), MONDAY);
+        final WorkingTime workingTimeOfRobin = new WorkingTime(robin, LocalDate.of(2021, JANUARY, 1), GERMANY_BERLIN, false);
+
+        final Map<Person, WorkingTimeTimeline> timelines = WorkingTimeTimeline.byPerson(List.of(workingTimeOfPerson, workingTimeOfRobin));
+
+        assertThat(timelines).hasSize(2);
+        assertThat(timelines.get(person).getWorkingTimes()).containsExactly(workingTimeOfPerson);
+        assertThat(timelines.get(robin).getWorkingTimes()).containsExactly(workingTimeOfRobin);
+    }
+
+    private WorkingTime workingTime(LocalDate validFrom, DayOfWeek... workingDays) {
+        final WorkingTime workingTime = new WorkingTime(person, validFrom, GERMANY_BADEN_WUERTTEMBERG, false);
+        workingTime.setWorkingDays(List.of(workingDays), FULL);
+        return workingTime;
+    }
+}